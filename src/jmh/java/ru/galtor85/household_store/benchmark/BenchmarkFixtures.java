@@ -0,0 +1,92 @@
+package ru.galtor85.household_store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import ru.galtor85.household_store.config.FinancialConfig;
+import ru.galtor85.household_store.config.JacksonConfig;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared infrastructure for benchmarks: real message sources and in-memory
+ * repository fakes, so hot paths run without Spring context and database.
+ *
+ * @author G@LTor85
+ */
+final class BenchmarkFixtures {
+
+    private static final String MESSAGE_BUNDLE_BASENAME = "classpath:messages";
+    private static final String UTF_8_ENCODING = "UTF-8";
+    private static final String LOG_LOCALE = "en";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates the application message source (same settings as {@code I18nConfig}).
+     *
+     * @return message source
+     */
+    static MessageSource messageSource() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename(MESSAGE_BUNDLE_BASENAME);
+        messageSource.setDefaultEncoding(UTF_8_ENCODING);
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+
+    static LogMessageService logMessageService() {
+        return new LogMessageService(messageSource(), LOG_LOCALE);
+    }
+
+    static MessageService messageService() {
+        return new MessageService(messageSource());
+    }
+
+    static FinancialConfig financialConfig() {
+        return new FinancialConfig();
+    }
+
+    /**
+     * Creates the application object mapper (same settings as {@code JacksonConfig}).
+     *
+     * @return object mapper
+     */
+    static ObjectMapper objectMapper() {
+        return new JacksonConfig().objectMapper();
+    }
+
+    /**
+     * Creates an in-memory repository fake. Only the listed methods are supported;
+     * any other call fails, so a benchmark cannot silently measure an unexpected path.
+     *
+     * @param repositoryType repository interface
+     * @param methods        method name to implementation (receives call arguments)
+     * @param <R>            repository type
+     * @return repository fake
+     */
+    static <R> R repository(Class<R> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        Object fake = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> implementation = methods.get(method.getName());
+                    if (implementation != null) {
+                        return implementation.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> repositoryType.getSimpleName() + "Fake";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName());
+                    };
+                });
+        return repositoryType.cast(fake);
+    }
+}
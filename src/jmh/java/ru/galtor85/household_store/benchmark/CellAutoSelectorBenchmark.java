@@ -0,0 +1,75 @@
+package ru.galtor85.household_store.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.entity.warehouse.CellType;
+import ru.galtor85.household_store.entity.warehouse.StorageCell;
+import ru.galtor85.household_store.processor.cell.CellAutoSelector;
+import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
+import ru.galtor85.household_store.validator.cell.CellValidationHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CellAutoSelector#selectCellForProduct} over a warehouse with a varying number
+ * of available cells. Half of the cells are occupied, every tenth is too small,
+ * so capacity filtering and all selection branches are exercised.
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellAutoSelectorBenchmark {
+
+    private static final Long WAREHOUSE_ID = 1L;
+    private static final Long PRODUCT_ID = 42L;
+    private static final int QUANTITY = 10;
+
+    @Param({"10", "200", "1000"})
+    public int cellCount;
+
+    private CellAutoSelector selector;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        List<StorageCell> cells = new ArrayList<>();
+        for (int i = 0; i < cellCount; i++) {
+            boolean occupied = i % 2 == 0;
+            cells.add(StorageCell.builder()
+                    .id((long) i)
+                    .code(String.format("A-%04d", cellCount - i))
+                    .cellType(CellType.STANDARD)
+                    .maxWeightKg(i % 10 == 0 ? 1.0 : 500.0)
+                    .maxVolumeM3(2.0)
+                    .currentProductId(occupied ? (long) i : null)
+                    .currentQuantity(occupied ? i : 0)
+                    .isOccupied(occupied)
+                    .isActive(true)
+                    .build());
+        }
+
+        StorageCellRepository repository = BenchmarkFixtures.repository(StorageCellRepository.class,
+                Map.of("findAvailableCellsByType", args -> cells));
+        CellValidationHelper validationHelper = new CellValidationHelper(
+                BenchmarkFixtures.messageService(), BenchmarkFixtures.logMessageService());
+        selector = new CellAutoSelector(repository, validationHelper, BenchmarkFixtures.logMessageService());
+
+        product = new Product();
+        product.setId(PRODUCT_ID);
+        product.setWeightKg(2.5);
+        product.setVolumeM3(0.05);
+    }
+
+    @Benchmark
+    public StorageCell selectCellForProduct() {
+        return selector.selectCellForProduct(WAREHOUSE_ID, product, QUANTITY);
+    }
+}
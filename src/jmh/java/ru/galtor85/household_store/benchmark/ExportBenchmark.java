@@ -0,0 +1,93 @@
+package ru.galtor85.household_store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.galtor85.household_store.converter.CashTransactionConverter;
+import ru.galtor85.household_store.dto.response.finance.CashTransactionDto;
+import ru.galtor85.household_store.entity.finance.PaymentMethod;
+import ru.galtor85.household_store.entity.finance.TransactionType;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.ExportResponses;
+import ru.galtor85.household_store.util.export.StreamingExportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization throughput of streaming exports in rows per second: cash ledger rows
+ * written in export batches as CSV or NDJSON, plain or gzipped, to a discarding
+ * stream. Database cursor and enrichment are not included.
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+
+    private static final int ROW_COUNT = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Param({"CSV", "NDJSON"})
+    public ExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<CashTransactionDto> rows;
+    private StreamingResponseBody body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        rows = new ArrayList<>(ROW_COUNT);
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            BigDecimal amount = BigDecimal.valueOf(1000 + i % 500, 2);
+            rows.add(CashTransactionDto.builder()
+                    .id((long) i)
+                    .createdAt(START.plusMinutes(i))
+                    .cashRegisterNumber("CR-001")
+                    .transactionType(TransactionType.INCOME)
+                    .amount(amount)
+                    .currency("RUB")
+                    .paymentMethod(PaymentMethod.CARD)
+                    .invoiceNumber(String.format("INV-%010d", i))
+                    .cashierId(1L)
+                    .cashierName("Ivan Petrov")
+                    .description("Payment for sales order, \"retail\"")
+                    .balanceBefore(balance)
+                    .balanceAfter(balance.add(amount))
+                    .build());
+            balance = balance.add(amount);
+        }
+
+        body = Objects.requireNonNull(
+                ExportResponses.attachment("cash-transactions", format, gzip, this::writeRows).getBody());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void export() throws IOException {
+        body.writeTo(OutputStream.nullOutputStream());
+    }
+
+    private void writeRows(OutputStream outputStream) throws IOException {
+        StreamingExportWriter<CashTransactionDto> writer = new StreamingExportWriter<>(
+                outputStream, format, objectMapper, CashTransactionConverter.EXPORT_COLUMNS);
+        writer.writeAll(rows.stream(), BATCH_SIZE, batch -> batch, () -> {
+        });
+    }
+}
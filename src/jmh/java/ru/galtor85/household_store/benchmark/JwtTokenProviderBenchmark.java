@@ -0,0 +1,69 @@
+package ru.galtor85.household_store.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.galtor85.household_store.entity.user.Role;
+import ru.galtor85.household_store.entity.user.User;
+import ru.galtor85.household_store.security.JwtClaims;
+import ru.galtor85.household_store.security.JwtTokenProvider;
+import ru.galtor85.household_store.security.SecurityUser;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenProvider} token parsing (decryption and claim extraction)
+ * and access token creation.
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String JWT_SECRET = "benchmark-secret-key-with-at-least-32-characters";
+    private static final long ACCESS_TOKEN_VALIDITY = 3_600_000L;
+    private static final long REFRESH_TOKEN_VALIDITY = 86_400_000L;
+    private static final int JWT_KEY_LENGTH = 32;
+
+    private JwtTokenProvider provider;
+    private SecurityUser securityUser;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(BenchmarkFixtures.messageService(), BenchmarkFixtures.logMessageService());
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "accessTokenValidity", ACCESS_TOKEN_VALIDITY);
+        ReflectionTestUtils.setField(provider, "refreshTokenValidity", REFRESH_TOKEN_VALIDITY);
+        ReflectionTestUtils.setField(provider, "jwtKeyLength", JWT_KEY_LENGTH);
+        provider.init();
+
+        securityUser = SecurityUser.builder()
+                .id(1L)
+                .userId(1L)
+                .role(Role.USER)
+                .active(true)
+                .build();
+        user = User.builder()
+                .id(1L)
+                .email("benchmark@example.com")
+                .build();
+        token = provider.createToken(securityUser, user);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseToken() {
+        return provider.parseToken(token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken(securityUser, user);
+    }
+}
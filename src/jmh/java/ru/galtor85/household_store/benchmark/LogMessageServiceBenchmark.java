@@ -0,0 +1,70 @@
+package ru.galtor85.household_store.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogMessageService} message lookup and formatting, and the cost of a disabled
+ * debug statement written eagerly ({@code log.debug(logMsg.get(...))}) versus the
+ * level-guarded {@code logMsg.debug(log, ...)}.
+ *
+ * <p>Debug is disabled for this class in the benchmark logback configuration.</p>
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogMessageServiceBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(LogMessageServiceBenchmark.class);
+
+    private static final String KEY_WITH_ARGS = "cell.selector.start";
+    private static final String KEY_WITHOUT_ARGS = "price.rules.none.active";
+    private static final String MISSING_KEY = "benchmark.missing.key";
+
+    private LogMessageService logMsg;
+    private Long productId;
+    private int quantity;
+    private Long warehouseId;
+
+    @Setup
+    public void setUp() {
+        logMsg = BenchmarkFixtures.logMessageService();
+        productId = 42L;
+        quantity = 10;
+        warehouseId = 1L;
+    }
+
+    @Benchmark
+    public String getWithArgs() {
+        return logMsg.get(KEY_WITH_ARGS, productId, quantity, warehouseId);
+    }
+
+    @Benchmark
+    public String getWithoutArgs() {
+        return logMsg.get(KEY_WITHOUT_ARGS);
+    }
+
+    @Benchmark
+    public String getMissingKey() {
+        return logMsg.get(MISSING_KEY, productId);
+    }
+
+    @Benchmark
+    public void disabledDebugEager() {
+        log.debug(logMsg.get(KEY_WITH_ARGS, productId, quantity, warehouseId));
+    }
+
+    @Benchmark
+    public void disabledDebugLazy() {
+        logMsg.debug(log, KEY_WITH_ARGS, productId, quantity, warehouseId);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.galtor85.household_store.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import ru.galtor85.household_store.dto.response.cart.CartItemDto;
+import ru.galtor85.household_store.dto.response.finance.PriceCalculationResult;
+import ru.galtor85.household_store.entity.product.DiscountType;
+import ru.galtor85.household_store.entity.promotion.PriceRule;
+import ru.galtor85.household_store.entity.user.UserType;
+import ru.galtor85.household_store.processor.price.PriceRuleProcessor;
+import ru.galtor85.household_store.repository.price.PriceRuleRepository;
+import ru.galtor85.household_store.service.price.PriceRuleCache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_PRICE_RULES;
+
+/**
+ * {@link PriceRuleProcessor#applyPriceRules} over a cart with a varying number of active rules.
+ * Rules are compiled by {@link PriceRuleCache} on the first call and kept in a Caffeine
+ * cache, as in the application.
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceRuleBenchmark {
+
+    private static final int CART_ITEMS = 20;
+
+    @Param({"1", "10", "50"})
+    public int ruleCount;
+
+    private PriceRuleProcessor processor;
+    private List<CartItemDto> items;
+    private BigDecimal total;
+
+    @Setup
+    public void setUp() {
+        List<PriceRule> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            boolean percentage = i % 2 == 0;
+            rules.add(PriceRule.builder()
+                    .id((long) i)
+                    .name("Rule " + i)
+                    .discountType(percentage ? DiscountType.PERCENTAGE : DiscountType.FIXED_AMOUNT)
+                    .discountValue(percentage ? BigDecimal.ONE : BigDecimal.TEN)
+                    .priority(ruleCount - i)
+                    .applicableUserTypes(Set.of(UserType.RETAIL))
+                    .build());
+        }
+
+        PriceRuleRepository repository = BenchmarkFixtures.repository(PriceRuleRepository.class,
+                Map.of("findAllActive", args -> new ArrayList<>(rules)));
+        PriceRuleCache cache = new PriceRuleCache(repository, new CaffeineCacheManager(CACHE_PRICE_RULES),
+                BenchmarkFixtures.financialConfig(), BenchmarkFixtures.logMessageService());
+        processor = new PriceRuleProcessor(cache,
+                BenchmarkFixtures.logMessageService(), BenchmarkFixtures.financialConfig());
+
+        items = new ArrayList<>();
+        total = BigDecimal.ZERO;
+        for (int i = 0; i < CART_ITEMS; i++) {
+            BigDecimal price = BigDecimal.valueOf(100 + i * 10L);
+            items.add(CartItemDto.builder()
+                    .productId((long) i)
+                    .productName("Product " + i)
+                    .category("Category " + (i % 4))
+                    .quantity(1 + i % 3)
+                    .price(price)
+                    .build());
+            total = total.add(price.multiply(BigDecimal.valueOf(1 + i % 3)));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal applyPriceRules() {
+        List<PriceCalculationResult.AppliedDiscount> appliedDiscounts = new ArrayList<>();
+        return processor.applyPriceRules(total, UserType.RETAIL, items, appliedDiscounts);
+    }
+}
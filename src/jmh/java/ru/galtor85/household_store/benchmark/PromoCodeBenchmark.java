@@ -0,0 +1,77 @@
+package ru.galtor85.household_store.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.galtor85.household_store.dto.response.finance.PriceCalculationResult;
+import ru.galtor85.household_store.entity.product.DiscountType;
+import ru.galtor85.household_store.entity.promotion.PromoCode;
+import ru.galtor85.household_store.entity.user.UserType;
+import ru.galtor85.household_store.processor.price.PromoCodeProcessor;
+import ru.galtor85.household_store.repository.promotion.PromoCodeRepository;
+import ru.galtor85.household_store.repository.promotion.PromoCodeUsageRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PromoCodeProcessor#applyPromoCode} for a valid code with per-user limit
+ * (full validation path) and for an unknown code.
+ *
+ * @author G@LTor85
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromoCodeBenchmark {
+
+    private static final String VALID_CODE = "SPRING10";
+    private static final String UNKNOWN_CODE = "UNKNOWN";
+    private static final Long USER_ID = 1L;
+    private static final BigDecimal TOTAL = BigDecimal.valueOf(5000);
+
+    private PromoCodeProcessor processor;
+
+    @Setup
+    public void setUp() {
+        PromoCode promo = PromoCode.builder()
+                .id(1L)
+                .code(VALID_CODE)
+                .description("Spring sale")
+                .discountType(DiscountType.PERCENTAGE)
+                .discountValue(BigDecimal.TEN)
+                .maxUses(1_000_000)
+                .perUserLimit(5)
+                .minOrderAmount(BigDecimal.valueOf(1000))
+                .applicableUserTypes(EnumSet.of(UserType.RETAIL, UserType.VIP))
+                .build();
+
+        PromoCodeRepository promoCodeRepository = BenchmarkFixtures.repository(PromoCodeRepository.class,
+                Map.of("findByCodeAndActiveTrue",
+                        args -> VALID_CODE.equals(args[0]) ? Optional.of(promo) : Optional.empty()));
+        PromoCodeUsageRepository usageRepository = BenchmarkFixtures.repository(PromoCodeUsageRepository.class,
+                Map.of("countByPromoCodeIdAndUserId", args -> 1L));
+
+        processor = new PromoCodeProcessor(promoCodeRepository, usageRepository,
+                BenchmarkFixtures.messageService(), BenchmarkFixtures.logMessageService(),
+                BenchmarkFixtures.financialConfig());
+    }
+
+    @Benchmark
+    public PromoCodeProcessor.PromoCodeResult applyValidCode() {
+        List<PriceCalculationResult.AppliedDiscount> appliedDiscounts = new ArrayList<>();
+        return processor.applyPromoCode(TOTAL, VALID_CODE, USER_ID, UserType.RETAIL, appliedDiscounts);
+    }
+
+    @Benchmark
+    public PromoCodeProcessor.PromoCodeResult applyUnknownCode() {
+        List<PriceCalculationResult.AppliedDiscount> appliedDiscounts = new ArrayList<>();
+        return processor.applyPromoCode(TOTAL, UNKNOWN_CODE, USER_ID, UserType.RETAIL, appliedDiscounts);
+    }
+}
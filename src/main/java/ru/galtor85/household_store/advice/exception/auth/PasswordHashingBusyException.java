@@ -0,0 +1,17 @@
+package ru.galtor85.household_store.advice.exception.auth;
+
+import lombok.Getter;
+
+/**
+ * Thrown when password hashing is saturated and the request is shed.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
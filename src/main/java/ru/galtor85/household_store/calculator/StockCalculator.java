@@ -6,6 +6,7 @@ import ru.galtor85.household_store.dto.response.warehouse.WarehouseStockDto;
 import ru.galtor85.household_store.entity.product.ProductStock;
 import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
 
 import java.util.List;
 
@@ -45,15 +46,6 @@ public class StockCalculator {
                 .sum();
     }
 
-    /**
-     * Calculates total stock value.
-     *
-     * @return total value (to be implemented)
-     */
-    public double calculateTotalValue() {
-        return ZERO_VALUE;
-    }
-
     /**
      * Counts items with quantity below minimum stock level.
      *
@@ -81,34 +73,44 @@ public class StockCalculator {
     /**
      * Calculates warehouse utilization percentage.
      *
-     * @param warehouse warehouse entity
+     * @param warehouse warehouse, null if unknown
      * @param stocks list of stock records
      * @return utilization percentage (0-100)
      */
     public double calculateUtilization(Warehouse warehouse, List<ProductStock> stocks) {
+        return calculateUtilization(warehouse, sumQuantity(stocks));
+    }
+
+    /**
+     * Calculates warehouse utilization percentage from an already summed quantity.
+     *
+     * @param warehouse  warehouse entity
+     * @param totalItems total quantity stored in the warehouse
+     * @return utilization percentage (0-100)
+     */
+    public double calculateUtilization(Warehouse warehouse, int totalItems) {
         if (warehouse.getTotalCapacity() == null || warehouse.getTotalCapacity() == 0) {
             return ZERO_VALUE;
         }
-        double totalItems = stocks.stream().mapToInt(ProductStock::getQuantity).sum();
-        return (totalItems / warehouse.getTotalCapacity()) * PERCENTAGE_MULTIPLIER;
+        return ((double) totalItems / warehouse.getTotalCapacity()) * PERCENTAGE_MULTIPLIER;
     }
 
     /**
      * Creates warehouse stock DTO from stock record.
      *
      * @param stock stock record
-     * @param warehouse warehouse entity
+     * @param warehouse warehouse, null if unknown
      * @param totalQuantity total quantity for percentage calculation
      * @return warehouse stock DTO
      */
-    public WarehouseStockDto createWarehouseStockDto(ProductStock stock, Warehouse warehouse, int totalQuantity) {
+    public WarehouseStockDto createWarehouseStockDto(ProductStock stock, WarehouseRef warehouse, int totalQuantity) {
         int reserved = stock.getReservedQuantity() != null ? stock.getReservedQuantity() : DEFAULT_RESERVED_QUANTITY;
         int available = stock.getQuantity() - reserved;
         double percentage = totalQuantity > 0 ? (stock.getQuantity() * PERCENTAGE_MULTIPLIER / totalQuantity) : ZERO_VALUE;
 
         return WarehouseStockDto.builder()
                 .warehouseId(stock.getWarehouseId())
-                .warehouseName(warehouse != null ? warehouse.getName() : messageService.get("stock.warehouse.unknown"))
+                .warehouseName(warehouse != null ? warehouse.name() : messageService.get("stock.warehouse.unknown"))
                 .quantity(stock.getQuantity())
                 .reservedQuantity(stock.getReservedQuantity())
                 .availableQuantity(available)
@@ -30,6 +30,12 @@ public class BusinessConfig {
         private Integer maxItems=10;
         private Integer maxQuantityPerItem=5;
         private Integer defaultIncrementValue=1;
+        /** Number of independently locked shards of the in-memory cart store */
+        private Integer storeShards=16;
+        /** Maximum number of active carts kept in memory */
+        private Integer storeMaxCarts=10_000;
+        /** Maximum number of carts written in one background flush transaction */
+        private Integer storeFlushBatchSize=100;
     }
 
     @Data
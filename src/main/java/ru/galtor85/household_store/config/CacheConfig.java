@@ -0,0 +1,86 @@
+package ru.galtor85.household_store.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.*;
+
+/**
+ * Cache configuration for the application.
+ *
+ * <p>Builds a Caffeine cache per named cache with its own size bound and
+ * expiration. Statistics are recorded for every cache, so hit, miss
+ * and eviction counters are exported through actuator metrics ({@code cache.gets},
+ * {@code cache.evictions}).</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    private static final List<String> APPLICATION_CACHES = List.of(
+            CACHE_PRODUCT_AVAILABILITY,
+            CACHE_WAREHOUSES,
+            CACHE_PRICE_RULES,
+            CACHE_WAREHOUSE_SUMMARIES,
+            CACHE_STORAGE_CELLS,
+            CACHE_USERS,
+            CACHE_PAYMENT_METHODS
+    );
+
+    private final CacheSettingsConfig cacheSettings;
+    private final LogMessageService logMsg;
+
+    /**
+     * Creates cache manager with bounded, expiring caches.
+     *
+     * @return CaffeineCacheManager instance
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(buildCaffeine(cacheSettings.getDefaults()));
+
+        Set<String> cacheNames = new LinkedHashSet<>(APPLICATION_CACHES);
+        cacheNames.addAll(cacheSettings.getCaches().keySet());
+
+        for (String cacheName : cacheNames) {
+            CacheSettingsConfig.CacheSpec spec = cacheSettings.resolve(cacheName);
+            cacheManager.registerCustomCache(cacheName, buildCaffeine(spec).build());
+
+            logMsg.debug(log, "cache.config.cache.registered", cacheName, spec.getMaximumSize(),
+                    spec.getExpireAfterWrite(), spec.getExpireAfterAccess());
+        }
+
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> buildCaffeine(CacheSettingsConfig.CacheSpec spec) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+
+        if (spec.getMaximumSize() != null) {
+            caffeine.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            caffeine.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            caffeine.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return caffeine;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.galtor85.household_store.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for application caches.
+ *
+ * <p>Every named cache gets its own size bound and expiration policy.
+ * Caches that are not listed explicitly use the {@code defaults} specification.</p>
+ *
+ * <p>All values are loaded from application.properties with prefix 'app.cache'.</p>
+ *
+ * <p><b>Example configuration in application.properties:</b></p>
+ * <pre>
+ * app.cache.defaults.maximum-size=1000
+ * app.cache.defaults.expire-after-write=10m
+ * app.cache.caches.warehouses.maximum-size=200
+ * app.cache.caches.warehouses.expire-after-write=30m
+ * </pre>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSettingsConfig {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    /** Specification applied to caches without their own settings (default: 1000 entries, no expiration) */
+    private CacheSpec defaults = new CacheSpec(DEFAULT_MAXIMUM_SIZE);
+
+    /** Per-cache specifications keyed by cache name */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    /**
+     * Returns specification for a cache, falling back to defaults
+     * for every value that is not set explicitly.
+     *
+     * @param cacheName cache name
+     * @return effective cache specification
+     */
+    public CacheSpec resolve(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        if (spec == null) {
+            return defaults;
+        }
+
+        return new CacheSpec(
+                spec.getMaximumSize() != null ? spec.getMaximumSize() : defaults.getMaximumSize(),
+                spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : defaults.getExpireAfterWrite(),
+                spec.getExpireAfterAccess() != null ? spec.getExpireAfterAccess() : defaults.getExpireAfterAccess());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheSpec {
+        /** Maximum number of entries before W-TinyLFU eviction starts */
+        private Long maximumSize;
+
+        /** Time to live after an entry is written */
+        private Duration expireAfterWrite;
+
+        /** Time to live after the last access to an entry */
+        private Duration expireAfterAccess;
+
+        public CacheSpec(Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+}
@@ -129,7 +129,7 @@ public class DatabaseInitializer {
                     || isTableNotExists("warehouses")
                     || isTableNotExists("currencies");
         } catch (Exception e) {
-            log.debug(logMsg.get("database-initializer.log.database.not.ready", e.getMessage()));
+            logMsg.debug(log, "database-initializer.log.database.not.ready", e.getMessage());
             return true;
         }
     }
@@ -148,7 +148,7 @@ public class DatabaseInitializer {
             Integer result = jdbcTemplate.queryForObject(query, Integer.class, schema, tableName);
             return result == null;
         } catch (DataAccessException e) {
-            log.debug(logMsg.get("database-initializer.log.table.not.exists", tableName));
+            logMsg.debug(log, "database-initializer.log.table.not.exists", tableName);
             return true;
         }
     }
@@ -219,7 +219,7 @@ public class DatabaseInitializer {
 
                 log.info(logMsg.get("database-initializer.log.user.created", email, role.name()));
             } else {
-                log.debug(logMsg.get("database-initializer.log.user.exists", email));
+                logMsg.debug(log, "database-initializer.log.user.exists", email);
             }
         } catch (Exception e) {
             log.error(logMsg.get("database-initializer.log.user.create.failed", email, e.getMessage()), e);
@@ -276,7 +276,7 @@ public class DatabaseInitializer {
 
                 log.info(logMsg.get("database-initializer.log.warehouse.created", defaultName, defaultId));
             } else {
-                log.debug(logMsg.get("database-initializer.log.warehouse.exists", defaultName, defaultId));
+                logMsg.debug(log, "database-initializer.log.warehouse.exists", defaultName, defaultId);
             }
         } catch (Exception e) {
             log.error(logMsg.get("database-initializer.log.warehouse.create.failed", e.getMessage()), e);
@@ -330,7 +330,7 @@ public class DatabaseInitializer {
                     log.info(logMsg.get("database-initializer.log.currency.created.not.base", defaultCode));
                 }
             } else {
-                log.debug(logMsg.get("database-initializer.log.currency.exists", defaultCode));
+                logMsg.debug(log, "database-initializer.log.currency.exists", defaultCode);
             }
         } catch (Exception e) {
             log.error(logMsg.get("database-initializer.log.currency.create.failed", e.getMessage()), e);
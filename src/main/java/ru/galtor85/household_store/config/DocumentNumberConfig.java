@@ -0,0 +1,77 @@
+package ru.galtor85.household_store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.util.generator.DocumentType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration for document number generation.
+ *
+ * <p>Numbers are taken from per-type database sequences in blocks: one sequence call
+ * reserves a block of {@code INCREMENT BY} values, which is then handed out from memory.
+ * The block size actually used is always read from the sequence; the configured size
+ * is the increment of sequences created with {@code initialize-sequences} and is
+ * checked against existing sequences (a mismatch is logged). It is the same for all
+ * types; to change the block size of an existing sequence, change its increment
+ * with a migration.</p>
+ *
+ * <p><b>Example configuration in application.properties:</b></p>
+ * <pre>
+ * app.document-number.digits=10
+ * app.document-number.block-size=50
+ * app.document-number.initialize-sequences=false
+ * app.document-number.types.sales-order.prefix=SO-
+ * </pre>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.document-number")
+public class DocumentNumberConfig {
+
+    /**
+     * Minimum number of digits, numbers are left-padded with zeros
+     */
+    private int digits = 10;
+
+    /**
+     * Block size of all types; must equal the increment of the sequences
+     * (50 in db.changelog-document-number-sequences.xml)
+     */
+    private int blockSize = 50;
+
+    /**
+     * Creates missing sequences at first use (for databases without Liquibase, e.g. tests)
+     */
+    private boolean initializeSequences = false;
+
+    /**
+     * Per-type number prefixes
+     */
+    private Map<DocumentType, TypeSettings> types = new EnumMap<>(DocumentType.class);
+
+    /**
+     * Resolves number prefix for a document type.
+     *
+     * @param type document type
+     * @return configured prefix or type default
+     */
+    public String resolvePrefix(DocumentType type) {
+        TypeSettings settings = types.get(type);
+        return settings != null && settings.getPrefix() != null ? settings.getPrefix() : type.getDefaultPrefix();
+    }
+
+    /**
+     * Settings of a single document type.
+     */
+    @Data
+    public static class TypeSettings {
+
+        private String prefix;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.galtor85.household_store.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.repository.finance.InvoiceRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
+
+/**
+ * Scheduler for reconciling invoice paid amounts with cash transactions.
+ * Corrects drift with a single grouped update, then rebuilds customer spend
+ * aggregates from the reconciled amounts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvoiceReconciliationScheduler {
+
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerStatsService customerStatsService;
+    private final LogMessageService logMsg;
+
+    @Scheduled(cron = "${app.scheduling.invoice-reconcile-cron:0 30 2 * * ?}")
+    public void reconcilePaidAmounts() {
+        log.info(logMsg.get("invoice.paid.amount.reconcile.start"));
+        int corrected = invoiceRepository.reconcilePaidAmounts();
+        log.info(logMsg.get("invoice.paid.amount.reconcile.complete", corrected));
+        customerStatsService.rebuild();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.galtor85.household_store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for password hashing.
+ *
+ * <p>BCrypt runs on a dedicated executor with a fixed number of threads and a
+ * bounded queue. When both are full, hashing is rejected at once and the
+ * request is answered with 429, so a burst of login attempts cannot occupy
+ * all request threads and CPUs.</p>
+ *
+ * <p>All values are loaded from application.properties with prefix 'app.password-hashing'.</p>
+ *
+ * <p><b>Example configuration in application.properties:</b></p>
+ * <pre>
+ * app.password-hashing.strength=12
+ * app.password-hashing.threads=4
+ * app.password-hashing.queue-capacity=32
+ * app.password-hashing.max-wait=5s
+ * </pre>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingConfig {
+
+    /**
+     * BCrypt cost of new hashes; hashes of a lower cost are rehashed on the next login,
+     * hashes of a higher cost are kept
+     */
+    private Integer strength = 10;
+
+    /** Threads computing hashes (at most the number of CPUs given to hashing) */
+    private Integer threads = 4;
+
+    /** Hashing tasks waiting for a thread; further tasks are rejected */
+    private Integer queueCapacity = 32;
+
+    /** Longest time a request waits for its hash before it is rejected */
+    private Duration maxWait = Duration.ofSeconds(5);
+}
@@ -41,6 +41,9 @@ public class PaymentConfig {
     /** Payment providers configuration */
     private ProvidersConfig providers = new ProvidersConfig();
 
+    /** HTTP client and fault tolerance settings, applied to each provider separately */
+    private ClientConfig client = new ClientConfig();
+
     /**
      * Configuration for payment processing (fee calculation, rounding, etc.)
      */
@@ -59,6 +62,25 @@ public class PaymentConfig {
         private Integer transactionIdRandomLength = 8;
     }
 
+    /**
+     * Configuration of provider HTTP clients.
+     * Every provider gets its own connection pool, bulkhead and circuit breaker.
+     */
+    @Data
+    public static class ClientConfig {
+        /** Maximum concurrent calls to one provider (bulkhead size) */
+        private Integer maxConcurrentCalls = 20;
+
+        /** Time to wait for a free bulkhead slot in milliseconds before rejecting the call */
+        private Integer bulkheadWaitTimeout = 100;
+
+        /** Consecutive failures after which the circuit breaker opens */
+        private Integer failureThreshold = 5;
+
+        /** Time in milliseconds the circuit breaker stays open before a trial call is allowed */
+        private Integer openStateDuration = 30000;
+    }
+
     /**
      * Configuration for payment providers.
      * Each provider can have its own settings for fees, URLs, timeouts, etc.
@@ -76,7 +76,7 @@ public class PaymentMethodInitializer {
     @EventListener(ApplicationReadyEvent.class)
     public void initPaymentMethods() {
         if (paymentMethodRepository.count() > 0) {
-            log.debug(logMsg.get("payment.method.init.skip"));
+            logMsg.debug(log, "payment.method.init.skip");
             return;
         }
 
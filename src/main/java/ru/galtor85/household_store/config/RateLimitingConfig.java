@@ -0,0 +1,96 @@
+package ru.galtor85.household_store.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_BACKEND_LOCAL;
+
+/**
+ * Configuration for request rate limiting.
+ *
+ * <p>Every policy limits requests to one path per client IP. Buckets are kept
+ * either in a bounded in-memory cache of this node ({@code local}) or in a
+ * PostgreSQL table shared by all nodes ({@code jdbc}).</p>
+ *
+ * <p>All values are loaded from application.properties with prefix 'app.rate-limiting'.</p>
+ *
+ * <p><b>Example configuration in application.properties:</b></p>
+ * <pre>
+ * app.rate-limiting.enabled=true
+ * app.rate-limiting.backend=jdbc
+ * app.rate-limiting.policies.login.path=/app/auth/login
+ * app.rate-limiting.policies.login.capacity=10
+ * app.rate-limiting.policies.login.period=1m
+ * app.rate-limiting.policies.login.fail-open=false
+ * </pre>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limiting")
+public class RateLimitingConfig {
+
+    /** Whether rate limiting is applied at all */
+    private boolean enabled = true;
+
+    /** Bucket storage: local (per node) or jdbc (shared PostgreSQL table) */
+    private String backend = RATE_LIMIT_BACKEND_LOCAL;
+
+    /** In-memory bucket storage settings */
+    private LocalConfig local = new LocalConfig();
+
+    /** Shared bucket storage settings */
+    private JdbcConfig jdbc = new JdbcConfig();
+
+    /** Rate limit policies keyed by name (used as metric tag and bucket key prefix) */
+    private Map<String, PolicyConfig> policies = new LinkedHashMap<>();
+
+    /**
+     * Rate limit of one path.
+     */
+    @Data
+    public static class PolicyConfig {
+        /** Exact request path the policy applies to */
+        private String path;
+
+        /** Requests allowed per period */
+        private Integer capacity = 10;
+
+        /** Period after which the whole capacity is restored */
+        private Duration period = Duration.ofMinutes(1);
+
+        /** Whether requests are let through when the bucket storage fails (rejected by default) */
+        private boolean failOpen = false;
+    }
+
+    /**
+     * Settings of the in-memory bucket storage.
+     * Idle buckets expire after the longest policy period.
+     */
+    @Data
+    public static class LocalConfig {
+        /** Maximum number of buckets kept; least valuable buckets are evicted first */
+        private Long maximumBuckets = 100_000L;
+    }
+
+    /**
+     * Settings of the shared bucket storage.
+     */
+    @Data
+    public static class JdbcConfig {
+        /** Bucket table with id, state and updated_at columns */
+        private String table = "household_schema.rate_limit_buckets";
+
+        /** Buckets not used for this long are deleted (should exceed the longest policy period) */
+        private Duration retention = Duration.ofHours(1);
+
+        /** Maximum number of empty buckets remembered on this node to reject their requests without a query */
+        private Long maximumRejectedBuckets = 100_000L;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.galtor85.household_store.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,12 +26,14 @@ import ru.galtor85.household_store.advice.exception.auth.AuthenticationManagerEx
 import ru.galtor85.household_store.dto.response.system.ApiResponse;
 import ru.galtor85.household_store.security.JwtAuthenticationFilter;
 import ru.galtor85.household_store.security.JwtTokenCleanupFilter;
+import ru.galtor85.household_store.security.password.BoundedPasswordEncoder;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static ru.galtor85.household_store.constants.EndpointConstants.*;
 import static ru.galtor85.household_store.constants.TechnicalConstants.*;
@@ -43,7 +47,7 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.*;
  *   <li>Stateless session management</li>
  *   <li>CORS configuration for frontend integration</li>
  *   <li>Role-based authorization for endpoints</li>
- *   <li>Password encoding with BCrypt</li>
+ *   <li>Password encoding with BCrypt on a bounded executor</li>
  * </ul>
  *
  * @author G@LTor85
@@ -94,13 +98,28 @@ public class SecurityConfig {
     // =========================================================================
 
     /**
-     * Creates a password encoder using BCrypt hashing algorithm.
+     * Creates the password encoder.
      *
-     * @return BCryptPasswordEncoder instance
+     * <p>New hashes are BCrypt with the configured cost, prefixed with {@code {bcrypt}}.
+     * Older hashes without prefix are still accepted; they and hashes of a lower cost
+     * are rehashed on the next successful login (see
+     * {@link ru.galtor85.household_store.security.CustomUserDetailsService#updatePassword}).
+     * Hashes of a higher cost are kept: {@link BCryptPasswordEncoder#upgradeEncoding}
+     * only upgrades, so lowering the cost affects new passwords only.
+     * Hashing runs on a bounded executor that sheds load when saturated.</p>
+     *
+     * @param config        password hashing settings
+     * @param meterRegistry registry for executor metrics
+     * @return bounded delegating password encoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig config, MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(config.getStrength());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                PASSWORD_ENCODER_BCRYPT, Map.of(PASSWORD_ENCODER_BCRYPT, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, config, meterRegistry, logMsg);
     }
 
     /**
@@ -113,7 +132,7 @@ public class SecurityConfig {
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) {
         try {
-            log.debug(logMsg.get("security-config.log.creating.authentication.manager"));
+            logMsg.debug(log, "security-config.log.creating.authentication.manager");
             return authConfig.getAuthenticationManager();
         } catch (Exception e) {
             throw new AuthenticationManagerException(
@@ -137,6 +156,7 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(ACTUATOR_METRICS, ACTUATOR_CACHES).hasRole(ROLE_ADMIN)
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(ADMIN_ROOT).hasRole(ROLE_ADMIN)
                         .requestMatchers(MANAGER_ROOT).hasAnyRole(ROLE_ADMIN, ROLE_MANAGER)
@@ -180,7 +200,7 @@ public class SecurityConfig {
                         })
                 );
 
-        log.debug(logMsg.get("security-config.log.security.filter.chain.configured"));
+        logMsg.debug(log, "security-config.log.security.filter.chain.configured");
         return http.build();
     }
 
@@ -226,7 +246,7 @@ public class SecurityConfig {
 
         if (activeProfile.contains("dev") || activeProfile.contains("local")) {
             config.setAllowedOriginPatterns(Collections.singletonList("https://localhost:*"));
-            log.debug(logMsg.get("security-config.log.cors.default.dev"));
+            logMsg.debug(log, "security-config.log.cors.default.dev");
         } else {
             log.warn(logMsg.get("security-config.log.cors.default.prod"));
         }
@@ -243,9 +263,9 @@ public class SecurityConfig {
     }
 
     private void logCorsConfiguration(CorsConfiguration config) {
-        log.debug(logMsg.get("security-config.log.cors.allowed.headers", config.getAllowedHeaders()));
-        log.debug(logMsg.get("security-config.log.cors.allowed.methods", config.getAllowedMethods()));
-        log.debug(logMsg.get("security-config.log.cors.allowed.origins", config.getAllowedOrigins()));
-        log.debug(logMsg.get("security-config.log.cors.configuration.source.configured"));
+        logMsg.debug(log, "security-config.log.cors.allowed.headers", config.getAllowedHeaders());
+        logMsg.debug(log, "security-config.log.cors.allowed.methods", config.getAllowedMethods());
+        logMsg.debug(log, "security-config.log.cors.allowed.origins", config.getAllowedOrigins());
+        logMsg.debug(log, "security-config.log.cors.configuration.source.configured");
     }
 }
\ No newline at end of file
@@ -1,23 +0,0 @@
-package ru.galtor85.household_store.config;
-
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-/**
- * Cache configuration for stock display.
- *
- * @author G@LTor85
- 
- */
-@Configuration
-@EnableCaching
-public class StockCacheConfig {
-
-    @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("productAvailability");
-    }
-}
\ No newline at end of file
@@ -2,16 +2,21 @@ package ru.galtor85.household_store.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.repository.security.BlacklistedTokenRepository;
+import ru.galtor85.household_store.repository.security.PrincipalInvalidationRepository;
+import ru.galtor85.household_store.security.TokenBlacklist;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
- * Scheduler for cleaning up expired JWT tokens.
+ * Scheduler for cleaning up expired JWT tokens and principal invalidations
+ * older than any access token that could still be cached.
  */
 @Slf4j
 @Component
@@ -20,12 +25,21 @@ import java.time.LocalDateTime;
 public class TokenCleanupScheduler {
 
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final PrincipalInvalidationRepository principalInvalidationRepository;
+    private final TokenBlacklist tokenBlacklist;
     private final LogMessageService logMsg;
 
+    @Value("${app.jwt.access-token-validity:3600000}")
+    private long accessTokenValidityMs;
+
     @Scheduled(cron = "${app.scheduling.token-cleanup-cron:0 0 2 * * ?}")
     public void cleanupExpiredTokens() {
         log.info(logMsg.get("auth.log.token.cleanup.start"));
-        int deleted = blacklistedTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.info(logMsg.get("auth.log.token.cleanup.complete", deleted));
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = blacklistedTokenRepository.deleteExpiredTokens(now);
+        int invalidations = principalInvalidationRepository.deleteInvalidatedBefore(
+                now.minus(accessTokenValidityMs, ChronoUnit.MILLIS));
+        tokenBlacklist.evictExpired();
+        log.info(logMsg.get("auth.log.token.cleanup.complete", deleted, invalidations));
     }
 }
\ No newline at end of file
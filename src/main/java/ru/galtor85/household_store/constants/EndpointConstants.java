@@ -54,6 +54,8 @@ public final class EndpointConstants {
     public static final String API_DOCS = "/v3/api-docs/**";
     public static final String API_DOCS_JSON = "/api-docs/**";
     public static final String ACTUATOR = "/actuator/**";
+    public static final String ACTUATOR_METRICS = "/actuator/metrics/**";
+    public static final String ACTUATOR_CACHES = "/actuator/caches/**";
     public static final String ERROR = "/error";
     public static final String DEBUG = API_BASE + "/debug/**";
 
@@ -683,6 +683,12 @@ public final class TechnicalConstants {
     // ID GENERATION
     // =========================================================================
 
+    /**
+     * IDs preallocated per sequence call for stock records and movements
+     * (must match INCREMENT BY of their sequences)
+     */
+    public static final int STOCK_ID_ALLOCATION_SIZE = 50;
+
     // =========================================================================
     // HTTP & ENCODING
     // =========================================================================
@@ -793,4 +799,172 @@ public final class TechnicalConstants {
      * Default active status
      */
     public static final boolean DEFAULT_ACTIVE_STATUS = true;
-}
\ No newline at end of file
+
+    // =========================================================================
+    // CACHE NAMES
+    // =========================================================================
+
+    /**
+     * Cache of customer-visible product availability by product ID
+     */
+    public static final String CACHE_PRODUCT_AVAILABILITY = "productAvailability";
+
+    /**
+     * Cache of warehouse reference data
+     */
+    public static final String CACHE_WAREHOUSES = "warehouses";
+
+    /**
+     * Cache of active price rules
+     */
+    public static final String CACHE_PRICE_RULES = "priceRules";
+
+    /**
+     * Cache of warehouse stock summaries by warehouse ID
+     */
+    public static final String CACHE_WAREHOUSE_SUMMARIES = "warehouseSummaries";
+
+    /**
+     * Cache of storage cell reference data
+     */
+    public static final String CACHE_STORAGE_CELLS = "storageCells";
+
+    /**
+     * Cache of user reference data (email and names)
+     */
+    public static final String CACHE_USERS = "users";
+
+    /**
+     * Cache of payment method reference data
+     */
+    public static final String CACHE_PAYMENT_METHODS = "paymentMethods";
+
+    // =========================================================================
+    // EXPORT
+    // =========================================================================
+
+    /**
+     * JDBC fetch size for forward-only export cursors
+     */
+    public static final String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Rows enriched and written per batch during streaming export
+     */
+    public static final int EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * NDJSON content type
+     */
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+
+    /**
+     * CSV content type
+     */
+    public static final String CONTENT_TYPE_CSV = "text/csv";
+
+    /**
+     * Content type of gzip-compressed exports
+     */
+    public static final String CONTENT_TYPE_GZIP = "application/gzip";
+
+    /**
+     * File extension appended to gzip-compressed exports
+     */
+    public static final String GZIP_FILE_EXTENSION = "gz";
+
+    // =========================================================================
+    // PRODUCT SEARCH
+    // =========================================================================
+
+    /**
+     * Property selecting the product search index implementation
+     */
+    public static final String SEARCH_ENGINE_PROPERTY = "app.search.engine";
+
+    /**
+     * PostgreSQL full-text and trigram search
+     */
+    public static final String SEARCH_ENGINE_POSTGRES = "postgres";
+
+    /**
+     * In-memory search index (databases without full-text search, e.g. H2 in tests)
+     */
+    public static final String SEARCH_ENGINE_MEMORY = "memory";
+
+    // =========================================================================
+    // RATE LIMITING
+    // =========================================================================
+
+    /**
+     * Property selecting the rate limit bucket storage
+     */
+    public static final String RATE_LIMIT_BACKEND_PROPERTY = "app.rate-limiting.backend";
+
+    /**
+     * Buckets in a bounded in-memory cache of each node
+     */
+    public static final String RATE_LIMIT_BACKEND_LOCAL = "local";
+
+    /**
+     * Buckets in a PostgreSQL table shared by all nodes
+     */
+    public static final String RATE_LIMIT_BACKEND_JDBC = "jdbc";
+
+    /**
+     * Counter of requests rejected by rate limiting
+     */
+    public static final String RATE_LIMIT_THROTTLED_METRIC = "rate.limit.throttled";
+
+    /**
+     * Retry-After of requests rejected because the rate limit backend failed
+     */
+    public static final long RATE_LIMIT_FAILURE_RETRY_AFTER_SECONDS = 5;
+
+    // =========================================================================
+    // PASSWORD HASHING
+    // =========================================================================
+
+    /**
+     * ID of BCrypt in prefixed password hashes ({@code {bcrypt}$2a$...})
+     */
+    public static final String PASSWORD_ENCODER_BCRYPT = "bcrypt";
+
+    /**
+     * Name of the password hashing executor in metrics and thread names
+     */
+    public static final String PASSWORD_HASHING_EXECUTOR_NAME = "passwordHashing";
+
+    /**
+     * Counter of password hashing tasks rejected because the executor is saturated
+     */
+    public static final String PASSWORD_HASHING_REJECTED_METRIC = "password.hashing.rejected";
+
+    /**
+     * Retry-After sent when password hashing is saturated
+     */
+    public static final long PASSWORD_HASHING_RETRY_AFTER_SECONDS = 1;
+
+    // =========================================================================
+    // USER STATISTICS
+    // =========================================================================
+
+    /**
+     * Maximum number of time buckets in one activity statistics request
+     */
+    public static final int MAX_STATISTICS_BUCKETS = 366;
+
+    // =========================================================================
+    // CART STORE
+    // =========================================================================
+
+    /**
+     * Gauge of active carts held in memory by the cart store
+     */
+    public static final String CART_STORE_SESSIONS_METRIC = "cart.store.sessions";
+
+    /**
+     * Gauge of in-memory carts with changes not yet written to the database
+     */
+    public static final String CART_STORE_PENDING_METRIC = "cart.store.pending";
+}
@@ -17,6 +17,8 @@ import ru.galtor85.household_store.dto.request.user.UpdateRoleRequest;
 import ru.galtor85.household_store.dto.request.user.UpdateStatusRequest;
 import ru.galtor85.household_store.dto.response.order.RollbackApprovalDto;
 import ru.galtor85.household_store.dto.response.system.ApiResponse;
+import ru.galtor85.household_store.dto.response.user.CustomerStatsDto;
+import ru.galtor85.household_store.dto.response.user.UserActivityStatistics;
 import ru.galtor85.household_store.dto.response.user.UserResponse;
 import ru.galtor85.household_store.dto.response.user.UserStatistics;
 import ru.galtor85.household_store.entity.user.User;
@@ -26,11 +28,14 @@ import ru.galtor85.household_store.service.auth.AdminUserCreationService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.rollback.RollbackService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
 import ru.galtor85.household_store.service.user.UserDeletedService;
 import ru.galtor85.household_store.service.user.UserRoleService;
 import ru.galtor85.household_store.service.user.UserSearchService;
 import ru.galtor85.household_store.service.user.UserStatusService;
+import ru.galtor85.household_store.util.date.StatisticsGranularity;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +81,7 @@ public class AdminRestController extends BaseController {
     private final UserMapper userMapper;
     private final MessageService messageService;
     private final RollbackService rollbackService;
+    private final CustomerStatsService customerStatsService;
     private final LogMessageService logMsg;
 
     private boolean hasSearchCriteria(String mobileNumber, String email,
@@ -116,11 +122,11 @@ public class AdminRestController extends BaseController {
 
         if (hasSearchCriteria(mobileNumber, email, firstName, lastName)) {
             users = userSearchService.searchUsersByCriteria(mobileNumber, email, firstName, lastName, sortBy);
-            log.debug(logMsg.get("admin-rest-controller.log.searching.users.with.criteria",
-                    email, mobileNumber, firstName, lastName));
+            logMsg.debug(log, "admin-rest-controller.log.searching.users.with.criteria",
+                    email, mobileNumber, firstName, lastName);
         } else {
             users = userSearchService.getAllUsers(sortBy);
-            log.debug(logMsg.get("admin-rest-controller.log.getting.all.users", sortBy));
+            logMsg.debug(log, "admin-rest-controller.log.getting.all.users", sortBy);
         }
 
         List<UserResponse> userResponses = users.stream()
@@ -171,7 +177,7 @@ public class AdminRestController extends BaseController {
             @Parameter(description = "User ID", example = "1", required = true)
             @PathVariable Long userId) {
 
-        log.debug(logMsg.get("admin-rest-controller.log.getting.user.by.id", userId));
+        logMsg.debug(log, "admin-rest-controller.log.getting.user.by.id", userId);
 
         User user = userSearchService.getUserById(userId);
 
@@ -324,6 +330,65 @@ public class AdminRestController extends BaseController {
                 responseStats));
     }
 
+    /**
+     * Retrieves registrations and active customers of a period per day, week or month.
+     */
+    @GetMapping("/stats/activity")
+    @Operation(summary = "Get activity statistics",
+            description = "Get user registrations and customers with orders per time bucket")
+    public ResponseEntity<ApiResponse<UserActivityStatistics>> getActivityStats(
+            @Parameter(description = "First day", example = "2026-04-01", required = true)
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "Last day", example = "2026-04-30", required = true)
+            @RequestParam LocalDate endDate,
+            @Parameter(description = "Bucket length: DAY, WEEK or MONTH", example = "WEEK")
+            @RequestParam(defaultValue = "DAY") StatisticsGranularity granularity) {
+
+        log.info(logMsg.get("admin-rest-controller.log.admin.getting.activity.stats",
+                getCurrentUser().getEmail(), startDate, endDate, granularity));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("admin-rest-controller.stats.activity.fetched"),
+                userSearchService.getUserActivityStatistics(startDate, endDate, granularity)));
+    }
+
+    /**
+     * Retrieves spend and order statistics of a customer.
+     */
+    @GetMapping("/{userId}/customer-stats")
+    @Operation(summary = "Get customer statistics",
+            description = "Get lifetime spend, order count, last order date and average basket of a user")
+    public ResponseEntity<ApiResponse<CustomerStatsDto>> getCustomerStats(
+            @Parameter(description = "User ID", example = "1", required = true)
+            @PathVariable Long userId) {
+
+        log.info(logMsg.get("admin-rest-controller.log.admin.getting.customer.stats",
+                getCurrentUser().getEmail(), userId));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("admin-rest-controller.customer.stats.fetched"),
+                customerStatsService.getStats(userId)));
+    }
+
+    /**
+     * Recalculates spend and order statistics of all customers from orders
+     * and invoice paid amounts.
+     */
+    @PostMapping("/customer-stats/rebuild")
+    @Operation(summary = "Rebuild customer statistics",
+            description = "Recalculate spend and order statistics of all customers")
+    public ResponseEntity<ApiResponse<Integer>> rebuildCustomerStats() {
+
+        log.info(logMsg.get("admin-rest-controller.log.admin.rebuilding.customer.stats",
+                getCurrentUser().getEmail()));
+
+        int rebuilt = customerStatsService.rebuild();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("admin-rest-controller.customer.stats.rebuilt", rebuilt),
+                rebuilt));
+    }
+
     // =========================================================================
     // ROLLBACK REQUEST MANAGEMENT
     // =========================================================================
@@ -348,8 +413,8 @@ public class AdminRestController extends BaseController {
         int effectivePage = getPage(page);
         int effectiveSize = getSize(size);
 
-        log.debug(logMsg.get("admin-rest-controller.log.pagination",
-                effectivePage, effectiveSize));
+        logMsg.debug(log, "admin-rest-controller.log.pagination",
+                effectivePage, effectiveSize);
 
         Page<RollbackApprovalDto> approvals = rollbackService.getPendingRollbacks(effectivePage, effectiveSize);
 
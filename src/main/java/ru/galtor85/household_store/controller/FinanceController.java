@@ -15,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.galtor85.household_store.advice.exception.auth.CustomAuthenticationException;
 import ru.galtor85.household_store.dto.request.finance.CashRegisterCreateRequest;
 import ru.galtor85.household_store.dto.request.finance.CashRegisterUpdateRequest;
@@ -31,8 +32,11 @@ import ru.galtor85.household_store.service.finance.InvoiceService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.user.UserSearchService;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.ExportResponses;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -187,6 +191,36 @@ public class FinanceController {
                 invoices));
     }
 
+    /**
+     * Exports invoices issued within a period as a stream.
+     *
+     * @param startDate period start (issue date, inclusive)
+     * @param endDate period end (issue date, exclusive)
+     * @param status optional status filter
+     * @param format output format (CSV or NDJSON)
+     * @param gzip whether to compress the file
+     * @return streamed file with invoices
+     */
+    @GetMapping("/invoices/export")
+    @Operation(summary = "Export invoices by period",
+            description = "Streams invoices issued within a specified period as CSV or NDJSON, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @Parameter(description = "Start date", example = "2026-01-01T00:00:00", required = true)
+            @RequestParam LocalDateTime startDate,
+            @Parameter(description = "End date (exclusive)", example = "2026-04-01T00:00:00", required = true)
+            @RequestParam LocalDateTime endDate,
+            @Parameter(description = "Invoice status (optional)", example = "PAID",
+                    schema = @Schema(allowableValues = {"PENDING", "PAID", "PARTIALLY_PAID", "CANCELLED", "REFUNDED"}))
+            @RequestParam(required = false) InvoiceStatus status,
+            @Parameter(description = "Output format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        return ExportResponses.attachment("invoices", format, gzip,
+                outputStream -> invoiceService.exportInvoices(startDate, endDate, status, format, outputStream));
+    }
+
     /**
      * Retrieves invoices for a specific purchase order.
      *
@@ -585,8 +619,8 @@ public class FinanceController {
     /**
      * Retrieves transactions within a date period.
      *
-     * @param startDate period start
-     * @param endDate period end
+     * @param startDate period start (inclusive)
+     * @param endDate period end (exclusive)
      * @param cashRegisterId optional cash register filter
      * @return list of transaction DTOs
      */
@@ -596,7 +630,7 @@ public class FinanceController {
     public ResponseEntity<ApiResponse<List<CashTransactionDto>>> getTransactionsByPeriod(
             @Parameter(description = "Start date", example = "2026-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime startDate,
-            @Parameter(description = "End date", example = "2026-12-31T23:59:59", required = true)
+            @Parameter(description = "End date (exclusive)", example = "2027-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime endDate,
             @Parameter(description = "Cash register ID (optional)", example = "1")
             @RequestParam(required = false) Long cashRegisterId) {
@@ -609,6 +643,36 @@ public class FinanceController {
                 transactions));
     }
 
+    /**
+     * Exports transactions within a date period as a stream.
+     *
+     * @param startDate period start (inclusive)
+     * @param endDate period end (exclusive)
+     * @param cashRegisterId optional cash register filter
+     * @param format output format (CSV or NDJSON)
+     * @param gzip whether to compress the file
+     * @return streamed file with transactions
+     */
+    @GetMapping("/cash-transactions/period/export")
+    @Operation(summary = "Export transactions by period",
+            description = "Streams cash transactions within a specified date period as CSV or NDJSON, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByPeriod(
+            @Parameter(description = "Start date", example = "2026-01-01T00:00:00", required = true)
+            @RequestParam LocalDateTime startDate,
+            @Parameter(description = "End date (exclusive)", example = "2027-01-01T00:00:00", required = true)
+            @RequestParam LocalDateTime endDate,
+            @Parameter(description = "Cash register ID (optional)", example = "1")
+            @RequestParam(required = false) Long cashRegisterId,
+            @Parameter(description = "Output format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        return ExportResponses.attachment("cash-transactions", format, gzip,
+                outputStream -> cashTransactionService.exportTransactionsByPeriod(
+                        startDate, endDate, cashRegisterId, format, outputStream));
+    }
+
     /**
      * Cancels a cash transaction (creates a refund transaction).
      *
@@ -671,8 +735,8 @@ public class FinanceController {
     /**
      * Gets total paid amount for a period.
      *
-     * @param startDate period start
-     * @param endDate period end
+     * @param startDate period start (inclusive)
+     * @param endDate period end (exclusive)
      * @return total paid amount
      */
     @GetMapping("/statistics/paid-period")
@@ -681,7 +745,7 @@ public class FinanceController {
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalPaidAmountForPeriod(
             @Parameter(description = "Start date", example = "2026-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime startDate,
-            @Parameter(description = "End date", example = "2026-12-31T23:59:59", required = true)
+            @Parameter(description = "End date (exclusive)", example = "2027-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime endDate) {
 
         BigDecimal total = invoiceService.getTotalPaidAmountForPeriod(startDate, endDate);
@@ -715,8 +779,8 @@ public class FinanceController {
      * Gets cash register summary for a period.
      *
      * @param cashRegisterId cash register ID
-     * @param startDate period start
-     * @param endDate period end
+     * @param startDate period start (inclusive)
+     * @param endDate period end (exclusive)
      * @return summary DTO with totals and statistics
      */
     @GetMapping("/statistics/cash-register/{cashRegisterId}/summary")
@@ -727,7 +791,7 @@ public class FinanceController {
             @PathVariable Long cashRegisterId,
             @Parameter(description = "Start date", example = "2026-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime startDate,
-            @Parameter(description = "End date", example = "2026-12-31T23:59:59", required = true)
+            @Parameter(description = "End date (exclusive)", example = "2027-01-01T00:00:00", required = true)
             @RequestParam LocalDateTime endDate) {
 
         CashRegisterSummaryDto summary = cashRegisterService.getSummary(cashRegisterId, startDate, endDate);
@@ -750,11 +814,10 @@ public class FinanceController {
             @Parameter(description = "Cash register ID", example = "1", required = true)
             @PathVariable Long cashRegisterId) {
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfDay = now.withHour(23).withMinute(59).withSecond(59);
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
 
-        CashRegisterSummaryDto summary = cashRegisterService.getSummary(cashRegisterId, startOfDay, endOfDay);
+        CashRegisterSummaryDto summary = cashRegisterService.getSummary(
+                cashRegisterId, startOfDay, startOfDay.plusDays(1));
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("cash.register.summary.today"),
@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.galtor85.household_store.dto.request.product.ProductCreateRequest;
 import ru.galtor85.household_store.dto.request.product.ProductUpdateRequest;
 import ru.galtor85.household_store.dto.request.stock.StockMovementFilterRequest;
@@ -25,6 +26,7 @@ import ru.galtor85.household_store.dto.request.warehouse.WarehouseCreateRequest;
 import ru.galtor85.household_store.dto.request.warehouse.WarehouseUpdateRequest;
 import ru.galtor85.household_store.dto.response.product.*;
 import ru.galtor85.household_store.dto.response.stock.ProductAvailabilityWithWarehousesDto;
+import ru.galtor85.household_store.dto.response.stock.StockMovementCursorPageDto;
 import ru.galtor85.household_store.dto.response.stock.StockMovementDto;
 import ru.galtor85.household_store.dto.response.stock.StockMovementSummaryDto;
 import ru.galtor85.household_store.dto.response.stock.StockTransferResponseDto;
@@ -43,6 +45,8 @@ import ru.galtor85.household_store.service.manager.ManagerPurchaseService;
 import ru.galtor85.household_store.service.stock.StockDisplayService;
 import ru.galtor85.household_store.service.stock.StockService;
 import ru.galtor85.household_store.service.warehouse.WarehouseService;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.ExportResponses;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -282,11 +286,11 @@ public class ManagerInventoryController extends BaseController {
     @Operation(summary = "Get all product categories",
             description = "Retrieves a list of all unique product categories for managers")
     public ResponseEntity<ApiResponse<List<String>>> getAllCategories() {
-        log.debug(logMsg.get("manager.categories.fetch.start"));
+        logMsg.debug(log, "manager.categories.fetch.start");
 
         List<String> categories = managerProductService.getAllCategories();
 
-        log.debug(logMsg.get("manager.categories.fetch.complete", categories.size()));
+        logMsg.debug(log, "manager.categories.fetch.complete", categories.size());
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("manager.categories.fetched"),
@@ -350,11 +354,11 @@ public class ManagerInventoryController extends BaseController {
     @Operation(summary = "Get category statistics",
             description = "Retrieves statistics for all categories (product count, min/max/avg price)")
     public ResponseEntity<ApiResponse<List<CategoryStatsDto>>> getCategoryStats() {
-        log.debug(logMsg.get("manager.categories.stats.start"));
+        logMsg.debug(log, "manager.categories.stats.start");
 
         List<CategoryStatsDto> stats = managerProductService.getCategoryStats();
 
-        log.debug(logMsg.get("manager.categories.stats.complete", stats.size()));
+        logMsg.debug(log, "manager.categories.stats.complete", stats.size());
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("manager.category.stats.fetched"),
@@ -562,7 +566,7 @@ public class ManagerInventoryController extends BaseController {
             @Parameter(description = "Include invisible warehouses", example = "false")
             @RequestParam(defaultValue = "false") boolean includeInvisible) {
 
-        log.debug(logMsg.get("manager.stock.warehouses.for.sale.start", includeInvisible));
+        logMsg.debug(log, "manager.stock.warehouses.for.sale.start", includeInvisible);
 
         List<WarehouseDto> warehouses = stockDisplayService.getWarehousesForSale(includeInvisible);
 
@@ -907,6 +911,54 @@ public class ManagerInventoryController extends BaseController {
                 movements));
     }
 
+    /**
+     * Exports stock movements matching a filter as a stream, oldest first.
+     *
+     * @param filter filter request (paging fields are ignored)
+     * @param format output format (CSV or NDJSON)
+     * @param gzip   whether to compress the file
+     * @return streamed file with stock movements
+     */
+    @PostMapping("/stock/movements/export")
+    @Operation(summary = "Export stock movements",
+            description = "Same filters as /stock/movements/filter, streams all matching movements as CSV or NDJSON, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportMovements(
+            @Valid @RequestBody StockMovementFilterRequest filter,
+            @Parameter(description = "Output format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info(logMsg.get("manager.stock.movements.export.start", filter, format));
+
+        return ExportResponses.attachment("stock-movements", format, gzip,
+                outputStream -> stockService.exportMovements(filter, format, outputStream));
+    }
+
+    /**
+     * Filters stock movements with keyset pagination (newest first).
+     * Pass nextCreatedAt/nextId of the previous response as afterCreatedAt/afterId.
+     * Page and sort fields are rejected: the order is always (createdAt, id) descending.
+     *
+     * @param filter filter request with optional cursor
+     * @return keyset page of stock movement DTOs
+     */
+    @PostMapping("/stock/movements/filter/keyset")
+    @Operation(summary = "Filter stock movements with keyset pagination",
+            description = "Same filters as /stock/movements/filter, paged by (createdAt, id) cursor without total count; " +
+                    "afterCreatedAt and afterId must be set together; page, sortBy and sortDir are rejected")
+    public ResponseEntity<ApiResponse<StockMovementCursorPageDto>> filterMovementsKeyset(
+            @Valid @RequestBody StockMovementFilterRequest filter) {
+
+        log.info(logMsg.get("manager.stock.movements.filter.start", filter));
+
+        StockMovementCursorPageDto movements = stockService.filterMovementsKeyset(filter);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("manager.stock.movements.filtered"),
+                movements));
+    }
+
     /**
      * Gets summary of stock movements for a period.
      *
@@ -1038,6 +1090,23 @@ public class ManagerInventoryController extends BaseController {
                 summaries));
     }
 
+    /**
+     * Rebuilds stock summaries of all warehouses, discarding cached ones.
+     *
+     * @return list of rebuilt warehouse stock summary DTOs
+     */
+    @PostMapping("/warehouses/stock/summary/rebuild")
+    @Operation(summary = "Rebuild stock summaries for all warehouses",
+            description = "Recalculates cached stock summaries of all warehouses from stock records")
+    public ResponseEntity<ApiResponse<List<WarehouseStockSummaryDto>>> rebuildWarehousesSummary() {
+
+        List<WarehouseStockSummaryDto> summaries = stockService.rebuildWarehouseSummaries();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("manager.all.warehouses.summary.rebuilt"),
+                summaries));
+    }
+
     /**
      * Gets low stock items in a warehouse.
      *
@@ -1107,7 +1176,7 @@ public class ManagerInventoryController extends BaseController {
             @Parameter(description = "Include invisible warehouses", example = "false")
             @RequestParam(defaultValue = "false") boolean includeInvisible) {
 
-        log.debug(logMsg.get("manager.stock.availability.manager.start", productId, includeInvisible));
+        logMsg.debug(log, "manager.stock.availability.manager.start", productId, includeInvisible);
 
         ProductAvailabilityWithWarehousesDto availability = stockDisplayService
                 .getProductAvailabilityForManager(productId, includeInvisible);
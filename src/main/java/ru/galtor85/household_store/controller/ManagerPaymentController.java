@@ -305,7 +305,7 @@ public class ManagerPaymentController extends BaseController {
             @Parameter(description = "User type", example = "RETAIL", required = true)
             @PathVariable UserType userType) {
 
-        	log.debug(logMsg.get("payment.controller.manager.get.methods.by.type.start", userType));
+        	logMsg.debug(log, "payment.controller.manager.get.methods.by.type.start", userType);
 
         List<PaymentMethodWithUserTypesDto> result = paymentMethodService.getPaymentMethodsByUserType(userType);
 
@@ -404,11 +404,11 @@ public class ManagerPaymentController extends BaseController {
             description = "Retrieves all payment methods including inactive ones")
     public ResponseEntity<ApiResponse<List<PaymentMethodWithUserTypesDto>>> getAllPaymentMethods() {
 
-        	log.debug(logMsg.get("payment.controller.manager.get.all.methods.start"));
+        	logMsg.debug(log, "payment.controller.manager.get.all.methods.start");
 
         List<PaymentMethodWithUserTypesDto> result = paymentMethodService.getAllPaymentMethodsWithUserTypes();
 
-        	log.debug(logMsg.get("payment.controller.manager.get.all.methods.success", result.size()));
+        	logMsg.debug(log, "payment.controller.manager.get.all.methods.success", result.size());
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("payment.methods.all.fetched"),
@@ -23,6 +23,7 @@ import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.order.SalesOrderService;
+import ru.galtor85.household_store.service.report.SalesRollupService;
 import ru.galtor85.household_store.service.rollback.RollbackService;
 
 import java.math.BigDecimal;
@@ -57,6 +58,7 @@ public class ManagerSalesOrderController extends BaseController {
     private final SalesOrderService salesOrderService;
     private final MessageService messageService;
     private final RollbackService rollbackService;
+    private final SalesRollupService salesRollupService;
     private final LogMessageService logMsg;
 
     // =========================================================================
@@ -263,6 +265,57 @@ public class ManagerSalesOrderController extends BaseController {
                 report));
     }
 
+    /**
+     * Gets sales report of a date range.
+     *
+     * @param startDate first day of the range
+     * @param endDate   last day of the range
+     * @return sales report DTO
+     */
+    @GetMapping("/reports/sales")
+    @Operation(summary = "Get sales report for a period",
+            description = "Retrieves sales statistics for a date range (both days inclusive)")
+    public ResponseEntity<ApiResponse<DailySalesReportDto>> getSalesReport(
+            @Parameter(description = "First day", example = "2026-04-01", required = true)
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "Last day", example = "2026-04-30", required = true)
+            @RequestParam LocalDate endDate) {
+
+        log.info(logMsg.get("manager.report.sales.range.start", startDate, endDate));
+
+        DailySalesReportDto report = salesOrderService.getSalesReport(startDate, endDate);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("manager.report.sales.range.fetched"),
+                report));
+    }
+
+    /**
+     * Recalculates sales rollups of a date range from orders.
+     *
+     * @param startDate first day of the range
+     * @param endDate   last day of the range
+     * @return number of days with orders
+     */
+    @PostMapping("/reports/sales/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Backfill sales rollups",
+            description = "Recalculates daily, hourly and product sales rollups of a date range from orders")
+    public ResponseEntity<ApiResponse<Integer>> backfillSalesRollups(
+            @Parameter(description = "First day", example = "2026-04-01", required = true)
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "Last day", example = "2026-04-30", required = true)
+            @RequestParam LocalDate endDate) {
+
+        log.info(logMsg.get("manager.report.sales.backfill.start", getCurrentUser().getEmail(), startDate, endDate));
+
+        int days = salesRollupService.backfill(startDate, endDate);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("manager.report.sales.backfill.complete", days),
+                days));
+    }
+
     /**
      * Requests a rollback of the order status (requires admin approval).
      *
@@ -25,6 +25,7 @@ import ru.galtor85.household_store.dto.response.payment.PaymentMethodForUserDto;
 import ru.galtor85.household_store.dto.response.payment.PaymentTransactionDto;
 import ru.galtor85.household_store.dto.response.stock.ProductAvailabilityDto;
 import ru.galtor85.household_store.dto.response.system.ApiResponse;
+import ru.galtor85.household_store.dto.response.user.CustomerStatsDto;
 import ru.galtor85.household_store.dto.response.user.UserResponse;
 import ru.galtor85.household_store.dto.response.user.UserTypeAssignmentDto;
 import ru.galtor85.household_store.entity.finance.InvoiceStatus;
@@ -41,7 +42,9 @@ import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.order.SalesOrderService;
 import ru.galtor85.household_store.service.payment.PaymentMethodService;
 import ru.galtor85.household_store.service.payment.PaymentService;
+import ru.galtor85.household_store.service.product.ProductSearchService;
 import ru.galtor85.household_store.service.stock.StockDisplayService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
 import ru.galtor85.household_store.service.user.UserSearchService;
 import ru.galtor85.household_store.service.user.UserTypeAssignmentService;
 
@@ -89,8 +92,10 @@ public class UserRestController extends BaseController {
     private final PaymentMethodService paymentMethodService;
     private final UserTypeAssignmentService userTypeAssignmentService;
     private final StockDisplayService stockDisplayService;
+    private final ProductSearchService productSearchService;
     private final ProductRepository productRepository;
     private final InvoiceService invoiceService;
+    private final CustomerStatsService customerStatsService;
 
     // =========================================================================
     // USER PROFILE OPERATIONS
@@ -200,12 +205,12 @@ public class UserRestController extends BaseController {
             @Parameter(description = "Sort direction (asc/desc)", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.debug(logMsg.get("user.stock.products.start", page, size, category));
+        logMsg.debug(log, "user.stock.products.start", page, size, category);
 
         Page<ProductAvailabilityDto> products = stockDisplayService.getAllProductsWithAvailability(
                 category, page, size, sortBy, sortDir);
 
-        log.debug(logMsg.get("user.stock.products.complete", products.getTotalElements()));
+        logMsg.debug(log, "user.stock.products.complete", products.getTotalElements());
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("user.stock.products.fetched"),
@@ -220,17 +225,65 @@ public class UserRestController extends BaseController {
     @GetMapping("/products/categories")
     @Operation(summary = "Get all product categories")
     public ResponseEntity<ApiResponse<List<String>>> getProductCategories() {
-        log.debug(logMsg.get("user.stock.categories.start"));
+        logMsg.debug(log, "user.stock.categories.start");
 
         List<String> categories = productRepository.findAllCategories();
 
-        log.debug(logMsg.get("user.stock.categories.complete", categories.size()));
+        logMsg.debug(log, "user.stock.categories.complete", categories.size());
 
         return ResponseEntity.ok(ApiResponse.success(
                 messageService.get("user.stock.categories.fetched"),
                 categories));
     }
 
+    /**
+     * Searches products by name, SKU, brand, category or description, most relevant first.
+     *
+     * @param query search text
+     * @param page  page number (0-indexed)
+     * @param size  page size
+     * @return page of matching products with availability status
+     */
+    @GetMapping("/products/search")
+    @Operation(summary = "Search products",
+            description = "Full-text search with relevance ranking, typo-tolerant name matching and SKU prefix matching")
+    public ResponseEntity<ApiResponse<Page<ProductAvailabilityDto>>> searchProducts(
+            @Parameter(description = "Search text", example = "drill bosch")
+            @RequestParam("q") String query,
+            @Parameter(description = "Page number (0-indexed)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        Page<ProductAvailabilityDto> products = productSearchService.search(query, Math.max(page, 0), getSize(size));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("user.stock.products.search.fetched"),
+                products));
+    }
+
+    /**
+     * Suggests product names for the text typed so far.
+     *
+     * @param prefix text typed so far
+     * @param limit  maximum number of suggestions
+     * @return product names
+     */
+    @GetMapping("/products/autocomplete")
+    @Operation(summary = "Autocomplete product names")
+    public ResponseEntity<ApiResponse<List<String>>> autocompleteProducts(
+            @Parameter(description = "Text typed so far", example = "dri")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<String> suggestions = productSearchService.autocomplete(prefix, getSize(limit));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("user.stock.products.autocomplete.fetched"),
+                suggestions));
+    }
+
     // =========================================================================
     // SHOPPING CART OPERATIONS
     // =========================================================================
@@ -244,7 +297,7 @@ public class UserRestController extends BaseController {
     @Operation(summary = "Get current user's cart")
     public ResponseEntity<ApiResponse<CartDto>> getCart() {
         Long userId = getCurrentUserId();
-        log.debug(logMsg.get("cart.controller.get", userId));
+        logMsg.debug(log, "cart.controller.get", userId);
 
         CartDto cart = cartService.getActiveCart(userId);
 
@@ -430,7 +483,7 @@ public class UserRestController extends BaseController {
             @RequestParam(defaultValue = "20") int size) {
 
         Long userId = getCurrentUserId();
-        log.debug(logMsg.get("user.orders.fetch.start", userId));
+        logMsg.debug(log, "user.orders.fetch.start", userId);
 
         Page<SalesOrderDto> orders = salesOrderService.getCustomerOrders(userId, null, null, null, page, size);
 
@@ -452,7 +505,7 @@ public class UserRestController extends BaseController {
             @PathVariable Long orderId) {
 
         Long userId = getCurrentUserId();
-        log.debug(logMsg.get("user.order.fetch.start", userId, orderId));
+        logMsg.debug(log, "user.order.fetch.start", userId, orderId);
 
         SalesOrderDto order = salesOrderService.getSalesOrderById(orderId);
 
@@ -475,7 +528,7 @@ public class UserRestController extends BaseController {
             @PathVariable String orderNumber) {
 
         Long userId = getCurrentUserId();
-        log.debug(logMsg.get("user.order.fetch.by.number.start", userId, orderNumber));
+        logMsg.debug(log, "user.order.fetch.by.number.start", userId, orderNumber);
 
         SalesOrderDto order = salesOrderService.getSalesOrderByNumber(orderNumber);
 
@@ -586,7 +639,7 @@ public class UserRestController extends BaseController {
             @PathVariable String orderNumber) {
 
         Long currentUserId = getCurrentUserId();
-        log.debug(logMsg.get("user.order.invoices.fetch.start", currentUserId, orderNumber));
+        logMsg.debug(log, "user.order.invoices.fetch.start", currentUserId, orderNumber);
 
         SalesOrderDto order = salesOrderService.getSalesOrderByNumber(orderNumber);
 
@@ -611,7 +664,7 @@ public class UserRestController extends BaseController {
             @PathVariable String invoiceNumber) {
 
         Long currentUserId = getCurrentUserId();
-        log.debug(logMsg.get("user.invoice.fetch.start", currentUserId, invoiceNumber));
+        logMsg.debug(log, "user.invoice.fetch.start", currentUserId, invoiceNumber);
 
         InvoiceDto invoice = invoiceService.getInvoiceByNumber(invoiceNumber);
 
@@ -644,7 +697,7 @@ public class UserRestController extends BaseController {
         User user = getCurrentUser();
         UserType userType = getUserType(user);
 
-        log.debug(logMsg.get("user.payment.methods.fetch.start", user.getId(), userType));
+        logMsg.debug(log, "user.payment.methods.fetch.start", user.getId(), userType);
 
         List<PaymentMethodForUserDto> result = paymentMethodService.getPaymentMethodsForUserType(userType);
 
@@ -668,7 +721,7 @@ public class UserRestController extends BaseController {
         User user = getCurrentUser();
         UserType userType = getUserType(user);
 
-        log.debug(logMsg.get("user.payment.method.details.start", methodId, userType));
+        logMsg.debug(log, "user.payment.method.details.start", methodId, userType);
 
         PaymentMethodForUserDto result = paymentMethodService.getPaymentMethodForUserType(methodId, userType);
 
@@ -682,7 +735,7 @@ public class UserRestController extends BaseController {
     // =========================================================================
 
     /**
-     * Retrieves the total amount spent by the current user across all orders.
+     * Retrieves the total amount spent by the current user across all orders, net of refunds.
      *
      * @return total spent amount
      */
@@ -690,7 +743,7 @@ public class UserRestController extends BaseController {
     @Operation(summary = "Get total amount spent by user")
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalSpent() {
         Long userId = getCurrentUserId();
-        log.debug(logMsg.get("user.stats.spent.start", userId));
+        logMsg.debug(log, "user.stats.spent.start", userId);
 
         BigDecimal totalSpent = salesOrderService.getUserTotalSpent(userId);
 
@@ -699,6 +752,25 @@ public class UserRestController extends BaseController {
                 totalSpent));
     }
 
+    /**
+     * Retrieves spend and order statistics of the current user:
+     * lifetime spend, order count, last order date and average basket.
+     *
+     * @return customer statistics
+     */
+    @GetMapping("/stats/summary")
+    @Operation(summary = "Get spend and order statistics of user")
+    public ResponseEntity<ApiResponse<CustomerStatsDto>> getStatsSummary() {
+        Long userId = getCurrentUserId();
+        logMsg.debug(log, "user.stats.summary.start", userId);
+
+        CustomerStatsDto stats = customerStatsService.getStats(userId);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                messageService.get("user.stats.summary.fetched"),
+                stats));
+    }
+
     // =========================================================================
     // HELPER METHODS
     // =========================================================================
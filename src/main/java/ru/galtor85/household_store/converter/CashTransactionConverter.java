@@ -12,6 +12,10 @@ import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.util.cash.CashBalanceCalculator;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.DEFAULT_CURRENCY_CODE;
 
@@ -23,6 +27,11 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.DEFAULT_C
 @RequiredArgsConstructor
 public class CashTransactionConverter {
 
+    /**
+     * Columns of CSV export, in output order
+     */
+    public static final Map<String, Function<CashTransactionDto, Object>> EXPORT_COLUMNS = exportColumns();
+
     private final MessageService messageService;
     private final CashBalanceCalculator balanceCalculator;
 
@@ -138,4 +147,22 @@ public class CashTransactionConverter {
                 .color(type != null ? type.getColor() : null)
                 .icon(type != null ? type.getIcon() : null);
     }
-}
\ No newline at end of file
+
+    private static Map<String, Function<CashTransactionDto, Object>> exportColumns() {
+        Map<String, Function<CashTransactionDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", CashTransactionDto::getId);
+        columns.put("createdAt", CashTransactionDto::getCreatedAt);
+        columns.put("cashRegisterNumber", CashTransactionDto::getCashRegisterNumber);
+        columns.put("transactionType", CashTransactionDto::getTransactionType);
+        columns.put("amount", CashTransactionDto::getAmount);
+        columns.put("currency", CashTransactionDto::getCurrency);
+        columns.put("paymentMethod", CashTransactionDto::getPaymentMethod);
+        columns.put("invoiceNumber", CashTransactionDto::getInvoiceNumber);
+        columns.put("cashierId", CashTransactionDto::getCashierId);
+        columns.put("cashierName", CashTransactionDto::getCashierName);
+        columns.put("description", CashTransactionDto::getDescription);
+        columns.put("balanceBefore", CashTransactionDto::getBalanceBefore);
+        columns.put("balanceAfter", CashTransactionDto::getBalanceAfter);
+        return Collections.unmodifiableMap(columns);
+    }
+}
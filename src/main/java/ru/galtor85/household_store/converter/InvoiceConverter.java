@@ -12,12 +12,21 @@ import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.service.i18n.MessageService;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InvoiceConverter {
 
+    /**
+     * Columns of CSV export, in output order
+     */
+    public static final Map<String, Function<InvoiceDto, Object>> EXPORT_COLUMNS = exportColumns();
+
     private final MessageService messageService;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final SalesOrderRepository salesOrderRepository;
@@ -87,4 +96,24 @@ public class InvoiceConverter {
                 .paymentPercent(paymentPercent)
                 .build();
     }
-}
\ No newline at end of file
+
+    private static Map<String, Function<InvoiceDto, Object>> exportColumns() {
+        Map<String, Function<InvoiceDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", InvoiceDto::getId);
+        columns.put("invoiceNumber", InvoiceDto::getInvoiceNumber);
+        columns.put("issueDate", InvoiceDto::getIssueDate);
+        columns.put("dueDate", InvoiceDto::getDueDate);
+        columns.put("paidDate", InvoiceDto::getPaidDate);
+        columns.put("status", InvoiceDto::getStatus);
+        columns.put("purchaseOrderNumber", InvoiceDto::getPurchaseOrderNumber);
+        columns.put("salesOrderNumber", InvoiceDto::getSalesOrderNumber);
+        columns.put("amount", InvoiceDto::getAmount);
+        columns.put("currency", InvoiceDto::getCurrency);
+        columns.put("totalPaid", InvoiceDto::getTotalPaid);
+        columns.put("remainingAmount", InvoiceDto::getRemainingAmount);
+        columns.put("paymentMethod", InvoiceDto::getPaymentMethod);
+        columns.put("description", InvoiceDto::getDescription);
+        columns.put("createdBy", InvoiceDto::getCreatedBy);
+        return Collections.unmodifiableMap(columns);
+    }
+}
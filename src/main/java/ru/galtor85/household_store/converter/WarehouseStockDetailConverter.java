@@ -4,8 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.dto.response.stock.WarehouseStockDetailDto;
-import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
 
 /**
  * Converter for warehouse stock details.
@@ -23,13 +23,13 @@ public class WarehouseStockDetailConverter {
     /**
      * Converts warehouse and stock data to DTO.
      *
-     * @param warehouse         the warehouse entity
+     * @param warehouse         the warehouse
      * @param quantity          quantity in stock
      * @param reservedQuantity  reserved quantity
      * @param availableQuantity available quantity
      * @return warehouse stock detail DTO
      */
-    public WarehouseStockDetailDto toDto(Warehouse warehouse, Integer quantity,
+    public WarehouseStockDetailDto toDto(WarehouseRef warehouse, Integer quantity,
                                          Integer reservedQuantity, Integer availableQuantity) {
         if (warehouse == null) {
             return null;
@@ -38,9 +38,9 @@ public class WarehouseStockDetailConverter {
         String localizedStatus = getLocalizedStatus(availableQuantity);
 
         return WarehouseStockDetailDto.builder()
-                .warehouseId(warehouse.getId())
-                .warehouseName(warehouse.getName())
-                .isVisibleForSale(warehouse.getIsVisibleForSale())
+                .warehouseId(warehouse.id())
+                .warehouseName(warehouse.name())
+                .isVisibleForSale(warehouse.visibleForSale())
                 .quantity(quantity != null ? quantity : 0)
                 .reservedQuantity(reservedQuantity != null ? reservedQuantity : 0)
                 .availableQuantity(availableQuantity)
@@ -43,15 +43,22 @@ public class StockMovementFilterRequest {
     @Schema(description = "End date", example = "2026-12-31T23:59:59")
     private LocalDateTime endDate;
 
-    @Schema(description = "Page number (0-indexed)", example = "0")
+    @Schema(description = "Page number (0-indexed); not accepted by keyset pagination", example = "0")
     private Integer page;
 
     @Schema(description = "Page size", example = "20")
     private Integer size;
 
-    @Schema(description = "Sort field", example = "createdAt")
+    @Schema(description = "Sort field; not accepted by keyset pagination", example = "createdAt")
     private String sortBy;
 
-    @Schema(description = "Sort direction (asc/desc)", example = "desc")
+    @Schema(description = "Sort direction (asc/desc); not accepted by keyset pagination", example = "desc")
     private String sortDir;
+
+    @Schema(description = "Keyset cursor: creation time of the last movement of the previous page",
+            example = "2026-04-17T10:15:30")
+    private LocalDateTime afterCreatedAt;
+
+    @Schema(description = "Keyset cursor: ID of the last movement of the previous page", example = "1500")
+    private Long afterId;
 }
\ No newline at end of file
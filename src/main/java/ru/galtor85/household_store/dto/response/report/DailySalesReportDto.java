@@ -19,9 +19,12 @@ import java.util.List;
 @Schema(description = "Daily sales report DTO")
 public class DailySalesReportDto {
 
-    @Schema(description = "Report date", example = "2026-04-17")
+    @Schema(description = "Report date (first day of the range)", example = "2026-04-17")
     private LocalDate date;
 
+    @Schema(description = "Last day of the range", example = "2026-04-17")
+    private LocalDate endDate;
+
     @Schema(description = "Total orders count", example = "25")
     private Long totalOrders;
 
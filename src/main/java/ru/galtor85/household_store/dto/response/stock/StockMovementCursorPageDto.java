@@ -0,0 +1,36 @@
+package ru.galtor85.household_store.dto.response.stock;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Keyset page of stock movements (newest first)")
+public class StockMovementCursorPageDto {
+
+    @Schema(description = "Movements of this page")
+    private List<StockMovementDto> content;
+
+    @Schema(description = "Requested page size", example = "20")
+    private Integer size;
+
+    @Schema(description = "Whether more movements follow", example = "true")
+    private Boolean hasNext;
+
+    @Schema(description = "Cursor for the next page: creation time of the last movement",
+            example = "2026-04-17T10:15:30")
+    private LocalDateTime nextCreatedAt;
+
+    @Schema(description = "Cursor for the next page: ID of the last movement", example = "1500")
+    private Long nextId;
+}
@@ -0,0 +1,36 @@
+package ru.galtor85.household_store.dto.response.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Customer spend and order statistics", title = "Customer Stats")
+public class CustomerStatsDto {
+
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "Lifetime spend, net of refunds", example = "15230.50")
+    private BigDecimal totalSpent;
+
+    @Schema(description = "Number of orders placed", example = "12")
+    private Long orderCount;
+
+    @Schema(description = "Number of paid purchases", example = "10")
+    private Long purchaseCount;
+
+    @Schema(description = "Average paid purchase amount", example = "1523.05")
+    private BigDecimal averageBasket;
+
+    @Schema(description = "Creation time of the latest order")
+    private LocalDateTime lastOrderAt;
+}
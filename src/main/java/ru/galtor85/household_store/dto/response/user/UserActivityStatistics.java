@@ -0,0 +1,60 @@
+package ru.galtor85.household_store.dto.response.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.galtor85.household_store.util.date.StatisticsGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Registrations and customer activity of a date range, split into time buckets.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "User registration and activity statistics")
+public class UserActivityStatistics {
+
+    @Schema(description = "First day of the range", example = "2026-04-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Last day of the range", example = "2026-04-30")
+    private LocalDate endDate;
+
+    @Schema(description = "Bucket length", example = "WEEK")
+    private StatisticsGranularity granularity;
+
+    @Schema(description = "Users registered in the range", example = "340")
+    private long registrations;
+
+    @Schema(description = "Distinct customers that placed orders in the range", example = "120")
+    private long activeCustomers;
+
+    @Schema(description = "Metrics per bucket")
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Metrics of one time bucket")
+    public static class Bucket {
+
+        @Schema(description = "First day of the bucket (clipped to the range)", example = "2026-04-06")
+        private LocalDate startDate;
+
+        @Schema(description = "Last day of the bucket (clipped to the range)", example = "2026-04-12")
+        private LocalDate endDate;
+
+        @Schema(description = "Users registered in the bucket", example = "85")
+        private long registrations;
+
+        @Schema(description = "Distinct customers that placed orders in the bucket", example = "31")
+        private long activeCustomers;
+    }
+}
@@ -68,6 +68,11 @@ public class Cart {
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
 
+    /** Incremented by every write, also by the cart store */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * Adds item to cart and recalculates total.
      *
@@ -66,6 +66,15 @@ public class Invoice {
     @Column(name = "paid_date")
     private LocalDateTime paidDate;
 
+    /**
+     * Paid amount maintained by cash transactions (payments minus refunds).
+     * Not written on entity updates: changed only by atomic increments in
+     * {@link ru.galtor85.household_store.repository.finance.InvoiceRepository#addPaidAmount}.
+     */
+    @Builder.Default
+    @Column(name = "paid_amount", nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
     @Column(length = 500)
     private String description;
 
@@ -142,6 +151,31 @@ public class Invoice {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * Calculates how a cash transaction changes the paid amount of this invoice.
+     * Purchase invoices are paid by EXPENSE, sales invoices by INCOME; REFUND reduces
+     * the paid amount of both.
+     *
+     * @param type   transaction type
+     * @param amount transaction amount
+     * @return signed change of the paid amount (zero if the transaction does not count)
+     */
+    public BigDecimal paidAmountDelta(TransactionType type, BigDecimal amount) {
+        TransactionType paymentType;
+        if (isPurchaseOrder()) {
+            paymentType = TransactionType.EXPENSE;
+        } else if (isSalesOrder()) {
+            paymentType = TransactionType.INCOME;
+        } else {
+            return BigDecimal.ZERO;
+        }
+
+        if (type == paymentType) {
+            return amount;
+        }
+        return type == TransactionType.REFUND ? amount.negate() : BigDecimal.ZERO;
+    }
+
     public BigDecimal getRemainingAmount() {
         return amount.subtract(getTotalPaidAmount());
     }
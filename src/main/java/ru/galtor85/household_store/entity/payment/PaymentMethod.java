@@ -9,6 +9,7 @@ import lombok.Setter;
 import lombok.experimental.FieldNameConstants;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import ru.galtor85.household_store.service.reference.ReferenceDataChangeListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,6 +25,7 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.DEFAULT_C
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(ReferenceDataChangeListener.class)
 @FieldNameConstants
 @Table(name = "payment_methods", schema = "household_schema")
 public class PaymentMethod {
@@ -9,6 +9,7 @@ import lombok.Setter;
 import lombok.experimental.FieldNameConstants;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import ru.galtor85.household_store.service.stock.ProductChangeListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +32,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(ProductChangeListener.class)
 @FieldNameConstants
 @Table(name = "products", schema = "household_schema")
 public class Product {
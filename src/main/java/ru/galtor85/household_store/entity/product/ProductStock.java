@@ -7,20 +7,26 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import ru.galtor85.household_store.service.stock.ProductStockChangeListener;
 
 import java.time.LocalDateTime;
 
+import static ru.galtor85.household_store.constants.TechnicalConstants.STOCK_ID_ALLOCATION_SIZE;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(ProductStockChangeListener.class)
 @Table(name = "product_stocks", schema = "household_schema",
         uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "warehouse_id"}))
 public class ProductStock {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_stocks_id_seq")
+    @SequenceGenerator(name = "product_stocks_id_seq", sequenceName = "product_stocks_id_seq",
+            schema = "household_schema", allocationSize = STOCK_ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "product_id", nullable = false)
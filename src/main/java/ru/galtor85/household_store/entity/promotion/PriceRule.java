@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import ru.galtor85.household_store.entity.product.DiscountType;
 import ru.galtor85.household_store.entity.user.UserType;
+import ru.galtor85.household_store.service.price.PriceRuleChangeListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,6 +21,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(PriceRuleChangeListener.class)
 @Table(name = "price_rules", schema = "household_schema")
 public class PriceRule {
 
@@ -0,0 +1,42 @@
+package ru.galtor85.household_store.entity.report;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Customer that placed at least one order on a day.
+ * Counts distinct customers of a day and of date ranges.
+ *
+ * @author G@LTor85
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(SalesDailyCustomer.Key.class)
+@Table(name = "sales_daily_customers", schema = "household_schema")
+public class SalesDailyCustomer {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Long userId;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.galtor85.household_store.entity.report;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales totals of one day, by order creation date.
+ *
+ * <p>Maintained incrementally by {@link ru.galtor85.household_store.service.report.SalesRollupService}
+ * with atomic UPDATE statements; rebuilt for a date range by its backfill.</p>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sales_daily_rollups", schema = "household_schema")
+public class SalesDailyRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private Long cancelledCount;
+
+    @Column(name = "pending_count", nullable = false)
+    private Long pendingCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "min_order_amount", precision = 10, scale = 2)
+    private BigDecimal minOrderAmount;
+
+    @Column(name = "max_order_amount", precision = 10, scale = 2)
+    private BigDecimal maxOrderAmount;
+
+    /** Number of distinct customers that placed orders on the day */
+    @Column(name = "customer_count", nullable = false)
+    private Long customerCount;
+}
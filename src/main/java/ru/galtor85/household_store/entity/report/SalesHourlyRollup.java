@@ -0,0 +1,49 @@
+package ru.galtor85.household_store.entity.report;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales totals of one hour of a day, by order creation time.
+ *
+ * @author G@LTor85
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(SalesHourlyRollup.Key.class)
+@Table(name = "sales_hourly_rollups", schema = "household_schema")
+public class SalesHourlyRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    /** Hour of the day, 0-23 */
+    @Id
+    @Column(name = "sales_hour")
+    private Integer salesHour;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Integer salesHour;
+    }
+}
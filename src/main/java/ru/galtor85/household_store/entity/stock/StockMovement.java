@@ -5,10 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+import static ru.galtor85.household_store.constants.TechnicalConstants.STOCK_ID_ALLOCATION_SIZE;
+
 /**
  * Entity representing stock movement (receipt, shipment, transfer, write-off, return)
  */
@@ -17,6 +20,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@FieldNameConstants
 @Table(name = "stock_movements", schema = "household_schema")
 public class StockMovement {
 
@@ -25,7 +29,9 @@ public class StockMovement {
     // =========================================================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_id_seq")
+    @SequenceGenerator(name = "stock_movements_id_seq", sequenceName = "stock_movements_id_seq",
+            schema = "household_schema", allocationSize = STOCK_ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "product_id", nullable = false)
@@ -0,0 +1,53 @@
+package ru.galtor85.household_store.entity.user;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Spend and order aggregate of a customer.
+ *
+ * <p>Maintained incrementally: order creation increments the order count, every cash
+ * transaction on a sales invoice adds its signed change of the paid amount (refunds
+ * subtract). Counters are changed only with atomic UPDATE statements of
+ * {@link ru.galtor85.household_store.repository.user.CustomerStatsRepository}, so
+ * the columns are not updatable through the entity.</p>
+ *
+ * @author G@LTor85
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "customer_stats", schema = "household_schema")
+public class CustomerStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** Paid amount of all sales invoices of the customer, net of refunds */
+    @Builder.Default
+    @Column(name = "total_spent", nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    /** Number of sales orders placed */
+    @Builder.Default
+    @Column(name = "order_count", nullable = false, updatable = false)
+    private Long orderCount = 0L;
+
+    /** Number of sales invoices with a positive paid amount */
+    @Builder.Default
+    @Column(name = "purchase_count", nullable = false, updatable = false)
+    private Long purchaseCount = 0L;
+
+    /** Creation time of the latest sales order */
+    @Column(name = "last_order_at", updatable = false)
+    private LocalDateTime lastOrderAt;
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import ru.galtor85.household_store.service.reference.ReferenceDataChangeListener;
+import ru.galtor85.household_store.service.stock.WarehouseChangeListener;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,6 +29,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners({WarehouseChangeListener.class, ReferenceDataChangeListener.class})
 @Table(name = "warehouses", schema = "household_schema")
 public class Warehouse {
 
@@ -4,8 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.dto.response.order.RollbackApprovalDto;
 import ru.galtor85.household_store.entity.rollback.RollbackApproval;
-import ru.galtor85.household_store.entity.user.User;
-import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.service.reference.UserRef;
 
 /**
  * Mapper for rollback approval entity to DTO.
@@ -14,7 +14,7 @@ import ru.galtor85.household_store.repository.user.UserRepository;
 @RequiredArgsConstructor
 public class RollbackApprovalMapper {
 
-    private final UserRepository userRepository;
+    private final ReferenceDataCache referenceData;
 
     /**
      * Converts rollback approval entity to DTO.
@@ -27,15 +27,13 @@ public class RollbackApprovalMapper {
             return null;
         }
 
-        String requestedByEmail = userRepository.findById(approval.getRequestedById())
-                .map(User::getEmail)
+        String requestedByEmail = referenceData.findUser(approval.getRequestedById())
+                .map(UserRef::email)
                 .orElse(null);
 
-        String reviewedByEmail = approval.getReviewedById() != null
-                ? userRepository.findById(approval.getReviewedById())
-                .map(User::getEmail)
-                .orElse(null)
-                : null;
+        String reviewedByEmail = referenceData.findUser(approval.getReviewedById())
+                .map(UserRef::email)
+                .orElse(null);
 
         return RollbackApprovalDto.builder()
                 .id(approval.getId())
@@ -36,7 +36,7 @@ public class UserMapper {
         if (user == null) {
             return null;
         }
-        SecurityUser securityUser = securityUserRepository.findById(user.getId()).orElse(null);
+        SecurityUser securityUser = securityUserRepository.findByUserId(user.getId()).orElse(null);
         return build(user, securityUser);
     }
 
@@ -44,7 +44,7 @@ public class UserToEntity {
         userValidator.validatePhoneNumberLength(request.getMobileNumber());
         userValidator.validateAddressLength(request.getAddress());
 
-        log.debug(logMsg.get("user-to-entity.log.mapper.converting.user", request.getEmail()));
+        logMsg.debug(log, "user-to-entity.log.mapper.converting.user", request.getEmail());
 
         return User.builder()
                 .email(request.getEmail())
@@ -92,7 +92,7 @@ public class UserToEntity {
             return;
         }
 
-        log.debug(logMsg.get("user-to-entity.log.mapper.updating.user", user.getId()));
+        logMsg.debug(log, "user-to-entity.log.mapper.updating.user", user.getId());
 
         if (request.getEmail() != null) {
             userValidator.validateEmailLength(request.getEmail());
@@ -30,10 +30,10 @@ public class PreviousAssignmentDeactivator {
         assignmentRepository.findActiveByUserId(userId)
                 .ifPresent(active -> {
                     assignmentRepository.save(mapper.deactivate(active));
-                    log.debug(logMsg.get(
+                    logMsg.debug(log,
                             "user-type.log.previous.deactivated",
                             userId, active.getUserType()
-                    ));
+                    );
                 });
     }
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+package ru.galtor85.household_store.processor.cart;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.entity.cart.CartItem;
+import ru.galtor85.household_store.entity.cart.CartStatus;
+import ru.galtor85.household_store.service.cart.CartSession;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads and writes carts of the in-memory cart store with plain JDBC.
+ *
+ * <p>Nothing is loaded into the persistence context, so cart entities read through
+ * JPA after a write see the written state. Pending changes of many carts are written
+ * with one JDBC batch per statement type; an item update that matches no row becomes
+ * an insert. A cart header is updated only if its version is still the one the changes
+ * were made at, and every write increments it. A cart that is no longer active (e.g.
+ * completed on another node) or was written by another node since is not written and
+ * is reported back as stale.</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartPersistenceProcessor {
+
+    private static final String CARTS = "household_schema.carts";
+    private static final String CART_ITEMS = "household_schema.cart_items";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LogMessageService logMsg;
+
+    /**
+     * Loads the active cart of a user with its items.
+     *
+     * @param userId user ID
+     * @return committed session of the cart, empty if the user has no active cart
+     */
+    public Optional<CartSession> loadActive(Long userId) {
+        List<CartRow> carts = jdbcTemplate.query(
+                "SELECT id, version, created_at, updated_at, expires_at FROM " + CARTS +
+                        " WHERE user_id = ? AND status = ? ORDER BY id DESC",
+                (rs, rowNum) -> new CartRow(rs.getLong("id"), rs.getLong("version"),
+                        toLocalDateTime(rs.getTimestamp("created_at")),
+                        toLocalDateTime(rs.getTimestamp("updated_at")),
+                        toLocalDateTime(rs.getTimestamp("expires_at"))),
+                userId, CartStatus.ACTIVE.name());
+
+        if (carts.isEmpty()) {
+            return Optional.empty();
+        }
+        CartRow cart = carts.getFirst();
+        CartSession session = new CartSession(userId, cart.id(), cart.version(), cart.createdAt(), cart.updatedAt(),
+                cart.expiresAt(), loadItems(cart.id()), true);
+        logMsg.debug(log, "cart.store.loaded", cart.id(), userId, session.getItemsCount());
+        return Optional.of(session);
+    }
+
+    /**
+     * Inserts a new empty active cart.
+     *
+     * @param userId    user ID
+     * @param expiresAt cart expiry time
+     * @return uncommitted session of the new cart
+     */
+    public CartSession create(Long userId, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO " + CARTS + " (user_id, status, total_amount, items_count, created_at, updated_at," +
+                            " expires_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)",
+                    new String[]{"id"});
+            ps.setLong(1, userId);
+            ps.setString(2, CartStatus.ACTIVE.name());
+            ps.setBigDecimal(3, BigDecimal.ZERO);
+            ps.setInt(4, 0);
+            ps.setTimestamp(5, Timestamp.valueOf(now));
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+            ps.setTimestamp(7, Timestamp.valueOf(expiresAt));
+            return ps;
+        }, keyHolder);
+
+        Long cartId = Objects.requireNonNull(keyHolder.getKey()).longValue();
+        return new CartSession(userId, cartId, 0, now, now, expiresAt, List.of(), false);
+    }
+
+    /**
+     * Writes pending changes of carts in batches.
+     *
+     * @param snapshots changes, at most one per cart
+     * @return IDs of carts that are no longer active or were written by another node since
+     *         the changes were made; their changes are not written
+     */
+    public Set<Long> write(List<CartSession.Snapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return Set.of();
+        }
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE " + CARTS + " SET total_amount = ?, items_count = ?, updated_at = ?, version = version + 1" +
+                        " WHERE id = ? AND status = ? AND version = ?",
+                snapshots, snapshots.size(), (ps, snapshot) -> {
+                    ps.setBigDecimal(1, snapshot.totalAmount());
+                    ps.setInt(2, snapshot.itemsCount());
+                    ps.setTimestamp(3, toTimestamp(snapshot.updatedAt()));
+                    ps.setLong(4, snapshot.cartId());
+                    ps.setString(5, CartStatus.ACTIVE.name());
+                    ps.setLong(6, snapshot.version());
+                })[0];
+
+        Set<Long> stale = new HashSet<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<ItemRow> upserts = new ArrayList<>();
+        for (int i = 0; i < snapshots.size(); i++) {
+            CartSession.Snapshot snapshot = snapshots.get(i);
+            if (updated[i] == 0) {
+                stale.add(snapshot.cartId());
+                continue;
+            }
+            snapshot.deletes().forEach(productId -> deletes.add(new Object[]{snapshot.cartId(), productId}));
+            snapshot.upserts().forEach(item -> upserts.add(new ItemRow(snapshot.cartId(), item)));
+        }
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM " + CART_ITEMS + " WHERE cart_id = ? AND product_id = ?", deletes);
+        }
+        int inserted = upsertItems(upserts);
+
+        logMsg.debug(log, "cart.store.written", snapshots.size() - stale.size(),
+                upserts.size(), inserted, deletes.size());
+        return stale;
+    }
+
+    private int upsertItems(List<ItemRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE " + CART_ITEMS + " SET quantity = ?, price = ?, product_name = ?, sku = ?, category = ?," +
+                        " updated_at = ? WHERE cart_id = ? AND product_id = ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setInt(1, row.item().getQuantity());
+                    ps.setBigDecimal(2, row.item().getPrice());
+                    ps.setString(3, row.item().getProductName());
+                    ps.setString(4, row.item().getSku());
+                    ps.setString(5, row.item().getCategory());
+                    ps.setTimestamp(6, toTimestamp(row.item().getUpdatedAt()));
+                    ps.setLong(7, row.cartId());
+                    ps.setLong(8, row.item().getProductId());
+                })[0];
+
+        List<ItemRow> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO " + CART_ITEMS + " (cart_id, product_id, quantity, price, product_name, sku, category," +
+                            " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    missing, missing.size(), (ps, row) -> {
+                        ps.setLong(1, row.cartId());
+                        ps.setLong(2, row.item().getProductId());
+                        ps.setInt(3, row.item().getQuantity());
+                        ps.setBigDecimal(4, row.item().getPrice());
+                        ps.setString(5, row.item().getProductName());
+                        ps.setString(6, row.item().getSku());
+                        ps.setString(7, row.item().getCategory());
+                        ps.setTimestamp(8, toTimestamp(row.item().getCreatedAt()));
+                        ps.setTimestamp(9, toTimestamp(row.item().getUpdatedAt()));
+                    });
+        }
+        return missing.size();
+    }
+
+    private List<CartItem> loadItems(Long cartId) {
+        return jdbcTemplate.query(
+                "SELECT id, product_id, quantity, price, product_name, sku, category, created_at, updated_at FROM " +
+                        CART_ITEMS + " WHERE cart_id = ? ORDER BY id",
+                (rs, rowNum) -> CartItem.builder()
+                        .id(rs.getLong("id"))
+                        .productId(rs.getLong("product_id"))
+                        .quantity(rs.getInt("quantity"))
+                        .price(rs.getBigDecimal("price"))
+                        .productName(rs.getString("product_name"))
+                        .sku(rs.getString("sku"))
+                        .category(rs.getString("category"))
+                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                        .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                        .build(),
+                cartId);
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Persisted cart header.
+     */
+    private record CartRow(Long id, long version, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           LocalDateTime expiresAt) {}
+
+    /**
+     * Changed item with the ID of its cart.
+     */
+    private record ItemRow(Long cartId, CartItem item) {}
+}
@@ -8,9 +8,11 @@ import ru.galtor85.household_store.advice.exception.cash.InsufficientCashExcepti
 import ru.galtor85.household_store.dto.request.finance.CashTransactionRequest;
 import ru.galtor85.household_store.entity.finance.*;
 import ru.galtor85.household_store.repository.cash.CashTransactionRepository;
+import ru.galtor85.household_store.repository.finance.InvoiceRepository;
 import ru.galtor85.household_store.service.cash.CashRegisterService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
 import ru.galtor85.household_store.util.cash.CashBalanceCalculator;
 
 import java.math.BigDecimal;
@@ -25,9 +27,11 @@ public class CashTransactionProcessor {
 
     private final MessageService messageService;
     private final CashTransactionRepository cashTransactionRepository;
+    private final InvoiceRepository invoiceRepository;
     private final CashRegisterService cashRegisterService;
     private final LogMessageService logMsg;
     private final CashBalanceCalculator balanceCalculator;
+    private final CustomerStatsService customerStatsService;
 
     /**
      * Creates a new cash transaction.
@@ -72,6 +76,7 @@ public class CashTransactionProcessor {
         if (invoice != null) {
             invoice.getCashTransactions().add(saved);
         }
+        updateInvoicePaidAmount(saved);
 
         log.info(logMsg.get("cash.transaction.processor.created",
                 saved.getId(), saved.getAmount()));
@@ -104,8 +109,8 @@ public class CashTransactionProcessor {
         if (isSalesReturn) {
             // Customer refund - money goes OUT of cash register
             balanceAfter = currentBalance.subtract(original.getAmount());
-            log.debug(logMsg.get("cash.transaction.processor.refund.sales.balance.decrease",
-                    original.getAmount()));
+            logMsg.debug(log, "cash.transaction.processor.refund.sales.balance.decrease",
+                    original.getAmount());
 
             // Check sufficient funds for customer refund
             if (balanceAfter.compareTo(BigDecimal.ZERO) < 0) {
@@ -118,8 +123,8 @@ public class CashTransactionProcessor {
         } else {
             // Supplier refund - money comes INTO cash register
             balanceAfter = currentBalance.add(original.getAmount());
-            log.debug(logMsg.get("cash.transaction.processor.refund.purchase.balance.increase",
-                    original.getAmount()));
+            logMsg.debug(log, "cash.transaction.processor.refund.purchase.balance.increase",
+                    original.getAmount());
         }
 
         CashTransaction refund = CashTransaction.builder()
@@ -138,6 +143,7 @@ public class CashTransactionProcessor {
                 .build();
 
         CashTransaction saved = cashTransactionRepository.save(refund);
+        updateInvoicePaidAmount(saved);
 
         log.info(logMsg.get("cash.transaction.processor.refund.created",
                 saved.getId(), original.getId()));
@@ -194,6 +200,7 @@ public class CashTransactionProcessor {
                 .build();
 
         CashTransaction saved = cashTransactionRepository.save(refund);
+        updateInvoicePaidAmount(saved);
 
         log.info(logMsg.get("cash.transaction.processor.partial.refund.created",
                 saved.getId(), original.getId(), refundAmount));
@@ -201,6 +208,33 @@ public class CashTransactionProcessor {
         return saved;
     }
 
+    /**
+     * Applies a saved transaction to the paid amount of its invoice.
+     * The column is incremented atomically in the same transaction; the loaded
+     * invoice instance is updated to the same value. Payments and refunds of sales
+     * invoices are also applied to the spend aggregate of the customer.
+     *
+     * @param transaction saved cash transaction
+     */
+    private void updateInvoicePaidAmount(CashTransaction transaction) {
+        Invoice invoice = transaction.getInvoice();
+        if (invoice == null) {
+            return;
+        }
+
+        BigDecimal delta = invoice.paidAmountDelta(transaction.getTransactionType(), transaction.getAmount());
+        if (delta.signum() == 0) {
+            return;
+        }
+
+        invoiceRepository.addPaidAmount(invoice.getId(), delta);
+        BigDecimal current = invoice.getPaidAmount() != null ? invoice.getPaidAmount() : BigDecimal.ZERO;
+        invoice.setPaidAmount(current.add(delta));
+        customerStatsService.recordPayment(invoice, delta);
+
+        logMsg.debug(log, "invoice.paid.amount.updated", invoice.getId(), delta, invoice.getPaidAmount());
+    }
+
     private String buildRefundNotes(CashTransaction original, String reason) {
         if (original.getNotes() != null) {
             return original.getNotes() + "\n" +
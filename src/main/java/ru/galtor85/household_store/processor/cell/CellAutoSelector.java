@@ -39,12 +39,12 @@ public class CellAutoSelector {
      */
     @SuppressWarnings("unused")
     public StorageCell selectCellForProduct(Long warehouseId, Product product, int quantity) {
-        log.debug(logMsg.get("cell.selector.start",
-                product.getId(), quantity, warehouseId));
+        logMsg.debug(log, "cell.selector.start",
+                product.getId(), quantity, warehouseId);
 
         // 1. Determine required cell type
         CellType requiredType = validationHelper.determineRequiredCellType(product);
-        log.debug(logMsg.get("cell.selector.required.type", requiredType));
+        logMsg.debug(log, "cell.selector.required.type", requiredType);
 
         // 2. Find available cells of required type
         List<StorageCell> availableCells = storageCellRepository
@@ -56,7 +56,7 @@ public class CellAutoSelector {
             throw new NoAvailableCellException(warehouseId, requiredType);
         }
 
-        log.debug(logMsg.get("cell.selector.available.count", availableCells.size()));
+        logMsg.debug(log, "cell.selector.available.count", availableCells.size());
 
         // 3. Filter by capacity
         List<StorageCell> suitableCells = availableCells.stream()
@@ -69,7 +69,7 @@ public class CellAutoSelector {
             throw new NoSuitableCellException(warehouseId, requiredType, product.getId());
         }
 
-        log.debug(logMsg.get("cell.selector.suitable.count", suitableCells.size()));
+        logMsg.debug(log, "cell.selector.suitable.count", suitableCells.size());
 
         // 4. Select optimal cell
         StorageCell selectedCell = selectOptimalCell(suitableCells, product);
@@ -93,8 +93,8 @@ public class CellAutoSelector {
         if (cell.getMaxWeightKg() != null && product.getWeightKg() != null) {
             double totalWeight = product.getWeightKg() * quantity;
             if (totalWeight > cell.getMaxWeightKg()) {
-                log.debug(logMsg.get("cell.selector.weight.exceeded",
-                        cell.getCode(), totalWeight, cell.getMaxWeightKg()));
+                logMsg.debug(log, "cell.selector.weight.exceeded",
+                        cell.getCode(), totalWeight, cell.getMaxWeightKg());
                 return false;
             }
         }
@@ -103,8 +103,8 @@ public class CellAutoSelector {
         if (cell.getMaxVolumeM3() != null && product.getVolumeM3() != null) {
             double totalVolume = product.getVolumeM3() * quantity;
             if (totalVolume > cell.getMaxVolumeM3()) {
-                log.debug(logMsg.get("cell.selector.volume.exceeded",
-                        cell.getCode(), totalVolume, cell.getMaxVolumeM3()));
+                logMsg.debug(log, "cell.selector.volume.exceeded",
+                        cell.getCode(), totalVolume, cell.getMaxVolumeM3());
                 return false;
             }
         }
@@ -130,7 +130,7 @@ public class CellAutoSelector {
                 .toList();
 
         if (!emptyCells.isEmpty()) {
-            log.debug(logMsg.get("cell.selector.using.empty", emptyCells.size()));
+            logMsg.debug(log, "cell.selector.using.empty", emptyCells.size());
             return emptyCells.stream().min(Comparator.comparing(StorageCell::getCode))
                     .orElse(null);
         }
@@ -142,13 +142,13 @@ public class CellAutoSelector {
                 .toList();
 
         if (!sameProductCells.isEmpty()) {
-            log.debug(logMsg.get("cell.selector.using.same.product", sameProductCells.size()));
+            logMsg.debug(log, "cell.selector.using.same.product", sameProductCells.size());
             return sameProductCells.stream().min(Comparator.comparing(StorageCell::getCode))
                     .orElse(null);
         }
 
         // Finally, take cell with minimal current quantity
-        log.debug(logMsg.get("cell.selector.using.partial"));
+        logMsg.debug(log, "cell.selector.using.partial");
         return cells.stream()
                 .min(Comparator.comparing(StorageCell::getCurrentQuantity))
                 .orElse(null);
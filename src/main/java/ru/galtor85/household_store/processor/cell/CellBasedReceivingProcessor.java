@@ -15,17 +15,21 @@ import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.stock.MovementType;
 import ru.galtor85.household_store.entity.stock.StockMovement;
 import ru.galtor85.household_store.entity.warehouse.StorageCell;
-import ru.galtor85.household_store.repository.stock.StockMovementRepository;
+import ru.galtor85.household_store.processor.stock.StockBatchWriter;
+import ru.galtor85.household_store.processor.stock.StockWriteBatch;
 import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
-import ru.galtor85.household_store.service.stock.StockService;
 import ru.galtor85.household_store.util.batch.BatchNumberGenerator;
 import ru.galtor85.household_store.validator.cell.CellValidationHelper;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Processor for receiving purchase orders with automatic cell placement.
@@ -35,16 +39,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CellBasedReceivingProcessor {
 
-    private final StockMovementRepository stockMovementRepository;
     private final StorageCellRepository storageCellRepository;
     private final StockMovementBuilder movementBuilder;
+    private final StockBatchWriter stockBatchWriter;
     private final BatchNumberGenerator batchNumberGenerator;
     private final CellValidationHelper cellValidationHelper;
     private final CellAutoSelector cellAutoSelector;
     private final MessageService messageService;
     private final LogMessageService logMsg;
     private final ReceivingQuantityCalculator quantityCalculator;
-    private final StockService stockService;
 
     // =========================================================================
     // MAIN RECEIVING METHOD WITH CELL PLACEMENT
@@ -52,6 +55,8 @@ public class CellBasedReceivingProcessor {
 
     /**
      * Processes receiving of a purchase order with automatic placement into warehouse cells.
+     * Products, stock records and requested cells are loaded for the whole request and
+     * all changes are written at once (see {@link StockBatchWriter}).
      *
      * @param order       purchase order to receive
      * @param items       list of received items with quantities and cell preferences
@@ -73,13 +78,22 @@ public class CellBasedReceivingProcessor {
         List<Long> failedItems = new ArrayList<>();
         List<String> errorMessages = new ArrayList<>();
 
+        Map<Long, PurchaseOrderItem> orderItems = order.getItems().stream()
+                .collect(Collectors.toMap(PurchaseOrderItem::getProductId, Function.identity(),
+                        (first, second) -> first));
+
+        StockWriteBatch batch = stockBatchWriter.open(
+                items.stream().map(ReceiveStockItem::getProductId).toList(),
+                Collections.singletonList(warehouseId));
+        stockBatchWriter.loadCells(batch,
+                items.stream().map(ReceiveStockItem::getCellId).toList(),
+                items.stream().map(ReceiveStockItem::getCellCode).toList(),
+                warehouseId);
+
         for (ReceiveStockItem item : items) {
             try {
                 // Find order item
-                PurchaseOrderItem orderItem = order.getItems().stream()
-                        .filter(oi -> oi.getProductId().equals(item.getProductId()))
-                        .findFirst()
-                        .orElse(null);
+                PurchaseOrderItem orderItem = orderItems.get(item.getProductId());
 
                 if (orderItem == null) {
                     String error = messageService.get("cell.receiving.processor.product.not.found",
@@ -102,7 +116,7 @@ public class CellBasedReceivingProcessor {
                 int alreadyReceived = result.alreadyReceived();
 
                 // Determine target cell
-                StorageCell cell = determineCell(item, product, warehouseId, receivingQuantity);
+                StorageCell cell = determineCell(batch, item, product, warehouseId, receivingQuantity);
 
                 // Assign product to cell
                 StorageCell updatedCell = assignProductToCell(cell, product, receivingQuantity);
@@ -111,19 +125,19 @@ public class CellBasedReceivingProcessor {
                 orderItem.setReceivedQuantity(alreadyReceived + receivingQuantity);
 
                 // Update product stock quantity
+                int oldQuantity = batch.getQuantity(product.getId(), warehouseId);
+                int newQuantity = batch.increaseStock(product, warehouseId, receivingQuantity);
 
-                int oldQuantity = stockService.getTotalStockForProduct(product.getId());
-                int newQuantity= stockService.updateProductStock(product, receivingQuantity, warehouseId, true);
-
-                log.debug(logMsg.get("cell.receiving.processor.stock.updated",
-                        product.getSku(), oldQuantity, newQuantity));
+                logMsg.debug(log, "cell.receiving.processor.stock.updated",
+                        product.getSku(), oldQuantity, newQuantity);
 
                 // Create stock movement record
                 StockMovement movement = createStockMovementWithCell(
                         product, order, updatedCell, warehouseId,
                         managerId, item.getBatchNumber(), receivingQuantity
                 );
-                movements.add(stockMovementRepository.save(movement));
+                batch.addMovement(movement);
+                movements.add(movement);
 
                 // Save placement info
                 placements.add(new CellPlacementInfo(
@@ -134,8 +148,8 @@ public class CellBasedReceivingProcessor {
                         receivingQuantity
                 ));
 
-                log.debug(logMsg.get("cell.receiving.processor.item.placed",
-                        product.getSku(), receivingQuantity, updatedCell.getCode()));
+                logMsg.debug(log, "cell.receiving.processor.item.placed",
+                        product.getSku(), receivingQuantity, updatedCell.getCode());
 
             } catch (CellNotFoundException e) {
                 String error = messageService.get("cell.receiving.processor.cell.not.found",
@@ -160,6 +174,8 @@ public class CellBasedReceivingProcessor {
             }
         }
 
+        stockBatchWriter.flush(batch);
+
         boolean isFullyReceived = isFullyReceived(order);
         boolean allSuccess = failedItems.isEmpty();
 
@@ -184,6 +200,7 @@ public class CellBasedReceivingProcessor {
     /**
      * Determines the target cell for product placement.
      *
+     * @param batch       stock write batch with the requested cells loaded
      * @param item        the received item
      * @param product     the product
      * @param warehouseId the warehouse ID
@@ -191,15 +208,15 @@ public class CellBasedReceivingProcessor {
      * @return selected StorageCell
      * @throws CellNotFoundException if specified cell not found
      */
-    private StorageCell determineCell(ReceiveStockItem item, Product product,
+    private StorageCell determineCell(StockWriteBatch batch, ReceiveStockItem item, Product product,
                                       Long warehouseId, int quantity) {
 
         if (item.getCellId() != null) {
-            return storageCellRepository.findById(item.getCellId())
+            return batch.findCell(item.getCellId())
                     .orElseThrow(() -> new CellNotFoundException(item.getCellId()));
 
         } else if (item.getCellCode() != null) {
-            return storageCellRepository.findByCodeAndWarehouseId(item.getCellCode(), warehouseId)
+            return batch.findCell(item.getCellCode())
                     .orElseThrow(() -> new CellNotFoundException(item.getCellCode(), warehouseId));
 
         } else {
@@ -263,7 +280,7 @@ public class CellBasedReceivingProcessor {
 
         if (batchNumber == null || batchNumber.isEmpty()) {
             batchNumber = batchNumberGenerator.generateBatchNumber();
-            log.debug(logMsg.get("cell.receiving.processor.batch.generated", batchNumber));
+            logMsg.debug(log, "cell.receiving.processor.batch.generated", batchNumber);
         }
 
         String notes = messageService.get("cell.receiving.processor.movement.notes",
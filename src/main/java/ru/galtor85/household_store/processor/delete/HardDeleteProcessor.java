@@ -11,6 +11,7 @@ import ru.galtor85.household_store.repository.cart.CartRepository;
 import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.repository.payment.PaymentTransactionRepository;
 import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 
 /**
@@ -23,6 +24,7 @@ import ru.galtor85.household_store.service.i18n.LogMessageService;
 public class HardDeleteProcessor {
 
     private final SecurityUserRepository securityUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     private final UserRepository userRepository;
     private final LogMessageService logMsg;
     private final SalesOrderRepository salesOrderRepository;
@@ -86,6 +88,7 @@ public class HardDeleteProcessor {
         log.info(logMsg.get("user-deleted-service.log.user.hard.deleting", userId));
 
         securityUserRepository.deleteByUserId(userId);
+        principalCache.invalidateUser(userId);
         userRepository.delete(user);
 
         log.info(logMsg.get("user-deleted-service.log.user.hard.deleted", userId));
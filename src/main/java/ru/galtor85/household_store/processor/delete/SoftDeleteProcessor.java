@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
 import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.security.SecurityUser;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
@@ -24,6 +25,7 @@ public class SoftDeleteProcessor {
 
     private final UserRepository userRepository;
     private final SecurityUserRepository securityUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     private final LogMessageService logMsg;
     private final MessageService messageService;
 
@@ -53,6 +55,7 @@ public class SoftDeleteProcessor {
 
         userRepository.save(user);
         securityUserRepository.save(securityUser);
+        principalCache.invalidateUser(userId);
 
         log.info(logMsg.get("user-deleted-service.log.user.soft.deleted",
                 user.getId()));
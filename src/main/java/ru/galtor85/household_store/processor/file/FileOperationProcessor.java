@@ -42,13 +42,13 @@ public class FileOperationProcessor {
         try {
             if (fileSystemHelper.fileExists(path)) {
                 fileSystemHelper.deleteFile(path);
-                log.debug(logMsg.get("file.storage.delete.success", fileName));
+                logMsg.debug(log, "file.storage.delete.success", fileName);
 
                 // Remove empty product directory
                 Path parentDir = path.getParent();
                 if (parentDir != null && fileSystemHelper.isDirectoryEmpty(parentDir)) {
                     fileSystemHelper.deleteFile(parentDir);
-                    log.debug(logMsg.get("file.storage.directory.deleted", parentDir.toString()));
+                    logMsg.debug(log, "file.storage.directory.deleted", parentDir.toString());
                 }
             }
         } catch (IOException e) {
@@ -95,10 +95,10 @@ public class InventoryProcessor {
 
         List<Product> lowStockProducts = productRepository.findLowStockProducts(effectiveThreshold);
 
-        log.debug(logMsg.get(
+        logMsg.debug(log,
                 "manager.low.stock.fetched.log",
                 lowStockProducts.size()
-        ));
+        );
 
         return lowStockProducts.stream()
                 .map(productMapper::toDto)
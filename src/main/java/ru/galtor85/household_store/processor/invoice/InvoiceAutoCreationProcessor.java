@@ -48,7 +48,7 @@ public class InvoiceAutoCreationProcessor {
      */
     public void registerCreator(Class<?> orderClass, InvoiceCreator<?> creator) {
         creators.put(orderClass, creator);
-        log.debug(logMsg.get("invoice.creator.registered", orderClass.getSimpleName()));
+        logMsg.debug(log, "invoice.creator.registered", orderClass.getSimpleName());
     }
 
     /**
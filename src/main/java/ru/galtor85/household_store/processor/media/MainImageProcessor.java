@@ -45,11 +45,11 @@ public class MainImageProcessor {
         validator.validateMediaIsImage(newMainMedia);
 
         mediaRepository.resetMainImage(newMainMedia.getProductId());
-        log.debug(logMsg.get("product.media.service.reset.main", newMainMedia.getProductId()));
+        logMsg.debug(log, "product.media.service.reset.main", newMainMedia.getProductId());
 
         newMainMedia.setIsMain(true);
         mediaRepository.save(newMainMedia);
-        log.debug(logMsg.get("product.media.service.set.new.main", mediaId));
+        logMsg.debug(log, "product.media.service.set.new.main", mediaId);
 
         updateProductImageUrl(newMainMedia.getProductId(), mediaId);
     }
@@ -68,8 +68,8 @@ public class MainImageProcessor {
                 .ifPresent(mainMedia -> {
                     product.setImageUrl(mainMedia.getFileUrl());
                     productRepository.save(product);
-                    log.debug(logMsg.get("product.media.service.main.updated",
-                            product.getId(), mainMedia.getId()));
+                    logMsg.debug(log, "product.media.service.main.updated",
+                            product.getId(), mainMedia.getId());
                 });
     }
 
@@ -86,7 +86,7 @@ public class MainImageProcessor {
                     if (product != null) {
                         product.setImageUrl(null);
                         productRepository.save(product);
-                        log.debug(logMsg.get("product.media.service.main.reset", productId));
+                        logMsg.debug(log, "product.media.service.main.reset", productId);
                     }
                 });
     }
@@ -63,7 +63,7 @@ public class MediaUploadProcessor {
                     : UNKNOWN_FILE_NAME;
 
             try {
-                log.debug(logMsg.get("product.media.service.processing.file", i, productId, fileName));
+                logMsg.debug(log, "product.media.service.processing.file", i, productId, fileName);
 
                 validator.validateFileNotEmpty(file, productId, fileName);
 
@@ -81,7 +81,7 @@ public class MediaUploadProcessor {
                 ProductMedia savedMedia = mediaRepository.save(media);
                 result.add(mediaMapper.toDto(savedMedia));
 
-                log.debug(logMsg.get("product.media.service.file.saved", fileName, savedMedia.getId()));
+                logMsg.debug(log, "product.media.service.file.saved", fileName, savedMedia.getId());
 
             } catch (ProductMediaException e) {
                 failedFiles.add(fileName);
@@ -0,0 +1,129 @@
+package ru.galtor85.household_store.processor.price;
+
+import ru.galtor85.household_store.entity.product.DiscountType;
+import ru.galtor85.household_store.entity.promotion.PriceRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Price rule parsed once for evaluation.
+ *
+ * <p>Holds everything {@link PriceRuleProcessor} needs without touching the entity:
+ * the percentage factor, the Buy X Get Y target and quantities, the bundle product IDs
+ * (sorted for binary search) and the validity period as epoch milliseconds.
+ * Instances are immutable and shared by all requests.</p>
+ *
+ * @param name               rule name
+ * @param description        rule description
+ * @param discountType       discount type
+ * @param priority           priority, lower first
+ * @param startMillis        start of validity, {@link Long#MIN_VALUE} if none
+ * @param endMillis          end of validity (inclusive), {@link Long#MAX_VALUE} if none
+ * @param discountValue      percentage or fixed amount
+ * @param percentageFactor   {@code 1 - value / 100} for percentage rules
+ * @param targetProductId    Buy X Get Y target product, {@code null} for a category target
+ * @param targetCategory     Buy X Get Y target category, {@code null} for a product target
+ * @param buyQuantity        Buy X Get Y paid units
+ * @param freeQuantity       Buy X Get Y free units
+ * @param bundleProductIds   sorted IDs of bundle products
+ * @param bundlePercent      bundle discount percent
+ * @author G@LTor85
+ */
+public record CompiledPriceRule(String name,
+                                String description,
+                                DiscountType discountType,
+                                int priority,
+                                long startMillis,
+                                long endMillis,
+                                BigDecimal discountValue,
+                                BigDecimal percentageFactor,
+                                Long targetProductId,
+                                String targetCategory,
+                                int buyQuantity,
+                                int freeQuantity,
+                                long[] bundleProductIds,
+                                BigDecimal bundlePercent) {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final String DIGITS_ONLY_PATTERN = "\\d+";
+    private static final String RULE_SEPARATOR = ":";
+    private static final String PRODUCT_ID_SEPARATOR = ",";
+    private static final int RULE_PARTS_LENGTH_3 = 3;
+    private static final int RULE_PARTS_LENGTH_2 = 2;
+    private static final long[] NO_PRODUCTS = new long[0];
+
+    /**
+     * Compiles a price rule.
+     *
+     * @param rule        price rule
+     * @param startMillis start of validity as epoch milliseconds
+     * @param endMillis   end of validity as epoch milliseconds
+     * @param scale       decimal places of the percentage factor
+     * @return compiled rule
+     * @throws IllegalArgumentException if the value of a Buy X Get Y or bundle rule
+     *                                  cannot be parsed or has invalid quantities
+     */
+    public static CompiledPriceRule compile(PriceRule rule, long startMillis, long endMillis, int scale) {
+        BigDecimal value = rule.getDiscountValue();
+        BigDecimal percentageFactor = null;
+        Long targetProductId = null;
+        String targetCategory = null;
+        int buyQuantity = 0;
+        int freeQuantity = 0;
+        long[] bundleProductIds = NO_PRODUCTS;
+        BigDecimal bundlePercent = null;
+
+        switch (rule.getDiscountType()) {
+            case PERCENTAGE -> percentageFactor = BigDecimal.ONE.subtract(
+                    value.divide(ONE_HUNDRED, scale, RoundingMode.HALF_UP));
+            case BUY_X_GET_Y -> {
+                String[] parts = value.toString().split(RULE_SEPARATOR);
+                if (parts.length != RULE_PARTS_LENGTH_3) {
+                    throw new IllegalArgumentException(value.toString());
+                }
+                if (parts[0].matches(DIGITS_ONLY_PATTERN)) {
+                    targetProductId = Long.parseLong(parts[0]);
+                } else {
+                    targetCategory = parts[0];
+                }
+                buyQuantity = Integer.parseInt(parts[1]);
+                freeQuantity = Integer.parseInt(parts[2]);
+                if (buyQuantity < 0 || freeQuantity <= 0) {
+                    throw new IllegalArgumentException(value.toString());
+                }
+            }
+            case BUNDLE -> {
+                String[] parts = value.toString().split(RULE_SEPARATOR);
+                if (parts.length != RULE_PARTS_LENGTH_2) {
+                    throw new IllegalArgumentException(value.toString());
+                }
+                bundleProductIds = Arrays.stream(parts[0].split(PRODUCT_ID_SEPARATOR))
+                        .mapToLong(Long::parseLong)
+                        .sorted()
+                        .distinct()
+                        .toArray();
+                bundlePercent = BigDecimal.valueOf(Double.parseDouble(parts[1]));
+            }
+            case FIXED_AMOUNT, FREE_SHIPPING -> {
+            }
+        }
+
+        return new CompiledPriceRule(rule.getName(), rule.getDescription(), rule.getDiscountType(),
+                rule.getPriority() != null ? rule.getPriority() : Integer.MAX_VALUE,
+                startMillis, endMillis, value, percentageFactor,
+                targetProductId, targetCategory, buyQuantity, freeQuantity,
+                bundleProductIds, bundlePercent);
+    }
+
+    /**
+     * Checks whether the rule is in effect at a moment.
+     *
+     * @param nowMillis moment as epoch milliseconds
+     * @return {@code true} if the moment is within the validity period
+     */
+    public boolean isEffectiveAt(long nowMillis) {
+        return startMillis <= nowMillis && nowMillis <= endMillis;
+    }
+}
@@ -37,7 +37,7 @@ public class PriceCalculationProcessor {
      * @return PriceCalculationResult with original and final totals
      */
     public PriceCalculationResult calculatePrice(PriceCalculationRequest request) {
-        log.debug(logMsg.get("price.calculation.processor.start"));
+        logMsg.debug(log, "price.calculation.processor.start");
 
         if (request.getItems() == null || request.getItems().isEmpty()) {
             log.warn(logMsg.get("price.calculation.processor.no.items"));
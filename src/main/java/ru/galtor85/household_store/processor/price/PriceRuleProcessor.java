@@ -6,19 +6,21 @@ import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.config.FinancialConfig;
 import ru.galtor85.household_store.dto.response.cart.CartItemDto;
 import ru.galtor85.household_store.dto.response.finance.PriceCalculationResult;
-import ru.galtor85.household_store.entity.promotion.PriceRule;
 import ru.galtor85.household_store.entity.user.UserType;
-import ru.galtor85.household_store.repository.price.PriceRuleRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.price.PriceRuleCache;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Processor for applying price rules to orders.
+ *
+ * <p>Rules come compiled from {@link PriceRuleCache}; evaluation only walks the cart
+ * items and does not parse rule values or build intermediate collections.</p>
  */
 @SuppressWarnings("ALL")
 @Slf4j
@@ -28,16 +30,10 @@ public class PriceRuleProcessor {
 
     private static final String DISCOUNT_TYPE_RULE = "RULE";
     private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
-    private static final String DIGITS_ONLY_PATTERN = "\\d+";
-    private static final String RULE_SEPARATOR = ":";
-    private static final String PRODUCT_ID_SEPARATOR = ",";
-    private static final String CATEGORY_INFO_FORMAT = "%s: %d";
-    private static final String CATEGORY_INFO_DELIMITER = ", ";
     private static final String UNKNOWN_CATEGORY = "unknown";
-    private static final int RULE_PARTS_LENGTH_3 = 3;
-    private static final int RULE_PARTS_LENGTH_2 = 2;
+    private static final int NOT_FOUND = -1;
 
-    private final PriceRuleRepository priceRuleRepository;
+    private final PriceRuleCache priceRuleCache;
     private final LogMessageService logMsg;
     private final FinancialConfig financialConfig;
 
@@ -57,38 +53,35 @@ public class PriceRuleProcessor {
     public BigDecimal applyPriceRules(BigDecimal currentTotal, UserType userType,
                                       List<CartItemDto> items,
                                       List<PriceCalculationResult.AppliedDiscount> appliedDiscounts) {
-        List<PriceRule> activeRules = priceRuleRepository.findActiveRulesForUserType(
-                userType, LocalDateTime.now());
+        List<CompiledPriceRule> activeRules = priceRuleCache.getActiveRules(userType);
 
         if (activeRules.isEmpty()) {
-            log.debug(logMsg.get("price.rules.none.active"));
+            logMsg.debug(log, "price.rules.none.active");
             return currentTotal;
         }
 
-        activeRules.sort(Comparator.comparing(PriceRule::getPriority));
-
         BigDecimal result = currentTotal;
-        for (PriceRule rule : activeRules) {
+        for (CompiledPriceRule rule : activeRules) {
             BigDecimal beforeRule = result;
             result = applySingleRule(result, rule, items);
 
             if (result.compareTo(beforeRule) < 0) {
                 BigDecimal discount = beforeRule.subtract(result);
                 appliedDiscounts.add(PriceCalculationResult.AppliedDiscount.builder()
-                        .name(rule.getName())
-                        .description(rule.getDescription())
+                        .name(rule.name())
+                        .description(rule.description())
                         .discountAmount(discount)
                         .type(DISCOUNT_TYPE_RULE)
                         .build());
-                log.debug(logMsg.get("price.rule.applied", rule.getName(), discount));
+                logMsg.debug(log, "price.rule.applied", rule.name(), discount);
             }
         }
         return result;
     }
 
-    private BigDecimal applySingleRule(BigDecimal currentTotal, PriceRule rule,
+    private BigDecimal applySingleRule(BigDecimal currentTotal, CompiledPriceRule rule,
                                        List<CartItemDto> items) {
-        return switch (rule.getDiscountType()) {
+        return switch (rule.discountType()) {
             case PERCENTAGE -> applyPercentageDiscount(currentTotal, rule);
             case FIXED_AMOUNT -> applyFixedDiscount(currentTotal, rule);
             case BUY_X_GET_Y -> applyBuyXGetY(currentTotal, rule, items);
@@ -97,179 +90,151 @@ public class PriceRuleProcessor {
         };
     }
 
-    private BigDecimal applyPercentageDiscount(BigDecimal currentTotal, PriceRule rule) {
-        BigDecimal result = currentTotal.multiply(BigDecimal.ONE.subtract(
-                rule.getDiscountValue().divide(ONE_HUNDRED, getScale(), RoundingMode.HALF_UP)));
-        log.debug(logMsg.get("price.rule.percentage.applied",
-                rule.getName(), rule.getDiscountValue(), result));
+    private BigDecimal applyPercentageDiscount(BigDecimal currentTotal, CompiledPriceRule rule) {
+        BigDecimal result = currentTotal.multiply(rule.percentageFactor());
+        logMsg.debug(log, "price.rule.percentage.applied",
+                rule.name(), rule.discountValue(), result);
         return result;
     }
 
-    private BigDecimal applyFixedDiscount(BigDecimal currentTotal, PriceRule rule) {
-        BigDecimal result = currentTotal.subtract(rule.getDiscountValue()).max(BigDecimal.ZERO);
-        log.debug(logMsg.get("price.rule.fixed.applied",
-                rule.getName(), rule.getDiscountValue(), result));
+    private BigDecimal applyFixedDiscount(BigDecimal currentTotal, CompiledPriceRule rule) {
+        BigDecimal result = currentTotal.subtract(rule.discountValue()).max(BigDecimal.ZERO);
+        logMsg.debug(log, "price.rule.fixed.applied",
+                rule.name(), rule.discountValue(), result);
         return result;
     }
 
-    private BigDecimal applyBuyXGetY(BigDecimal currentTotal, PriceRule rule,
+    /**
+     * Gives {@code freeQuantity} of every {@code buyQuantity + freeQuantity} eligible units
+     * for free, cheapest units first.
+     */
+    private BigDecimal applyBuyXGetY(BigDecimal currentTotal, CompiledPriceRule rule,
                                      List<CartItemDto> items) {
-        String ruleValue = rule.getDiscountValue().toString();
-        try {
-            String[] parts = ruleValue.split(RULE_SEPARATOR);
-            if (parts.length == RULE_PARTS_LENGTH_3) {
-                String target = parts[0];
-                int buyQuantity = Integer.parseInt(parts[1]);
-                int freeQuantity = Integer.parseInt(parts[2]);
-
-                log.debug(logMsg.get("price.rule.buyxgety.processing",
-                        rule.getName(), target, buyQuantity, freeQuantity));
-
-                List<CartItemDto> eligibleItems = findEligibleItems(items, target);
-
-                if (eligibleItems.isEmpty()) {
-                    log.debug(logMsg.get("price.rule.buyxgety.no.items", rule.getName(), target));
-                    return currentTotal;
-                }
-
-                log.debug(logMsg.get("price.rule.buyxgety.items.found", eligibleItems.size(), target));
-
-                BigDecimal discount = calculateBuyXGetYDiscount(
-                        eligibleItems, buyQuantity, freeQuantity, rule.getName());
-                log.debug(logMsg.get("price.rule.buyxgety.applied", rule.getName(), discount));
-
-                return currentTotal.subtract(discount);
-            } else {
-                log.warn(logMsg.get("price.rule.buyxgety.invalid.format", ruleValue));
+        Object target = rule.targetProductId() != null ? rule.targetProductId() : rule.targetCategory();
+        logMsg.debug(log, "price.rule.buyxgety.processing",
+                rule.name(), target, rule.buyQuantity(), rule.freeQuantity());
+
+        int eligibleItems = 0;
+        int totalEligibleQuantity = 0;
+        for (CartItemDto item : items) {
+            if (isEligible(item, rule)) {
+                eligibleItems++;
+                totalEligibleQuantity += item.getQuantity();
             }
-        } catch (Exception e) {
-            log.error(logMsg.get("price.rule.buyxgety.error", rule.getName(), e.getMessage()), e);
         }
-        return currentTotal;
-    }
 
-    private List<CartItemDto> findEligibleItems(List<CartItemDto> items, String target) {
-        if (target.matches(DIGITS_ONLY_PATTERN)) {
-            Long productId = Long.parseLong(target);
-            return items.stream()
-                    .filter(item -> item.getProductId().equals(productId))
-                    .toList();
+        if (eligibleItems == 0) {
+            logMsg.debug(log, "price.rule.buyxgety.no.items", target, rule.name());
+            return currentTotal;
         }
-        return items.stream()
-                .filter(item -> target.equals(item.getCategory()))
-                .toList();
-    }
 
-    private BigDecimal calculateBuyXGetYDiscount(List<CartItemDto> eligibleItems,
-                                                 int buyQuantity, int freeQuantity,
-                                                 String ruleName) {
-        logCategoryInfo(eligibleItems);
+        logMsg.debug(log, "price.rule.buyxgety.items.found", eligibleItems, target);
 
-        List<CartItemDto> sorted = eligibleItems.stream()
-                .sorted(Comparator.comparing(CartItemDto::getPrice))
-                .toList();
+        int freeUnits = (totalEligibleQuantity / (rule.buyQuantity() + rule.freeQuantity()))
+                * rule.freeQuantity();
 
-        int totalEligibleQuantity = eligibleItems.stream().mapToInt(CartItemDto::getQuantity).sum();
-        int freeUnits = (totalEligibleQuantity / (buyQuantity + freeQuantity)) * freeQuantity;
-
-        log.debug(logMsg.get("price.rule.buyxgety.calculation",
-                totalEligibleQuantity, buyQuantity, freeQuantity, freeUnits));
+        logMsg.debug(log, "price.rule.buyxgety.calculation",
+                totalEligibleQuantity, rule.buyQuantity(), rule.freeQuantity(), freeUnits);
 
         BigDecimal discount = BigDecimal.ZERO;
         int remainingFree = freeUnits;
-        List<DiscountDetail> discountDetails = new ArrayList<>();
-
-        for (CartItemDto item : sorted) {
-            if (remainingFree <= 0) break;
+        int index = NOT_FOUND;
+        while (remainingFree > 0) {
+            index = nextCheapestEligible(items, rule, index);
+            if (index == NOT_FOUND) break;
 
+            CartItemDto item = items.get(index);
             int freeFromThisItem = Math.min(item.getQuantity(), remainingFree);
             BigDecimal itemDiscount = item.getPrice().multiply(BigDecimal.valueOf(freeFromThisItem));
             discount = discount.add(itemDiscount);
 
-            discountDetails.add(new DiscountDetail(
-                    item.getProductId(),
+            logMsg.debug(log, "price.rule.buyxgety.discount.detail",
                     item.getProductName(),
-                    item.getCategory(),
                     freeFromThisItem,
-                    itemDiscount
-            ));
+                    itemDiscount,
+                    Objects.requireNonNullElse(item.getCategory(), UNKNOWN_CATEGORY));
             remainingFree -= freeFromThisItem;
         }
 
-        logDiscountDetails(discountDetails);
-        log.info(logMsg.get("price.rule.buyxgety.total.discount", ruleName, discount, freeUnits));
+        logMsg.debug(log, "price.rule.buyxgety.total.discount", rule.name(), discount, freeUnits);
+        logMsg.debug(log, "price.rule.buyxgety.applied", rule.name(), discount);
 
-        return discount;
+        return currentTotal.subtract(discount);
     }
 
-    private void logCategoryInfo(List<CartItemDto> eligibleItems) {
-        Map<String, Long> categoryCount = eligibleItems.stream()
-                .collect(Collectors.groupingBy(CartItemDto::getCategory, Collectors.counting()));
-
-        if (!categoryCount.isEmpty()) {
-            String categoriesInfo = categoryCount.entrySet().stream()
-                    .map(e -> String.format(CATEGORY_INFO_FORMAT, e.getKey(), e.getValue()))
-                    .collect(Collectors.joining(CATEGORY_INFO_DELIMITER));
-            log.debug(logMsg.get("price.rule.buyxgety.eligible.categories", categoriesInfo));
-        } else {
-            log.debug(logMsg.get("price.rule.buyxgety.no.categories"));
-        }
+    private boolean isEligible(CartItemDto item, CompiledPriceRule rule) {
+        return rule.targetProductId() != null
+                ? rule.targetProductId().equals(item.getProductId())
+                : rule.targetCategory().equals(item.getCategory());
     }
 
-    private void logDiscountDetails(List<DiscountDetail> discountDetails) {
-        for (DiscountDetail detail : discountDetails) {
-            log.debug(logMsg.get("price.rule.buyxgety.discount.detail",
-                    detail.productName(),
-                    detail.quantity(),
-                    detail.discount(),
-                    Objects.requireNonNullElse(detail.category(), UNKNOWN_CATEGORY)));
+    /**
+     * Finds the eligible item that follows the given one in (price, position) order,
+     * so items are visited cheapest first without sorting a copy of the cart.
+     *
+     * @param previous index of the previous item, {@link #NOT_FOUND} to start
+     * @return index of the next item, {@link #NOT_FOUND} if none
+     */
+    private int nextCheapestEligible(List<CartItemDto> items, CompiledPriceRule rule, int previous) {
+        BigDecimal previousPrice = previous == NOT_FOUND ? null : items.get(previous).getPrice();
+        int cheapest = NOT_FOUND;
+        BigDecimal cheapestPrice = null;
+        for (int i = 0; i < items.size(); i++) {
+            CartItemDto item = items.get(i);
+            if (!isEligible(item, rule)) continue;
+
+            BigDecimal price = item.getPrice();
+            if (previousPrice != null) {
+                int order = price.compareTo(previousPrice);
+                if (order < 0 || (order == 0 && i <= previous)) continue;
+            }
+            if (cheapest == NOT_FOUND || price.compareTo(cheapestPrice) < 0) {
+                cheapest = i;
+                cheapestPrice = price;
+            }
         }
+        return cheapest;
     }
 
-    private record DiscountDetail(Long productId, String productName, String category, int quantity,
-                                  BigDecimal discount) {}
-
-    private BigDecimal applyBundleDiscount(BigDecimal currentTotal, PriceRule rule,
+    private BigDecimal applyBundleDiscount(BigDecimal currentTotal, CompiledPriceRule rule,
                                            List<CartItemDto> items) {
-        String ruleValue = rule.getDiscountValue().toString();
-        try {
-            String[] parts = ruleValue.split(RULE_SEPARATOR);
-            if (parts.length == RULE_PARTS_LENGTH_2) {
-                String[] productIds = parts[0].split(PRODUCT_ID_SEPARATOR);
-                double discountPercent = Double.parseDouble(parts[1]);
-
-                if (hasAllBundleItems(items, productIds)) {
-                    BigDecimal bundleTotal = calculateBundleTotal(items, productIds);
-                    BigDecimal bundleDiscount = bundleTotal
-                            .multiply(BigDecimal.valueOf(discountPercent))
-                            .divide(ONE_HUNDRED, getScale(), RoundingMode.HALF_UP);
-
-                    log.debug(logMsg.get("price.rule.bundle.applied", rule.getName(), bundleDiscount));
-                    return currentTotal.subtract(bundleDiscount);
-                }
-            }
-        } catch (Exception e) {
-            log.error(logMsg.get("price.rule.bundle.error", rule.getName(), e.getMessage()), e);
+        if (!hasAllBundleItems(items, rule.bundleProductIds())) {
+            return currentTotal;
         }
-        return currentTotal;
+        BigDecimal bundleTotal = calculateBundleTotal(items, rule.bundleProductIds());
+        BigDecimal bundleDiscount = bundleTotal
+                .multiply(rule.bundlePercent())
+                .divide(ONE_HUNDRED, getScale(), RoundingMode.HALF_UP);
+
+        logMsg.debug(log, "price.rule.bundle.applied", rule.name(), bundleDiscount);
+        return currentTotal.subtract(bundleDiscount);
     }
 
-    private boolean hasAllBundleItems(List<CartItemDto> items, String[] productIds) {
-        Set<String> requiredProductIds = new HashSet<>(Arrays.asList(productIds));
-        Set<String> cartProductIds = items.stream()
-                .map(item -> String.valueOf(item.getProductId()))
-                .collect(Collectors.toSet());
-        return cartProductIds.containsAll(requiredProductIds);
+    private boolean hasAllBundleItems(List<CartItemDto> items, long[] productIds) {
+        for (long productId : productIds) {
+            if (!containsProduct(items, productId)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private BigDecimal calculateBundleTotal(List<CartItemDto> items, String[] productIds) {
-        Set<Long> bundleProductIds = Arrays.stream(productIds)
-                .map(Long::parseLong)
-                .collect(Collectors.toSet());
+    private boolean containsProduct(List<CartItemDto> items, long productId) {
+        for (CartItemDto item : items) {
+            if (item.getProductId() != null && item.getProductId() == productId) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return items.stream()
-                .filter(item -> bundleProductIds.contains(item.getProductId()))
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal calculateBundleTotal(List<CartItemDto> items, long[] productIds) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItemDto item : items) {
+            if (item.getProductId() != null && Arrays.binarySearch(productIds, item.getProductId()) >= 0) {
+                total = total.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+        }
+        return total;
     }
-}
\ No newline at end of file
+}
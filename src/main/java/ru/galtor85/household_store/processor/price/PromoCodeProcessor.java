@@ -141,26 +141,26 @@ public class PromoCodeProcessor {
             case PERCENTAGE -> {
                 BigDecimal discount = currentTotal.multiply(promo.getDiscountValue())
                         .divide(ONE_HUNDRED, getScale(), RoundingMode.HALF_UP);
-                log.debug(logMsg.get("promo.discount.percentage.applied", promo.getCode(), discount));
+                logMsg.debug(log, "promo.discount.percentage.applied", promo.getCode(), discount);
                 yield discount;
             }
             case FIXED_AMOUNT -> {
                 BigDecimal discount = promo.getDiscountValue().min(currentTotal);
-                log.debug(logMsg.get("promo.discount.fixed.applied", promo.getCode(), discount));
+                logMsg.debug(log, "promo.discount.fixed.applied", promo.getCode(), discount);
                 yield discount;
             }
             case BUY_X_GET_Y -> {
                 BigDecimal discount = calculateBuyXGetYDiscount(currentTotal, promo);
-                log.debug(logMsg.get("promo.discount.buyxgety.applied", promo.getCode(), discount));
+                logMsg.debug(log, "promo.discount.buyxgety.applied", promo.getCode(), discount);
                 yield discount;
             }
             case FREE_SHIPPING -> {
-                log.debug(logMsg.get("promo.discount.free.shipping", promo.getCode()));
+                logMsg.debug(log, "promo.discount.free.shipping", promo.getCode());
                 yield BigDecimal.ZERO;
             }
             case BUNDLE -> {
                 BigDecimal discount = calculateBundleDiscount(currentTotal, promo);
-                log.debug(logMsg.get("promo.discount.bundle.applied", promo.getCode(), discount));
+                logMsg.debug(log, "promo.discount.bundle.applied", promo.getCode(), discount);
                 yield discount;
             }
         };
@@ -174,7 +174,7 @@ public class PromoCodeProcessor {
                 int buyQuantity = Integer.parseInt(parts[BUY_INDEX]);
                 int freeQuantity = Integer.parseInt(parts[FREE_OR_DISCOUNT_INDEX]);
                 BigDecimal discount = currentTotal.multiply(TEN_PERCENT);
-                log.debug(logMsg.get("promo.discount.buyxgety.calculated", buyQuantity, freeQuantity));
+                logMsg.debug(log, "promo.discount.buyxgety.calculated", buyQuantity, freeQuantity);
                 return discount;
             }
         } catch (Exception e) {
@@ -193,7 +193,7 @@ public class PromoCodeProcessor {
                 BigDecimal discount = currentTotal
                         .multiply(BigDecimal.valueOf(discountPercent))
                         .divide(ONE_HUNDRED, getScale(), RoundingMode.HALF_UP);
-                log.debug(logMsg.get("promo.discount.bundle.calculated", minItems, discountPercent));
+                logMsg.debug(log, "promo.discount.bundle.calculated", minItems, discountPercent);
                 return discount;
             }
         } catch (Exception e) {
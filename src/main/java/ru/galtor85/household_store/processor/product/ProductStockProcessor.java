@@ -10,13 +10,14 @@ import ru.galtor85.household_store.dto.response.product.ProductStockDto;
 import ru.galtor85.household_store.dto.response.warehouse.WarehouseStockDto;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.product.ProductStock;
-import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.repository.product.ProductStockRepository;
-import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
 import ru.galtor85.household_store.util.stock.StockDtoEnricher;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +29,7 @@ import java.util.stream.Collectors;
 public class ProductStockProcessor {
 
     private final ProductStockRepository stockRepository;
-    private final WarehouseRepository warehouseRepository;
+    private final ReferenceDataCache referenceData;
     private final StockCalculator stockCalculator;
     private final StockDtoEnricher dtoEnricher;
     private final LogMessageService logMsg;
@@ -43,12 +44,10 @@ public class ProductStockProcessor {
     public List<ProductStockDto> getProductStockAcrossAllWarehouses(Product product) {
         List<ProductStock> stocks = stockRepository.findByProductId(product.getId());
 
-        log.debug(logMsg.get("stock.by.product.all.warehouses",
-                stocks.size(), product.getId()));
+        logMsg.debug(log, "stock.by.product.all.warehouses",
+                stocks.size(), product.getId());
 
-        return stocks.stream()
-                .map(dtoEnricher::enrichStockDto)
-                .collect(Collectors.toList());
+        return dtoEnricher.enrichStockDtos(stocks);
     }
 
     /**
@@ -62,7 +61,7 @@ public class ProductStockProcessor {
         Integer total = stockRepository.getTotalStockForProduct(product.getId());
         total = total != null ? total : 0;
 
-        log.debug(logMsg.get("stock.product.total", product.getId(), total));
+        logMsg.debug(log, "stock.product.total", product.getId(), total);
 
         return total;
     }
@@ -81,11 +80,12 @@ public class ProductStockProcessor {
         int totalReserved = stockCalculator.sumReserved(stocks);
         int totalAvailable = totalQuantity - totalReserved;
 
+        Map<Long, WarehouseRef> warehouses = referenceData.getWarehouses(
+                stocks.stream().map(ProductStock::getWarehouseId).toList());
+
         List<WarehouseStockDto> warehouseStocks = stocks.stream()
-                .map(stock -> {
-                    Warehouse warehouse = warehouseRepository.findById(stock.getWarehouseId()).orElse(null);
-                    return stockCalculator.createWarehouseStockDto(stock, warehouse, totalQuantity);
-                })
+                .map(stock -> stockCalculator.createWarehouseStockDto(
+                        stock, warehouses.get(stock.getWarehouseId()), totalQuantity))
                 .collect(Collectors.toList());
 
         return ProductStockDistributionDto.builder()
@@ -102,16 +102,16 @@ public class ProductStockProcessor {
     /**
      * Gets stock information for a product at a specific warehouse.
      *
-     * @param product   the product
-     * @param warehouse the warehouse
+     * @param product     the product
+     * @param warehouseId the warehouse ID
      * @return ProductStock entity (empty if not found)
      */
     @Transactional(readOnly = true)
-    public ProductStock getProductStockAtWarehouse(Product product, Warehouse warehouse) {
-        return stockRepository.findByProductIdAndWarehouseId(product.getId(), warehouse.getId())
+    public ProductStock getProductStockAtWarehouse(Product product, Long warehouseId) {
+        return stockRepository.findByProductIdAndWarehouseId(product.getId(), warehouseId)
                 .orElse(ProductStock.builder()
                         .productId(product.getId())
-                        .warehouseId(warehouse.getId())
+                        .warehouseId(warehouseId)
                         .quantity(0)
                         .reservedQuantity(0)
                         .availableQuantity(0)
@@ -43,14 +43,14 @@ public class PurchaseOrderQueryProcessor {
                                                  LocalDateTime endDate,
                                                  Pageable pageable) {
 
-        log.debug(logMsg.get("purchase.query.processor.search.start",
-                supplierId, status, startDate, endDate));
+        logMsg.debug(log, "purchase.query.processor.search.start",
+                supplierId, status, startDate, endDate);
 
         Page<PurchaseOrder> orders = purchaseOrderRepository.search(
                 supplierId, status, startDate, endDate, pageable);
 
-        log.debug(logMsg.get("purchase.query.processor.search.complete",
-                orders.getTotalElements()));
+        logMsg.debug(log, "purchase.query.processor.search.complete",
+                orders.getTotalElements());
 
         return orders;
     }
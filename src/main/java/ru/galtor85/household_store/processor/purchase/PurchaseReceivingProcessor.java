@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import ru.galtor85.household_store.advice.exception.product.ProductNotFoundException;
 import ru.galtor85.household_store.builder.stock.StockMovementBuilder;
 import ru.galtor85.household_store.calculator.ReceivingQuantityCalculator;
 import ru.galtor85.household_store.dto.common.ReceiveStockItem;
@@ -12,20 +11,19 @@ import ru.galtor85.household_store.dto.request.order.ReceiveAndStockRequest;
 import ru.galtor85.household_store.dto.request.order.ReverseReceiptItem;
 import ru.galtor85.household_store.dto.request.order.ReverseReceiptRequest;
 import ru.galtor85.household_store.dto.response.finance.CashTransactionDto;
-import ru.galtor85.household_store.dto.response.product.ProductStockDto;
 import ru.galtor85.household_store.entity.finance.Invoice;
 import ru.galtor85.household_store.entity.order.PurchaseOrder;
 import ru.galtor85.household_store.entity.order.PurchaseOrderItem;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.stock.MovementType;
 import ru.galtor85.household_store.entity.stock.StockMovement;
+import ru.galtor85.household_store.processor.stock.StockBatchWriter;
+import ru.galtor85.household_store.processor.stock.StockWriteBatch;
 import ru.galtor85.household_store.repository.finance.InvoiceRepository;
-import ru.galtor85.household_store.repository.product.ProductRepository;
 import ru.galtor85.household_store.repository.stock.StockMovementRepository;
 import ru.galtor85.household_store.service.cash.CashTransactionService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
-import ru.galtor85.household_store.service.stock.StockService;
 import ru.galtor85.household_store.service.warehouse.WarehouseSelectionService;
 import ru.galtor85.household_store.service.warehouse.WarehouseService;
 import ru.galtor85.household_store.util.batch.BatchNumberGenerator;
@@ -35,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,13 +48,12 @@ public class PurchaseReceivingProcessor {
     // DEPENDENCIES
     // =========================================================================
 
-    private final ProductRepository productRepository;
     private final StockMovementRepository stockMovementRepository;
     private final StockMovementBuilder movementBuilder;
+    private final StockBatchWriter stockBatchWriter;
     private final BatchNumberGenerator batchNumberGenerator;
     private final MessageService messageService;
     private final LogMessageService logMsg;
-    private final StockService stockService;
     private final WarehouseService warehouseService;
     private final ReceivingQuantityCalculator quantityCalculator;
     private final WarehouseSelectionService warehouseSelectionService;
@@ -67,7 +65,9 @@ public class PurchaseReceivingProcessor {
     // =========================================================================
 
     /**
-     * Processes receiving of a purchase order
+     * Processes receiving of a purchase order.
+     * Products and stock records are loaded for the whole request and all changes
+     * are written at once (see {@link StockBatchWriter}).
      *
      * @param order     purchase order to receive
      * @param request   receiving request with items and warehouse
@@ -86,11 +86,19 @@ public class PurchaseReceivingProcessor {
         List<PurchaseOrderItem> partiallyReceived = new ArrayList<>();
         List<Long> missingProducts = new ArrayList<>();
 
+        Map<Long, PurchaseOrderItem> orderItems = order.getItems().stream()
+                .collect(Collectors.toMap(PurchaseOrderItem::getProductId, Function.identity(),
+                        (first, second) -> first));
+
+        // Determine warehouse
+        Long warehouseId = request.getItems().isEmpty() ? null : determineWarehouseId(request, order.getId());
+
+        StockWriteBatch batch = stockBatchWriter.open(
+                request.getItems().stream().map(ReceiveStockItem::getProductId).toList(),
+                Collections.singletonList(warehouseId));
+
         for (ReceiveStockItem item : request.getItems()) {
-            PurchaseOrderItem orderItem = order.getItems().stream()
-                    .filter(oi -> oi.getProductId().equals(item.getProductId()))
-                    .findFirst()
-                    .orElse(null);
+            PurchaseOrderItem orderItem = orderItems.get(item.getProductId());
 
             if (orderItem == null) {
                 log.warn(logMsg.get("purchase.receiving.processor.product.not.found",
@@ -110,17 +118,11 @@ public class PurchaseReceivingProcessor {
             int alreadyReceived = result.alreadyReceived();
             int orderedQuantity = orderItem.getQuantity();
 
-            // Determine warehouse
-            Long warehouseId = request.getWarehouseId();
-            if (warehouseId == null) {
-                warehouseId = determineWarehouseId(request, order.getId());
-            }
-
             // Check for partial receipt
             boolean isPartial = (alreadyReceived + receivingQuantity) < orderedQuantity;
             if (isPartial) {
-                log.debug(logMsg.get("purchase.receiving.processor.partial.receipt",
-                        product.getSku(), alreadyReceived + receivingQuantity, orderedQuantity));
+                logMsg.debug(log, "purchase.receiving.processor.partial.receipt",
+                        product.getSku(), alreadyReceived + receivingQuantity, orderedQuantity);
                 partiallyReceived.add(orderItem);
             }
 
@@ -128,21 +130,23 @@ public class PurchaseReceivingProcessor {
             orderItem.setReceivedQuantity(alreadyReceived + receivingQuantity);
 
             // Get old stock and update
-            ProductStockDto stockDto = stockService.getProductStockAtWarehouse(product.getId(), warehouseId);
-            int oldQuantity = stockDto.getQuantity();
-            int newQuantity = stockService.updateProductStock(product, receivingQuantity, warehouseId, true);
+            int oldQuantity = batch.getQuantity(product.getId(), warehouseId);
+            int newQuantity = batch.increaseStock(product, warehouseId, receivingQuantity);
 
-            log.debug(logMsg.get("purchase.receiving.processor.stock.updated",
-                    product.getSku(), warehouseId, oldQuantity, newQuantity, receivingQuantity));
+            logMsg.debug(log, "purchase.receiving.processor.stock.updated",
+                    product.getSku(), warehouseId, oldQuantity, newQuantity, receivingQuantity);
 
             // Create stock movement
             StockMovement movement = createStockMovement(
                     product, order, warehouseId, managerId,
                     item.getBatchNumber(), receivingQuantity
             );
-            movements.add(stockMovementRepository.save(movement));
+            batch.addMovement(movement);
+            movements.add(movement);
         }
 
+        stockBatchWriter.flush(batch);
+
         boolean isFullyReceived = isFullyReceived(order);
         List<PurchaseOrderItem> unreceivedItems = getUnreceivedItems(order);
 
@@ -170,8 +174,8 @@ public class PurchaseReceivingProcessor {
 
         if (batchNumber == null || batchNumber.isEmpty()) {
             batchNumber = batchNumberGenerator.generateBatchNumber();
-            log.debug(logMsg.get("purchase.receiving.processor.batch.generated",
-                    batchNumber));
+            logMsg.debug(log, "purchase.receiving.processor.batch.generated",
+                    batchNumber);
         }
 
         String notes = messageService.get("purchase.receiving.processor.movement.notes",
@@ -208,8 +212,8 @@ public class PurchaseReceivingProcessor {
             int remaining = item.getQuantity() - received;
 
             if (remaining > 0) {
-                log.debug(logMsg.get("purchase.receiving.processor.remaining.quantity",
-                        item.getProductId(), remaining));
+                logMsg.debug(log, "purchase.receiving.processor.remaining.quantity",
+                        item.getProductId(), remaining);
                 unreceived.add(item);
             }
         }
@@ -274,12 +278,17 @@ public class PurchaseReceivingProcessor {
         Map<Long, List<StockMovement>> receiptsByProduct = receiptTransactions.stream()
                 .collect(Collectors.groupingBy(StockMovement::getProductId));
 
+        StockWriteBatch batch = stockBatchWriter.open(
+                order.getItems().stream().map(PurchaseOrderItem::getProductId).toList(),
+                receiptTransactions.stream().map(StockMovement::getWarehouseId).toList());
+        stockBatchWriter.loadCells(batch,
+                receiptTransactions.stream().map(StockMovement::getToCellId).toList(), List.of(), null);
+
         // Calculate total return amount for financial refund
         BigDecimal totalReturnAmount = BigDecimal.ZERO;
 
         for (PurchaseOrderItem orderItem : order.getItems()) {
-            Product product = productRepository.findById(orderItem.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(orderItem.getProductId()));
+            Product product = batch.getProduct(orderItem.getProductId());
 
             int receivedQuantity = orderItem.getReceivedQuantity() != null ? orderItem.getReceivedQuantity() : 0;
 
@@ -342,15 +351,13 @@ public class PurchaseReceivingProcessor {
                             product, order, receipt, managerId,
                             reverseFromThisReceipt, request.getReason()
                     );
-                    reversedMovements.add(stockMovementRepository.save(reverseMovement));
-                    movements.add(reverseMovement);
+                    reversedMovements.add(reverseMovement);
 
-                    ProductStockDto stockDto = stockService.getProductStockAtWarehouse(product.getId(), warehouseId);
-                    int stockBefore = stockDto.getQuantity();
-                    int stockAfter = stockService.updateProductStock(product, reverseFromThisReceipt, warehouseId, false);
+                    int stockBefore = batch.getQuantity(product.getId(), warehouseId);
+                    int stockAfter = batch.decreaseStock(product, warehouseId, reverseFromThisReceipt);
 
-                    log.debug(logMsg.get("purchase.receiving.reverse.stock.updated",
-                            product.getSku(), warehouseId, stockBefore, stockAfter, reverseFromThisReceipt));
+                    logMsg.debug(log, "purchase.receiving.reverse.stock.updated",
+                            product.getSku(), warehouseId, stockBefore, stockAfter, reverseFromThisReceipt);
 
                     // Clear cell if it becomes empty
                     if (cellId != null && reverseFromThisReceipt == receiptQuantity) {
@@ -360,6 +367,9 @@ public class PurchaseReceivingProcessor {
                     remainingToReverse -= reverseFromThisReceipt;
                 }
 
+                reversedMovements.forEach(batch::addMovement);
+                movements.addAll(reversedMovements);
+
                 // Update order item received quantity
                 orderItem.setReceivedQuantity(receivedQuantity - quantityToReverse);
 
@@ -372,8 +382,8 @@ public class PurchaseReceivingProcessor {
                         .newReceivedQuantity(receivedQuantity - quantityToReverse)
                         .build());
 
-                log.debug(logMsg.get("purchase.receiving.reverse.item.processed",
-                        product.getSku(), quantityToReverse, reversedMovements.size()));
+                logMsg.debug(log, "purchase.receiving.reverse.item.processed",
+                        product.getSku(), quantityToReverse, reversedMovements.size());
 
             } catch (Exception e) {
                 log.error(logMsg.get("purchase.receiving.reverse.item.failed",
@@ -382,6 +392,7 @@ public class PurchaseReceivingProcessor {
             }
         }
 
+        stockBatchWriter.flush(batch);
 
         if (totalReturnAmount.compareTo(BigDecimal.ZERO) > 0) {
             // Find invoice for this purchase order
@@ -472,8 +483,8 @@ public class PurchaseReceivingProcessor {
             Long suggestedWarehouse = warehouseSelectionService.selectWarehouseForReceiving(
                     firstItem.getProductId());
 
-            log.debug(logMsg.get("purchase.receive.warehouse.auto.selected",
-                    suggestedWarehouse, orderId));
+            logMsg.debug(log, "purchase.receive.warehouse.auto.selected",
+                    suggestedWarehouse, orderId);
             return suggestedWarehouse;
         }
 
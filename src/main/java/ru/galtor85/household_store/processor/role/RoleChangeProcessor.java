@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.entity.user.Role;
 import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.security.SecurityUser;
 import ru.galtor85.household_store.security.SecurityUserFactory;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
@@ -20,6 +21,7 @@ import ru.galtor85.household_store.service.i18n.LogMessageService;
 public class RoleChangeProcessor {
 
     private final SecurityUserRepository securityUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     private final SecurityUserFactory securityUserFactory;
     private final LogMessageService logMsg;
 
@@ -43,6 +45,7 @@ public class RoleChangeProcessor {
         );
 
         securityUserRepository.save(updatedSecurityUser);
+        principalCache.invalidateUser(targetSecurity.getUserId());
 
         log.info(logMsg.get(
                 "user-role-service.log.role.changed",
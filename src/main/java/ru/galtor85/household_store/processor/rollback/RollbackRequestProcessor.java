@@ -36,8 +36,8 @@ public class RollbackRequestProcessor {
     public RollbackApproval createRequest(SalesOrder salesOrder, RollbackRequest request,
                                           Long managerId, OrderStatus targetStatus) {
 
-        log.debug(logMsg.get("rollback.request.creating",
-                salesOrder.getId(), managerId, targetStatus));
+        logMsg.debug(log, "rollback.request.creating",
+                salesOrder.getId(), managerId, targetStatus);
 
         RollbackApproval approval = RollbackApproval.builder()
                 .orderId(request.getOrderId())
@@ -28,7 +28,7 @@ public class RollbackTargetStatusProcessor {
     public OrderStatus determineTargetStatus(SalesOrder salesOrder) {
         OrderStatus currentStatus = salesOrder.getStatus();
 
-        log.debug(logMsg.get("rollback.target.determining", currentStatus));
+        logMsg.debug(log, "rollback.target.determining", currentStatus);
 
         return switch (currentStatus) {
             case PAID -> OrderStatus.PENDING;
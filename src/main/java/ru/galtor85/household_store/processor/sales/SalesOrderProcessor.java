@@ -26,6 +26,8 @@ import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.repository.promotion.PromoCodeRepository;
 import ru.galtor85.household_store.repository.promotion.PromoCodeUsageRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.report.SalesRollupService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
 import ru.galtor85.household_store.service.user.UserTypeAssignmentService;
 import ru.galtor85.household_store.validator.order.SalesOrderValidator;
 
@@ -50,6 +52,8 @@ public class SalesOrderProcessor {
     private final PriceCalculationProcessor priceCalculationProcessor;
     private final PromoCodeUsageRepository promoCodeUsageRepository;
     private final PromoCodeRepository promoCodeRepository;
+    private final CustomerStatsService customerStatsService;
+    private final SalesRollupService salesRollupService;
 
     // =========================================================================
     // CREATE ORDER FROM CART
@@ -238,7 +242,7 @@ public class SalesOrderProcessor {
         UserTypeAssignmentDto userTypeAssignment = userTypeAssignmentService.getCurrentUserType(userId);
 
         if (userTypeAssignment == null) {
-            log.debug(logMsg.get("sales.order.type.default.retail", userId));
+            logMsg.debug(log, "sales.order.type.default.retail", userId);
             return SalesOrderType.RETAIL;
         }
 
@@ -249,7 +253,7 @@ public class SalesOrderProcessor {
             default -> SalesOrderType.RETAIL;
         };
 
-        log.debug(logMsg.get("sales.order.type.determined", userId, userType, orderType));
+        logMsg.debug(log, "sales.order.type.determined", userId, userType, orderType);
 
         return orderType;
     }
@@ -277,6 +281,7 @@ public class SalesOrderProcessor {
         order.setTotalAmount(priceResult.getFinalTotal());
 
         SalesOrder savedOrder = salesOrderRepository.save(order);
+        customerStatsService.recordOrder(userId, savedOrder.getCreatedAt());
 
         if (cartItems != null) {
             addOrderItems(savedOrder, cartItems);
@@ -296,6 +301,8 @@ public class SalesOrderProcessor {
                     invoice.getInvoiceNumber(), savedOrder.getOrderNumber()));
         }
 
+        salesRollupService.recordOrderCreated(savedOrder);
+
         return savedOrder;
     }
 }
\ No newline at end of file
@@ -7,11 +7,13 @@ import ru.galtor85.household_store.converter.WarehouseStockDetailConverter;
 import ru.galtor85.household_store.dto.response.stock.WarehouseStockDetailDto;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.repository.product.ProductStockRepository;
-import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Processor for calculating product stock availability.
@@ -29,7 +31,7 @@ public class StockAvailabilityProcessor {
 
     private final ProductStockRepository productStockRepository;
     private final LogMessageService logMsg;
-    private final WarehouseRepository warehouseRepository;
+    private final ReferenceDataCache referenceData;
     private final WarehouseStockDetailConverter warehouseStockDetailConverter;
 
     // =========================================================================
@@ -54,12 +56,12 @@ public class StockAvailabilityProcessor {
      * @return available quantity (0 if no stock)
      */
     public Integer calculateAvailableStock(Product product) {
-        log.debug(logMsg.get("stock.processor.calculate.start", product.getId()));
+        logMsg.debug(log, "stock.processor.calculate.start", product.getId());
 
         Integer available = productStockRepository.getAvailableStockForProduct(product.getId());
         available = available != null ? available : 0;
 
-        log.debug(logMsg.get("stock.processor.calculate.complete", product.getId(), available));
+        logMsg.debug(log, "stock.processor.calculate.complete", product.getId(), available);
 
         return available;
     }
@@ -72,12 +74,12 @@ public class StockAvailabilityProcessor {
      * @return available quantity from visible warehouses (0 if no stock)
      */
     public Integer calculateAvailableStockForCustomer(Product product) {
-        log.debug(logMsg.get("stock.processor.calculate.customer.start", product.getId()));
+        logMsg.debug(log, "stock.processor.calculate.customer.start", product.getId());
 
         Integer available = productStockRepository.getAvailableStockForCustomer(product.getId());
         available = available != null ? available : 0;
 
-        log.debug(logMsg.get("stock.processor.calculate.customer.complete", product.getId(), available));
+        logMsg.debug(log, "stock.processor.calculate.customer.complete", product.getId(), available);
 
         return available;
     }
@@ -94,10 +96,12 @@ public class StockAvailabilityProcessor {
      * @return list of warehouse stock detail DTOs
      */
     public List<WarehouseStockDetailDto> getStockDetailsByWarehouse(Long productId, boolean includeInvisible) {
-        log.debug(logMsg.get("stock.processor.warehouse.details.start", productId));
+        logMsg.debug(log, "stock.processor.warehouse.details.start", productId);
 
         List<Object[]> results = productStockRepository.getStockByWarehouseWithVisibility(productId);
         List<WarehouseStockDetailDto> details = new ArrayList<>();
+        Map<Long, WarehouseRef> warehouses = referenceData.getWarehouses(
+                results.stream().map(row -> (Long) row[IDX_WAREHOUSE_ID]).toList());
 
         for (Object[] row : results) {
             Long warehouseId = (Long) row[IDX_WAREHOUSE_ID];
@@ -111,13 +115,14 @@ public class StockAvailabilityProcessor {
                 continue;
             }
 
-            warehouseRepository.findById(warehouseId).ifPresent(warehouse ->
-                    details.add(warehouseStockDetailConverter.toDto(
-                            warehouse, quantity, reservedQuantity, availableQuantity))
-            );
+            WarehouseRef warehouse = warehouses.get(warehouseId);
+            if (warehouse != null) {
+                details.add(warehouseStockDetailConverter.toDto(
+                        warehouse, quantity, reservedQuantity, availableQuantity));
+            }
         }
 
-        log.debug(logMsg.get("stock.processor.warehouse.details.complete", productId, details.size()));
+        logMsg.debug(log, "stock.processor.warehouse.details.complete", productId, details.size());
 
         return details;
     }
@@ -0,0 +1,165 @@
+package ru.galtor85.household_store.processor.stock;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.advice.exception.stock.InsufficientStockException;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.entity.product.ProductStock;
+import ru.galtor85.household_store.repository.product.ProductRepository;
+import ru.galtor85.household_store.repository.product.ProductStockRepository;
+import ru.galtor85.household_store.repository.stock.StockMovementRepository;
+import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.stock.ProductAvailabilityCache;
+import ru.galtor85.household_store.service.stock.WarehouseSummaryCache;
+import ru.galtor85.household_store.util.entity.EntityBatchLoader;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Batched write path for documents that change stock of many products.
+ *
+ * <p>{@link #open} loads the products and stock records of a document with one query
+ * each, {@link #loadCells} its cells; {@link #flush} writes all stock changes and
+ * new movements once. Stock records and movements get IDs from block-allocated
+ * sequences, so Hibernate sends their inserts in JDBC batches.</p>
+ *
+ * <p>Loaded stock records are detached and never saved back: existing records are
+ * changed by one JDBC batch of {@code quantity = quantity + delta} updates guarded
+ * against negative stock, so reserved quantities written by other transactions
+ * while the document is processed are not overwritten.</p>
+ *
+ * <p>Must be used inside the transaction of the document.</p>
+ *
+ * @author G@LTor85
+ * @see StockWriteBatch
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockBatchWriter {
+
+    private static final String PRODUCT_STOCKS = "household_schema.product_stocks";
+
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final StorageCellRepository storageCellRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final EntityBatchLoader batchLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ProductAvailabilityCache availabilityCache;
+    private final WarehouseSummaryCache summaryCache;
+    private final LogMessageService logMsg;
+
+    /**
+     * Opens a batch with products and their stock at warehouses loaded.
+     *
+     * @param productIds   products of the document
+     * @param warehouseIds warehouses the document changes stock at
+     * @return stock write batch
+     */
+    public StockWriteBatch open(Collection<Long> productIds, Collection<Long> warehouseIds) {
+        Map<Long, Product> products = batchLoader.loadByIds(productRepository, productIds, Product::getId);
+        Set<Long> warehouses = distinct(warehouseIds);
+
+        List<ProductStock> stocks = products.isEmpty() || warehouses.isEmpty()
+                ? List.of()
+                : productStockRepository.findByProductIdInAndWarehouseIdIn(products.keySet(), warehouses);
+        stocks.forEach(entityManager::detach);
+
+        logMsg.debug(log, "stock.batch.opened", products.size(), warehouses.size(), stocks.size());
+
+        return new StockWriteBatch(products, stocks);
+    }
+
+    /**
+     * Loads cells referenced by the document into a batch.
+     *
+     * @param batch       stock write batch
+     * @param cellIds     cell IDs
+     * @param cellCodes   cell codes in the warehouse
+     * @param warehouseId warehouse of the cell codes (ignored if there are no codes)
+     */
+    public void loadCells(StockWriteBatch batch, Collection<Long> cellIds,
+                          Collection<String> cellCodes, Long warehouseId) {
+        Set<Long> ids = distinct(cellIds);
+        if (!ids.isEmpty()) {
+            batch.addCells(storageCellRepository.findAllById(ids));
+        }
+        Set<String> codes = distinct(cellCodes);
+        if (!codes.isEmpty() && warehouseId != null) {
+            batch.addCells(storageCellRepository.findByCodeInAndWarehouseId(codes, warehouseId));
+        }
+    }
+
+    /**
+     * Writes stock changes and new movements of a batch.
+     *
+     * @param batch stock write batch
+     * @throws InsufficientStockException if a decrease would make stock negative
+     *                                    after concurrent changes
+     */
+    public void flush(StockWriteBatch batch) {
+        productStockRepository.saveAll(batch.getNewStocks());
+        stockMovementRepository.saveAll(batch.getMovements());
+        stockMovementRepository.flush();
+
+        List<StockWriteBatch.StockDelta> deltas = batch.getDeltas();
+        applyDeltas(batch, deltas);
+
+        logMsg.debug(log, "stock.batch.flushed",
+                batch.getNewStocks().size() + deltas.size(), batch.getMovements().size());
+    }
+
+    private void applyDeltas(StockWriteBatch batch, List<StockWriteBatch.StockDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE " + PRODUCT_STOCKS + " SET quantity = quantity + ?," +
+                        " available_quantity = quantity + ? - COALESCE(reserved_quantity, 0), updated_at = ?" +
+                        " WHERE id = ? AND quantity + ? >= 0",
+                deltas, deltas.size(), (ps, delta) -> {
+                    ps.setInt(1, delta.delta());
+                    ps.setInt(2, delta.delta());
+                    ps.setTimestamp(3, now);
+                    ps.setLong(4, delta.stockId());
+                    ps.setInt(5, delta.delta());
+                })[0];
+
+        for (int i = 0; i < deltas.size(); i++) {
+            if (updated[i] == 0) {
+                StockWriteBatch.StockDelta delta = deltas.get(i);
+                int quantity = productStockRepository.findById(delta.stockId())
+                        .map(ProductStock::getQuantity)
+                        .orElse(0);
+                throw new InsufficientStockException(batch.getProduct(delta.productId()).getName(), quantity);
+            }
+        }
+
+        // Plain JDBC updates bypass entity listeners
+        availabilityCache.evictAll(deltas.stream().map(StockWriteBatch.StockDelta::productId).toList());
+        deltas.stream()
+                .map(StockWriteBatch.StockDelta::warehouseId)
+                .distinct()
+                .forEach(summaryCache::evict);
+    }
+
+    private static <T> Set<T> distinct(Collection<T> values) {
+        return values.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -15,7 +15,6 @@ import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.util.stock.StockMovementEnricher;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Processor for stock movement queries.
@@ -44,10 +43,10 @@ public class StockMovementProcessor {
         Pageable pageable = PageRequest.of(page, size, Sort.by(CREATED_AT_FIELD).descending());
         Page<StockMovement> movements = movementRepository.findByProductId(productId, pageable);
 
-        log.debug(logMsg.get("stock.movements.product.fetched",
-                movements.getTotalElements(), productId));
+        logMsg.debug(log, "stock.movements.product.fetched",
+                movements.getTotalElements(), productId);
 
-        return movements.map(movementEnricher::enrichMovementDto);
+        return movementEnricher.enrichMovementPage(movements);
     }
 
     /**
@@ -63,10 +62,10 @@ public class StockMovementProcessor {
         Pageable pageable = PageRequest.of(page, size, Sort.by(CREATED_AT_FIELD).descending());
         Page<StockMovement> movements = movementRepository.findByWarehouseId(warehouseId, pageable);
 
-        log.debug(logMsg.get("stock.movements.warehouse.fetched",
-                movements.getTotalElements(), warehouseId));
+        logMsg.debug(log, "stock.movements.warehouse.fetched",
+                movements.getTotalElements(), warehouseId);
 
-        return movements.map(movementEnricher::enrichMovementDto);
+        return movementEnricher.enrichMovementPage(movements);
     }
 
     /**
@@ -79,9 +78,7 @@ public class StockMovementProcessor {
     @Transactional(readOnly = true)
     public List<StockMovementDto> getMovementsByReference(String refType, Long refId) {
         List<StockMovement> movements = movementRepository.findByReference(refType, refId);
-        return movements.stream()
-                .map(movementEnricher::enrichMovementDto)
-                .collect(Collectors.toList());
+        return movementEnricher.enrichMovementDtos(movements);
     }
 
     /**
@@ -94,12 +91,10 @@ public class StockMovementProcessor {
     public List<StockMovementDto> getMovementsByBatch(String batchNumber) {
         List<StockMovement> movements = movementRepository.findByBatchNumber(batchNumber);
 
-        log.debug(logMsg.get("stock.movements.batch.fetched",
-                movements.size(), batchNumber));
+        logMsg.debug(log, "stock.movements.batch.fetched",
+                movements.size(), batchNumber);
 
-        return movements.stream()
-                .map(movementEnricher::enrichMovementDto)
-                .collect(Collectors.toList());
+        return movementEnricher.enrichMovementDtos(movements);
     }
 
     /**
@@ -111,7 +106,7 @@ public class StockMovementProcessor {
     @Transactional(readOnly = true)
     public List<String> getProductBatches(Long productId) {
         List<String> batches = movementRepository.findBatchNumbersByProduct(productId);
-        log.debug(logMsg.get("stock.product.batches.fetched", productId));
+        logMsg.debug(log, "stock.product.batches.fetched", productId);
         return batches;
     }
 
@@ -124,9 +119,7 @@ public class StockMovementProcessor {
     @Transactional(readOnly = true)
     public List<StockMovementDto> getCellMovements(Long cellId) {
         List<StockMovement> movements = movementRepository.findByCellId(cellId);
-        log.debug(logMsg.get("stock.movements.cell.fetched", movements.size(), cellId));
-        return movements.stream()
-                .map(movementEnricher::enrichMovementDto)
-                .collect(Collectors.toList());
+        logMsg.debug(log, "stock.movements.cell.fetched", movements.size(), cellId);
+        return movementEnricher.enrichMovementDtos(movements);
     }
 }
\ No newline at end of file
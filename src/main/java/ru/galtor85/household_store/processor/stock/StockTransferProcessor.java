@@ -19,6 +19,8 @@ import ru.galtor85.household_store.repository.stock.StockMovementRepository;
 import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.stock.ProductAvailabilityCache;
+import ru.galtor85.household_store.service.stock.WarehouseSummaryCache;
 import ru.galtor85.household_store.validator.product.ProductValidator;
 import ru.galtor85.household_store.validator.stock.StockTransferValidator;
 import ru.galtor85.household_store.validator.warehouse.WarehouseValidator;
@@ -47,6 +49,8 @@ public class StockTransferProcessor {
     private final ProductValidator productValidator;
     private final WarehouseValidator warehouseValidator;
     private final StockTransferValidator stockTransferValidator;
+    private final ProductAvailabilityCache availabilityCache;
+    private final WarehouseSummaryCache summaryCache;
 
     /**
      * Transfers stock between warehouses or cells.
@@ -120,6 +124,8 @@ public class StockTransferProcessor {
             throw new IllegalStateException(
                     messageService.get("stock.transfer.decrease.failed", product.getId()));
         }
+        availabilityCache.evict(product.getId());
+        summaryCache.evict(request.getFromWarehouseId());
     }
 
     private void increaseDestinationStock(Product product, StockTransferRequest request) {
@@ -137,15 +143,17 @@ public class StockTransferProcessor {
                     .build();
             productStockRepository.save(destStock);
 
-            log.debug(logMsg.get("stock.transfer.destination.created",
-                    product.getSku(), request.getToWarehouseId(), request.getQuantity()));
+            logMsg.debug(log, "stock.transfer.destination.created",
+                    product.getSku(), request.getToWarehouseId(), request.getQuantity());
         } else {
             // ✅ increaseStock returns void, so just call it
             productStockRepository.increaseStock(
                     product.getId(), request.getToWarehouseId(), request.getQuantity());
+            availabilityCache.evict(product.getId());
+            summaryCache.evict(request.getToWarehouseId());
 
-            log.debug(logMsg.get("stock.transfer.destination.updated",
-                    product.getSku(), request.getToWarehouseId(), request.getQuantity()));
+            logMsg.debug(log, "stock.transfer.destination.updated",
+                    product.getSku(), request.getToWarehouseId(), request.getQuantity());
         }
     }
 
@@ -162,8 +170,8 @@ public class StockTransferProcessor {
         }
         storageCellRepository.save(fromCell);
 
-        log.debug(logMsg.get("stock.transfer.source.cell.updated",
-                fromCell.getCode(), currentQuantity, newQuantity));
+        logMsg.debug(log, "stock.transfer.source.cell.updated",
+                fromCell.getCode(), currentQuantity, newQuantity);
     }
 
     private void updateDestinationCell(StorageCell toCell, Long productId, int quantity) {
@@ -175,8 +183,8 @@ public class StockTransferProcessor {
         toCell.setIsOccupied(true);
         storageCellRepository.save(toCell);
 
-        log.debug(logMsg.get("stock.transfer.dest.cell.updated",
-                toCell.getCode(), currentQuantity, newQuantity));
+        logMsg.debug(log, "stock.transfer.dest.cell.updated",
+                toCell.getCode(), currentQuantity, newQuantity);
     }
 
     private List<StockMovement> createStockMovements(Product product,
@@ -233,8 +241,8 @@ public class StockTransferProcessor {
         outgoing.setReferenceId(incoming.getId());
         incoming.setReferenceId(outgoing.getId());
 
-        log.debug(logMsg.get("stock.transfer.movements.created",
-                outgoing.getId(), incoming.getId(), product.getId(), request.getQuantity()));
+        logMsg.debug(log, "stock.transfer.movements.created",
+                outgoing.getId(), incoming.getId(), product.getId(), request.getQuantity());
 
         return movements;
     }
@@ -0,0 +1,206 @@
+package ru.galtor85.household_store.processor.stock;
+
+import ru.galtor85.household_store.advice.exception.product.ProductNotFoundException;
+import ru.galtor85.household_store.advice.exception.stock.InsufficientStockException;
+import ru.galtor85.household_store.advice.exception.stock.ProductStockNotFoundException;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.entity.product.ProductStock;
+import ru.galtor85.household_store.entity.stock.StockMovement;
+import ru.galtor85.household_store.entity.warehouse.StorageCell;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stock changes of one document (purchase receipt, return, write-off).
+ *
+ * <p>Opened by {@link StockBatchWriter} with the products, stock records and cells
+ * of the document already loaded, so items are processed without queries.
+ * Stock changes and movements are collected here and written by
+ * {@link StockBatchWriter#flush(StockWriteBatch)} in JDBC batches.</p>
+ *
+ * <p>Loaded stock records are a read-only base: changes of existing records are
+ * kept as quantity deltas and applied with {@code quantity = quantity + delta},
+ * so reservations made by other transactions while the batch is open are kept.
+ * Only records created by the batch are saved as entities.</p>
+ *
+ * <p>Not thread-safe; lives within one transaction.</p>
+ *
+ * @author G@LTor85
+ */
+public class StockWriteBatch {
+
+    private final Map<Long, Product> products;
+    private final Map<StockKey, ProductStock> stocks = new HashMap<>();
+    private final Map<Long, StorageCell> cellsById = new HashMap<>();
+    private final Map<String, StorageCell> cellsByCode = new HashMap<>();
+    private final Map<StockKey, Integer> deltas = new LinkedHashMap<>();
+    private final Map<StockKey, ProductStock> newStocks = new LinkedHashMap<>();
+    private final List<StockMovement> movements = new ArrayList<>();
+
+    private record StockKey(Long productId, Long warehouseId) {}
+
+    /**
+     * Quantity change of an existing stock record.
+     */
+    record StockDelta(Long stockId, Long productId, Long warehouseId, int delta) {}
+
+    StockWriteBatch(Map<Long, Product> products, Collection<ProductStock> stocks) {
+        this.products = products;
+        stocks.forEach(stock -> this.stocks.put(new StockKey(stock.getProductId(), stock.getWarehouseId()), stock));
+    }
+
+    void addCells(Collection<StorageCell> cells) {
+        for (StorageCell cell : cells) {
+            cellsById.put(cell.getId(), cell);
+            cellsByCode.put(cell.getCode(), cell);
+        }
+    }
+
+    /**
+     * Gets a product of the document.
+     *
+     * @param productId product ID
+     * @return product
+     * @throws ProductNotFoundException if the product does not exist
+     */
+    public Product getProduct(Long productId) {
+        Product product = products.get(productId);
+        if (product == null) {
+            throw new ProductNotFoundException(productId);
+        }
+        return product;
+    }
+
+    /**
+     * Gets current stock quantity of a product at a warehouse, including changes of this batch.
+     *
+     * @param productId   product ID
+     * @param warehouseId warehouse ID
+     * @return quantity, 0 if there is no stock record
+     */
+    public int getQuantity(Long productId, Long warehouseId) {
+        return quantityOf(new StockKey(productId, warehouseId));
+    }
+
+    /**
+     * Increases stock of a product at a warehouse, creating the stock record if needed.
+     *
+     * @param product     product
+     * @param warehouseId warehouse ID
+     * @param quantity    quantity to add
+     * @return new quantity
+     */
+    public int increaseStock(Product product, Long warehouseId, int quantity) {
+        StockKey key = new StockKey(product.getId(), warehouseId);
+        if (!stocks.containsKey(key)) {
+            newStocks.computeIfAbsent(key, k -> ProductStock.builder()
+                    .productId(product.getId())
+                    .warehouseId(warehouseId)
+                    .quantity(0)
+                    .reservedQuantity(0)
+                    .availableQuantity(0)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return applyChange(key, quantity);
+    }
+
+    /**
+     * Decreases stock of a product at a warehouse.
+     *
+     * @param product     product
+     * @param warehouseId warehouse ID
+     * @param quantity    quantity to remove
+     * @return new quantity
+     * @throws ProductStockNotFoundException if there is no stock record
+     * @throws InsufficientStockException    if the stock would become negative
+     */
+    public int decreaseStock(Product product, Long warehouseId, int quantity) {
+        StockKey key = new StockKey(product.getId(), warehouseId);
+        if (!stocks.containsKey(key) && !newStocks.containsKey(key)) {
+            throw new ProductStockNotFoundException(product.getId(), warehouseId);
+        }
+        int currentQuantity = quantityOf(key);
+        if (currentQuantity < quantity) {
+            throw new InsufficientStockException(product.getName(), currentQuantity);
+        }
+        return applyChange(key, -quantity);
+    }
+
+    /**
+     * Finds a loaded cell by ID.
+     *
+     * @param cellId cell ID
+     * @return cell, empty if it does not exist
+     */
+    public Optional<StorageCell> findCell(Long cellId) {
+        return Optional.ofNullable(cellsById.get(cellId));
+    }
+
+    /**
+     * Finds a loaded cell by code.
+     *
+     * @param code cell code
+     * @return cell, empty if it does not exist in the warehouse
+     */
+    public Optional<StorageCell> findCell(String code) {
+        return Optional.ofNullable(cellsByCode.get(code));
+    }
+
+    /**
+     * Adds a movement to be saved with the batch.
+     *
+     * @param movement stock movement
+     */
+    public void addMovement(StockMovement movement) {
+        movements.add(movement);
+    }
+
+    Collection<ProductStock> getNewStocks() {
+        return newStocks.values();
+    }
+
+    List<StockDelta> getDeltas() {
+        List<StockDelta> result = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            ProductStock stock = stocks.get(key);
+            if (stock != null && delta != 0) {
+                result.add(new StockDelta(stock.getId(), key.productId(), key.warehouseId(), delta));
+            }
+        });
+        return result;
+    }
+
+    List<StockMovement> getMovements() {
+        return movements;
+    }
+
+    private int quantityOf(StockKey key) {
+        ProductStock created = newStocks.get(key);
+        if (created != null) {
+            return created.getQuantity();
+        }
+        ProductStock stock = stocks.get(key);
+        return stock != null ? stock.getQuantity() + deltas.getOrDefault(key, 0) : 0;
+    }
+
+    private int applyChange(StockKey key, int delta) {
+        ProductStock created = newStocks.get(key);
+        if (created != null) {
+            int newQuantity = created.getQuantity() + delta;
+            created.setQuantity(newQuantity);
+            created.setAvailableQuantity(newQuantity);
+            created.setUpdatedAt(LocalDateTime.now());
+            return newQuantity;
+        }
+        deltas.merge(key, delta, Integer::sum);
+        return quantityOf(key);
+    }
+}
@@ -9,20 +9,14 @@ import ru.galtor85.household_store.builder.stock.StockMovementBuilder;
 import ru.galtor85.household_store.dto.common.StockWriteOffItem;
 import ru.galtor85.household_store.dto.request.stock.StockWriteOffRequest;
 import ru.galtor85.household_store.entity.product.Product;
-import ru.galtor85.household_store.entity.product.ProductStock;
 import ru.galtor85.household_store.entity.stock.MovementType;
 import ru.galtor85.household_store.entity.stock.StockMovement;
-import ru.galtor85.household_store.repository.product.ProductStockRepository;
-import ru.galtor85.household_store.repository.stock.StockMovementRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
-import ru.galtor85.household_store.service.stock.StockService;
-import ru.galtor85.household_store.util.entity.EntityFinder;
 import ru.galtor85.household_store.util.generator.NumberGenerator;
-import ru.galtor85.household_store.validator.stock.StockAvailabilityValidator;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.DEFAULT_QUANTITY;
@@ -36,15 +30,11 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.WRITE_OFF
 @RequiredArgsConstructor
 public class StockWriteOffProcessor {
 
-    private final EntityFinder entityFinder;
-    private final ProductStockRepository productStockRepository;
-    private final StockMovementRepository stockMovementRepository;
+    private final StockBatchWriter stockBatchWriter;
     private final StockMovementBuilder movementBuilder;
     private final NumberGenerator numberGenerator;
     private final MessageService messageService;
     private final LogMessageService logMsg;
-    private final StockService stockService;
-    private final StockAvailabilityValidator availabilityValidator;
 
 
     // =========================================================================
@@ -53,6 +43,8 @@ public class StockWriteOffProcessor {
 
     /**
      * Processes stock write-off request.
+     * Products and stock records are loaded for the whole request and all changes
+     * are written at once (see {@link StockBatchWriter}).
      *
      * @param request   the write-off request
      * @param managerId the manager ID
@@ -69,21 +61,21 @@ public class StockWriteOffProcessor {
 
         String documentNumber = numberGenerator.generateWriteOffNumber();
 
+        StockWriteBatch batch = stockBatchWriter.open(
+                request.getItems().stream().map(StockWriteOffItem::getProductId).toList(),
+                Collections.singletonList(request.getWarehouseId()));
+
         for (StockWriteOffItem item : request.getItems()) {
             try {
-                Product product = entityFinder.findProductById(item.getProductId());
-                availabilityValidator.validateStockAvailability(product, item.getQuantity());
-
-                int oldQuantity = stockService.getTotalStockForProduct(product.getId());
-                int newQuantity = stockService.updateProductStock(product, item.getQuantity(), request.getWarehouseId(), false);
+                Product product = batch.getProduct(item.getProductId());
 
-                if (request.getWarehouseId() != null) {
-                    updateProductStock(product, item.getQuantity(), request.getWarehouseId());
-                }
+                int oldQuantity = batch.getQuantity(product.getId(), request.getWarehouseId());
+                int newQuantity = writeOffStock(batch, product, item.getQuantity(), request.getWarehouseId());
 
                 StockMovement movement = createWriteOffMovement(
                         product, item, request, documentNumber, managerId);
-                movements.add(stockMovementRepository.save(movement));
+                batch.addMovement(movement);
+                movements.add(movement);
 
                 successItems.add(new WriteOffSuccessItem(
                         product.getId(),
@@ -94,8 +86,8 @@ public class StockWriteOffProcessor {
                         newQuantity
                 ));
 
-                log.debug(logMsg.get("writeoff.processor.item.processed",
-                        product.getSku(), item.getQuantity(), oldQuantity, newQuantity));
+                logMsg.debug(log, "writeoff.processor.item.processed",
+                        product.getSku(), item.getQuantity(), oldQuantity, newQuantity);
 
             } catch (Exception e) {
                 log.error(logMsg.get("writeoff.processor.item.failed",
@@ -109,6 +101,8 @@ public class StockWriteOffProcessor {
             }
         }
 
+        stockBatchWriter.flush(batch);
+
         log.info(logMsg.get("writeoff.processor.complete",
                 successItems.size(), movements.size(), failedItems.size()));
 
@@ -126,27 +120,19 @@ public class StockWriteOffProcessor {
     // =========================================================================
 
     /**
-     * Updates product stock record in product_stocks table.
+     * Writes off stock of a product at the warehouse of the request.
      *
+     * @param batch       stock write batch
      * @param product     the product
      * @param quantity    the quantity to subtract
      * @param warehouseId the warehouse ID
+     * @return new quantity
+     * @throws WriteOffInsufficientStockException if the warehouse has less than the quantity
      */
-    private void updateProductStock(Product product, int quantity, Long warehouseId) {
-        ProductStock stock = productStockRepository
-                .findByProductIdAndWarehouseId(product.getId(), warehouseId)
-                .orElse(null);
-
-        if (stock == null) {
-            log.warn(logMsg.get("writeoff.processor.stock.not.found",
-                    product.getSku(), warehouseId));
-            return;
-        }
-
-        int oldQuantity = stock.getQuantity();
-        int newQuantity = oldQuantity - quantity;
+    private int writeOffStock(StockWriteBatch batch, Product product, int quantity, Long warehouseId) {
+        int oldQuantity = batch.getQuantity(product.getId(), warehouseId);
 
-        if (newQuantity < DEFAULT_QUANTITY) {
+        if (oldQuantity - quantity < DEFAULT_QUANTITY) {
             log.error(logMsg.get("writeoff.processor.stock.negative",
                     product.getSku(), warehouseId, oldQuantity, quantity));
             throw new WriteOffInsufficientStockException(
@@ -154,15 +140,12 @@ public class StockWriteOffProcessor {
             );
         }
 
-        stock.setQuantity(newQuantity);
-        stock.setAvailableQuantity(newQuantity -
-                (stock.getReservedQuantity() != null ? stock.getReservedQuantity() : DEFAULT_QUANTITY));
-        stock.setUpdatedAt(LocalDateTime.now());
+        int newQuantity = batch.decreaseStock(product, warehouseId, quantity);
 
-        productStockRepository.save(stock);
+        logMsg.debug(log, "writeoff.processor.stock.updated",
+                product.getSku(), warehouseId, oldQuantity, newQuantity);
 
-        log.debug(logMsg.get("writeoff.processor.stock.updated",
-                product.getSku(), warehouseId, oldQuantity, newQuantity));
+        return newQuantity;
     }
 
     /**
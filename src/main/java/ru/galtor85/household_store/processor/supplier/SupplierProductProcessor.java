@@ -69,7 +69,7 @@ public class SupplierProductProcessor {
                                                    Long productId,
                                                    SupplierProductRequest request,
                                                    Long managerId) {
-        log.debug(logMsg.get("supplier.product.processor.add.start", productId, supplierId, managerId));
+        logMsg.debug(log, "supplier.product.processor.add.start", productId, supplierId, managerId);
 
         entityFinder.findSupplierById(supplierId);
         entityFinder.findProductById(productId);
@@ -96,7 +96,7 @@ public class SupplierProductProcessor {
      */
     @Transactional(readOnly = true)
     public List<SupplierProductDto> getSupplierProducts(Long supplierId) {
-        log.debug(logMsg.get("supplier.product.processor.get.products.start", supplierId));
+        logMsg.debug(log, "supplier.product.processor.get.products.start", supplierId);
 
         List<SupplierProduct> supplierProducts = supplierProductRepository.findBySupplierId(supplierId);
 
@@ -104,7 +104,7 @@ public class SupplierProductProcessor {
                 .map(sp -> supplierProductConverter.convertToDto(sp, sp.getProductId(), supplierId))
                 .collect(Collectors.toList());
 
-        log.debug(logMsg.get("supplier.product.processor.get.products.complete", supplierId, result.size()));
+        logMsg.debug(log, "supplier.product.processor.get.products.complete", supplierId, result.size());
 
         return result;
     }
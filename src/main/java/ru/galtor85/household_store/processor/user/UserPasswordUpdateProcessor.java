@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.dto.request.user.UserUpdatePasswordRequest;
 import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.security.SecurityUser;
 import ru.galtor85.household_store.security.SecurityUserFactory;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
@@ -39,6 +40,7 @@ import ru.galtor85.household_store.util.email.EmailMasker;
 public class UserPasswordUpdateProcessor {
 
     private final SecurityUserRepository securityUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     private final SecurityUserFactory securityUserFactory;
     private final PasswordEncoder passwordEncoder;
     private final LogMessageService logMsg;
@@ -70,7 +72,7 @@ public class UserPasswordUpdateProcessor {
 
         String maskedEmail = emailMasker.maskEmail(user.getEmail());
 
-        log.debug(logMsg.get("user.password.update.start", maskedEmail));
+        logMsg.debug(log, "user.password.update.start", maskedEmail);
 
         SecurityUser updatedSecurityUser = securityUserFactory.withUpdatedPassword(
                 existingSecurityUser,
@@ -78,6 +80,7 @@ public class UserPasswordUpdateProcessor {
         );
 
         securityUserRepository.save(updatedSecurityUser);
+        principalCache.invalidateUser(existingSecurityUser.getUserId());
 
         log.info(logMsg.get("user.password.updated", maskedEmail));
     }
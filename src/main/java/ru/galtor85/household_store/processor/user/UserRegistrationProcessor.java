@@ -64,7 +64,7 @@ public class UserRegistrationProcessor {
     @Transactional
     public User register(User user, String rawPassword, Role role) {
         String maskedEmail = emailMasker.maskEmail(user.getEmail());
-        log.debug(logMsg.get("user.registration.start", maskedEmail));
+        logMsg.debug(log, "user.registration.start", maskedEmail);
 
         User savedUser = userRepository.save(user);
 
@@ -108,8 +108,8 @@ public class UserRegistrationProcessor {
                     SYSTEM_CREATOR,
                     DEFAULT_REASON_FOR_CREATE
             );
-            log.debug(logMsg.get("user.registration.default.type.assigned",
-                    emailMasker.maskEmail(user.getEmail())));
+            logMsg.debug(log, "user.registration.default.type.assigned",
+                    emailMasker.maskEmail(user.getEmail()));
         }
     }
 }
\ No newline at end of file
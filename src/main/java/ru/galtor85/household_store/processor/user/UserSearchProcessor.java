@@ -9,7 +9,12 @@ import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.user.UserRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.galtor85.household_store.constants.PaginationConstants.DEFAULT_SORT_FIELD;
 
@@ -49,15 +54,30 @@ public class UserSearchProcessor {
         String sortField = normalizeSortField(sort);
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.ASC, sortField));
 
-        log.debug(logMsg.get(
+        logMsg.debug(log,
                 "user-search-service.log.user.search.all",
                 users.size(),
                 sortField
-        ));
+        );
 
         return users;
     }
 
+    /**
+     * Loads users by IDs in a single query.
+     *
+     * @param userIds user IDs
+     * @return users by ID (missing IDs are absent)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
     /**
      * Searches users by multiple optional criteria.
      *
@@ -87,14 +107,14 @@ public class UserSearchProcessor {
                 trimmedEmail, trimmedMobile, trimmedFirstName, trimmedLastName,
                 Sort.by(Sort.Direction.ASC, sortField));
 
-        log.debug(logMsg.get(
+        logMsg.debug(log,
                 "user-search-service.log.user.search.criteria",
                 users.size(),
                 trimmedEmail,
                 trimmedMobile,
                 trimmedFirstName,
                 trimmedLastName
-        ));
+        );
 
         return users;
     }
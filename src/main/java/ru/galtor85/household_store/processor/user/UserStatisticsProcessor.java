@@ -4,17 +4,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.advice.exception.validation.InvalidDateRangeException;
+import ru.galtor85.household_store.dto.response.user.UserActivityStatistics;
 import ru.galtor85.household_store.dto.response.user.UserStatistics;
 import ru.galtor85.household_store.entity.user.Role;
-import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
+import ru.galtor85.household_store.repository.report.SalesRollupRepository;
 import ru.galtor85.household_store.repository.user.UserRepository;
-import ru.galtor85.household_store.security.SecurityUser;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.date.StatisticsGranularity;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.MAX_STATISTICS_BUCKETS;
 
 /**
  * Processor for calculating user statistics.
@@ -24,13 +31,14 @@ import java.util.stream.Collectors;
  *   <li>Total number of users</li>
  *   <li>Active vs inactive users count</li>
  *   <li>Distribution by role (ADMIN, MANAGER, USER)</li>
+ *   <li>Registrations and active customers per day, week or month</li>
  * </ul>
  *
- * <p>Statistics are calculated on-demand and reflect the current state
- * of the user database.</p>
+ * <p>All figures are counted by the database with grouped COUNT queries;
+ * no user rows are loaded. Active customers are customers that placed
+ * orders, read from the sales rollups.</p>
  *
  * @author G@LTor85
- 
  */
 @Slf4j
 @Component
@@ -39,6 +47,7 @@ public class UserStatisticsProcessor {
 
     private final UserRepository userRepository;
     private final SecurityUserRepository securityUserRepository;
+    private final SalesRollupRepository salesRollupRepository;
     private final LogMessageService logMsg;
 
     /**
@@ -46,9 +55,8 @@ public class UserStatisticsProcessor {
      *
      * <p>Performs the following aggregations:
      * <ol>
-     *   <li>Counts total users from UserRepository</li>
-     *   <li>Counts active users (where SecurityUser.isEnabled() == true)</li>
-     *   <li>Counts users by role (ADMIN, MANAGER, USER)</li>
+     *   <li>Counts total users</li>
+     *   <li>Counts security users grouped by role and active flag in one query</li>
      *   <li>Calculates inactive users as total - active</li>
      * </ol>
      *
@@ -56,16 +64,21 @@ public class UserStatisticsProcessor {
      */
     @Transactional(readOnly = true)
     public UserStatistics calculateStatistics() {
-        log.debug(logMsg.get("user.statistics.calculation.start"));
+        logMsg.debug(log, "user.statistics.calculation.start");
 
-        List<User> allUsers = userRepository.findAll();
-        List<Long> userIds = extractUserIds(allUsers);
-        List<SecurityUser> allSecurityUsers = securityUserRepository.findAllById(userIds);
+        long total = userRepository.count();
+        long active = 0;
+        Map<Role, Long> roleCounts = new EnumMap<>(Role.class);
 
-        Map<Role, Long> roleCounts = countUsersByRole(allSecurityUsers);
+        for (Object[] row : securityUserRepository.countByRoleAndActive()) {
+            Role role = (Role) row[0];
+            long count = ((Number) row[2]).longValue();
+            roleCounts.merge(role, count, Long::sum);
+            if ((Boolean) row[1]) {
+                active += count;
+            }
+        }
 
-        long total = allUsers.size();
-        long active = countActiveUsers(allSecurityUsers);
         long inactive = total - active;
 
         long admins = roleCounts.getOrDefault(Role.ADMIN, 0L);
@@ -87,40 +100,119 @@ public class UserStatisticsProcessor {
     }
 
     /**
-     * Extracts user IDs from a list of User entities.
+     * Calculates registrations and active customers of a date range per time bucket.
+     *
+     * <p>Registrations are counted per day with one grouped query and summed into
+     * buckets. Active customers are distinct per bucket and come from one grouped
+     * query per day, ISO week or calendar month.</p>
      *
-     * @param users list of User entities
-     * @return list of user IDs
+     * @param startDate   first day (inclusive)
+     * @param endDate     last day (inclusive)
+     * @param granularity bucket length
+     * @return statistics with one bucket per day, week or month (first and last clipped to the range)
+     * @throws InvalidDateRangeException if start is after end or the range has too many buckets
      */
-    private List<Long> extractUserIds(List<User> users) {
-        return users.stream()
-                .map(User::getId)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserActivityStatistics calculateActivity(LocalDate startDate,
+                                                    LocalDate endDate,
+                                                    StatisticsGranularity granularity) {
+        logMsg.debug(log, "user.statistics.activity.start", startDate, endDate, granularity);
+
+        List<LocalDate> bucketStarts = bucketStarts(startDate, endDate, granularity);
+
+        Map<LocalDate, Long> registrationsByDay = toDailyCounts(userRepository.countRegistrationsByDay(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()));
+        Map<LocalDate, Long> customersByBucket = countCustomersByBucket(startDate, endDate, granularity);
+
+        List<UserActivityStatistics.Bucket> buckets = new ArrayList<>(bucketStarts.size());
+        long registrations = 0;
+        for (LocalDate bucketStart : bucketStarts) {
+            LocalDate from = bucketStart.isBefore(startDate) ? startDate : bucketStart;
+            LocalDate nextStart = granularity.nextBucketStart(bucketStart);
+            LocalDate to = nextStart.isAfter(endDate) ? endDate : nextStart.minusDays(1);
+
+            long bucketRegistrations = 0;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                bucketRegistrations += registrationsByDay.getOrDefault(day, 0L);
+            }
+            long activeCustomers = customersByBucket.getOrDefault(bucketStart, 0L);
+
+            registrations += bucketRegistrations;
+            buckets.add(UserActivityStatistics.Bucket.builder()
+                    .startDate(from)
+                    .endDate(to)
+                    .registrations(bucketRegistrations)
+                    .activeCustomers(activeCustomers)
+                    .build());
+        }
+
+        long activeCustomers = salesRollupRepository.countCustomers(startDate, endDate);
+
+        log.info(logMsg.get("user.statistics.activity.complete",
+                startDate, endDate, buckets.size(), registrations, activeCustomers));
+
+        return UserActivityStatistics.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .granularity(granularity)
+                .registrations(registrations)
+                .activeCustomers(activeCustomers)
+                .buckets(buckets)
+                .build();
     }
 
     /**
-     * Counts active users from a list of SecurityUser entities.
-     *
-     * @param securityUsers list of SecurityUser entities
-     * @return number of enabled (active) users
+     * Lists the first days of all buckets overlapping a date range.
      */
-    private long countActiveUsers(List<SecurityUser> securityUsers) {
-        return securityUsers.stream()
-                .filter(SecurityUser::isEnabled)
-                .count();
+    private List<LocalDate> bucketStarts(LocalDate startDate, LocalDate endDate, StatisticsGranularity granularity) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate.atStartOfDay(), endDate.atStartOfDay());
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = granularity.bucketStart(startDate);
+             !start.isAfter(endDate);
+             start = granularity.nextBucketStart(start)) {
+            if (starts.size() == MAX_STATISTICS_BUCKETS) {
+                throw new InvalidDateRangeException(startDate.atStartOfDay(), endDate.atStartOfDay());
+            }
+            starts.add(start);
+        }
+        return starts;
     }
 
     /**
-     * Groups and counts SecurityUser entities by their role.
-     *
-     * @param securityUsers list of SecurityUser entities
-     * @return map of Role to count
+     * Counts distinct customers with orders per bucket, keyed by the first day of the bucket.
      */
-    private Map<Role, Long> countUsersByRole(List<SecurityUser> securityUsers) {
-        return securityUsers.stream()
-                .collect(Collectors.groupingBy(
-                        SecurityUser::getRole,
-                        Collectors.counting()
-                ));
+    private Map<LocalDate, Long> countCustomersByBucket(LocalDate startDate,
+                                                       LocalDate endDate,
+                                                       StatisticsGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> toDailyCounts(salesRollupRepository.countCustomersByDay(startDate, endDate));
+            case WEEK -> {
+                Map<LocalDate, Long> counts = new HashMap<>();
+                for (Object[] row : salesRollupRepository.countCustomersByWeek(startDate, endDate)) {
+                    counts.put(SalesRollupRepository.WEEK_INDEX_EPOCH.plusWeeks(((Number) row[0]).longValue()),
+                            ((Number) row[1]).longValue());
+                }
+                yield counts;
+            }
+            case MONTH -> {
+                Map<LocalDate, Long> counts = new HashMap<>();
+                for (Object[] row : salesRollupRepository.countCustomersByMonth(startDate, endDate)) {
+                    counts.put(LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), 1),
+                            ((Number) row[2]).longValue());
+                }
+                yield counts;
+            }
+        };
+    }
+
+    private Map<LocalDate, Long> toDailyCounts(List<Object[]> rows) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
     }
-}
\ No newline at end of file
+}
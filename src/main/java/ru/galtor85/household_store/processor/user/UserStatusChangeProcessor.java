@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.security.SecurityUser;
 import ru.galtor85.household_store.security.SecurityUserFactory;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
@@ -32,6 +33,7 @@ import ru.galtor85.household_store.util.email.EmailMasker;
 public class UserStatusChangeProcessor {
 
     private final SecurityUserRepository securityUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     private final SecurityUserFactory securityUserFactory;
     private final MessageService messageService;
     private final LogMessageService logMsg;
@@ -58,10 +60,10 @@ public class UserStatusChangeProcessor {
         String maskedAdminEmail = emailMasker.maskEmail(adminUser.getEmail());
         String maskedTargetEmail = emailMasker.maskEmail(targetUser.getEmail());
 
-        log.debug(logMsg.get("user.status.change.start",
+        logMsg.debug(log, "user.status.change.start",
                 maskedTargetEmail,
                 active ? "activate" : "deactivate",
-                maskedAdminEmail));
+                maskedAdminEmail);
 
         boolean oldStatus = targetSecurity.isEnabled();
 
@@ -71,12 +73,13 @@ public class UserStatusChangeProcessor {
         );
 
         securityUserRepository.save(updatedSecurityUser);
+        principalCache.invalidateUser(targetSecurity.getUserId());
 
         logStatusChange(adminUser.getEmail(), targetUser.getEmail(), oldStatus, active);
 
-        log.debug(logMsg.get("user.status.change.complete",
+        logMsg.debug(log, "user.status.change.complete",
                 maskedTargetEmail,
-                active ? "activated" : "deactivated"));
+                active ? "activated" : "deactivated");
 
     }
 
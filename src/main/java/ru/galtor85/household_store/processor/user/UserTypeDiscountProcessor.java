@@ -66,8 +66,8 @@ public class UserTypeDiscountProcessor {
 
         // Add null check
         if (currentTotal == null || currentTotal.compareTo(BigDecimal.ZERO) <= 0) {
-            log.debug(logMsg.get("discount.user.type.skipped",
-                    currentTotal == null ? "null" : currentTotal.toString()));
+            logMsg.debug(log, "discount.user.type.skipped",
+                    currentTotal == null ? "null" : currentTotal.toString());
             return new UserTypeDiscountResult(
                     currentTotal != null ? currentTotal : BigDecimal.ZERO,
                     null,
@@ -79,7 +79,7 @@ public class UserTypeDiscountProcessor {
         double discountPercent = getUserTypeDiscountPercent(userType);
 
         if (discountPercent <= NO_DISCOUNT) {
-            log.debug(logMsg.get("discount.user.type.none", userType));
+            logMsg.debug(log, "discount.user.type.none", userType);
             return new UserTypeDiscountResult(currentTotal, userType, NO_DISCOUNT);
         }
 
@@ -89,8 +89,8 @@ public class UserTypeDiscountProcessor {
 
         BigDecimal totalAfterDiscount = currentTotal.subtract(discountAmount);
 
-        log.debug(logMsg.get("discount.user.type.applied",
-                userType, discountPercent, discountAmount));
+        logMsg.debug(log, "discount.user.type.applied",
+                userType, discountPercent, discountAmount);
 
         return new UserTypeDiscountResult(totalAfterDiscount, userType, discountPercent);
     }
@@ -52,7 +52,7 @@ public class WarehouseManagementProcessor {
      */
     @Transactional
     public WarehouseDto createWarehouse(WarehouseCreateRequest request, Long createdBy) {
-        log.debug(logMsg.get("warehouse.creation.start", request.getCode(), createdBy));
+        logMsg.debug(log, "warehouse.creation.start", request.getCode(), createdBy);
 
         Warehouse warehouse = warehouseMapper.toEntity(request, createdBy);
 
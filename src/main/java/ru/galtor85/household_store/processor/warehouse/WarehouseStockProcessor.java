@@ -11,9 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.dto.response.product.ProductStockDto;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.product.ProductStock;
-import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.repository.product.ProductStockRepository;
-import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.util.stock.StockDtoEnricher;
 
@@ -50,7 +48,6 @@ public class WarehouseStockProcessor {
     );
 
     private final ProductStockRepository stockRepository;
-    private final WarehouseRepository warehouseRepository;
     private final StockDtoEnricher dtoEnricher;
     private final LogMessageService logMsg;
 
@@ -76,10 +73,10 @@ public class WarehouseStockProcessor {
                                                      String sortDir) {
         Page<ProductStock> stocks = fetchStockByWarehouse(warehouseId, page, size, sortBy, sortDir);
 
-        log.debug(logMsg.get("stock.by.warehouse.fetched",
-                stocks.getTotalElements(), warehouseId));
+        logMsg.debug(log, "stock.by.warehouse.fetched",
+                stocks.getTotalElements(), warehouseId);
 
-        return stocks.map(dtoEnricher::enrichStockDto);
+        return dtoEnricher.enrichStockPage(stocks);
     }
 
     /**
@@ -95,8 +92,8 @@ public class WarehouseStockProcessor {
     public List<ProductStock> getLowStockItems(Long warehouseId) {
         List<ProductStock> lowStockItems = stockRepository.findLowStockItems(warehouseId);
 
-        log.debug(logMsg.get("stock.low.items.fetched",
-                lowStockItems.size(), warehouseId));
+        logMsg.debug(log, "stock.low.items.fetched",
+                lowStockItems.size(), warehouseId);
 
         return lowStockItems;
     }
@@ -122,23 +119,6 @@ public class WarehouseStockProcessor {
         return stockRepository.searchOnWarehouse(warehouseId, searchTerm, pageable);
     }
 
-    /**
-     * Retrieves a summary of stock information for a warehouse.
-     *
-     * <p>Returns both the warehouse entity and all its stock records
-     * for further processing and aggregation.</p>
-     *
-     * @param warehouseId the warehouse identifier
-     * @return WarehouseStockSummary containing warehouse and its stock records
-     */
-    @Transactional(readOnly = true)
-    public WarehouseStockSummary getWarehouseSummary(Long warehouseId) {
-        Warehouse warehouse = warehouseRepository.findById(warehouseId).orElse(null);
-        List<ProductStock> stocks = stockRepository.findByWarehouseId(warehouseId);
-
-        return new WarehouseStockSummary(warehouse, stocks);
-    }
-
     /**
      * Checks if the sort field is from the Product entity (requires JOIN).
      *
@@ -186,12 +166,4 @@ public class WarehouseStockProcessor {
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
     }
-
-    /**
-     * Summary of warehouse stock information.
-     *
-     * @param warehouse the warehouse entity
-     * @param stocks list of stock records for the warehouse
-     */
-    public record WarehouseStockSummary(Warehouse warehouse, List<ProductStock> stocks) {}
-}
\ No newline at end of file
+}
@@ -2,19 +2,20 @@ package ru.galtor85.household_store.processor.warehouse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.calculator.StockCalculator;
 import ru.galtor85.household_store.dto.response.stock.TopProductDto;
 import ru.galtor85.household_store.dto.response.warehouse.WarehouseStockSummaryDto;
-import ru.galtor85.household_store.entity.product.Product;
-import ru.galtor85.household_store.entity.product.ProductStock;
 import ru.galtor85.household_store.entity.warehouse.Warehouse;
-import ru.galtor85.household_store.repository.product.ProductRepository;
+import ru.galtor85.household_store.repository.product.ProductStockRepository;
 import ru.galtor85.household_store.service.i18n.MessageService;
 
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Processor for building warehouse stock summaries.
@@ -23,6 +24,9 @@ import java.util.stream.Collectors;
  * including totals, low stock counts, utilization percentage, and
  * top products by value.</p>
  *
+ * <p>Totals of any number of warehouses are calculated by one grouped query;
+ * top products take one limited query per warehouse.</p>
+ *
  * @author G@LTor85
  
  */
@@ -33,39 +37,67 @@ public class WarehouseSummaryProcessor {
 
     private static final int TOP_PRODUCTS_LIMIT = 5;
     private static final String UNKNOWN_PRODUCT_NAME_KEY = "stock.product.unknown";
-    private static final double DEFAULT_VALUE = 0.0;
 
-    private final ProductRepository productRepository;
+    private static final int IDX_WAREHOUSE_ID = 0;
+    private static final int IDX_PRODUCT_COUNT = 1;
+    private static final int IDX_TOTAL_QUANTITY = 2;
+    private static final int IDX_TOTAL_VALUE = 3;
+    private static final int IDX_LOW_STOCK_COUNT = 4;
+    private static final int IDX_OUT_OF_STOCK_COUNT = 5;
+
+    private static final int IDX_TOP_PRODUCT_ID = 0;
+    private static final int IDX_TOP_PRODUCT_NAME = 1;
+    private static final int IDX_TOP_QUANTITY = 2;
+    private static final int IDX_TOP_VALUE = 3;
+
+    private final ProductStockRepository productStockRepository;
     private final StockCalculator stockCalculator;
     private final MessageService messageService;
 
     /**
-     * Builds a comprehensive stock summary for a warehouse.
+     * Builds comprehensive stock summaries for warehouses.
      *
      * <p>The summary includes:
      * <ul>
      *   <li>Total number of distinct products</li>
      *   <li>Total quantity of all items</li>
-     *   <li>Total stock value</li>
+     *   <li>Total stock value (price × quantity)</li>
      *   <li>Count of low stock items</li>
      *   <li>Count of out of stock items</li>
      *   <li>Warehouse utilization percentage</li>
      *   <li>Top 5 products by value</li>
      * </ul>
      *
-     * @param warehouse the warehouse entity
-     * @param stocks list of stock records for the warehouse
-     * @return DTO containing the complete warehouse stock summary
+     * @param warehouses warehouses to summarize
+     * @return summaries by warehouse ID, in the order of the given warehouses
      */
-    public WarehouseStockSummaryDto buildSummary(Warehouse warehouse, List<ProductStock> stocks) {
-        int totalProducts = stocks.size();
-        int totalItems = stockCalculator.sumQuantity(stocks);
-        double totalValue = stockCalculator.calculateTotalValue();
-        int lowStockCount = stockCalculator.countLowStock(stocks);
-        int outOfStockCount = stockCalculator.countOutOfStock(stocks);
-        double utilizationPercentage = stockCalculator.calculateUtilization(warehouse, stocks);
+    public Map<Long, WarehouseStockSummaryDto> buildSummaries(Collection<Warehouse> warehouses) {
+        Map<Long, WarehouseStockSummaryDto> result = new LinkedHashMap<>();
+        if (warehouses.isEmpty()) {
+            return result;
+        }
 
-        List<TopProductDto> topProducts = buildTopProducts(stocks);
+        Map<Long, Object[]> totals = new HashMap<>();
+        List<Long> warehouseIds = warehouses.stream().map(Warehouse::getId).toList();
+        for (Object[] row : productStockRepository.getWarehouseStockTotals(warehouseIds)) {
+            totals.put((Long) row[IDX_WAREHOUSE_ID], row);
+        }
+
+        for (Warehouse warehouse : warehouses) {
+            result.put(warehouse.getId(), buildSummary(warehouse, totals.get(warehouse.getId())));
+        }
+        return result;
+    }
+
+    private WarehouseStockSummaryDto buildSummary(Warehouse warehouse, Object[] totals) {
+        int totalProducts = totals != null ? ((Number) totals[IDX_PRODUCT_COUNT]).intValue() : 0;
+        int totalItems = totals != null ? ((Number) totals[IDX_TOTAL_QUANTITY]).intValue() : 0;
+        double totalValue = totals != null ? ((Number) totals[IDX_TOTAL_VALUE]).doubleValue() : 0.0;
+        int lowStockCount = totals != null ? ((Number) totals[IDX_LOW_STOCK_COUNT]).intValue() : 0;
+        int outOfStockCount = totals != null ? ((Number) totals[IDX_OUT_OF_STOCK_COUNT]).intValue() : 0;
+        double utilizationPercentage = stockCalculator.calculateUtilization(warehouse, totalItems);
+
+        List<TopProductDto> topProducts = totalProducts > 0 ? buildTopProducts(warehouse.getId()) : List.of();
 
         return WarehouseStockSummaryDto.builder()
                 .warehouseId(warehouse.getId())
@@ -83,62 +115,34 @@ public class WarehouseSummaryProcessor {
     /**
      * Builds the list of top products by value.
      *
-     * <p>Products are sorted by total value (price × quantity) in descending order,
-     * and limited to the top {@value #TOP_PRODUCTS_LIMIT} items.</p>
-     *
-     * @param stocks list of stock records
-     * @return list of top products sorted by value descending
-     */
-    private List<TopProductDto> buildTopProducts(List<ProductStock> stocks) {
-        return stocks.stream()
-                .map(this::createTopProductDto)
-                .sorted(Comparator.comparing(TopProductDto::getValue).reversed())
-                .limit(TOP_PRODUCTS_LIMIT)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Creates a TopProductDto from a ProductStock record.
-     *
-     * <p>Calculates the total value as price × quantity.
+     * <p>Products are sorted by total value (price × quantity) in descending order
+     * by the database and limited to the top {@value #TOP_PRODUCTS_LIMIT} items.
      * If the product is not found, uses a localized "Unknown" name.</p>
      *
-     * @param stock the stock record
-     * @return DTO containing product information and calculated value
+     * @param warehouseId warehouse ID
+     * @return list of top products sorted by value descending
      */
-    private TopProductDto createTopProductDto(ProductStock stock) {
-        Product product = productRepository.findById(stock.getProductId()).orElse(null);
-
-        String productName = resolveProductName(product);
-        double value = calculateStockValue(product, stock.getQuantity());
-
-        return new TopProductDto(stock.getProductId(), productName, stock.getQuantity(), value);
+    private List<TopProductDto> buildTopProducts(Long warehouseId) {
+        return productStockRepository.findTopProductsByValue(warehouseId, PageRequest.of(0, TOP_PRODUCTS_LIMIT))
+                .stream()
+                .map(row -> new TopProductDto(
+                        (Long) row[IDX_TOP_PRODUCT_ID],
+                        resolveProductName((String) row[IDX_TOP_PRODUCT_NAME]),
+                        ((Number) row[IDX_TOP_QUANTITY]).intValue(),
+                        ((Number) row[IDX_TOP_VALUE]).doubleValue()))
+                .toList();
     }
 
     /**
      * Resolves the product name, falling back to localized "Unknown" if product not found.
      *
-     * @param product the product entity (maybe null)
+     * @param productName product name (maybe null)
      * @return product name or localized fallback
      */
-    private String resolveProductName(Product product) {
-        if (product != null && product.getName() != null) {
-            return product.getName();
+    private String resolveProductName(String productName) {
+        if (productName != null) {
+            return productName;
         }
         return messageService.get(UNKNOWN_PRODUCT_NAME_KEY);
     }
-
-    /**
-     * Calculates the total value of stock for a product.
-     *
-     * @param product the product entity (maybe null)
-     * @param quantity the quantity in stock
-     * @return calculated stock value or 0 if product/price is null
-     */
-    private double calculateStockValue(Product product, int quantity) {
-        if (product != null && product.getPrice() != null) {
-            return product.getPrice().doubleValue() * quantity;
-        }
-        return DEFAULT_VALUE;
-    }
-}
\ No newline at end of file
+}
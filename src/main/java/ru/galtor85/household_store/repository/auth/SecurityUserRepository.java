@@ -1,11 +1,13 @@
 package ru.galtor85.household_store.repository.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.galtor85.household_store.security.SecurityUser;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +21,27 @@ public interface SecurityUserRepository extends JpaRepository<SecurityUser, Long
     void deleteByUserId(Long finalUserId);
 
     boolean existsByUserId(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Replaces a password hash unless it has changed since it was read.
+     *
+     * @param id              security user ID
+     * @param currentPassword hash that was read
+     * @param newPassword     new hash
+     * @return number of updated rows (0 if the hash has changed meanwhile)
+     */
+    @Modifying
+    @Query("UPDATE SecurityUser su SET su.password = :newPassword " +
+            "WHERE su.id = :id AND su.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("currentPassword") String currentPassword,
+                                  @Param("newPassword") String newPassword);
+
+    /**
+     * Counts security users grouped by role and active flag.
+     *
+     * @return rows of role, active flag and count
+     */
+    @Query("SELECT su.role, su.active, COUNT(su) FROM SecurityUser su GROUP BY su.role, su.active")
+    List<Object[]> countByRoleAndActive();
+}
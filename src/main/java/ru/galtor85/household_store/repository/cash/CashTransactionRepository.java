@@ -1,9 +1,12 @@
 package ru.galtor85.household_store.repository.cash;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.galtor85.household_store.entity.finance.CashTransaction;
@@ -11,6 +14,9 @@ import ru.galtor85.household_store.entity.finance.CashTransaction;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_FETCH_SIZE;
 
 /**
  * Repository for cash transaction operations.
@@ -48,28 +54,103 @@ public interface CashTransactionRepository extends JpaRepository<CashTransaction
      * Finds transactions by cash register within date range.
      *
      * @param cashRegisterId cash register ID
-     * @param startDate      period start
-     * @param endDate        period end
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
      * @return list of cash transactions
      */
     @Query("SELECT ct FROM CashTransaction ct WHERE ct.cashRegister.id = :cashRegisterId " +
-            "AND ct.createdAt BETWEEN :startDate AND :endDate")
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate")
     List<CashTransaction> findByCashRegisterIdAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
                                                            @Param("startDate") LocalDateTime startDate,
                                                            @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Finds transactions of all cash registers within date range.
+     * Uses the created_at index; cash register and invoice are fetched in the same query.
+     *
+     * @param startDate period start (inclusive)
+     * @param endDate   period end (exclusive)
+     * @return list of cash transactions sorted by creation date
+     */
+    @Query("SELECT ct FROM CashTransaction ct " +
+            "JOIN FETCH ct.cashRegister LEFT JOIN FETCH ct.invoice " +
+            "WHERE ct.createdAt >= :startDate AND ct.createdAt < :endDate " +
+            "ORDER BY ct.createdAt ASC, ct.id ASC")
+    List<CashTransaction> findByDateRange(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Finds transactions of one cash register within date range.
+     * Uses the (cash_register_id, created_at) index; cash register and invoice are
+     * fetched in the same query.
+     *
+     * @param cashRegisterId cash register ID
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
+     * @return list of cash transactions sorted by creation date
+     */
+    @Query("SELECT ct FROM CashTransaction ct " +
+            "JOIN FETCH ct.cashRegister LEFT JOIN FETCH ct.invoice " +
+            "WHERE ct.cashRegister.id = :cashRegisterId " +
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate " +
+            "ORDER BY ct.createdAt ASC, ct.id ASC")
+    List<CashTransaction> findByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Streams transactions of all cash registers within date range through a
+     * forward-only cursor. Must be consumed inside a read-only transaction and closed after use.
+     *
+     * @param startDate period start (inclusive)
+     * @param endDate   period end (exclusive)
+     * @return stream of cash transactions sorted by creation date
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ct FROM CashTransaction ct " +
+            "JOIN FETCH ct.cashRegister LEFT JOIN FETCH ct.invoice " +
+            "WHERE ct.createdAt >= :startDate AND ct.createdAt < :endDate " +
+            "ORDER BY ct.createdAt ASC, ct.id ASC")
+    Stream<CashTransaction> streamByDateRange(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Streams transactions of one cash register within date range through a
+     * forward-only cursor. Must be consumed inside a read-only transaction and closed after use.
+     *
+     * @param cashRegisterId cash register ID
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
+     * @return stream of cash transactions sorted by creation date
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ct FROM CashTransaction ct " +
+            "JOIN FETCH ct.cashRegister LEFT JOIN FETCH ct.invoice " +
+            "WHERE ct.cashRegister.id = :cashRegisterId " +
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate " +
+            "ORDER BY ct.createdAt ASC, ct.id ASC")
+    Stream<CashTransaction> streamByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
+                                                             @Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+
     /**
      * Gets total income for cash register within date range.
      *
      * @param cashRegisterId cash register ID
-     * @param startDate      period start
-     * @param endDate        period end
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
      * @return total income amount
      */
     @Query("SELECT COALESCE(SUM(ct.amount), 0) FROM CashTransaction ct " +
             "WHERE ct.cashRegister.id = :cashRegisterId " +
             "AND ct.transactionType = 'INCOME' " +
-            "AND ct.createdAt BETWEEN :startDate AND :endDate")
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate")
     BigDecimal getTotalIncomeByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
                                                         @Param("startDate") LocalDateTime startDate,
                                                         @Param("endDate") LocalDateTime endDate);
@@ -78,14 +159,14 @@ public interface CashTransactionRepository extends JpaRepository<CashTransaction
      * Gets total expense for cash register within date range.
      *
      * @param cashRegisterId cash register ID
-     * @param startDate      period start
-     * @param endDate        period end
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
      * @return total expense amount
      */
     @Query("SELECT COALESCE(SUM(ct.amount), 0) FROM CashTransaction ct " +
             "WHERE ct.cashRegister.id = :cashRegisterId " +
             "AND ct.transactionType = 'EXPENSE' " +
-            "AND ct.createdAt BETWEEN :startDate AND :endDate")
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate")
     BigDecimal getTotalExpenseByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
                                                          @Param("startDate") LocalDateTime startDate,
                                                          @Param("endDate") LocalDateTime endDate);
@@ -108,7 +189,7 @@ public interface CashTransactionRepository extends JpaRepository<CashTransaction
             "WHERE ct.cashRegister.id = :cashRegisterId " +
             "AND ct.transactionType = 'REFUND' " +
             "AND ct.invoice.salesOrderId IS NOT NULL " +
-            "AND ct.createdAt BETWEEN :startDate AND :endDate")
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate")
     BigDecimal getTotalRefundToCustomerByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
                                                                   @Param("startDate") LocalDateTime startDate,
                                                                   @Param("endDate") LocalDateTime endDate);
@@ -120,7 +201,7 @@ public interface CashTransactionRepository extends JpaRepository<CashTransaction
             "WHERE ct.cashRegister.id = :cashRegisterId " +
             "AND ct.transactionType = 'REFUND' " +
             "AND ct.invoice.purchaseOrderId IS NOT NULL " +
-            "AND ct.createdAt BETWEEN :startDate AND :endDate")
+            "AND ct.createdAt >= :startDate AND ct.createdAt < :endDate")
     BigDecimal getTotalRefundFromSupplierByCashRegisterAndDateRange(@Param("cashRegisterId") Long cashRegisterId,
                                                                     @Param("startDate") LocalDateTime startDate,
                                                                     @Param("endDate") LocalDateTime endDate);
@@ -1,12 +1,16 @@
 package ru.galtor85.household_store.repository.finance;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.entity.finance.Invoice;
 import ru.galtor85.household_store.entity.finance.InvoiceStatus;
 
@@ -14,6 +18,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_FETCH_SIZE;
 
 /**
  * Repository for invoice operations.
@@ -21,6 +28,16 @@ import java.util.Optional;
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
+    /**
+     * Paid amount of invoice {@code i} computed from its cash transactions,
+     * same rules as {@link Invoice#paidAmountDelta}
+     */
+    String PAID_AMOUNT_FROM_TRANSACTIONS = "COALESCE((SELECT SUM(CASE " +
+            "WHEN i.purchaseOrderId IS NOT NULL AND ct.transactionType = 'EXPENSE' THEN ct.amount " +
+            "WHEN i.purchaseOrderId IS NULL AND i.salesOrderId IS NOT NULL AND ct.transactionType = 'INCOME' THEN ct.amount " +
+            "WHEN (i.purchaseOrderId IS NOT NULL OR i.salesOrderId IS NOT NULL) AND ct.transactionType = 'REFUND' THEN -ct.amount " +
+            "ELSE 0 END) FROM CashTransaction ct WHERE ct.invoice.id = i.id), 0)";
+
     /**
      * Finds invoice by number.
      *
@@ -57,12 +74,12 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     /**
      * Gets total paid amount for a period.
      *
-     * @param startDate period start
-     * @param endDate period end
+     * @param startDate period start (inclusive)
+     * @param endDate period end (exclusive)
      * @return total paid amount
      */
     @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Invoice i " +
-            "WHERE i.status = 'PAID' AND i.paidDate BETWEEN :startDate AND :endDate")
+            "WHERE i.status = 'PAID' AND i.paidDate >= :startDate AND i.paidDate < :endDate")
     BigDecimal getTotalPaidAmountForPeriod(@Param("startDate") LocalDateTime startDate,
                                            @Param("endDate") LocalDateTime endDate);
 
@@ -71,11 +88,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
      *
      * @return pending amount for purchase invoices
      */
-    @Query("SELECT COALESCE(SUM(i.amount - COALESCE(" +
-            "(SELECT SUM(ct.amount) FROM CashTransaction ct " +
-            "WHERE ct.invoice.id = i.id AND ct.transactionType = 'EXPENSE'), 0) + " +
-            "COALESCE((SELECT SUM(ct.amount) FROM CashTransaction ct " +
-            "WHERE ct.invoice.id = i.id AND ct.transactionType = 'REFUND'), 0)), 0) " +
+    @Query("SELECT COALESCE(SUM(i.amount - i.paidAmount), 0) " +
             "FROM Invoice i WHERE i.purchaseOrderId IS NOT NULL " +
             "AND i.status IN ('PENDING', 'PARTIALLY_PAID')")
     BigDecimal getTotalPendingAmountForPurchase();
@@ -85,11 +98,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
      *
      * @return pending amount for sales invoices
      */
-    @Query("SELECT COALESCE(SUM(i.amount - COALESCE(" +
-            "(SELECT SUM(ct.amount) FROM CashTransaction ct " +
-            "WHERE ct.invoice.id = i.id AND ct.transactionType = 'INCOME'), 0) + " +
-            "COALESCE((SELECT SUM(ct.amount) FROM CashTransaction ct " +
-            "WHERE ct.invoice.id = i.id AND ct.transactionType = 'REFUND'), 0)), 0) " +
+    @Query("SELECT COALESCE(SUM(i.amount - i.paidAmount), 0) " +
             "FROM Invoice i WHERE i.salesOrderId IS NOT NULL " +
             "AND i.status IN ('PENDING', 'PARTIALLY_PAID')")
     BigDecimal getTotalPendingAmountForSales();
@@ -111,11 +120,63 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     @Query("SELECT i FROM Invoice i LEFT JOIN FETCH i.cashTransactions WHERE i.id = :id")
     Optional<Invoice> findByIdWithTransactions(@Param("id") Long id);
 
+    /**
+     * Streams invoices of all statuses issued within a period for export.
+     * Read through a forward-only cursor with the export fetch size; orders are
+     * fetched in the same query, so their numbers need no further lookups.
+     *
+     * @param startDate period start (issue date, inclusive)
+     * @param endDate   period end (issue date, exclusive)
+     * @return stream of invoices sorted by issue date
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Invoice i " +
+            "LEFT JOIN FETCH i.purchaseOrder LEFT JOIN FETCH i.salesOrder " +
+            "WHERE i.issueDate >= :startDate AND i.issueDate < :endDate " +
+            "ORDER BY i.issueDate ASC, i.id ASC")
+    Stream<Invoice> streamByIssueDateRange(@Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Streams invoices of one status issued within a period for export.
+     * Read through a forward-only cursor with the export fetch size; orders are
+     * fetched in the same query, so their numbers need no further lookups.
+     *
+     * @param status    invoice status
+     * @param startDate period start (issue date, inclusive)
+     * @param endDate   period end (issue date, exclusive)
+     * @return stream of invoices sorted by issue date
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Invoice i " +
+            "LEFT JOIN FETCH i.purchaseOrder LEFT JOIN FETCH i.salesOrder " +
+            "WHERE i.status = :status " +
+            "AND i.issueDate >= :startDate AND i.issueDate < :endDate " +
+            "ORDER BY i.issueDate ASC, i.id ASC")
+    Stream<Invoice> streamByStatusAndIssueDateRange(@Param("status") InvoiceStatus status,
+                                                    @Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT COUNT(i) > 0 FROM Invoice i " +
             "WHERE i.purchaseOrder.supplierId = :supplierId " +
             "AND i.status IN ('PAID', 'PARTIALLY_PAID')")
     boolean existsPaidBySupplierId(@Param("supplierId") Long supplierId);
 
+    /**
+     * Gets the amount of open supplier invoices not covered by payments, for the
+     * supplier delete guard. Only payments (EXPENSE) are subtracted: a refund does not
+     * reopen the amount, so unlike {@code amount - paidAmount} a refunded invoice does
+     * not block deleting the supplier.
+     *
+     * @param supplierId supplier ID
+     * @return unpaid amount of pending and partially paid invoices
+     */
     @Query("SELECT COALESCE(SUM(i.amount - COALESCE(" +
             "(SELECT SUM(ct.amount) FROM CashTransaction ct " +
             "WHERE ct.invoice.id = i.id AND ct.transactionType = 'EXPENSE'), 0)), 0) " +
@@ -124,6 +185,38 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             "AND i.status IN ('PENDING', 'PARTIALLY_PAID')")
     BigDecimal getUnpaidAmountBySupplierId(@Param("supplierId") Long supplierId);
 
+    /**
+     * Atomically adds a signed amount to the paid amount of an invoice.
+     *
+     * @param invoiceId invoice ID
+     * @param delta     signed change (negative for refunds)
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Invoice i SET i.paidAmount = COALESCE(i.paidAmount, 0) + :delta WHERE i.id = :invoiceId")
+    int addPaidAmount(@Param("invoiceId") Long invoiceId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Reads the current paid amount of an invoice from the database.
+     *
+     * @param invoiceId invoice ID
+     * @return paid amount
+     */
+    @Query("SELECT i.paidAmount FROM Invoice i WHERE i.id = :invoiceId")
+    BigDecimal findPaidAmountById(@Param("invoiceId") Long invoiceId);
+
+    /**
+     * Recalculates paid amounts from cash transactions with one grouped statement.
+     * Only rows that differ from their transactions are updated.
+     *
+     * @return number of corrected invoices
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Invoice i SET i.paidAmount = " + PAID_AMOUNT_FROM_TRANSACTIONS +
+            " WHERE i.paidAmount <> " + PAID_AMOUNT_FROM_TRANSACTIONS)
+    int reconcilePaidAmounts();
+
     @Modifying
     @Query("DELETE FROM Invoice i WHERE i.deleted = true AND i.deletedAt < :threshold")
     int deleteByDeletedTrueAndDeletedAtBefore(@Param("threshold") LocalDateTime threshold);
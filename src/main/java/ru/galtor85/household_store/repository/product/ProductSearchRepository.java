@@ -0,0 +1,76 @@
+package ru.galtor85.household_store.repository.product;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import ru.galtor85.household_store.entity.product.Product;
+
+import java.util.List;
+
+/**
+ * PostgreSQL product search over the {@code search_vector} full-text column and
+ * {@code pg_trgm} indexes (see db.changelog-product-search.xml).
+ *
+ * <p>A product matches when its full-text vector matches the query, the query occurs
+ * in its name allowing typos ({@code word_similarity} above
+ * {@code pg_trgm.word_similarity_threshold}) or its SKU starts with the query.
+ * Each condition is served by a GIN index.</p>
+ *
+ * @author G@LTor85
+ */
+public interface ProductSearchRepository extends Repository<Product, Long> {
+
+    String MATCH_CONDITION =
+            "p.active = true AND (" +
+            "p.search_vector @@ websearch_to_tsquery('simple', :query) OR " +
+            "lower(:query) <% lower(p.name) OR " +
+            "lower(p.sku) LIKE :skuPrefix) ";
+
+    /**
+     * Finds IDs of matching products ordered by relevance: full-text rank
+     * (name and SKU weigh most) plus word similarity of the name.
+     *
+     * @param query     query as typed by the user
+     * @param skuPrefix LIKE pattern of the SKU prefix (lower-cased, escaped)
+     * @param limit     page size
+     * @param offset    rows to skip
+     * @return product IDs, most relevant first
+     */
+    @Query(value = "SELECT p.id FROM household_schema.products p WHERE " + MATCH_CONDITION +
+            "ORDER BY ts_rank(p.search_vector, websearch_to_tsquery('simple', :query)) + " +
+            "word_similarity(lower(:query), lower(p.name)) DESC, p.id " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Long> searchRankedIds(@Param("query") String query,
+                               @Param("skuPrefix") String skuPrefix,
+                               @Param("limit") int limit,
+                               @Param("offset") long offset);
+
+    /**
+     * Counts matching products.
+     *
+     * @param query     query as typed by the user
+     * @param skuPrefix LIKE pattern of the SKU prefix (lower-cased, escaped)
+     * @return number of matching products
+     */
+    @Query(value = "SELECT COUNT(*) FROM household_schema.products p WHERE " + MATCH_CONDITION,
+            nativeQuery = true)
+    long countMatches(@Param("query") String query,
+                      @Param("skuPrefix") String skuPrefix);
+
+    /**
+     * Finds names of products matching a prefix query, most relevant and shortest first.
+     *
+     * @param prefixQuery tsquery with prefix matching (e.g. "drill &amp; bo:*")
+     * @param limit       maximum number of names
+     * @return product names
+     */
+    @Query(value = "SELECT p.name FROM household_schema.products p " +
+            "WHERE p.active = true AND p.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :prefixQuery)) DESC, " +
+            "length(p.name), p.name " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<String> suggestNames(@Param("prefixQuery") String prefixQuery,
+                              @Param("limit") int limit);
+}
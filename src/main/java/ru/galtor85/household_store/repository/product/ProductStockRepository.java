@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.galtor85.household_store.entity.product.ProductStock;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,16 @@ public interface ProductStockRepository extends JpaRepository<ProductStock, Long
      */
     Optional<ProductStock> findByProductIdAndWarehouseId(Long productId, Long warehouseId);
 
+    /**
+     * Finds stock records of several products at several warehouses in one query.
+     *
+     * @param productIds product identifiers
+     * @param warehouseIds warehouse identifiers
+     * @return stock records
+     */
+    List<ProductStock> findByProductIdInAndWarehouseIdIn(Collection<Long> productIds,
+                                                         Collection<Long> warehouseIds);
+
     /**
      * Finds all stock records for a specific warehouse.
      *
@@ -100,6 +111,20 @@ public interface ProductStockRepository extends JpaRepository<ProductStock, Long
             "WHERE ps.productId = :productId AND w.isVisibleForSale = true")
     Integer getAvailableStockForCustomer(@Param("productId") Long productId);
 
+    /**
+     * Gets available stock for customers for several products at once.
+     * Only includes warehouses visible for sale; products without stock are absent.
+     *
+     * @param productIds product identifiers
+     * @return list of [productId, available quantity]
+     */
+    @Query("SELECT ps.productId, COALESCE(SUM(ps.quantity), 0) - COALESCE(SUM(ps.reservedQuantity), 0) " +
+            "FROM ProductStock ps " +
+            "JOIN Warehouse w ON ps.warehouseId = w.id " +
+            "WHERE ps.productId IN :productIds AND w.isVisibleForSale = true " +
+            "GROUP BY ps.productId")
+    List<Object[]> getAvailableStockForCustomerByProductIds(@Param("productIds") Collection<Long> productIds);
+
     /**
      * Gets stock details by warehouse for a product with visibility flag.
      *
@@ -177,6 +202,70 @@ public interface ProductStockRepository extends JpaRepository<ProductStock, Long
                       @Param("warehouseId") Long warehouseId,
                       @Param("quantity") int quantity);
 
+    /**
+     * Atomically reserves stock if enough unreserved quantity is left.
+     * The availability check and the increment are a single conditional UPDATE,
+     * so concurrent reservations of the same row cannot oversell.
+     *
+     * @return number of updated rows (0 if stock is missing or insufficient)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductStock ps SET " +
+            "ps.reservedQuantity = COALESCE(ps.reservedQuantity, 0) + :quantity, " +
+            "ps.availableQuantity = ps.quantity - COALESCE(ps.reservedQuantity, 0) - :quantity, " +
+            "ps.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ps.productId = :productId AND ps.warehouseId = :warehouseId " +
+            "AND ps.quantity - COALESCE(ps.reservedQuantity, 0) >= :quantity")
+    int reserveStock(@Param("productId") Long productId,
+                     @Param("warehouseId") Long warehouseId,
+                     @Param("quantity") int quantity);
+
+    /**
+     * Atomically releases previously reserved stock (never below zero).
+     *
+     * @return number of updated rows (0 if stock is missing)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductStock ps SET " +
+            "ps.reservedQuantity = CASE WHEN COALESCE(ps.reservedQuantity, 0) > :quantity " +
+            "THEN COALESCE(ps.reservedQuantity, 0) - :quantity ELSE 0 END, " +
+            "ps.availableQuantity = CASE WHEN COALESCE(ps.reservedQuantity, 0) > :quantity " +
+            "THEN ps.quantity - COALESCE(ps.reservedQuantity, 0) + :quantity ELSE ps.quantity END, " +
+            "ps.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ps.productId = :productId AND ps.warehouseId = :warehouseId")
+    int releaseReservedStock(@Param("productId") Long productId,
+                             @Param("warehouseId") Long warehouseId,
+                             @Param("quantity") int quantity);
+
+    /**
+     * Aggregates stock totals of warehouses in one grouped query.
+     * Value is price × quantity; stock of products without price counts as zero value.
+     *
+     * @param warehouseIds warehouse IDs
+     * @return rows of [warehouseId, productCount, totalQuantity, totalValue, lowStockCount, outOfStockCount]
+     */
+    @Query("SELECT ps.warehouseId, COUNT(ps), COALESCE(SUM(ps.quantity), 0), " +
+            "COALESCE(SUM(COALESCE(p.price, 0) * ps.quantity), 0), " +
+            "SUM(CASE WHEN ps.quantity < COALESCE(ps.minStockLevel, 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ps.quantity = 0 THEN 1 ELSE 0 END) " +
+            "FROM ProductStock ps LEFT JOIN Product p ON p.id = ps.productId " +
+            "WHERE ps.warehouseId IN :warehouseIds " +
+            "GROUP BY ps.warehouseId")
+    List<Object[]> getWarehouseStockTotals(@Param("warehouseIds") Collection<Long> warehouseIds);
+
+    /**
+     * Finds products of a warehouse with the highest stock value (price × quantity).
+     *
+     * @param warehouseId warehouse ID
+     * @param pageable    limit of returned rows
+     * @return rows of [productId, productName, quantity, value]
+     */
+    @Query("SELECT ps.productId, p.name, ps.quantity, COALESCE(p.price, 0) * ps.quantity " +
+            "FROM ProductStock ps LEFT JOIN Product p ON p.id = ps.productId " +
+            "WHERE ps.warehouseId = :warehouseId " +
+            "ORDER BY COALESCE(p.price, 0) * ps.quantity DESC, ps.productId")
+    List<Object[]> findTopProductsByValue(@Param("warehouseId") Long warehouseId, Pageable pageable);
+
     @Query("SELECT COUNT(ps) > 0 FROM ProductStock ps WHERE ps.warehouseId = :warehouseId")
     boolean hasStockByWarehouseId(@Param("warehouseId") Long warehouseId);
 }
@@ -0,0 +1,270 @@
+package ru.galtor85.household_store.repository.report;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.galtor85.household_store.entity.report.SalesDailyRollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for sales rollups: daily totals, hourly totals, product totals
+ * and customers per day.
+ *
+ * <p>Counters are changed with atomic UPDATE statements; a missing row is created
+ * with an {@code INSERT ... ON CONFLICT DO NOTHING} before the update is repeated.
+ * Reports read only rollup rows of the requested days.</p>
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesDailyRollup, LocalDate> {
+
+    /**
+     * Date of an order creation time, as used by all rollups.
+     */
+    String SALES_DATE = "CAST(so.created_at AS DATE)";
+
+    /**
+     * Monday used as week zero of {@link #WEEK_INDEX}.
+     */
+    LocalDate WEEK_INDEX_EPOCH = LocalDate.of(1970, 1, 5);
+
+    /**
+     * Number of the ISO week (Monday to Sunday) of a customer day, counted from
+     * {@link #WEEK_INDEX_EPOCH}. Written with a literal rather than a parameter, so the
+     * database matches the selected and the grouped expression; unlike
+     * {@code date_trunc('week', ...)} it does not depend on the locale of the database.
+     */
+    String WEEK_INDEX = "cast((c.salesDate - date 1970-01-05) by day as Integer) / 7";
+
+    /**
+     * Orders created in the backfilled range.
+     */
+    String ORDERS_IN_RANGE = " FROM household_schema.sales_orders so " +
+            "WHERE so.created_at >= :from AND so.created_at < :to ";
+
+    // =========================================================================
+    // INCREMENTAL UPDATES
+    // =========================================================================
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_daily_rollups " +
+            "(sales_date, order_count, completed_count, cancelled_count, pending_count, total_amount, customer_count) " +
+            "VALUES (:date, 0, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertDailyIfAbsent(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_hourly_rollups " +
+            "(sales_date, sales_hour, order_count, total_amount) " +
+            "VALUES (:date, :hour, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertHourlyIfAbsent(@Param("date") LocalDate date, @Param("hour") int hour);
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_product_rollups " +
+            "(sales_date, product_id, product_name, quantity, total_amount) " +
+            "VALUES (:date, :productId, :productName, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertProductIfAbsent(@Param("date") LocalDate date,
+                              @Param("productId") Long productId,
+                              @Param("productName") String productName);
+
+    /**
+     * Registers a customer of a day.
+     *
+     * @return 1 if this is the customer's first order of the day, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_daily_customers (sales_date, user_id) " +
+            "VALUES (:date, :userId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertCustomerIfAbsent(@Param("date") LocalDate date, @Param("userId") Long userId);
+
+    /**
+     * Adds an order to the totals of its day.
+     *
+     * @return number of updated rows (0 if the day has no row yet)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesDailyRollup r SET r.orderCount = r.orderCount + 1, " +
+            "r.completedCount = r.completedCount + :completed, " +
+            "r.cancelledCount = r.cancelledCount + :cancelled, " +
+            "r.pendingCount = r.pendingCount + :pending, " +
+            "r.totalAmount = r.totalAmount + :amount, " +
+            "r.minOrderAmount = CASE WHEN r.minOrderAmount IS NULL OR r.minOrderAmount > :amount " +
+            "THEN :amount ELSE r.minOrderAmount END, " +
+            "r.maxOrderAmount = CASE WHEN r.maxOrderAmount IS NULL OR r.maxOrderAmount < :amount " +
+            "THEN :amount ELSE r.maxOrderAmount END, " +
+            "r.customerCount = r.customerCount + :newCustomer " +
+            "WHERE r.salesDate = :date")
+    int addOrder(@Param("date") LocalDate date,
+                 @Param("amount") BigDecimal amount,
+                 @Param("completed") long completed,
+                 @Param("cancelled") long cancelled,
+                 @Param("pending") long pending,
+                 @Param("newCustomer") long newCustomer);
+
+    /**
+     * Moves an order of a day between status counters.
+     *
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesDailyRollup r SET " +
+            "r.completedCount = r.completedCount + :completed, " +
+            "r.cancelledCount = r.cancelledCount + :cancelled, " +
+            "r.pendingCount = r.pendingCount + :pending " +
+            "WHERE r.salesDate = :date")
+    int changeStatus(@Param("date") LocalDate date,
+                     @Param("completed") long completed,
+                     @Param("cancelled") long cancelled,
+                     @Param("pending") long pending);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesHourlyRollup h SET h.orderCount = h.orderCount + 1, " +
+            "h.totalAmount = h.totalAmount + :amount " +
+            "WHERE h.salesDate = :date AND h.salesHour = :hour")
+    int addHourlyOrder(@Param("date") LocalDate date,
+                       @Param("hour") int hour,
+                       @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesProductRollup p SET p.quantity = p.quantity + :quantity, " +
+            "p.totalAmount = p.totalAmount + :amount, p.productName = :productName " +
+            "WHERE p.salesDate = :date AND p.productId = :productId")
+    int addProductSale(@Param("date") LocalDate date,
+                       @Param("productId") Long productId,
+                       @Param("productName") String productName,
+                       @Param("quantity") long quantity,
+                       @Param("amount") BigDecimal amount);
+
+    // =========================================================================
+    // REPORTS
+    // =========================================================================
+
+    /**
+     * Sums daily totals of a date range.
+     *
+     * @return orders, completed, cancelled, pending, amount, min amount, max amount
+     */
+    @Query("SELECT COALESCE(SUM(r.orderCount), 0), COALESCE(SUM(r.completedCount), 0), " +
+            "COALESCE(SUM(r.cancelledCount), 0), COALESCE(SUM(r.pendingCount), 0), " +
+            "COALESCE(SUM(r.totalAmount), 0), MIN(r.minOrderAmount), MAX(r.maxOrderAmount) " +
+            "FROM SalesDailyRollup r WHERE r.salesDate BETWEEN :startDate AND :endDate")
+    List<Object[]> sumDaily(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(DISTINCT c.userId) FROM SalesDailyCustomer c " +
+            "WHERE c.salesDate BETWEEN :startDate AND :endDate")
+    long countCustomers(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Counts distinct customers with orders per ISO week of a date range.
+     *
+     * @return rows of week index (see {@link #WEEK_INDEX}) and count; weeks without orders are absent
+     */
+    @Query("SELECT " + WEEK_INDEX + ", COUNT(DISTINCT c.userId) FROM SalesDailyCustomer c " +
+            "WHERE c.salesDate BETWEEN :startDate AND :endDate GROUP BY " + WEEK_INDEX)
+    List<Object[]> countCustomersByWeek(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Counts distinct customers with orders per calendar month of a date range.
+     *
+     * @return rows of year, month and count; months without orders are absent
+     */
+    @Query("SELECT YEAR(c.salesDate), MONTH(c.salesDate), COUNT(DISTINCT c.userId) FROM SalesDailyCustomer c " +
+            "WHERE c.salesDate BETWEEN :startDate AND :endDate GROUP BY YEAR(c.salesDate), MONTH(c.salesDate)")
+    List<Object[]> countCustomersByMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Counts customers with orders per day of a date range.
+     *
+     * @return rows of date and count; days without orders are absent
+     */
+    @Query("SELECT c.salesDate, COUNT(c) FROM SalesDailyCustomer c " +
+            "WHERE c.salesDate BETWEEN :startDate AND :endDate GROUP BY c.salesDate")
+    List<Object[]> countCustomersByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sums hourly totals of a date range by hour of the day.
+     *
+     * @return hour, orders, amount ordered by hour
+     */
+    @Query("SELECT h.salesHour, SUM(h.orderCount), SUM(h.totalAmount) FROM SalesHourlyRollup h " +
+            "WHERE h.salesDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY h.salesHour ORDER BY h.salesHour")
+    List<Object[]> sumHourly(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sums product totals of a date range.
+     *
+     * @return product ID, product name, quantity, amount ordered by quantity descending
+     */
+    @Query("SELECT p.productId, MAX(p.productName), SUM(p.quantity), SUM(p.totalAmount) " +
+            "FROM SalesProductRollup p WHERE p.salesDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY p.productId ORDER BY SUM(p.quantity) DESC")
+    List<Object[]> sumProducts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // =========================================================================
+    // BACKFILL
+    // =========================================================================
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SalesDailyRollup r WHERE r.salesDate BETWEEN :startDate AND :endDate")
+    int deleteDaily(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM SalesHourlyRollup h WHERE h.salesDate BETWEEN :startDate AND :endDate")
+    int deleteHourly(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM SalesProductRollup p WHERE p.salesDate BETWEEN :startDate AND :endDate")
+    int deleteProducts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM SalesDailyCustomer c WHERE c.salesDate BETWEEN :startDate AND :endDate")
+    int deleteCustomers(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Aggregates orders created in [from, to) into daily rows.
+     *
+     * @return number of inserted days
+     */
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_daily_rollups " +
+            "(sales_date, order_count, completed_count, cancelled_count, pending_count, " +
+            "total_amount, min_order_amount, max_order_amount, customer_count) " +
+            "SELECT " + SALES_DATE + ", COUNT(*), " +
+            "SUM(CASE WHEN so.status = 'COMPLETED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN so.status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN so.status = 'PENDING' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(so.total_amount), 0), MIN(so.total_amount), MAX(so.total_amount), " +
+            "COUNT(DISTINCT so.user_id)" +
+            ORDERS_IN_RANGE + "GROUP BY " + SALES_DATE, nativeQuery = true)
+    int backfillDaily(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_hourly_rollups " +
+            "(sales_date, sales_hour, order_count, total_amount) " +
+            "SELECT " + SALES_DATE + ", EXTRACT(HOUR FROM so.created_at), COUNT(*), " +
+            "COALESCE(SUM(so.total_amount), 0)" +
+            ORDERS_IN_RANGE + "GROUP BY " + SALES_DATE + ", EXTRACT(HOUR FROM so.created_at)",
+            nativeQuery = true)
+    int backfillHourly(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_product_rollups " +
+            "(sales_date, product_id, product_name, quantity, total_amount) " +
+            "SELECT " + SALES_DATE + ", soi.product_id, MAX(soi.product_name), SUM(soi.quantity), " +
+            "SUM(soi.price * soi.quantity) " +
+            "FROM household_schema.sales_order_items soi " +
+            "JOIN household_schema.sales_orders so ON so.id = soi.sales_order_id " +
+            "WHERE so.created_at >= :from AND so.created_at < :to " +
+            "GROUP BY " + SALES_DATE + ", soi.product_id", nativeQuery = true)
+    int backfillProducts(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.sales_daily_customers (sales_date, user_id) " +
+            "SELECT DISTINCT " + SALES_DATE + ", so.user_id" + ORDERS_IN_RANGE, nativeQuery = true)
+    int backfillCustomers(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
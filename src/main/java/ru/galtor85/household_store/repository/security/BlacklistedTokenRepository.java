@@ -9,12 +9,29 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.security.BlacklistedToken;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
 
     boolean existsByToken(String token);
 
+    /**
+     * Finds tokens that have not expired yet (used to load the in-memory blacklist).
+     *
+     * @param now current time
+     * @return list of active blacklisted tokens
+     */
+    List<BlacklistedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Finds tokens blacklisted after the given moment (used for incremental sync).
+     *
+     * @param since lower bound of blacklisting time (exclusive)
+     * @return list of recently blacklisted tokens
+     */
+    List<BlacklistedToken> findByBlacklistedAtAfter(LocalDateTime since);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM BlacklistedToken bt WHERE bt.expiresAt < :now")
@@ -0,0 +1,57 @@
+package ru.galtor85.household_store.repository.security;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.security.PrincipalInvalidation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for per-user principal invalidations shared by all nodes.
+ */
+@Repository
+public interface PrincipalInvalidationRepository extends JpaRepository<PrincipalInvalidation, Long> {
+
+    /**
+     * Moves the invalidation time of a user.
+     *
+     * @param userId        user ID
+     * @param invalidatedAt invalidation time
+     * @return number of updated rows (0 if the user has no invalidation yet)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PrincipalInvalidation pi SET pi.invalidatedAt = :invalidatedAt WHERE pi.userId = :userId")
+    int touch(@Param("userId") Long userId, @Param("invalidatedAt") LocalDateTime invalidatedAt);
+
+    /**
+     * Records the first invalidation of a user unless another node just did.
+     *
+     * @param userId        user ID
+     * @param invalidatedAt invalidation time
+     * @return number of inserted rows (0 if it existed)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO household_schema.principal_invalidations (user_id, invalidated_at) " +
+            "VALUES (:userId, :invalidatedAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("invalidatedAt") LocalDateTime invalidatedAt);
+
+    /**
+     * Finds users invalidated after the given moment (used for incremental sync).
+     *
+     * @param since lower bound of invalidation time (exclusive)
+     * @return recent invalidations
+     */
+    List<PrincipalInvalidation> findByInvalidatedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PrincipalInvalidation pi WHERE pi.invalidatedAt < :before")
+    int deleteInvalidatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,86 @@
+package ru.galtor85.household_store.repository.stock;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import ru.galtor85.household_store.dto.request.stock.StockMovementFilterRequest;
+import ru.galtor85.household_store.entity.stock.StockMovement;
+import ru.galtor85.household_store.entity.stock.StockMovement.Fields;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria specifications for stock movement search.
+ *
+ * <p>Only the predicates of filters that are actually set are emitted, so the
+ * database plans each filter shape separately and can use the matching
+ * composite index instead of a catch-all {@code (:x IS NULL OR ...)} plan.</p>
+ *
+ * @author G@LTor85
+ */
+public final class StockMovementSpecifications {
+
+    private StockMovementSpecifications() {
+    }
+
+    /**
+     * Builds a specification from the active filter fields.
+     *
+     * @param filter filter request
+     * @return specification with one predicate per non-null filter field
+     */
+    public static Specification<StockMovement> matching(StockMovementFilterRequest filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getProductId() != null) {
+                predicates.add(cb.equal(root.get(Fields.productId), filter.getProductId()));
+            }
+            if (filter.getWarehouseId() != null) {
+                predicates.add(cb.equal(root.get(Fields.warehouseId), filter.getWarehouseId()));
+            }
+            if (filter.getCellId() != null) {
+                predicates.add(cb.or(
+                        cb.equal(root.get(Fields.fromCellId), filter.getCellId()),
+                        cb.equal(root.get(Fields.toCellId), filter.getCellId())));
+            }
+            if (filter.getMovementType() != null) {
+                predicates.add(cb.equal(root.get(Fields.movementType), filter.getMovementType()));
+            }
+            if (filter.getReferenceType() != null) {
+                predicates.add(cb.equal(root.get(Fields.referenceType), filter.getReferenceType()));
+            }
+            if (filter.getReferenceId() != null) {
+                predicates.add(cb.equal(root.get(Fields.referenceId), filter.getReferenceId()));
+            }
+            if (filter.getBatchNumber() != null) {
+                predicates.add(cb.equal(root.get(Fields.batchNumber), filter.getBatchNumber()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get(Fields.createdAt), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get(Fields.createdAt), filter.getEndDate()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset condition for newest-first order: rows strictly after the cursor
+     * {@code (createdAt, id)} in {@code ORDER BY created_at DESC, id DESC}.
+     *
+     * @param createdAt creation time of the last row of the previous page
+     * @param id        ID of the last row of the previous page
+     * @return keyset specification
+     */
+    public static Specification<StockMovement> before(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get(Fields.createdAt), createdAt),
+                cb.and(
+                        cb.equal(root.get(Fields.createdAt), createdAt),
+                        cb.lessThan(root.get(Fields.id), id)));
+    }
+}
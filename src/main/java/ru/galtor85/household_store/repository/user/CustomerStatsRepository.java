@@ -0,0 +1,117 @@
+package ru.galtor85.household_store.repository.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.galtor85.household_store.entity.user.CustomerStats;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for customer spend and order aggregates.
+ * All counters are changed with atomic UPDATE statements.
+ */
+@Repository
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+
+    /**
+     * Reads the current aggregate of a customer from the database.
+     * Returns a detached copy, so increments made earlier in the same
+     * transaction are visible even if the entity is already loaded.
+     *
+     * @param userId user ID
+     * @return aggregate, empty if the customer has none
+     */
+    @Query("SELECT new ru.galtor85.household_store.entity.user.CustomerStats(" +
+            "s.userId, s.totalSpent, s.orderCount, s.purchaseCount, s.lastOrderAt) " +
+            "FROM CustomerStats s WHERE s.userId = :userId")
+    Optional<CustomerStats> findCurrentByUserId(@Param("userId") Long userId);
+
+    /**
+     * Creates an empty aggregate of a customer unless it already exists.
+     *
+     * @param userId user ID
+     * @return number of inserted rows (0 if it existed)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.customer_stats " +
+            "(user_id, total_spent, order_count, purchase_count) " +
+            "VALUES (:userId, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Creates an empty aggregate of the customer of a sales order unless it already exists.
+     *
+     * @param salesOrderId sales order ID
+     * @return number of inserted rows (0 if it existed)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.customer_stats " +
+            "(user_id, total_spent, order_count, purchase_count) " +
+            "SELECT o.user_id, 0, 0, 0 FROM household_schema.sales_orders o WHERE o.id = :salesOrderId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsentForOrder(@Param("salesOrderId") Long salesOrderId);
+
+    /**
+     * Counts a placed order.
+     *
+     * @param userId    user ID
+     * @param orderedAt order creation time
+     * @return number of updated rows (0 if the aggregate does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerStats s SET s.orderCount = s.orderCount + 1, " +
+            "s.lastOrderAt = CASE WHEN s.lastOrderAt IS NULL OR s.lastOrderAt < :orderedAt " +
+            "THEN :orderedAt ELSE s.lastOrderAt END " +
+            "WHERE s.userId = :userId")
+    int recordOrder(@Param("userId") Long userId, @Param("orderedAt") LocalDateTime orderedAt);
+
+    /**
+     * Applies a change of the paid amount of a sales invoice to the customer of its order.
+     *
+     * @param salesOrderId  sales order ID of the invoice
+     * @param delta         signed change of the paid amount (negative for refunds)
+     * @param purchaseDelta change of the number of paid invoices (-1, 0 or 1)
+     * @return number of updated rows (0 if the aggregate does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerStats s SET s.totalSpent = s.totalSpent + :delta, " +
+            "s.purchaseCount = s.purchaseCount + :purchaseDelta " +
+            "WHERE s.userId = (SELECT o.userId FROM SalesOrder o WHERE o.id = :salesOrderId)")
+    int addSpent(@Param("salesOrderId") Long salesOrderId,
+                 @Param("delta") BigDecimal delta,
+                 @Param("purchaseDelta") long purchaseDelta);
+
+    /**
+     * Creates empty aggregates of all customers that have orders but no aggregate.
+     *
+     * @return number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO household_schema.customer_stats " +
+            "(user_id, total_spent, order_count, purchase_count) " +
+            "SELECT DISTINCT o.user_id, 0, 0, 0 FROM household_schema.sales_orders o " +
+            "WHERE NOT EXISTS (SELECT 1 FROM household_schema.customer_stats s WHERE s.user_id = o.user_id)",
+            nativeQuery = true)
+    int insertMissing();
+
+    /**
+     * Recalculates all aggregates from orders and invoice paid amounts with one statement.
+     *
+     * @return number of recalculated aggregates
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CustomerStats s SET " +
+            "s.totalSpent = COALESCE((SELECT SUM(i.paidAmount) FROM Invoice i, SalesOrder o " +
+            "WHERE i.salesOrderId = o.id AND i.purchaseOrderId IS NULL AND o.userId = s.userId), 0), " +
+            "s.purchaseCount = (SELECT COUNT(i) FROM Invoice i, SalesOrder o " +
+            "WHERE i.salesOrderId = o.id AND i.purchaseOrderId IS NULL AND o.userId = s.userId " +
+            "AND i.paidAmount > 0), " +
+            "s.orderCount = (SELECT COUNT(o) FROM SalesOrder o WHERE o.userId = s.userId), " +
+            "s.lastOrderAt = (SELECT MAX(o.createdAt) FROM SalesOrder o WHERE o.userId = s.userId)")
+    int rebuildAll();
+}
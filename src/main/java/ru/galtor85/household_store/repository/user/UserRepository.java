@@ -2,9 +2,12 @@ package ru.galtor85.household_store.repository.user;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.galtor85.household_store.entity.user.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,4 +53,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     List<User> findByEmailContainingOrMobileNumberContainingOrFirstNameContainingOrLastNameContaining(
             String email, String mobile, String firstName, String lastName, Sort sort);
-}
\ No newline at end of file
+
+    /**
+     * Counts users registered in [from, to) per day.
+     *
+     * @param from start (inclusive)
+     * @param to   end (exclusive)
+     * @return rows of registration date and count; days without registrations are absent
+     */
+    @Query("SELECT CAST(u.createdAt AS LocalDate), COUNT(u) FROM User u " +
+            "WHERE u.createdAt >= :from AND u.createdAt < :to " +
+            "GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<Object[]> countRegistrationsByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
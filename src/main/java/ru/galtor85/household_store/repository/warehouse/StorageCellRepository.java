@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import ru.galtor85.household_store.entity.warehouse.CellType;
 import ru.galtor85.household_store.entity.warehouse.StorageCell;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,15 @@ public interface StorageCellRepository extends JpaRepository<StorageCell, Long>
      */
     Optional<StorageCell> findByCodeAndWarehouseId(String code, Long warehouseId);
 
+    /**
+     * Finds cells by codes in a warehouse.
+     *
+     * @param codes cell codes
+     * @param warehouseId warehouse ID
+     * @return list of storage cells
+     */
+    List<StorageCell> findByCodeInAndWarehouseId(Collection<String> codes, Long warehouseId);
+
     /**
      * Finds cells containing a specific product in a warehouse.
      *
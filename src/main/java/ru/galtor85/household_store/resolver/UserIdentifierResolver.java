@@ -47,18 +47,18 @@ public class UserIdentifierResolver {
     public String resolve(LoginFormRequest form) {
 
         if (StringUtils.hasText(form.getEmail())) {
-            log.debug(logMsg.get(
+            logMsg.debug(log,
                     "user-identifier-resolver.log.identifier.using.email",
                     emailMasker.maskEmail(form.getEmail())
-            ));
+            );
             return form.getEmail();
         }
 
         if (StringUtils.hasText(form.getMobileNumber())) {
-            log.debug(logMsg.get(
+            logMsg.debug(log,
                     "user-identifier-resolver.log.identifier.using.mobile",
                     emailMasker.maskPhoneNumber(form.getMobileNumber())
-            ));
+            );
             return form.getMobileNumber();
         }
 
@@ -0,0 +1,202 @@
+package ru.galtor85.household_store.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.repository.security.PrincipalInvalidationRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.security.TokenHasher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of verified principals keyed by token hash.
+ *
+ * <p>Once a token has been decrypted and its user loaded, the resulting principal
+ * is kept until the token expires. Subsequent requests with the same token skip
+ * decryption and the user lookup.</p>
+ *
+ * <p>Entries are invalidated on logout (by token) and on role, status, password
+ * change or deletion (by user ID). Invalidation inside a transaction is repeated
+ * after commit, so a concurrent request cannot re-cache the old user state.
+ * Tokens are indexed by user, so invalidating a user does not scan the cache.</p>
+ *
+ * <p>Invalidation by user ID is also recorded in {@code principal_invalidations};
+ * other nodes evict the user's tokens on their next token blacklist sync, so a
+ * disabled or deleted user is rejected everywhere within the sync interval.</p>
+ *
+ * @author G@LTor85
+ * @see TokenBlacklist#sync()
+ */
+@Slf4j
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private static final String CACHE_NAME = "jwtPrincipals";
+
+    private final PrincipalInvalidationRepository invalidationRepository;
+    private final LogMessageService logMsg;
+    private final TokenHasher tokenHasher;
+    private final Cache<String, CachedPrincipal> cache;
+    private final Map<Long, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    public AuthenticatedPrincipalCache(
+            PrincipalInvalidationRepository invalidationRepository,
+            LogMessageService logMsg,
+            TokenHasher tokenHasher,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.invalidationRepository = invalidationRepository;
+        this.logMsg = logMsg;
+        this.tokenHasher = tokenHasher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .<String, CachedPrincipal>evictionListener((key, cached, cause) -> {
+                    if (key != null && cached != null) {
+                        unindex(cached.userId(), key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns cached principal for a token.
+     *
+     * @param token raw JWT token
+     * @return cached user details, or null if token is not cached or already expired
+     */
+    public UserDetails get(String token) {
+        CachedPrincipal cached = cache.getIfPresent(tokenHasher.hash(token));
+        return cached != null ? cached.userDetails() : null;
+    }
+
+    /**
+     * Caches a verified principal until the token expires.
+     *
+     * @param token       raw JWT token
+     * @param claims      verified token claims
+     * @param userDetails loaded user details
+     */
+    public void put(String token, JwtClaims claims, UserDetails userDetails) {
+        String key = tokenHasher.hash(token);
+        tokensByUser.compute(claims.userId(), (userId, tokens) -> {
+            Set<String> indexed = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        });
+        cache.put(key, new CachedPrincipal(userDetails, claims.userId(), claims.expiresAt()));
+    }
+
+    /**
+     * Removes a single token (used on logout).
+     *
+     * @param token raw JWT token
+     */
+    public void invalidateToken(String token) {
+        String key = tokenHasher.hash(token);
+        CachedPrincipal removed = cache.asMap().remove(key);
+        if (removed != null) {
+            unindex(removed.userId(), key);
+        }
+        logMsg.debug(log, "jwt.principal.cache.token.invalidated");
+    }
+
+    /**
+     * Removes all cached tokens of a user (role, status, password change or deletion)
+     * and records the invalidation for the other nodes. When called inside a transaction,
+     * the record is part of it and eviction is repeated after commit.
+     *
+     * @param userId user ID
+     */
+    public void invalidateUser(Long userId) {
+        evictUser(userId);
+        recordInvalidation(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts cached tokens of users invalidated on any node since the given moment.
+     *
+     * @param since lower bound of invalidation time (exclusive)
+     * @return number of invalidated users found
+     */
+    public int syncInvalidations(LocalDateTime since) {
+        List<Long> userIds = invalidationRepository.findByInvalidatedAtAfter(since).stream()
+                .map(PrincipalInvalidation::getUserId)
+                .toList();
+        userIds.forEach(this::evictUser);
+        return userIds.size();
+    }
+
+    private void recordInvalidation(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (invalidationRepository.touch(userId, now) == 0
+                && invalidationRepository.insertIfAbsent(userId, now) == 0) {
+            invalidationRepository.touch(userId, now);
+        }
+    }
+
+    private void evictUser(Long userId) {
+        Set<String> tokens = tokensByUser.remove(userId);
+        if (tokens != null) {
+            cache.invalidateAll(tokens);
+        }
+        logMsg.debug(log, "jwt.principal.cache.user.invalidated", userId);
+    }
+
+    private void unindex(Long userId, String key) {
+        tokensByUser.computeIfPresent(userId, (id, tokens) -> {
+            tokens.remove(key);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, Long userId, Instant expiresAt) {
+    }
+
+    /**
+     * Expires each entry exactly when its token expires.
+     */
+    private static class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,9 +4,11 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
@@ -23,6 +25,7 @@ import ru.galtor85.household_store.util.email.EmailMasker;
  *   <li>Masquerades the reason for authentication failure to prevent user enumeration</li>
  *   <li>Masks sensitive identifiers in logs for privacy</li>
  *   <li>Checks account status before allowing authentication</li>
+ *   <li>Rehashes outdated password hashes after a successful login</li>
  * </ul>
  *
  * @author G@LTor85
@@ -31,7 +34,7 @@ import ru.galtor85.household_store.util.email.EmailMasker;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final SecurityUserRepository securityUserRepository;
     private final MessageService messageService;
@@ -61,7 +64,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     @NonNull
     public UserDetails loadUserByUsername(@NonNull String username) throws UsernameNotFoundException {
         String maskedUsername = maskUsername(username);
-        log.debug(logMsg.get("custom.user.details.service.loading", maskedUsername));
+        logMsg.debug(log, "custom.user.details.service.loading", maskedUsername);
 
         SecurityUser securityUser = findSecurityUser(username);
         validateAccountActive(securityUser, username);
@@ -75,6 +78,32 @@ public class CustomUserDetailsService implements UserDetailsService {
         return securityUser;
     }
 
+    /**
+     * Stores a password hash recomputed after a successful login.
+     *
+     * <p>Called by the authentication provider when the stored hash has no encoder
+     * prefix or was made with a lower BCrypt cost. The hash is only replaced if it
+     * has not changed since login, so a concurrent password change wins.</p>
+     *
+     * @param user        authenticated security user with the old hash
+     * @param newPassword new encoded password
+     * @return the user with the new hash (or the old one if it has changed meanwhile)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(@NonNull UserDetails user, String newPassword) {
+        SecurityUser securityUser = (SecurityUser) user;
+
+        int updated = securityUserRepository.updatePasswordIfUnchanged(
+                securityUser.getId(), securityUser.getPassword(), newPassword);
+        if (updated > 0) {
+            securityUser.setPassword(newPassword);
+            logMsg.debug(log, "custom.user.details.service.password.rehashed", securityUser.getUserId());
+        }
+
+        return securityUser;
+    }
+
     /**
      * Finds a security user by email or mobile number.
      *
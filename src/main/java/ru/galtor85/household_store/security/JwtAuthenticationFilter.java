@@ -24,11 +24,11 @@ import ru.galtor85.household_store.advice.exception.auth.TokenMalformedException
 import ru.galtor85.household_store.advice.exception.auth.TokenSecurityException;
 import ru.galtor85.household_store.advice.exception.auth.TokenUnsupportedException;
 import ru.galtor85.household_store.dto.response.system.ApiResponse;
-import ru.galtor85.household_store.repository.security.BlacklistedTokenRepository;
 import ru.galtor85.household_store.service.auth.JwtTokenHolder;
 import ru.galtor85.household_store.service.i18n.MessageService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.*;
 
@@ -56,7 +56,13 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.*;
  *
  * <h3>Token Blacklist:</h3>
  * <p>When a user logs out, the token is added to the blacklist.
- * This filter rejects any blacklisted token, preventing its reuse.</p>
+ * This filter rejects any blacklisted token, preventing its reuse.
+ * The check is served from {@link TokenBlacklist} without a database query.</p>
+ *
+ * <h3>Verified Principal Cache:</h3>
+ * <p>A token is decrypted only once. The verified principal is kept in
+ * {@link AuthenticatedPrincipalCache} until the token expires, so repeated requests
+ * skip decryption and the user lookup.</p>
  *
  * <h3>ThreadLocal Token Storage:</h3>
  * <p>The token is stored in {@link JwtTokenHolder} (ThreadLocal) to allow
@@ -100,7 +106,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
     private final MessageService messageService;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenBlacklist tokenBlacklist;
+    private final AuthenticatedPrincipalCache principalCache;
     private final ObjectMapper objectMapper = createObjectMapper();
 
     // =========================================================================
@@ -133,9 +140,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * <ol>
      *   <li>Extract JWT from Authorization header</li>
      *   <li>Store token in ThreadLocal for request-scoped access</li>
-     *   <li>Check if token is blacklisted</li>
-     *   <li>Validate token (expiration, signature, format)</li>
-     *   <li>Load user details and set authentication in SecurityContext</li>
+     *   <li>Check if token is blacklisted (in memory, see {@link TokenBlacklist})</li>
+     *   <li>Return cached principal if the token was already verified</li>
+     *   <li>Otherwise decrypt token once and load user details</li>
+     *   <li>Set authentication in SecurityContext</li>
      *   <li>Clear ThreadLocal after request completion</li>
      * </ol>
      * </p>
@@ -159,16 +167,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StringUtils.hasText(jwt)) {
                 JwtTokenHolder.setToken(jwt);
 
-                if (blacklistedTokenRepository.existsByToken(jwt)) {
+                if (tokenBlacklist.isBlacklisted(jwt)) {
                     log.warn("Token is blacklisted (logout)");
                     sendApiErrorResponse(response, "auth.error.token.blacklisted");
                     return;
                 }
 
-                if (jwtTokenProvider.validateToken(jwt)) {
-                    String email = jwtTokenProvider.getUsernameFromToken(jwt);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = principalCache.get(jwt);
+
+                if (userDetails == null) {
+                    Optional<JwtClaims> claims = jwtTokenProvider.parseToken(jwt);
+                    if (claims.isPresent()) {
+                        userDetails = userDetailsService.loadUserByUsername(claims.get().subject());
+                        principalCache.put(jwt, claims.get(), userDetails);
+                    }
+                }
 
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -182,7 +197,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    log.debug("Authentication set for user: {}", email);
+                    log.debug("Authentication set for user: {}", userDetails.getUsername());
                 }
             }
 
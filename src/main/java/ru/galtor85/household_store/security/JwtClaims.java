@@ -0,0 +1,40 @@
+package ru.galtor85.household_store.security;
+
+import java.time.Instant;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.JWT_TOKEN_TYPE_ACCESS;
+import static ru.galtor85.household_store.constants.TechnicalConstants.JWT_TOKEN_TYPE_REFRESH;
+
+/**
+ * Verified claims of a decrypted JWT token.
+ *
+ * <p>Produced by {@link JwtTokenProvider#parseToken(String)} after a single
+ * decryption, so callers never need to parse the same token twice.</p>
+ *
+ * @param subject   user identifier (email or mobile number)
+ * @param userId    user ID
+ * @param role      role name (access tokens only)
+ * @param type      token type (access or refresh)
+ * @param expiresAt token expiration instant
+ * @author G@LTor85
+ */
+public record JwtClaims(String subject, Long userId, String role, String type, Instant expiresAt) {
+
+    /**
+     * Checks if this is an access token.
+     *
+     * @return true for access tokens
+     */
+    public boolean isAccessToken() {
+        return JWT_TOKEN_TYPE_ACCESS.equals(type);
+    }
+
+    /**
+     * Checks if this is a refresh token.
+     *
+     * @return true for refresh tokens
+     */
+    public boolean isRefreshToken() {
+        return JWT_TOKEN_TYPE_REFRESH.equals(type);
+    }
+}
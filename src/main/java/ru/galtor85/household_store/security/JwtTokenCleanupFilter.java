@@ -64,7 +64,7 @@ public class JwtTokenCleanupFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         } finally {
             JwtTokenHolder.clear();
-            log.trace(logMsg.get("token.cleared.from.threadlocal"));
+            logMsg.trace(log, "token.cleared.from.threadlocal");
         }
     }
 }
\ No newline at end of file
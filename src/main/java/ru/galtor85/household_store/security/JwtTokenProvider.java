@@ -1,9 +1,12 @@
 package ru.galtor85.household_store.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -22,6 +25,7 @@ import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.*;
 
@@ -63,11 +67,26 @@ public class JwtTokenProvider {
     @Value("${app.jwt.key-length:32}")
     private int jwtKeyLength;
 
+    private SecretKey encryptionKey;
+    private JwtParser jwtParser;
+
     public JwtTokenProvider(MessageService messageService, LogMessageService logMsg) {
         this.messageService = messageService;
         this.logMsg = logMsg;
     }
 
+    /**
+     * Derives the encryption key and builds the token parser once,
+     * so they are not recreated for every token operation.
+     */
+    @PostConstruct
+    public void init() {
+        this.encryptionKey = getEncryptionKey();
+        this.jwtParser = Jwts.parser()
+                .decryptWith(encryptionKey)
+                .build();
+    }
+
     /**
      * Creates an access token for the authenticated user.
      *
@@ -94,7 +113,7 @@ public class JwtTokenProvider {
                     .subject(identify)
                     .issuedAt(now)
                     .expiration(validity)
-                    .encryptWith(getEncryptionKey(), Jwts.ENC.A256GCM)
+                    .encryptWith(encryptionKey, Jwts.ENC.A256GCM)
                     .compact();
 
         } catch (Exception e) {
@@ -128,7 +147,7 @@ public class JwtTokenProvider {
                     .subject(identify)
                     .issuedAt(now)
                     .expiration(validity)
-                    .encryptWith(getEncryptionKey(), Jwts.ENC.A256GCM)
+                    .encryptWith(encryptionKey, Jwts.ENC.A256GCM)
                     .compact();
 
         } catch (Exception e) {
@@ -138,22 +157,25 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Validates a JWT token.
+     * Decrypts and verifies a JWT token once, returning its typed claims.
      *
-     * @param token the JWT token to validate
-     * @return true if token is valid
+     * @param token the JWT token to parse
+     * @return verified claims, or empty if token cannot be verified
      * @throws TokenExpiredException if token has expired
      * @throws TokenUnsupportedException if token type is unsupported
      * @throws TokenMalformedException if token is malformed
      * @throws TokenSecurityException if token signature/encryption is invalid
      */
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> parseToken(String token) {
         try {
-            Jwts.parser()
-                    .decryptWith(getEncryptionKey())
-                    .build()
-                    .parseEncryptedClaims(token);
-            return true;
+            Claims payload = jwtParser.parseEncryptedClaims(token).getPayload();
+            return Optional.of(new JwtClaims(
+                    payload.getSubject(),
+                    payload.get(JWT_CLAIM_USER_ID, Long.class),
+                    payload.get(JWT_CLAIM_ROLE, String.class),
+                    payload.get(JWT_CLAIM_TYPE, String.class),
+                    payload.getExpiration().toInstant()
+            ));
         } catch (ExpiredJwtException e) {
             log.warn(logMsg.get("jwt.log.error.expired", e.getMessage()));
             throw new TokenExpiredException();
@@ -168,10 +190,24 @@ public class JwtTokenProvider {
             throw new TokenSecurityException();
         } catch (Exception e) {
             log.warn(logMsg.get("jwt.log.error.invalid", e.getMessage()));
-            return false;
+            return Optional.empty();
         }
     }
 
+    /**
+     * Validates a JWT token.
+     *
+     * @param token the JWT token to validate
+     * @return true if token is valid
+     * @throws TokenExpiredException if token has expired
+     * @throws TokenUnsupportedException if token type is unsupported
+     * @throws TokenMalformedException if token is malformed
+     * @throws TokenSecurityException if token signature/encryption is invalid
+     */
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
     /**
      * Extracts the username (identifier) from a token.
      *
@@ -181,14 +217,11 @@ public class JwtTokenProvider {
      */
     public String getUsernameFromToken(String token) {
         try {
-            String username = Jwts.parser()
-                    .decryptWith(getEncryptionKey())
-                    .build()
-                    .parseEncryptedClaims(token)
+            String username = jwtParser.parseEncryptedClaims(token)
                     .getPayload()
                     .getSubject();
 
-            log.debug(logMsg.get("jwt.log.username.extracted", username));
+            logMsg.debug(log, "jwt.log.username.extracted", username);
             return username;
 
         } catch (Exception e) {
@@ -206,14 +239,11 @@ public class JwtTokenProvider {
      */
     public Long getUserIdFromToken(String token) {
         try {
-            Long userId = Jwts.parser()
-                    .decryptWith(getEncryptionKey())
-                    .build()
-                    .parseEncryptedClaims(token)
+            Long userId = jwtParser.parseEncryptedClaims(token)
                     .getPayload()
                     .get(JWT_CLAIM_USER_ID, Long.class);
 
-            log.debug(logMsg.get("jwt.log.userid.extracted", userId));
+            logMsg.debug(log, "jwt.log.userid.extracted", userId);
             return userId;
 
         } catch (Exception e) {
@@ -230,10 +260,7 @@ public class JwtTokenProvider {
      */
     public LocalDateTime getExpirationDateFromToken(String token) {
         try {
-            Date expiration = Jwts.parser()
-                    .decryptWith(getEncryptionKey())
-                    .build()
-                    .parseEncryptedClaims(token)
+            Date expiration = jwtParser.parseEncryptedClaims(token)
                     .getPayload()
                     .getExpiration();
             return expiration.toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime();
@@ -0,0 +1,35 @@
+package ru.galtor85.household_store.security;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last moment the cached principals of a user were invalidated (role, status, password
+ * change or deletion). Read by every node to evict the user's cached tokens.
+ *
+ * @author G@LTor85
+ * @see AuthenticatedPrincipalCache
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "principal_invalidations", schema = "household_schema")
+public class PrincipalInvalidation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "invalidated_at", nullable = false)
+    private LocalDateTime invalidatedAt;
+}
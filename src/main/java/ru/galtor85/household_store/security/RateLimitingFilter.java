@@ -1,27 +1,25 @@
 package ru.galtor85.household_store.security;
 
-import io.github.bucket4j.Bucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-
-
+import ru.galtor85.household_store.config.RateLimitingConfig;
 
 import java.io.IOException;
-import java.util.Set;
 
 /**
- * Filter that applies rate limiting to authentication endpoints.
+ * Filter that applies rate limiting to configured endpoints.
  * <p>
- * Limits requests to login and registration endpoints to prevent
- * brute force attacks. Each client IP is limited to 10 requests per minute.
+ * Limits requests to endpoints such as login and registration to prevent
+ * brute force attacks. Limits per client IP are configured per path
+ * in {@link RateLimitingConfig}; rejected requests get 429 with a Retry-After header.
  * </p>
  *
  * @author G@LTor85
@@ -30,15 +28,7 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    @Value("${app.rate-limiting.enabled:true}")
-    private boolean rateLimitingEnabled;
-
-    /** Endpoints protected by rate limiting */
-    private static final Set<String> PROTECTED_PATHS = Set.of(
-            "/app/auth/login",
-            "/app/auth/register"
-    );
-
+    private final RateLimitingConfig rateLimitingConfig;
     private final RateLimitingService rateLimitingService;
 
     /**
@@ -55,26 +45,25 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain chain) throws ServletException, IOException {
 
-        if (!rateLimitingEnabled) {
+        if (!rateLimitingConfig.isEnabled()) {
             chain.doFilter(request, response);
             return;
         }
 
-        String path = request.getRequestURI();
-
-        if (PROTECTED_PATHS.stream().anyMatch(path::equals)) {
-            String clientIp = getClientIp(request);
-            Bucket bucket = rateLimitingService.resolveBucket(clientIp + ":" + path);
+        RateLimitingService.Policy policy = rateLimitingService.findPolicy(request.getRequestURI());
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-            if (bucket.tryConsume(1)) {
-                chain.doFilter(request, response);
-            } else {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Too many requests. Please try later.\"}");
-            }
-        } else {
+        RateLimitingService.Decision decision = rateLimitingService.tryConsume(policy, getClientIp(request));
+        if (decision.allowed()) {
             chain.doFilter(request, response);
+        } else {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Too many requests. Please try later.\"}");
         }
     }
 
@@ -95,4 +84,4 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         }
         return request.getRemoteAddr();
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,130 @@
 package ru.galtor85.household_store.security;
 
 import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.galtor85.household_store.config.RateLimitingConfig;
+import ru.galtor85.household_store.security.ratelimit.RateLimitBackend;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
 
-import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_FAILURE_RETRY_AFTER_SECONDS;
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_THROTTLED_METRIC;
 
 /**
- * Service for managing rate limiting buckets.
+ * Service for applying rate limit policies.
+ *
+ * <p>Policies are configured per path in {@link RateLimitingConfig} and looked up
+ * by exact path. Each client IP gets its own bucket per policy; buckets are stored
+ * by the configured {@link RateLimitBackend}. Rejected requests are counted in the
+ * {@code rate.limit.throttled} metric tagged with the policy name.</p>
+ *
+ * <p>If the backend fails (e.g. the database is unavailable) the request is rejected
+ * unless the policy is configured with {@code fail-open}: an unavailable limit must
+ * not open the login endpoint to brute force.</p>
+ *
+ * @author G@LTor85
  */
+@Slf4j
 @Service
 public class RateLimitingService {
 
-    private static final int CAPACITY = 10;
-    private static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+    private static final String POLICY_TAG = "policy";
+    private static final String KEY_SEPARATOR = ":";
+
+    private final RateLimitBackend backend;
+    private final LogMessageService logMsg;
+    private final Map<String, Policy> policiesByPath = new HashMap<>();
+
+    /**
+     * Rate limit policy of a path.
+     *
+     * @param name          policy name
+     * @param configuration bucket limits
+     * @param throttled     counter of rejected requests
+     * @param failOpen      whether requests are allowed when the backend fails
+     */
+    public record Policy(String name, BucketConfiguration configuration, Counter throttled, boolean failOpen) {}
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    /**
+     * Result of a rate limit check.
+     *
+     * @param allowed           whether the request may proceed
+     * @param retryAfterSeconds seconds until a token is available, 0 if allowed
+     */
+    public record Decision(boolean allowed, long retryAfterSeconds) {
 
-    public Bucket resolveBucket(String key) {
-        return buckets.computeIfAbsent(key, k -> createBucket());
+        private static final Decision ALLOWED = new Decision(true, 0);
+        private static final Decision BACKEND_FAILED = new Decision(false, RATE_LIMIT_FAILURE_RETRY_AFTER_SECONDS);
     }
 
-    private Bucket createBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(CAPACITY)
-                        .refillIntervally(CAPACITY, REFILL_PERIOD)
-                        .build())
-                .build();
+    public RateLimitingService(RateLimitingConfig config,
+                               RateLimitBackend backend,
+                               MeterRegistry meterRegistry,
+                               LogMessageService logMsg) {
+        this.backend = backend;
+        this.logMsg = logMsg;
+
+        config.getPolicies().forEach((name, policy) -> policiesByPath.put(policy.getPath(), new Policy(
+                name,
+                BucketConfiguration.builder()
+                        .addLimit(Bandwidth.builder()
+                                .capacity(policy.getCapacity())
+                                .refillIntervally(policy.getCapacity(), policy.getPeriod())
+                                .build())
+                        .build(),
+                Counter.builder(RATE_LIMIT_THROTTLED_METRIC)
+                        .tag(POLICY_TAG, name)
+                        .register(meterRegistry),
+                policy.isFailOpen())));
+
+        log.info(logMsg.get("rate.limit.policies.loaded", policiesByPath.size(), backend.getName()));
+    }
+
+    /**
+     * Finds the policy of a request path.
+     *
+     * @param path request URI
+     * @return policy, or null if the path is not rate limited
+     */
+    public Policy findPolicy(String path) {
+        return policiesByPath.get(path);
+    }
+
+    /**
+     * Takes one request from the client's bucket of a policy.
+     *
+     * @param policy   policy of the request path
+     * @param clientIp client IP address
+     * @return decision whether the request may proceed
+     */
+    public Decision tryConsume(Policy policy, String clientIp) {
+        ConsumptionProbe probe;
+        try {
+            probe = backend.tryConsume(policy.name() + KEY_SEPARATOR + clientIp, policy.configuration());
+        } catch (RuntimeException e) {
+            if (policy.failOpen()) {
+                log.warn(logMsg.get("rate.limit.backend.failed.allowed", backend.getName(), policy.name(), e.getMessage()));
+                return Decision.ALLOWED;
+            }
+            log.error(logMsg.get("rate.limit.backend.failed.rejected", backend.getName(), policy.name(), e.getMessage()));
+            policy.throttled().increment();
+            return Decision.BACKEND_FAILED;
+        }
+
+        if (probe.isConsumed()) {
+            return Decision.ALLOWED;
+        }
+
+        policy.throttled().increment();
+        logMsg.debug(log, "rate.limit.throttled", policy.name(), clientIp);
+        return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill())));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package ru.galtor85.household_store.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.repository.security.BlacklistedTokenRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.security.BloomFilter;
+import ru.galtor85.household_store.util.security.TokenHasher;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation list for JWT tokens.
+ *
+ * <p>Answers "is this token blacklisted" without a database query. A Bloom filter
+ * gives a fast negative answer for the vast majority of tokens; a possible hit is
+ * confirmed against an exact set of token hashes. Each hash is kept until its token
+ * expires.</p>
+ *
+ * <p>The list is loaded from {@code blacklisted_tokens} at startup, updated directly
+ * on logout and synchronized incrementally with the database, so tokens revoked on
+ * other nodes are picked up within the sync interval. The same sync evicts cached
+ * principals of users invalidated on other nodes.</p>
+ *
+ * @author G@LTor85
+ * @see BlacklistedTokenRepository
+ */
+@Slf4j
+@Component
+public class TokenBlacklist {
+
+    /**
+     * Overlap of incremental sync windows, covers transactions committed
+     * after their blacklisting timestamp.
+     */
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenHasher tokenHasher;
+    private final LogMessageService logMsg;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Map<String, LocalDateTime> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile long bloomCapacity;
+    private volatile LocalDateTime lastSyncedAt = LocalDateTime.now();
+
+    public TokenBlacklist(
+            BlacklistedTokenRepository blacklistedTokenRepository,
+            AuthenticatedPrincipalCache principalCache,
+            TokenHasher tokenHasher,
+            LogMessageService logMsg,
+            @Value("${app.jwt.blacklist.expected-insertions:100000}") long expectedInsertions,
+            @Value("${app.jwt.blacklist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.principalCache = principalCache;
+        this.tokenHasher = tokenHasher;
+        this.logMsg = logMsg;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.bloomCapacity = expectedInsertions;
+    }
+
+    /**
+     * Loads all non-expired blacklisted tokens from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        blacklistedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(token -> addEntry(tokenHasher.digest(token.getToken()), token.getExpiresAt()));
+        lastSyncedAt = now;
+
+        log.info(logMsg.get("token.blacklist.loaded", entries.size()));
+    }
+
+    /**
+     * Checks if a token is blacklisted.
+     *
+     * @param token raw JWT token
+     * @return true if token was revoked and has not expired yet
+     */
+    public boolean isBlacklisted(String token) {
+        byte[] digest = tokenHasher.digest(token);
+        if (!bloomFilter.mightContain(digest)) {
+            return false;
+        }
+        return entries.containsKey(tokenHasher.toHex(digest));
+    }
+
+    /**
+     * Adds a token to the in-memory blacklist.
+     *
+     * @param token     raw JWT token
+     * @param expiresAt token expiration time
+     */
+    public void add(String token, LocalDateTime expiresAt) {
+        addEntry(tokenHasher.digest(token), expiresAt);
+    }
+
+    /**
+     * Pulls tokens blacklisted and users invalidated on other nodes since the previous sync.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.blacklist.sync-interval:30000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+        List<BlacklistedToken> recent = blacklistedTokenRepository.findByBlacklistedAtAfter(since);
+        recent.forEach(token -> addEntry(tokenHasher.digest(token.getToken()), token.getExpiresAt()));
+        int invalidatedUsers = principalCache.syncInvalidations(since);
+        lastSyncedAt = now;
+
+        logMsg.trace(log, "token.blacklist.synced", recent.size(), entries.size(), invalidatedUsers);
+    }
+
+    /**
+     * Removes expired entries and rebuilds the Bloom filter.
+     */
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = entries.size();
+        entries.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        rebuildBloomFilter();
+
+        log.info(logMsg.get("token.blacklist.expired.evicted", before - entries.size(), entries.size()));
+    }
+
+    private void addEntry(byte[] digest, LocalDateTime expiresAt) {
+        entries.put(tokenHasher.toHex(digest), expiresAt);
+        bloomFilter.put(digest);
+
+        if (entries.size() > bloomCapacity) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the exact set. The new filter is filled before
+     * it is published; a second pass after publishing catches entries that were
+     * concurrently added to the previous filter.
+     */
+    private synchronized void rebuildBloomFilter() {
+        long capacity = Math.max(expectedInsertions, entries.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        fill(rebuilt);
+        bloomFilter = rebuilt;
+        bloomCapacity = capacity;
+        fill(rebuilt);
+    }
+
+    private void fill(BloomFilter filter) {
+        HexFormat hexFormat = HexFormat.of();
+        entries.keySet().forEach(hex -> filter.put(hexFormat.parseHex(hex)));
+    }
+}
@@ -0,0 +1,139 @@
+package ru.galtor85.household_store.security.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.galtor85.household_store.advice.exception.auth.PasswordHashingBusyException;
+import ru.galtor85.household_store.config.PasswordHashingConfig;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.PASSWORD_HASHING_EXECUTOR_NAME;
+import static ru.galtor85.household_store.constants.TechnicalConstants.PASSWORD_HASHING_REJECTED_METRIC;
+import static ru.galtor85.household_store.constants.TechnicalConstants.PASSWORD_HASHING_RETRY_AFTER_SECONDS;
+
+/**
+ * Password encoder that runs hashing on a dedicated bounded executor.
+ *
+ * <p>{@link #encode} and {@link #matches} are handed to a fixed pool of threads
+ * with a bounded queue; the calling thread waits for the result. When the queue
+ * is full, or the result does not arrive within the configured wait, a
+ * {@link PasswordHashingBusyException} is thrown immediately (answered with 429),
+ * so saturation sheds load instead of piling up request threads.
+ * {@link #upgradeEncoding} is cheap and runs on the calling thread.</p>
+ *
+ * <p>The executor is exported through actuator metrics as {@code passwordHashing};
+ * rejected tasks are counted in {@code password.hashing.rejected}.</p>
+ *
+ * @author G@LTor85
+ * @see PasswordHashingConfig
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Counter rejected;
+    private final LogMessageService logMsg;
+
+    /**
+     * Creates the encoder and starts its executor.
+     *
+     * @param delegate      encoder doing the actual hashing
+     * @param config        executor limits
+     * @param meterRegistry registry for executor metrics
+     * @param logMsg        log message service
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  PasswordHashingConfig config,
+                                  MeterRegistry meterRegistry,
+                                  LogMessageService logMsg) {
+        this.delegate = delegate;
+        this.maxWait = config.getMaxWait();
+        this.logMsg = logMsg;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(PASSWORD_HASHING_EXECUTOR_NAME + "-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                config.getThreads(), config.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, PASSWORD_HASHING_EXECUTOR_NAME, Collections.emptyList())
+                .bindTo(meterRegistry);
+        this.rejected = Counter.builder(PASSWORD_HASHING_REJECTED_METRIC).register(meterRegistry);
+
+        log.info(logMsg.get("password.hashing.executor.started", config.getThreads(), config.getQueueCapacity()));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the executor; hashing already queued is completed.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy("password.hashing.rejected.queue.full");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw busy("password.hashing.rejected.timeout");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy("password.hashing.rejected.interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy(String reasonKey) {
+        rejected.increment();
+        log.warn(logMsg.get(reasonKey, executor.getActiveCount(), executor.getQueue().size()));
+        return new PasswordHashingBusyException(PASSWORD_HASHING_RETRY_AFTER_SECONDS);
+    }
+}
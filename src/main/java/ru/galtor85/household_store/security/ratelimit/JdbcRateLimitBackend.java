@@ -0,0 +1,116 @@
+package ru.galtor85.household_store.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.config.RateLimitingConfig;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_BACKEND_JDBC;
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_BACKEND_PROPERTY;
+
+/**
+ * Rate limit buckets in a PostgreSQL table shared by all nodes.
+ *
+ * <p>Every request reads and updates its bucket row under {@code SELECT ... FOR UPDATE},
+ * so the limit holds for the whole cluster rather than per node. The bucket4j proxy
+ * manager does not expire rows itself; {@code updated_at} is maintained by a trigger
+ * and rows idle for longer than the retention are deleted on schedule.</p>
+ *
+ * <p>Tokens of an empty bucket only come back with its refill, so a rejected bucket
+ * is remembered on this node until then: further requests of the same client are
+ * rejected without a query and do not take a database connection.</p>
+ *
+ * @author G@LTor85
+ * @see RateLimitingConfig.JdbcConfig
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = RATE_LIMIT_BACKEND_PROPERTY, havingValue = RATE_LIMIT_BACKEND_JDBC)
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final String ID_COLUMN = "id";
+    private static final String STATE_COLUMN = "state";
+
+    private final RateLimitingConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final LogMessageService logMsg;
+    private final ProxyManager<String> proxyManager;
+    private final Cache<String, Long> refillAtByKey;
+
+    public JdbcRateLimitBackend(RateLimitingConfig config,
+                                DataSource dataSource,
+                                JdbcTemplate jdbcTemplate,
+                                LogMessageService logMsg) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.logMsg = logMsg;
+
+        SQLProxyConfiguration<String> proxyConfiguration = SQLProxyConfiguration.builder()
+                .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                .withTableSettings(BucketTableSettings.customSettings(
+                        config.getJdbc().getTable(), ID_COLUMN, STATE_COLUMN))
+                .build(dataSource);
+        this.proxyManager = new PostgreSQLSelectForUpdateBasedProxyManager<>(proxyConfiguration);
+
+        Duration longestPeriod = config.getPolicies().values().stream()
+                .map(RateLimitingConfig.PolicyConfig::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.refillAtByKey = Caffeine.newBuilder()
+                .maximumSize(config.getJdbc().getMaximumRejectedBuckets())
+                .expireAfterWrite(longestPeriod)
+                .build();
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        Long refillAt = refillAtByKey.getIfPresent(key);
+        long now = System.nanoTime();
+        if (refillAt != null && refillAt - now > 0) {
+            return ConsumptionProbe.rejected(0, refillAt - now, refillAt - now);
+        }
+
+        ConsumptionProbe probe = proxyManager.builder()
+                .build(key, () -> configuration)
+                .tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            refillAtByKey.put(key, now + probe.getNanosToWaitForRefill());
+        }
+        return probe;
+    }
+
+    @Override
+    public String getName() {
+        return RATE_LIMIT_BACKEND_JDBC;
+    }
+
+    /**
+     * Deletes buckets that have not been used for longer than the retention.
+     * A deleted bucket is recreated full, which it would be by then anyway.
+     */
+    @Scheduled(cron = "${app.scheduling.rate-limit-cleanup-cron:0 */15 * * * ?}")
+    public void deleteIdleBuckets() {
+        Instant threshold = Instant.now().minus(config.getJdbc().getRetention());
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM " + config.getJdbc().getTable() + " WHERE updated_at < ?",
+                Timestamp.from(threshold));
+        log.info(logMsg.get("rate.limit.cleanup.complete", deleted));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.galtor85.household_store.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.config.RateLimitingConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_BACKEND_LOCAL;
+import static ru.galtor85.household_store.constants.TechnicalConstants.RATE_LIMIT_BACKEND_PROPERTY;
+
+/**
+ * Rate limit buckets in a bounded in-memory cache of this node.
+ *
+ * <p>A bucket that has not been used for the longest policy period would be full again
+ * anyway, so it expires after that time. The number of buckets is bounded, so scanning
+ * traffic with many client addresses cannot exhaust memory. Eviction runs on the calling
+ * thread, so the bound also holds right after such a burst.</p>
+ *
+ * @author G@LTor85
+ */
+@Component
+@ConditionalOnProperty(name = RATE_LIMIT_BACKEND_PROPERTY, havingValue = RATE_LIMIT_BACKEND_LOCAL, matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private static final String CACHE_NAME = "rateLimitBuckets";
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitBackend(RateLimitingConfig config, MeterRegistry meterRegistry) {
+        Duration idleTimeout = config.getPolicies().values().stream()
+                .map(RateLimitingConfig.PolicyConfig::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getLocal().getMaximumBuckets())
+                .expireAfterAccess(idleTimeout)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        return buckets.get(key, k -> createBucket(configuration))
+                .tryConsumeAndReturnRemaining(1);
+    }
+
+    @Override
+    public String getName() {
+        return RATE_LIMIT_BACKEND_LOCAL;
+    }
+
+    private Bucket createBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        Arrays.stream(configuration.getBandwidths()).forEach(builder::addLimit);
+        return builder.build();
+    }
+}
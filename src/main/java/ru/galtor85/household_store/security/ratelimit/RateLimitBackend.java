@@ -0,0 +1,32 @@
+package ru.galtor85.household_store.security.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Storage of rate limit buckets.
+ *
+ * <p>Implementations: {@link LocalRateLimitBackend} (bounded in-memory cache of one node)
+ * and {@link JdbcRateLimitBackend} (PostgreSQL table shared by all nodes).
+ * Selected by {@code app.rate-limiting.backend}.</p>
+ *
+ * @author G@LTor85
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one token from a bucket, creating the bucket if it does not exist.
+     *
+     * @param key           bucket key
+     * @param configuration limits of a new bucket
+     * @return consumption result with remaining tokens and time to wait
+     */
+    ConsumptionProbe tryConsume(String key, BucketConfiguration configuration);
+
+    /**
+     * Returns backend name for logs.
+     *
+     * @return backend name
+     */
+    String getName();
+}
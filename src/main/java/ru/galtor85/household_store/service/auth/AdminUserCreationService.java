@@ -87,7 +87,7 @@ public class AdminUserCreationService {
      * @throws UserAccessException   if admin lacks permission
      */
     private void validateAdminPermissions(User adminUser, Role role) {
-        SecurityUser adminSecurity = securityUserRepository.findById(adminUser.getId())
+        SecurityUser adminSecurity = securityUserRepository.findByUserId(adminUser.getId())
                 .orElseThrow(() -> {
                     String error = messageService.get(
                             "admin-user-creation-service.error.admin.security.not.found",
@@ -118,10 +118,10 @@ public class AdminUserCreationService {
     private void setDefaultBirthDateIfNeeded(User newUser) {
         if (newUser.getBirthDate() == null) {
             newUser.setBirthDate(LocalDate.now().minusYears(DEFAULT_AGE_YEARS));
-            log.debug(logMsg.get(
+            logMsg.debug(log,
                     "admin-user-creation-service.log.user.birthdate.default",
                     DEFAULT_AGE_YEARS
-            ));
+            );
         }
     }
 }
\ No newline at end of file
@@ -20,9 +20,12 @@ import ru.galtor85.household_store.mapper.user.UserToEntity;
 import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
 import ru.galtor85.household_store.repository.security.BlacklistedTokenRepository;
 import ru.galtor85.household_store.resolver.UserIdentifierResolver;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
 import ru.galtor85.household_store.security.BlacklistedToken;
+import ru.galtor85.household_store.security.JwtClaims;
 import ru.galtor85.household_store.security.JwtTokenProvider;
 import ru.galtor85.household_store.security.SecurityUser;
+import ru.galtor85.household_store.security.TokenBlacklist;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.user.UserSearchService;
 import ru.galtor85.household_store.validator.auth.AuthenticationValidator;
@@ -94,6 +97,8 @@ public class AuthService {
     private final SecurityUserRepository securityUserRepository;
     private final AuthenticationValidator authenticationValidator;
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenBlacklist tokenBlacklist;
 
     // =========================================================================
     // REGISTRATION
@@ -117,12 +122,12 @@ public class AuthService {
      */
     @Transactional
     public AuthResponse register(UserCreateRequest request) {
-        log.debug(logMsg.get("auth.log.register.attempt"));
+        logMsg.debug(log, "auth.log.register.attempt");
 
         User user = userToEntity.build(request, null);
         User registeredUser = userService.register(user, request.getPassword());
 
-        SecurityUser securityUser = securityUserRepository.findById(registeredUser.getId())
+        SecurityUser securityUser = securityUserRepository.findByUserId(registeredUser.getId())
                 .orElseThrow(() -> {
                     log.error(logMsg.get("auth.log.security.user.not.found", registeredUser.getId()));
                     return new SecurityUserNotFoundException(registeredUser.getId());
@@ -159,7 +164,7 @@ public class AuthService {
      */
     public AuthResponse login(LoginFormRequest request) {
         String identify = userIdentifierResolver.resolve(request);
-        log.debug(logMsg.get("auth.log.login.attempt", identify));
+        logMsg.debug(log, "auth.log.login.attempt", identify);
 
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -198,6 +203,7 @@ public class AuthService {
      * <ol>
      *   <li>Retrieves current token from ThreadLocal</li>
      *   <li>Adds token to blacklist to prevent reuse</li>
+     *   <li>Evicts token from the verified principal cache</li>
      *   <li>Clears SecurityContext</li>
      *   <li>Generates new tokens for next session</li>
      * </ol>
@@ -217,6 +223,7 @@ public class AuthService {
 
             if (currentToken != null && !currentToken.isEmpty()) {
                 addTokenToBlacklist(currentToken, securityUser.getUserId());
+                principalCache.invalidateToken(currentToken);
                 String tokenPreview = getTokenPreview(currentToken);
                 log.info(logMsg.get("auth.log.token.blacklisted", tokenPreview));
             } else {
@@ -248,7 +255,7 @@ public class AuthService {
         SecurityUser securityUser = (SecurityUser) authentication.getPrincipal();
 
         assert securityUser != null;
-        log.debug(logMsg.get("auth.log.token.valid"));
+        logMsg.debug(log, "auth.log.token.valid");
 
         User user = userSearchService.getUserById(securityUser.getUserId());
 
@@ -280,27 +287,28 @@ public class AuthService {
      * @throws AccountDeactivatedException  if account is disabled
      */
     public AuthResponse refreshToken(String refreshToken) {
-        log.debug(logMsg.get("auth.log.refresh.attempt"));
+        logMsg.debug(log, "auth.log.refresh.attempt");
 
         if (refreshToken == null || refreshToken.isEmpty()) {
             log.warn(logMsg.get("auth.log.refresh.token.missing"));
             throw new RefreshTokenMissingException();
         }
 
-        if (blacklistedTokenRepository.existsByToken(refreshToken)) {
+        if (tokenBlacklist.isBlacklisted(refreshToken)) {
             log.warn("Refresh token is blacklisted");
             throw new TokenExpiredException();
         }
 
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            log.warn(logMsg.get("auth.log.refresh.token.invalid"));
-            throw new TokenExpiredException();
-        }
+        JwtClaims claims = jwtTokenProvider.parseToken(refreshToken)
+                .orElseThrow(() -> {
+                    log.warn(logMsg.get("auth.log.refresh.token.invalid"));
+                    return new TokenExpiredException();
+                });
 
-        Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-        log.debug(logMsg.get("auth.log.refresh.userid.extracted", userId));
+        Long userId = claims.userId();
+        logMsg.debug(log, "auth.log.refresh.userid.extracted", userId);
 
-        SecurityUser securityUser = securityUserRepository.findById(userId)
+        SecurityUser securityUser = securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("auth.log.security.user.not.found", userId));
                     return new SecurityUserNotFoundException(userId);
@@ -335,7 +343,7 @@ public class AuthService {
         try {
             LocalDateTime expiresAt = jwtTokenProvider.getExpirationDateFromToken(token);
 
-            if (blacklistedTokenRepository.existsByToken(token)) {
+            if (tokenBlacklist.isBlacklisted(token)) {
                 log.debug("Token already in blacklist");
                 return;
             }
@@ -348,6 +356,7 @@ public class AuthService {
                     .build();
 
             blacklistedTokenRepository.save(blacklistedToken);
+            tokenBlacklist.add(token, expiresAt);
 
             log.debug("Token added to blacklist, expires at: {}", expiresAt);
 
@@ -3,6 +3,7 @@ package ru.galtor85.household_store.service.cart;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.advice.exception.cart.CartEmptyException;
 import ru.galtor85.household_store.advice.exception.cart.CartNotFoundException;
@@ -12,12 +13,10 @@ import ru.galtor85.household_store.dto.request.cart.AddToCartRequest;
 import ru.galtor85.household_store.dto.request.cart.UpdateCartItemRequest;
 import ru.galtor85.household_store.dto.response.cart.CartDto;
 import ru.galtor85.household_store.entity.cart.Cart;
-import ru.galtor85.household_store.entity.cart.CartItem;
 import ru.galtor85.household_store.entity.cart.CartStatus;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.mapper.cart.CartMapper;
 import ru.galtor85.household_store.processor.cart.CartProcessor;
-import ru.galtor85.household_store.repository.cart.CartItemRepository;
 import ru.galtor85.household_store.repository.cart.CartRepository;
 import ru.galtor85.household_store.repository.product.ProductRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
@@ -25,11 +24,14 @@ import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.validator.cart.CartValidator;
 import ru.galtor85.household_store.validator.stock.StockAvailabilityValidator;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
- * Service for managing shopping cart operations
+ * Service for managing shopping cart operations.
+ *
+ * <p>Active carts live in the {@link CartSessionStore}: cart operations change the
+ * in-memory cart and its changes are written in the background. Checkout and order
+ * creation write the cart in their own transaction before reading it through JPA.</p>
  */
 @Slf4j
 @Service
@@ -41,8 +43,8 @@ public class CartService {
     // =========================================================================
 
     private final CartRepository cartRepository;
-    private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final CartSessionStore cartSessionStore;
     private final CartMapper cartMapper;
     private final CartValidator cartValidator;
     private final CartProcessor cartProcessor;
@@ -64,8 +66,7 @@ public class CartService {
      */
     @Transactional(readOnly = true)
     public CartDto getActiveCart(Long userId) {
-        Cart cart = cartProcessor.findActiveCart(userId);
-        return cartMapper.toDto(cart);
+        return cartSessionStore.withCart(userId, session -> cartMapper.toDto(session.toCart()));
     }
 
     // =========================================================================
@@ -91,30 +92,22 @@ public class CartService {
 
         cartValidator.validateMaxQuantityPerItem(request.getQuantity());
 
-        Cart cart = getOrCreateActiveCart(userId);
-
-        cartValidator.validateCartMaxItems(cart);
-        CartItem existingItem = findCartItem(cart.getId(), request.getProductId());
-
-        if (existingItem != null) {
-            int newQuantity = existingItem.getQuantity() + request.getQuantity();
-            cartValidator.validateMaxQuantityPerItem(newQuantity);
-            existingItem.setQuantity(newQuantity);
-            cartItemRepository.save(existingItem);
-            log.debug(logMsg.get("cart.service.item.updated", request.getProductId(), newQuantity));
-        } else {
-            CartItem newItem = createCartItem(cart, product, request.getQuantity());
-            cart.addItem(newItem);
-            cartItemRepository.save(newItem);
-            log.debug(logMsg.get("cart.service.item.added", request.getProductId()));
-        }
-
-        cart.recalculateTotal();
-        Cart savedCart = cartRepository.save(cart);
-
-        log.info(logMsg.get("cart.service.add.complete", userId, savedCart.getItemsCount()));
-
-        return cartMapper.toDto(savedCart);
+        return cartSessionStore.withCartOrCreate(userId, session -> {
+            cartValidator.validateCartMaxItems(session.getItemsCount());
+
+            if (session.contains(product.getId())) {
+                int newQuantity = session.getQuantity(product.getId()) + request.getQuantity();
+                cartValidator.validateMaxQuantityPerItem(newQuantity);
+                session.setQuantity(product.getId(), newQuantity);
+                logMsg.debug(log, "cart.service.item.updated", product.getId(), newQuantity);
+            } else {
+                session.addItem(product, request.getQuantity());
+                logMsg.debug(log, "cart.service.item.added", product.getId());
+            }
+
+            log.info(logMsg.get("cart.service.add.complete", userId, session.getItemsCount()));
+            return cartMapper.toDto(session.toCart());
+        });
     }
 
     /**
@@ -129,29 +122,24 @@ public class CartService {
     public CartDto updateCartItem(Long userId, Long productId, UpdateCartItemRequest request) {
         log.info(logMsg.get("cart.service.update.start", userId, productId, request.getQuantity()));
 
-        Cart cart = cartProcessor.findActiveCart(userId);
-        CartItem item = findCartItemOrThrow(cart.getId(), productId);
-
-        if (request.getQuantity() <= 0) {
-            cart.removeItem(item);
-            cartItemRepository.delete(item);
-            log.debug(logMsg.get("cart.service.item.removed", productId));
-        } else {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ProductNotFoundException(productId));
-            availabilityValidator.validateStockAvailability(product, request.getQuantity());
-
-            item.setQuantity(request.getQuantity());
-            cartItemRepository.save(item);
-            log.debug(logMsg.get("cart.service.item.updated", productId, request.getQuantity()));
-        }
+        return cartSessionStore.withCart(userId, session -> {
+            validateItemInCart(session, productId);
 
-        cart.recalculateTotal();
-        Cart savedCart = cartRepository.save(cart);
+            if (request.getQuantity() <= 0) {
+                session.removeItem(productId);
+                logMsg.debug(log, "cart.service.item.removed", productId);
+            } else {
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new ProductNotFoundException(productId));
+                availabilityValidator.validateStockAvailability(product, request.getQuantity());
 
-        log.info(logMsg.get("cart.service.update.complete", userId, savedCart.getItemsCount()));
+                session.setQuantity(productId, request.getQuantity());
+                logMsg.debug(log, "cart.service.item.updated", productId, request.getQuantity());
+            }
 
-        return cartMapper.toDto(savedCart);
+            log.info(logMsg.get("cart.service.update.complete", userId, session.getItemsCount()));
+            return cartMapper.toDto(session.toCart());
+        });
     }
 
     /**
@@ -165,18 +153,13 @@ public class CartService {
     public CartDto removeFromCart(Long userId, Long productId) {
         log.info(logMsg.get("cart.service.remove.start", userId, productId));
 
-        Cart cart = cartProcessor.findActiveCart(userId);
-        CartItem item = findCartItemOrThrow(cart.getId(), productId);
+        return cartSessionStore.withCart(userId, session -> {
+            validateItemInCart(session, productId);
+            session.removeItem(productId);
 
-        cart.removeItem(item);
-        cartItemRepository.delete(item);
-
-        cart.recalculateTotal();
-        Cart savedCart = cartRepository.save(cart);
-
-        log.info(logMsg.get("cart.service.remove.complete", userId));
-
-        return cartMapper.toDto(savedCart);
+            log.info(logMsg.get("cart.service.remove.complete", userId));
+            return cartMapper.toDto(session.toCart());
+        });
     }
 
     /**
@@ -188,10 +171,10 @@ public class CartService {
     public void clearCart(Long userId) {
         log.info(logMsg.get("cart.service.clear.start", userId));
 
-        Cart cart = cartProcessor.findActiveCart(userId);
-        cartItemRepository.deleteByCartId(cart.getId());
-        cart.clear();
-        cartRepository.save(cart);
+        cartSessionStore.withCart(userId, session -> {
+            session.clear();
+            return null;
+        });
 
         log.info(logMsg.get("cart.service.clear.complete", userId));
     }
@@ -211,7 +194,7 @@ public class CartService {
     public CartDto checkoutCart(Long userId) {
         log.info(logMsg.get("cart.service.checkout.start", userId));
 
-        Cart cart = cartProcessor.findActiveCart(userId);
+        Cart cart = findFlushedCart(userId, cartSessionStore.flushAndClose(userId));
         cartValidator.validateCartNotEmpty(cart);
 
         cart.setStatus(CartStatus.CHECKOUT);
@@ -224,6 +207,19 @@ public class CartService {
         return cartMapper.toDto(savedCart);
     }
 
+    /**
+     * Gets the active cart with all its changes written, for creating an order.
+     * The cart cannot be changed until the current transaction ends.
+     *
+     * @param userId user identifier
+     * @return active cart entity
+     * @throws CartNotFoundException if no active cart exists
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Cart getCartForOrder(Long userId) {
+        return findFlushedCart(userId, cartSessionStore.flush(userId));
+    }
+
     /**
      * Marks the cart as completed (after order creation)
      *
@@ -231,7 +227,7 @@ public class CartService {
      */
     @Transactional
     public void completeCart(Long userId) {
-        Cart cart = cartProcessor.findActiveCart(userId);
+        Cart cart = findFlushedCart(userId, cartSessionStore.flushAndClose(userId));
         cartProcessor.completeCart(cart);
         log.info(logMsg.get("cart.service.completed", userId, cart.getId()));
     }
@@ -241,76 +237,35 @@ public class CartService {
     // =========================================================================
 
     /**
-     * Gets the active cart or creates a new one if none exists
+     * Loads a cart entity after its changes were written by the cart store.
+     * A cart without pending changes is not written, so its status is checked here;
+     * a cart that is no longer active is dropped from the store.
      *
      * @param userId user identifier
+     * @param cartId cart identifier
      * @return active cart entity
+     * @throws CartNotFoundException if the cart no longer exists or is not active
      */
-    private Cart getOrCreateActiveCart(Long userId) {
-        return cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseGet(() -> createNewCart(userId));
-    }
-
-    /**
-     * Creates a new empty cart for a user
-     *
-     * @param userId user identifier
-     * @return newly created cart entity
-     */
-    private Cart createNewCart(Long userId) {
-        int expiryDays = businessConfig.getCart().getExpiryDays();
-        Cart cart = Cart.builder()
-                .userId(userId)
-                .status(CartStatus.ACTIVE)
-                .totalAmount(BigDecimal.ZERO)
-                .itemsCount(0)
-                .expiresAt(LocalDateTime.now().plusDays(expiryDays))
-                .build();
-        return cartRepository.save(cart);
-    }
-
-    /**
-     * Finds a cart item by cart ID and product ID
-     *
-     * @param cartId    cart identifier
-     * @param productId product identifier
-     * @return cart item or null if not found
-     */
-    private CartItem findCartItem(Long cartId, Long productId) {
-        return cartItemRepository.findByCartIdAndProductId(cartId, productId).orElse(null);
+    private Cart findFlushedCart(Long userId, Long cartId) {
+        Cart cart = cartRepository.findById(cartId).orElse(null);
+        if (cart == null || cart.getStatus() != CartStatus.ACTIVE) {
+            cartSessionStore.invalidate(userId, cartId);
+            throw new CartNotFoundException(userId);
+        }
+        return cart;
     }
 
     /**
-     * Finds a cart item or throws exception
+     * Checks that a product is in the cart
      *
-     * @param cartId    cart identifier
+     * @param session   cart session
      * @param productId product identifier
-     * @return cart item
      * @throws IllegalArgumentException if item not found
      */
-    private CartItem findCartItemOrThrow(Long cartId, Long productId) {
-        return cartItemRepository.findByCartIdAndProductId(cartId, productId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        messageService.get("cart.service.item.not.found", productId)));
-    }
-
-    /**
-     * Creates a new cart item from product data
-     *
-     * @param cart     cart entity
-     * @param product  product entity
-     * @param quantity quantity to add
-     * @return newly created cart item
-     */
-    private CartItem createCartItem(Cart cart, Product product, int quantity) {
-        return CartItem.builder()
-                .cart(cart)
-                .productId(product.getId())
-                .quantity(quantity)
-                .price(product.getPrice())
-                .productName(product.getName())
-                .sku(product.getSku())
-                .category(product.getCategory())
-                .build();
+    private void validateItemInCart(CartSession session, Long productId) {
+        if (!session.contains(productId)) {
+            throw new IllegalArgumentException(
+                    messageService.get("cart.service.item.not.found", productId));
+        }
     }
-}
\ No newline at end of file
+}
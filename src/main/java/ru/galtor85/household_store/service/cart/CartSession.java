@@ -0,0 +1,296 @@
+package ru.galtor85.household_store.service.cart;
+
+import lombok.Getter;
+import ru.galtor85.household_store.entity.cart.Cart;
+import ru.galtor85.household_store.entity.cart.CartItem;
+import ru.galtor85.household_store.entity.cart.CartStatus;
+import ru.galtor85.household_store.entity.product.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory state of one active cart kept by {@link CartSessionStore}.
+ *
+ * <p>Items are indexed by product ID and the total amount and items count are
+ * maintained as running totals, so every mutation is O(1). Products changed since
+ * the last write are remembered; a product that is no longer in the cart is written
+ * as a delete. The session keeps the version of the cart row it was loaded or last
+ * written at; a write is applied only if the row still has that version.
+ * All access goes through the session lock held by the store.</p>
+ *
+ * @author G@LTor85
+ */
+public class CartSession {
+
+    @Getter
+    private final Long userId;
+    @Getter
+    private final Long cartId;
+    @Getter
+    private final LocalDateTime createdAt;
+    @Getter
+    private final LocalDateTime expiresAt;
+    @Getter
+    private LocalDateTime updatedAt;
+    @Getter
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    @Getter
+    private int itemsCount;
+    @Getter
+    private long version;
+
+    private final Map<Long, CartItem> items = new LinkedHashMap<>();
+    private final Set<Long> changedProducts = new HashSet<>();
+    private boolean dirty;
+
+    /** Whether the cart row is committed; uncommitted carts are not written in the background */
+    @Getter
+    private volatile boolean committed;
+
+    /** Set when the session is dropped from the store; callers holding it must look the cart up again */
+    @Getter
+    private volatile boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Pending changes of a session taken for writing.
+     *
+     * @param cartId      cart ID
+     * @param version     version of the cart row the changes were made at
+     * @param totalAmount cart total amount
+     * @param itemsCount  cart items count
+     * @param updatedAt   time of the last change
+     * @param upserts     copies of changed items
+     * @param deletes     IDs of removed products
+     */
+    public record Snapshot(Long cartId, long version, BigDecimal totalAmount, int itemsCount,
+                           LocalDateTime updatedAt, List<CartItem> upserts, List<Long> deletes) {}
+
+    /**
+     * Creates a session from the persisted state of a cart.
+     *
+     * @param userId    cart owner
+     * @param cartId    cart ID
+     * @param version   version of the cart row
+     * @param createdAt cart creation time
+     * @param updatedAt time of the last change
+     * @param expiresAt cart expiry time
+     * @param items     persisted items; totals are calculated from them
+     * @param committed whether the cart row is committed
+     */
+    public CartSession(Long userId, Long cartId, long version, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       LocalDateTime expiresAt, Collection<CartItem> items, boolean committed) {
+        this.userId = userId;
+        this.cartId = cartId;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.expiresAt = expiresAt;
+        this.committed = committed;
+        for (CartItem item : items) {
+            this.items.put(item.getProductId(), item);
+            applyDelta(item.getPrice(), item.getQuantity());
+        }
+    }
+
+    /**
+     * Gets the quantity of a product in the cart.
+     *
+     * @param productId product ID
+     * @return quantity, 0 if the product is not in the cart
+     */
+    public int getQuantity(Long productId) {
+        CartItem item = items.get(productId);
+        return item != null ? item.getQuantity() : 0;
+    }
+
+    /**
+     * Checks whether a product is in the cart.
+     *
+     * @param productId product ID
+     * @return true if the cart contains the product
+     */
+    public boolean contains(Long productId) {
+        return items.containsKey(productId);
+    }
+
+    /**
+     * Adds a new product to the cart at its current price.
+     *
+     * @param product  product
+     * @param quantity quantity
+     */
+    void addItem(Product product, int quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        CartItem item = CartItem.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .price(product.getPrice())
+                .productName(product.getName())
+                .sku(product.getSku())
+                .category(product.getCategory())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        items.put(product.getId(), item);
+        applyDelta(item.getPrice(), quantity);
+        markChanged(product.getId(), now);
+    }
+
+    /**
+     * Changes the quantity of a product already in the cart.
+     *
+     * @param productId product ID
+     * @param quantity  new quantity (positive)
+     */
+    void setQuantity(Long productId, int quantity) {
+        CartItem item = items.get(productId);
+        LocalDateTime now = LocalDateTime.now();
+        applyDelta(item.getPrice(), quantity - item.getQuantity());
+        item.setQuantity(quantity);
+        item.setUpdatedAt(now);
+        markChanged(productId, now);
+    }
+
+    /**
+     * Removes a product from the cart.
+     *
+     * @param productId product ID
+     */
+    void removeItem(Long productId) {
+        CartItem item = items.remove(productId);
+        if (item != null) {
+            applyDelta(item.getPrice(), -item.getQuantity());
+            markChanged(productId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Removes all products from the cart.
+     */
+    void clear() {
+        changedProducts.addAll(items.keySet());
+        items.clear();
+        totalAmount = BigDecimal.ZERO;
+        itemsCount = 0;
+        updatedAt = LocalDateTime.now();
+        dirty = true;
+    }
+
+    /**
+     * Builds a detached cart entity with copies of the items, e.g. for mapping to a DTO.
+     *
+     * @return cart view of the session
+     */
+    public Cart toCart() {
+        List<CartItem> copies = new ArrayList<>(items.size());
+        items.values().forEach(item -> copies.add(copy(item)));
+        return Cart.builder()
+                .id(cartId)
+                .userId(userId)
+                .status(CartStatus.ACTIVE)
+                .items(copies)
+                .totalAmount(totalAmount)
+                .itemsCount(itemsCount)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Takes pending changes and marks the session clean.
+     *
+     * @return changes to write, null if there are none
+     */
+    Snapshot takeChanges() {
+        if (!dirty) {
+            return null;
+        }
+        List<CartItem> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (Long productId : changedProducts) {
+            CartItem item = items.get(productId);
+            if (item != null) {
+                upserts.add(copy(item));
+            } else {
+                deletes.add(productId);
+            }
+        }
+        changedProducts.clear();
+        dirty = false;
+        return new Snapshot(cartId, version, totalAmount, itemsCount, updatedAt, upserts, deletes);
+    }
+
+    /**
+     * Moves the session to the version written with a snapshot once its write commits.
+     *
+     * @param snapshot snapshot taken by {@link #takeChanges()}
+     */
+    void markWritten(Snapshot snapshot) {
+        version = snapshot.version() + 1;
+    }
+
+    /**
+     * Marks changes of a snapshot that could not be written as pending again.
+     * The current state of the products is written next time.
+     *
+     * @param snapshot snapshot taken by {@link #takeChanges()}
+     */
+    void restoreChanges(Snapshot snapshot) {
+        snapshot.upserts().forEach(item -> changedProducts.add(item.getProductId()));
+        changedProducts.addAll(snapshot.deletes());
+        dirty = true;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    void markCommitted() {
+        committed = true;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    private void markChanged(Long productId, LocalDateTime now) {
+        changedProducts.add(productId);
+        updatedAt = now;
+        dirty = true;
+    }
+
+    private void applyDelta(BigDecimal price, int quantityDelta) {
+        totalAmount = totalAmount.add(price.multiply(BigDecimal.valueOf(quantityDelta)));
+        itemsCount += quantityDelta;
+    }
+
+    private CartItem copy(CartItem item) {
+        return CartItem.builder()
+                .id(item.getId())
+                .productId(item.getProductId())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .productName(item.getProductName())
+                .sku(item.getSku())
+                .category(item.getCategory())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
+    }
+}
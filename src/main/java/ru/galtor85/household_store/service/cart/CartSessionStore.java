@@ -0,0 +1,469 @@
+package ru.galtor85.household_store.service.cart;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.galtor85.household_store.advice.exception.cart.CartNotFoundException;
+import ru.galtor85.household_store.config.BusinessConfig;
+import ru.galtor85.household_store.processor.cart.CartPersistenceProcessor;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CART_STORE_PENDING_METRIC;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CART_STORE_SESSIONS_METRIC;
+
+/**
+ * Write-behind store of active carts.
+ *
+ * <p>Active carts are kept in memory in shards selected by user ID; each shard is an
+ * LRU map with its own lock and a share of {@code app.business.cart.store-max-carts}.
+ * A cart missing from memory is loaded with two queries outside the shard lock, so a
+ * cart is read from the database once rather than on every request. Mutations run
+ * under the lock of the cart and change running totals only.</p>
+ *
+ * <p>Changed carts are written on schedule: every cart is written once per flush
+ * however many times it changed, and up to {@code store-flush-batch-size} carts share
+ * one transaction and one JDBC batch per statement. Checkout and order creation call
+ * {@link #flush} or {@link #flushAndClose} first, which write the cart inside the
+ * caller's transaction and keep it locked until that transaction ends; if it rolls
+ * back, the changes stay pending.</p>
+ *
+ * <p>Changes acknowledged since the last flush are lost if the node crashes; the
+ * database then holds the cart as of that flush, with items and totals written
+ * together. Carts are kept per node, so requests of a user should be routed to the
+ * same node. Writes are guarded by the cart version: if two nodes hold the same cart,
+ * the first write wins and the other node drops its copy with the changes not yet
+ * written, then loads the cart again. Only clean, unlocked carts are evicted; a shard
+ * over its share because all its carts have pending changes is trimmed after the
+ * next flush.</p>
+ *
+ * @author G@LTor85
+ * @see CartPersistenceProcessor
+ */
+@Slf4j
+@Component
+public class CartSessionStore {
+
+    private final CartPersistenceProcessor persistenceProcessor;
+    private final BusinessConfig businessConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final LogMessageService logMsg;
+
+    private final Shard[] shards;
+    private final int shardCapacity;
+    private final Set<CartSession> pending = ConcurrentHashMap.newKeySet();
+
+    public CartSessionStore(CartPersistenceProcessor persistenceProcessor,
+                            BusinessConfig businessConfig,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            LogMessageService logMsg) {
+        this.persistenceProcessor = persistenceProcessor;
+        this.businessConfig = businessConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logMsg = logMsg;
+
+        BusinessConfig.CartConfig config = businessConfig.getCart();
+        this.shards = new Shard[config.getStoreShards()];
+        Arrays.setAll(shards, i -> new Shard());
+        this.shardCapacity = Math.max(1, config.getStoreMaxCarts() / shards.length);
+
+        Gauge.builder(CART_STORE_SESSIONS_METRIC, this, CartSessionStore::size).register(meterRegistry);
+        Gauge.builder(CART_STORE_PENDING_METRIC, pending, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs an action on the active cart of a user under the cart lock.
+     * Changes made by the action are written later.
+     *
+     * @param userId user ID
+     * @param action action reading or changing the cart
+     * @param <T>    result type
+     * @return result of the action
+     * @throws CartNotFoundException if the user has no active cart
+     */
+    public <T> T withCart(Long userId, Function<CartSession, T> action) {
+        return withSession(userId, false, action);
+    }
+
+    /**
+     * Runs an action on the active cart of a user, creating the cart if there is none.
+     * A cart created inside a transaction is dropped if that transaction rolls back.
+     *
+     * @param userId user ID
+     * @param action action reading or changing the cart
+     * @param <T>    result type
+     * @return result of the action
+     */
+    public <T> T withCartOrCreate(Long userId, Function<CartSession, T> action) {
+        return withSession(userId, true, action);
+    }
+
+    /**
+     * Writes pending changes of the active cart in the current transaction.
+     * The cart stays locked until the transaction ends. If another node wrote the cart
+     * since it was loaded, the changes of this node are dropped and the cart is loaded again.
+     *
+     * @param userId user ID
+     * @return cart ID
+     * @throws CartNotFoundException if the user has no active cart
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long flush(Long userId) {
+        return flush(userId, false);
+    }
+
+    /**
+     * Writes pending changes of the active cart in the current transaction and drops
+     * the cart from memory once the transaction commits, e.g. when the caller changes
+     * its status. The cart stays locked until the transaction ends.
+     *
+     * @param userId user ID
+     * @return cart ID
+     * @throws CartNotFoundException if the user has no active cart
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long flushAndClose(Long userId) {
+        return flush(userId, true);
+    }
+
+    /**
+     * Drops a cart that is no longer active in the database from memory, e.g. one
+     * completed on another node. The next request of the user loads its active cart again.
+     *
+     * @param userId user ID
+     * @param cartId ID of the stale cart
+     */
+    public void invalidate(Long userId, Long cartId) {
+        CartSession session;
+        Shard shard = shardOf(userId);
+        synchronized (shard) {
+            session = shard.sessions.get(userId);
+        }
+        if (session != null && session.getCartId().equals(cartId)) {
+            discard(session);
+            log.warn(logMsg.get("cart.store.stale", cartId, userId));
+        }
+    }
+
+    /**
+     * Writes changed carts in batches, each batch in its own transaction.
+     * Carts locked by a running checkout are left for the next run; a failed batch
+     * stays pending and ends the run.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduling.cart-flush-delay-ms:1000}")
+    public void flushPending() {
+        List<CartSession> candidates = new ArrayList<>(pending);
+        int batchSize = businessConfig.getCart().getStoreFlushBatchSize();
+
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            if (!writeBatch(candidates.subList(from, Math.min(from + batchSize, candidates.size())))) {
+                break;
+            }
+        }
+
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                evictOverflow(shard);
+            }
+        }
+    }
+
+    /**
+     * Writes pending changes before the application stops.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPending();
+        log.info(logMsg.get("cart.store.shutdown", pending.size()));
+    }
+
+    private <T> T withSession(Long userId, boolean create, Function<CartSession, T> action) {
+        while (true) {
+            CartSession session = acquire(userId, create);
+            session.lock().lock();
+            try {
+                if (session.isClosed()) {
+                    continue;
+                }
+                return action.apply(session);
+            } finally {
+                if (session.isDirty()) {
+                    pending.add(session);
+                }
+                session.lock().unlock();
+            }
+        }
+    }
+
+    private Long flush(Long userId, boolean close) {
+        while (true) {
+            CartSession session = acquire(userId, false);
+            session.lock().lock();
+            if (session.isClosed()) {
+                session.lock().unlock();
+                continue;
+            }
+
+            CartSession.Snapshot snapshot = session.takeChanges();
+            pending.remove(session);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (session.isClosed()) {
+                            return;
+                        }
+                        if (status == STATUS_COMMITTED) {
+                            if (snapshot != null) {
+                                session.markWritten(snapshot);
+                            }
+                            if (close) {
+                                discard(session);
+                            }
+                        } else if (snapshot != null) {
+                            session.restoreChanges(snapshot);
+                            pending.add(session);
+                        }
+                    } finally {
+                        session.lock().unlock();
+                    }
+                }
+            });
+
+            if (snapshot != null && !persistenceProcessor.write(List.of(snapshot)).isEmpty()) {
+                // Closed or written elsewhere: continue with the cart as it is in the database
+                discard(session);
+                log.warn(logMsg.get("cart.store.stale", session.getCartId(), userId));
+                continue;
+            }
+            return session.getCartId();
+        }
+    }
+
+    private boolean writeBatch(List<CartSession> candidates) {
+        Map<CartSession, CartSession.Snapshot> taken = new LinkedHashMap<>();
+        List<CartSession> locked = new ArrayList<>();
+        try {
+            for (CartSession session : candidates) {
+                if (session.isClosed()) {
+                    pending.remove(session);
+                    continue;
+                }
+                if (!session.isCommitted() || !session.lock().tryLock()) {
+                    continue;
+                }
+                locked.add(session);
+                pending.remove(session);
+                CartSession.Snapshot snapshot = session.takeChanges();
+                if (snapshot != null) {
+                    taken.put(session, snapshot);
+                }
+            }
+            if (taken.isEmpty()) {
+                return true;
+            }
+
+            Set<Long> stale = transactionTemplate.execute(status ->
+                    persistenceProcessor.write(new ArrayList<>(taken.values())));
+
+            taken.forEach((session, snapshot) -> {
+                if (stale != null && stale.contains(session.getCartId())) {
+                    discard(session);
+                    log.warn(logMsg.get("cart.store.stale", session.getCartId(), session.getUserId()));
+                } else {
+                    session.markWritten(snapshot);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            taken.forEach((session, snapshot) -> {
+                session.restoreChanges(snapshot);
+                pending.add(session);
+            });
+            log.warn(logMsg.get("cart.store.flush.failed", taken.size(), e.getMessage()));
+            return false;
+        } finally {
+            locked.forEach(session -> session.lock().unlock());
+        }
+    }
+
+    /**
+     * Gets the session of a user from memory, loading or creating it if missing.
+     * The database is queried outside the shard lock: the first thread registers a
+     * pending load under the lock and other threads asking for the same user wait for
+     * it, so a cart is loaded once while other users of the shard are served.
+     */
+    private CartSession acquire(Long userId, boolean create) {
+        Shard shard = shardOf(userId);
+        while (true) {
+            CompletableFuture<CartSession> load;
+            boolean loader = false;
+            synchronized (shard) {
+                CartSession session = shard.sessions.get(userId);
+                if (session != null) {
+                    return session;
+                }
+                load = shard.loading.get(userId);
+                if (load == null) {
+                    load = new CompletableFuture<>();
+                    shard.loading.put(userId, load);
+                    loader = true;
+                }
+            }
+
+            CartSession session;
+            if (loader) {
+                session = load(shard, userId, create, load);
+            } else {
+                try {
+                    session = load.join();
+                } catch (CompletionException e) {
+                    continue;
+                }
+                if (session == null && create) {
+                    continue;
+                }
+            }
+
+            if (session == null) {
+                log.warn(logMsg.get("order.log.cart.not.found", userId));
+                throw new CartNotFoundException(userId);
+            }
+            return session;
+        }
+    }
+
+    /**
+     * Loads or creates the session of a user and publishes it to the shard and to the
+     * threads waiting for the load. Must be called by the thread that registered the load.
+     *
+     * @return loaded or created session, null if there is no active cart and create is false
+     */
+    private CartSession load(Shard shard, Long userId, boolean create, CompletableFuture<CartSession> load) {
+        CartSession session;
+        try {
+            session = persistenceProcessor.loadActive(userId).orElse(null);
+            if (session == null && create) {
+                session = createSession(userId);
+            }
+        } catch (RuntimeException e) {
+            synchronized (shard) {
+                shard.loading.remove(userId);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (shard) {
+            if (session != null) {
+                shard.sessions.put(userId, session);
+                evictOverflow(shard);
+            }
+            shard.loading.remove(userId);
+        }
+        load.complete(session);
+        return session;
+    }
+
+    private CartSession createSession(Long userId) {
+        int expiryDays = businessConfig.getCart().getExpiryDays();
+        CartSession session = persistenceProcessor.create(userId, LocalDateTime.now().plusDays(expiryDays));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        session.markCommitted();
+                    } else {
+                        discard(session);
+                    }
+                }
+            });
+        } else {
+            session.markCommitted();
+        }
+
+        logMsg.debug(log, "cart.store.created", session.getCartId(), userId);
+        return session;
+    }
+
+    /**
+     * Evicts least recently used carts over the shard capacity. Carts with pending
+     * changes, uncommitted carts and carts locked by a running operation are skipped.
+     * Must be called holding the shard lock.
+     */
+    private void evictOverflow(Shard shard) {
+        Iterator<CartSession> iterator = shard.sessions.values().iterator();
+        while (shard.sessions.size() > shardCapacity && iterator.hasNext()) {
+            CartSession session = iterator.next();
+            if (session.lock().isHeldByCurrentThread() || !session.lock().tryLock()) {
+                continue;
+            }
+            try {
+                if (session.isCommitted() && !session.isDirty()) {
+                    iterator.remove();
+                    session.close();
+                    logMsg.trace(log, "cart.store.evicted", session.getCartId(), session.getUserId());
+                }
+            } finally {
+                session.lock().unlock();
+            }
+        }
+    }
+
+    private void discard(CartSession session) {
+        session.close();
+        pending.remove(session);
+        Shard shard = shardOf(session.getUserId());
+        synchronized (shard) {
+            shard.sessions.remove(session.getUserId(), session);
+        }
+    }
+
+    private Shard shardOf(Long userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    private int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.sessions.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Carts of a part of users in access order and loads in progress, guarded by the shard monitor.
+     */
+    private static final class Shard {
+
+        private final Map<Long, CartSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<Long, CompletableFuture<CartSession>> loading = new HashMap<>();
+    }
+}
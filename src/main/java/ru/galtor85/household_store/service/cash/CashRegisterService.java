@@ -293,8 +293,8 @@ public class CashRegisterService {
      * Gets cash register summary for a period.
      *
      * @param cashRegisterId cash register ID
-     * @param startDate      period start
-     * @param endDate        period end
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
      * @return summary DTO
      */
     @Transactional(readOnly = true)
@@ -1,5 +1,7 @@
 package ru.galtor85.household_store.service.cash;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,15 +23,26 @@ import ru.galtor85.household_store.repository.finance.InvoiceRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.user.UserSearchService;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.StreamingExportWriter;
 import ru.galtor85.household_store.validator.cash.CashTransactionValidator;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_BATCH_SIZE;
 
 
 /**
@@ -50,6 +63,8 @@ public class CashTransactionService {
     private final LogMessageService logMsg;
     private final MessageService messageService;
     private final FinancialConfig financialConfig;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     private int getScale() {
         return financialConfig.getDefaultDecimalPlaces();
@@ -118,7 +133,7 @@ public class CashTransactionService {
                 .map(CashTransaction::getAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        log.debug(logMsg.get("refund.calculation.total", totalPaid, payments.size()));
+        logMsg.debug(log, "refund.calculation.total", totalPaid, payments.size());
 
         // 5. Validate refund amount
         if (totalRefundAmount.compareTo(totalPaid) > 0) {
@@ -154,8 +169,8 @@ public class CashTransactionService {
 
             remainingToRefund = remainingToRefund.subtract(refundForThisPayment);
 
-            log.debug(logMsg.get("refund.calculation.item",
-                    payment.getId(), refundForThisPayment, payment.getAmount()));
+            logMsg.debug(log, "refund.calculation.item",
+                    payment.getId(), refundForThisPayment, payment.getAmount());
         }
 
         log.info(logMsg.get("refund.calculation.complete",
@@ -208,8 +223,8 @@ public class CashTransactionService {
             );
             refunds.add(refund);
 
-            log.debug(logMsg.get("refund.execute.proportional.item",
-                    item.originalTransactionId(), item.refundAmount()));
+            logMsg.debug(log, "refund.execute.proportional.item",
+                    item.originalTransactionId(), item.refundAmount());
         }
 
         log.info(logMsg.get("refund.execute.proportional.complete",
@@ -298,8 +313,8 @@ public class CashTransactionService {
     /**
      * Gets transactions within a date period.
      *
-     * @param startDate      period start
-     * @param endDate        period end
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
      * @param cashRegisterId optional cash register filter
      * @return list of transaction DTOs
      */
@@ -307,17 +322,46 @@ public class CashTransactionService {
     public List<CashTransactionDto> getTransactionsByPeriod(LocalDateTime startDate,
                                                             LocalDateTime endDate,
                                                             Long cashRegisterId) {
-        List<CashTransaction> transactions;
-        if (cashRegisterId != null) {
-            transactions = cashTransactionRepository.findByCashRegisterIdAndDateRange(
-                    cashRegisterId, startDate, endDate);
-        } else {
-            transactions = cashTransactionRepository.findAll().stream()
-                    .filter(t -> t.getCreatedAt().isAfter(startDate) &&
-                            t.getCreatedAt().isBefore(endDate))
-                    .collect(Collectors.toList());
+        List<CashTransaction> transactions = cashRegisterId != null
+                ? cashTransactionRepository.findByCashRegisterAndDateRange(cashRegisterId, startDate, endDate)
+                : cashTransactionRepository.findByDateRange(startDate, endDate);
+        return enrichWithDetails(transactions, new HashMap<>());
+    }
+
+    /**
+     * Streams transactions within a date period to an output stream.
+     *
+     * <p>Rows are read through a forward-only cursor, enriched and written in batches;
+     * the persistence context is cleared after every batch, so memory use does not
+     * depend on the length of the period.</p>
+     *
+     * @param startDate      period start (inclusive)
+     * @param endDate        period end (exclusive)
+     * @param cashRegisterId optional cash register filter
+     * @param format         output format
+     * @param outputStream   target stream
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactionsByPeriod(LocalDateTime startDate,
+                                           LocalDateTime endDate,
+                                           Long cashRegisterId,
+                                           ExportFormat format,
+                                           OutputStream outputStream) throws IOException {
+        log.info(logMsg.get("cash.transaction.service.export.start", startDate, endDate, cashRegisterId, format));
+
+        StreamingExportWriter<CashTransactionDto> writer = new StreamingExportWriter<>(
+                outputStream, format, objectMapper, CashTransactionConverter.EXPORT_COLUMNS);
+        Map<Long, BigDecimal> balances = new HashMap<>();
+
+        try (Stream<CashTransaction> transactions = cashRegisterId != null
+                ? cashTransactionRepository.streamByCashRegisterAndDateRange(cashRegisterId, startDate, endDate)
+                : cashTransactionRepository.streamByDateRange(startDate, endDate)) {
+            writer.writeAll(transactions, EXPORT_BATCH_SIZE,
+                    batch -> enrichWithDetails(batch, balances), entityManager::clear);
         }
-        return transactions.stream().map(this::enrichWithDetails).collect(Collectors.toList());
+
+        log.info(logMsg.get("cash.transaction.service.export.complete", writer.getRowCount(), format));
     }
 
     // =========================================================================
@@ -366,14 +410,34 @@ public class CashTransactionService {
     // HELPER METHODS
     // =========================================================================
 
-    private CashTransactionDto enrichWithDetails(CashTransaction transaction) {
-        CashRegister cashRegister = transaction.getCashRegister();
-        Invoice invoice = transaction.getInvoice();
-        User cashier = transaction.getCashierId() != null ?
-                userSearchService.getUserById(transaction.getCashierId()) : null;
-        BigDecimal balanceBefore = cashRegisterService.getCurrentBalance(cashRegister.getId());
-
-        return converter.toDtoWithDetails(transaction, cashRegister, invoice, cashier, balanceBefore);
+    /**
+     * Converts a batch of transactions to detailed DTOs.
+     * Cashiers are loaded with one query per batch; register balances are computed
+     * once per register and reused through the shared map.
+     *
+     * @param transactions transactions with cash register and invoice fetched
+     * @param balances     register balances already computed, filled on demand
+     * @return transaction DTOs in input order
+     */
+    private List<CashTransactionDto> enrichWithDetails(List<CashTransaction> transactions,
+                                                       Map<Long, BigDecimal> balances) {
+        Set<Long> cashierIds = transactions.stream()
+                .map(CashTransaction::getCashierId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> cashiers = userSearchService.getUsersByIds(cashierIds);
+
+        List<CashTransactionDto> result = new ArrayList<>(transactions.size());
+        for (CashTransaction transaction : transactions) {
+            CashRegister cashRegister = transaction.getCashRegister();
+            BigDecimal balanceBefore = balances.computeIfAbsent(
+                    cashRegister.getId(), cashRegisterService::getCurrentBalance);
+            User cashier = transaction.getCashierId() != null ? cashiers.get(transaction.getCashierId()) : null;
+
+            result.add(converter.toDtoWithDetails(
+                    transaction, cashRegister, transaction.getInvoice(), cashier, balanceBefore));
+        }
+        return result;
     }
 
     private void updateInvoiceStatus(Invoice invoice) {
@@ -482,7 +546,7 @@ public class CashTransactionService {
      */
     @Transactional(readOnly = true)
     public CashTransactionDto getTransactionById(Long transactionId) {
-        log.debug(logMsg.get("cash.transaction.service.get.by.id", transactionId));
+        logMsg.debug(log, "cash.transaction.service.get.by.id", transactionId);
 
         CashTransaction transaction = validator.validateTransactionExists(transactionId);
         CashTransactionDto dto = converter.toDto(transaction);
@@ -508,7 +572,7 @@ public class CashTransactionService {
                                                                   int size,
                                                                   String sortBy,
                                                                   String sortDir) {
-        log.debug(logMsg.get("cash.transaction.service.get.by.register", cashRegisterId, page, size));
+        logMsg.debug(log, "cash.transaction.service.get.by.register", cashRegisterId, page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
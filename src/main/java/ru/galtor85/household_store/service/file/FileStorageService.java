@@ -63,7 +63,7 @@ public class FileStorageService {
                 fileSystemHelper.saveFile(inputStream, targetLocation);
             }
 
-            log.debug(logMsg.get("file.storage.upload.success", originalFileName));
+            logMsg.debug(log, "file.storage.upload.success", originalFileName);
 
             return mediaFactory.createProductMedia(
                     productId,
@@ -1,5 +1,7 @@
 package ru.galtor85.household_store.service.finance;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,24 +20,29 @@ import ru.galtor85.household_store.dto.response.finance.InvoiceDto;
 import ru.galtor85.household_store.dto.response.finance.InvoiceStatisticsDto;
 import ru.galtor85.household_store.entity.finance.*;
 import ru.galtor85.household_store.processor.invoice.InvoicePaymentProcessor;
-import ru.galtor85.household_store.repository.cash.CashTransactionRepository;
 import ru.galtor85.household_store.repository.finance.InvoiceRepository;
 import ru.galtor85.household_store.repository.order.PurchaseOrderRepository;
 import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.service.cash.CashTransactionService;
 import ru.galtor85.household_store.service.currency.CurrencyConversionService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.StreamingExportWriter;
 import ru.galtor85.household_store.util.generator.NumberGenerator;
 import ru.galtor85.household_store.validator.finance.InvoiceValidator;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.galtor85.household_store.constants.PaginationConstants.DESC_SORT_DIRECTION;
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_BATCH_SIZE;
 
 /**
  * Service for managing invoices
@@ -54,10 +61,11 @@ public class InvoiceService {
     private final NumberGenerator numberGenerator;
     private final LogMessageService logMsg;
     private final InvoicePaymentProcessor paymentProcessor;
-    private final CashTransactionRepository cashTransactionRepository;
     private final CurrencyConversionService currencyConversionService;
     private final FinancialConfig financialConfig;
     private final CashTransactionService cashTransactionService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     // =========================================================================
     // INVOICE CREATION
@@ -256,6 +264,40 @@ public class InvoiceService {
         return getInvoiceDtos(invoices);
     }
 
+    /**
+     * Streams invoices issued within a period to an output stream.
+     *
+     * <p>Rows are read through a forward-only cursor and written in batches;
+     * the persistence context is cleared after every batch, so memory use does not
+     * depend on the length of the period.</p>
+     *
+     * @param startDate    period start (issue date, inclusive)
+     * @param endDate      period end (issue date, exclusive)
+     * @param status       optional status filter
+     * @param format       output format
+     * @param outputStream target stream
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportInvoices(LocalDateTime startDate,
+                               LocalDateTime endDate,
+                               InvoiceStatus status,
+                               ExportFormat format,
+                               OutputStream outputStream) throws IOException {
+        log.info(logMsg.get("invoice.service.export.start", startDate, endDate, status, format));
+
+        StreamingExportWriter<InvoiceDto> writer = new StreamingExportWriter<>(
+                outputStream, format, objectMapper, InvoiceConverter.EXPORT_COLUMNS);
+
+        try (Stream<Invoice> invoices = status != null
+                ? invoiceRepository.streamByStatusAndIssueDateRange(status, startDate, endDate)
+                : invoiceRepository.streamByIssueDateRange(startDate, endDate)) {
+            writer.writeAll(invoices, EXPORT_BATCH_SIZE, this::getInvoiceDtos, entityManager::clear);
+        }
+
+        log.info(logMsg.get("invoice.service.export.complete", writer.getRowCount(), format));
+    }
+
     // =========================================================================
     // INVOICE PAYMENT
     // =========================================================================
@@ -367,8 +409,8 @@ public class InvoiceService {
     /**
      * Gets total paid amount for a time period
      *
-     * @param startDate period start
-     * @param endDate   period end
+     * @param startDate period start (inclusive)
+     * @param endDate   period end (exclusive)
      * @return total paid amount
      */
     @Transactional(readOnly = true)
@@ -438,44 +480,14 @@ public class InvoiceService {
     }
 
     /**
-     * Calculates total paid amount for an invoice
-     * Sums INCOME and REFUND transactions, subtracts EXPENSE transactions
+     * Returns total paid amount for an invoice
+     * Read from the paid amount maintained by {@code CashTransactionProcessor}
      *
      * @param invoice the invoice entity
      * @return total paid amount
      */
     private BigDecimal calculateTotalPaid(Invoice invoice) {
-        List<CashTransaction> transactions = cashTransactionRepository.findByInvoiceId(invoice.getId());
-
-        if (transactions.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal totalPaid = BigDecimal.ZERO;
-
-        for (CashTransaction tx : transactions) {
-            if (invoice.isPurchaseOrder()) {
-                // For purchase orders: EXPENSE = payment to supplier
-                if (tx.getTransactionType() == TransactionType.EXPENSE) {
-                    totalPaid = totalPaid.add(tx.getAmount());
-                }
-                // REFUND = money back from supplier (decreases paid amount)
-                else if (tx.getTransactionType() == TransactionType.REFUND) {
-                    totalPaid = totalPaid.subtract(tx.getAmount());
-                }
-            } else if (invoice.isSalesOrder()) {
-                // For sales orders: INCOME = payment from customer
-                if (tx.getTransactionType() == TransactionType.INCOME) {
-                    totalPaid = totalPaid.add(tx.getAmount());
-                }
-                // REFUND = money back to customer (decreases paid amount)
-                else if (tx.getTransactionType() == TransactionType.REFUND) {
-                    totalPaid = totalPaid.subtract(tx.getAmount());
-                }
-            }
-        }
-
-        return totalPaid;
+        return invoice.getPaidAmount() != null ? invoice.getPaidAmount() : BigDecimal.ZERO;
     }
 
     /**
@@ -1,19 +1,30 @@
 package ru.galtor85.household_store.service.i18n;
 
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.stereotype.Service;
 
+import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for retrieving log messages in a fixed configured locale.
  * Falls back to English if the configured locale is invalid.
  * Generates smart readable fallback from key if translation is missing.
  *
+ * <p>Patterns are resolved once per key and kept as compiled {@link MessageFormat};
+ * readable fallbacks for missing keys are memoized as well. The {@code trace} and
+ * {@code debug} methods check the logger level first, so disabled log statements
+ * cost neither message lookup nor formatting:</p>
+ * <pre>
+ * logMsg.debug(log, "stock.movement.created", movementId);
+ * </pre>
  */
 @Slf4j
 @Service
@@ -24,6 +35,16 @@ public class LogMessageService {
     private final MessageSource messageSource;
     private final Locale logLocale;
 
+    /**
+     * Compiled messages by key; the message source does not reload, so entries never go stale
+     */
+    private final Map<String, CompiledMessage> compiledMessages = new ConcurrentHashMap<>();
+
+    /**
+     * Readable fallbacks for keys without translation
+     */
+    private final Map<String, String> smartFallbacks = new ConcurrentHashMap<>();
+
     public LogMessageService(
             MessageSource messageSource,
             @Value("${app.logging.locale:en}") String localeTag) {
@@ -60,19 +81,61 @@ public class LogMessageService {
      * @return localized message or generated fallback
      */
     public String get(String code, Object... args) {
+        if (code == null || code.isEmpty()) {
+            return buildSmartFallback(code, args);
+        }
+
+        CompiledMessage message = compiledMessages.computeIfAbsent(code, this::compile);
+        if (message == CompiledMessage.MISSING) {
+            return buildSmartFallback(code, args);
+        }
+        return message.format(args);
+    }
+
+    /**
+     * Logs a localized message at TRACE level.
+     * The message is resolved only if TRACE is enabled for the logger.
+     *
+     * @param logger target logger
+     * @param code   message key
+     * @param args   formatting arguments
+     */
+    public void trace(Logger logger, String code, Object... args) {
+        if (logger.isTraceEnabled()) {
+            logger.trace(get(code, args));
+        }
+    }
+
+    /**
+     * Logs a localized message at DEBUG level.
+     * The message is resolved only if DEBUG is enabled for the logger.
+     *
+     * @param logger target logger
+     * @param code   message key
+     * @param args   formatting arguments
+     */
+    public void debug(Logger logger, String code, Object... args) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(get(code, args));
+        }
+    }
+
+    /**
+     * Resolves raw pattern for a key and compiles it.
+     */
+    private CompiledMessage compile(String code) {
         try {
-            String message = messageSource.getMessage(code, args, logLocale);
-            if (!message.equals(code)) {
-                return message;
+            String pattern = messageSource.getMessage(code, null, logLocale);
+            if (pattern.equals(code)) {
+                return CompiledMessage.MISSING;
             }
+            return new CompiledMessage(pattern, new MessageFormat(pattern, logLocale));
         } catch (NoSuchMessageException e) {
             // Will use smart fallback
         } catch (Exception e) {
             log.error("Error resolving log message key '{}': {}", code, e.getMessage());
         }
-
-        // Smart fallback
-        return buildSmartFallback(code, args);
+        return CompiledMessage.MISSING;
     }
 
     /**
@@ -83,7 +146,7 @@ public class LogMessageService {
             return "Unknown";
         }
 
-        String readable = extractSmartPart(code);
+        String readable = smartFallbacks.computeIfAbsent(code, this::extractSmartPart);
 
         if (args != null && args.length > 0) {
             return readable + ": " + formatArgs(args);
@@ -221,4 +284,21 @@ public class LogMessageService {
                 .reduce((a, b) -> a + ", " + b)
                 .orElse("");
     }
-}
\ No newline at end of file
+
+    /**
+     * Raw pattern with its compiled format.
+     * Without arguments the raw pattern is returned as is, the same as {@link MessageSource} does.
+     */
+    private record CompiledMessage(String pattern, MessageFormat messageFormat) {
+
+        private static final CompiledMessage MISSING = new CompiledMessage(null, null);
+
+        String format(Object... args) {
+            if (args == null || args.length == 0) {
+                return pattern;
+            }
+            // MessageFormat is not thread-safe; a clone shares the parsed pattern
+            return ((MessageFormat) messageFormat.clone()).format(args);
+        }
+    }
+}
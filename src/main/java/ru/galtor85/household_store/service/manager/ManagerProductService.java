@@ -155,29 +155,29 @@ public class ManagerProductService {
         List<ProductMedia> mediaList = mediaRepository.findByProductId(product.getId());
         for (ProductMedia media : mediaList) {
             fileStorageService.deleteFile(media.getFilePath(), product.getId());
-            log.debug(logMsg.get("manager.product.media.deleted",
-                    media.getId(), product.getId(), deletedBy));
+            logMsg.debug(log, "manager.product.media.deleted",
+                    media.getId(), product.getId(), deletedBy);
         }
         mediaRepository.deleteAll(mediaList);
 
         //Delete product stock records
         List<ProductStock> stocks = stockRepository.findByProductId(product.getId());
         stockRepository.deleteAll(stocks);
-        log.debug(logMsg.get("manager.product.stocks.deleted",
-                stocks.size(), product.getId(), deletedBy));
+        logMsg.debug(log, "manager.product.stocks.deleted",
+                stocks.size(), product.getId(), deletedBy);
 
         //Delete supplier product links
         List<SupplierProduct> supplierProducts = supplierProductRepository.findByProductId(product.getId());
         supplierProductRepository.deleteAll(supplierProducts);
-        log.debug(logMsg.get("manager.product.supplier.links.deleted",
-                supplierProducts.size(), product.getId(), deletedBy));
+        logMsg.debug(log, "manager.product.supplier.links.deleted",
+                supplierProducts.size(), product.getId(), deletedBy);
 
         //Delete variants recursively
         for (Product variant : product.getVariants()) {
             deleteProductRelations(variant, deletedBy);
             productRepository.delete(variant);
-            log.debug(logMsg.get("manager.product.variant.deleted",
-                    variant.getId(), product.getId(), deletedBy));
+            logMsg.debug(log, "manager.product.variant.deleted",
+                    variant.getId(), product.getId(), deletedBy);
         }
     }
 
@@ -221,7 +221,7 @@ public class ManagerProductService {
             products = productRepository.findAll(pageable);
         }
 
-        log.debug(logMsg.get("manager.products.fetched.log", products.getTotalElements()));
+        logMsg.debug(log, "manager.products.fetched.log", products.getTotalElements());
 
         return products.map(productMapper::toDto);
     }
@@ -233,11 +233,11 @@ public class ManagerProductService {
      */
     @Transactional(readOnly = true)
     public List<String> getAllCategories() {
-        log.debug(logMsg.get("manager.product.get.categories.start"));
+        logMsg.debug(log, "manager.product.get.categories.start");
 
         List<String> categories = productRepository.findAllCategories();
 
-        log.debug(logMsg.get("manager.product.get.categories.complete", categories.size()));
+        logMsg.debug(log, "manager.product.get.categories.complete", categories.size());
 
         return categories;
     }
@@ -298,7 +298,7 @@ public class ManagerProductService {
 
     @Transactional(readOnly = true)
     public List<CategoryStatsDto> getCategoryStats() {
-        log.debug(logMsg.get("manager.product.get.category.stats.start"));
+        logMsg.debug(log, "manager.product.get.category.stats.start");
 
         List<Object[]> results = productRepository.getCategoryStatsRaw();
 
@@ -312,7 +312,7 @@ public class ManagerProductService {
                         .build())
                 .collect(Collectors.toList());
 
-        log.debug(logMsg.get("manager.product.get.category.stats.complete", stats.size()));
+        logMsg.debug(log, "manager.product.get.category.stats.complete", stats.size());
 
         return stats;
     }
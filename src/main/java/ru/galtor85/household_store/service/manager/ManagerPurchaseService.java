@@ -361,7 +361,7 @@ public class ManagerPurchaseService {
         BigDecimal totalRefundAmount = RefundCalculator.calculateTotalRefundAmount(order, request.getItems());
 
         if (totalRefundAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            log.debug(logMsg.get("purchase.refund.no.amount", order.getId()));
+            logMsg.debug(log, "purchase.refund.no.amount", order.getId());
             return;
         }
 
@@ -376,7 +376,7 @@ public class ManagerPurchaseService {
                         .toList();
 
                 if (payments.isEmpty()) {
-                    log.debug(logMsg.get("purchase.refund.no.payments", invoice.getId()));
+                    logMsg.debug(log, "purchase.refund.no.payments", invoice.getId());
                     continue;
                 }
 
@@ -704,7 +704,7 @@ public class ManagerPurchaseService {
             );
         }
 
-        // 3. Check if supplier has any unpaid amount
+        // 3. Check if supplier has any unpaid amount (payments only, refunds are not netted out)
         BigDecimal unpaidAmount = invoiceRepository.getUnpaidAmountBySupplierId(supplierId);
         if (unpaidAmount != null && unpaidAmount.compareTo(BigDecimal.ZERO) > 0) {
             log.warn(logMsg.get("supplier.delete.has.unpaid.amount", supplierId, unpaidAmount));
@@ -769,7 +769,7 @@ public class ManagerPurchaseService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name"));
         Page<Supplier> suppliers = supplierRepository.searchSuppliersNative(name, status, pageable);
 
-        log.debug(logMsg.get("manager.suppliers.fetched.log", suppliers.getTotalElements()));
+        logMsg.debug(log, "manager.suppliers.fetched.log", suppliers.getTotalElements());
 
         return suppliers.map(supplierMapper::toDto);
     }
@@ -21,18 +21,13 @@ import ru.galtor85.household_store.dto.response.order.SalesOrderDto;
 import ru.galtor85.household_store.dto.response.product.ProductStockDto;
 import ru.galtor85.household_store.dto.response.report.DailySalesReportDto;
 import ru.galtor85.household_store.entity.cart.Cart;
-import ru.galtor85.household_store.entity.cart.CartStatus;
-import ru.galtor85.household_store.entity.finance.CashTransaction;
 import ru.galtor85.household_store.entity.finance.Invoice;
 import ru.galtor85.household_store.entity.finance.InvoiceStatus;
-import ru.galtor85.household_store.entity.finance.TransactionType;
 import ru.galtor85.household_store.entity.order.OrderPaymentStatus;
 import ru.galtor85.household_store.entity.order.OrderStatus;
 import ru.galtor85.household_store.entity.order.SalesOrder;
 import ru.galtor85.household_store.entity.order.SalesOrderItem;
 import ru.galtor85.household_store.processor.sales.SalesOrderProcessor;
-import ru.galtor85.household_store.repository.cart.CartRepository;
-import ru.galtor85.household_store.repository.cash.CashTransactionRepository;
 import ru.galtor85.household_store.repository.finance.InvoiceRepository;
 import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.repository.product.ProductRepository;
@@ -41,18 +36,18 @@ import ru.galtor85.household_store.service.cash.CashTransactionService;
 import ru.galtor85.household_store.service.finance.InvoiceService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.report.SalesRollupService;
 import ru.galtor85.household_store.service.stock.StockService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
 import ru.galtor85.household_store.util.date.DateParser;
 import ru.galtor85.household_store.validator.order.OrderSalesCancellationValidator;
 import ru.galtor85.household_store.validator.order.SalesOrderValidator;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.*;
 
@@ -82,7 +77,6 @@ public class SalesOrderService {
 
     private final SalesOrderRepository salesOrderRepository;
     private final ProductRepository productRepository;
-    private final CartRepository cartRepository;
     private final CartService cartService;
     private final SalesOrderValidator salesOrderValidator;
     private final SalesOrderProcessor salesOrderProcessor;
@@ -92,11 +86,12 @@ public class SalesOrderService {
     private final DateParser dateParser;
     private final InvoiceService invoiceService;
     private final InvoiceRepository invoiceRepository;
-    private final CashTransactionRepository cashTransactionRepository;
     private final OrderSalesCancellationValidator orderCancellationValidator;
     private final StockService stockService;
     private final WarehouseConfig warehouseConfig;
     private final CashTransactionService cashTransactionService;
+    private final CustomerStatsService customerStatsService;
+    private final SalesRollupService salesRollupService;
 
     // =========================================================================
     // ORDER CREATION
@@ -152,16 +147,14 @@ public class SalesOrderService {
 
         log.info(logMsg.get("sales.order.create.from.cart.start", userId));
 
-        // Get user's active cart
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        // Get user's active cart with pending changes written
+        Cart cart = cartService.getCartForOrder(userId);
 
         // Create order via processor
         SalesOrder order = salesOrderProcessor.createOrderFromCart(cart, shippingAddress, userId);
 
         // Mark cart as completed
-        cart.setStatus(CartStatus.COMPLETED);
-        cartRepository.save(cart);
+        cartService.completeCart(userId);
 
         log.info(logMsg.get("sales.order.create.from.cart.complete",
                 order.getOrderNumber(), userId, order.getTotalAmount()));
@@ -181,8 +174,7 @@ public class SalesOrderService {
     public SalesOrderDto createOrderFromCartWithPromo(Long userId, String shippingAddress, String promoCode) {
         log.info(logMsg.get("sales.order.create.from.cart.promo.start", userId, promoCode));
 
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        Cart cart = cartService.getCartForOrder(userId);
 
         SalesOrder order = salesOrderProcessor.createOrderFromCartWithPromo(cart, shippingAddress, promoCode, userId);
 
@@ -230,7 +222,7 @@ public class SalesOrderService {
         // Search for orders through the repository
         Page<SalesOrder> orders = salesOrderRepository.search(userId, orderStatus, start, end, pageable);
 
-        log.debug(logMsg.get("manager.orders.fetched.log", orders.getTotalElements()));
+        logMsg.debug(log, "manager.orders.fetched.log", orders.getTotalElements());
 
         return orders.map(salesOrderConverter::toDto);
     }
@@ -395,6 +387,7 @@ public class SalesOrderService {
         }
 
         SalesOrder updatedOrder = salesOrderRepository.save(order);
+        salesRollupService.recordStatusChange(updatedOrder, oldStatus);
 
         log.info(logMsg.get("sales.order.status.updated.log",
                 orderId, oldStatus, newStatus, managerId));
@@ -409,7 +402,7 @@ public class SalesOrderService {
         List<Invoice> invoices = invoiceRepository.findBySalesOrderId(order.getId());
 
         if (invoices.isEmpty()) {
-            log.debug(logMsg.get("sales.order.refund.no.invoices", order.getId()));
+            logMsg.debug(log, "sales.order.refund.no.invoices", order.getId());
             return;
         }
 
@@ -421,7 +414,7 @@ public class SalesOrderService {
                 BigDecimal refundAmount = invoice.getRemainingAmount();
 
                 if (refundAmount.compareTo(BigDecimal.ZERO) <= 0) {
-                    log.debug(logMsg.get("sales.order.refund.nothing.to.refund", invoice.getId()));
+                    logMsg.debug(log, "sales.order.refund.nothing.to.refund", invoice.getId());
                     continue;
                 }
 
@@ -492,6 +485,7 @@ public class SalesOrderService {
         order.recalculateTotals();
 
         SalesOrder updatedOrder = salesOrderRepository.save(order);
+        salesRollupService.recordAmountChange(updatedOrder);
 
         log.info(logMsg.get("sales.order.price.updated.log",
                 orderId, itemId, oldPrice, newPrice, managerId, reason));
@@ -531,6 +525,7 @@ public class SalesOrderService {
         addRollbackNote(order, oldStatus, targetStatus, reason, managerId);
 
         SalesOrder updatedOrder = salesOrderRepository.save(order);
+        salesRollupService.recordStatusChange(updatedOrder, oldStatus);
 
         log.info(logMsg.get("sales.order.rollback.success.log",
                 orderId, oldStatus, targetStatus, managerId, reason));
@@ -589,55 +584,23 @@ public class SalesOrderService {
      */
     @Transactional(readOnly = true)
     public DailySalesReportDto getDailySalesReport(LocalDate date) {
-        log.info(logMsg.get("sales.order.daily.report.start", date));
-
-        Object[] reportData = salesOrderRepository.getDailyReport(date);
-
-        DailySalesReportDto report = DailySalesReportDto.builder()
-                .date(date)
-                .totalOrders(((Number) reportData[0]).longValue())
-                .completedOrders(((Number) reportData[1]).longValue())
-                .cancelledOrders(((Number) reportData[2]).longValue())
-                .pendingOrders(((Number) reportData[3]).longValue())
-                .totalSalesAmount((BigDecimal) reportData[4])
-                .minOrderAmount((BigDecimal) reportData[5])
-                .maxOrderAmount((BigDecimal) reportData[6])
-                .uniqueCustomers(((Number) reportData[7]).longValue())
-                .build();
-
-        // Calculate average order value
-        if (report.getTotalOrders() > 0) {
-            report.setAverageOrderValue(
-                    report.getTotalSalesAmount().divide(
-                            BigDecimal.valueOf(report.getTotalOrders()), 2, RoundingMode.HALF_UP
-                    )
-            );
-        } else {
-            report.setAverageOrderValue(BigDecimal.ZERO);
-        }
+        return getSalesReport(date, date);
+    }
+
+    /**
+     * Gets sales report of a date range, read from sales rollups.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @return sales report DTO
+     */
+    @Transactional(readOnly = true)
+    public DailySalesReportDto getSalesReport(LocalDate startDate, LocalDate endDate) {
+        log.info(logMsg.get("sales.order.daily.report.start", startDate, endDate));
 
-        // Get top products
-        List<Object[]> topProducts = salesOrderRepository.getTopProductsForDate(date);
-        report.setTopProducts(topProducts.stream()
-                .map(row -> DailySalesReportDto.TopProductDto.builder()
-                        .productId(((Number) row[0]).longValue())
-                        .productName((String) row[1])
-                        .quantitySold(((Number) row[2]).longValue())
-                        .totalAmount((BigDecimal) row[3])
-                        .build())
-                .collect(Collectors.toList()));
-
-        // Get hourly sales
-        List<Object[]> hourlySales = salesOrderRepository.getHourlySalesForDate(date);
-        report.setSalesByHour(hourlySales.stream()
-                .map(row -> DailySalesReportDto.HourlySalesDto.builder()
-                        .hour(((Number) row[0]).intValue())
-                        .ordersCount(((Number) row[1]).longValue())
-                        .amount((BigDecimal) row[2])
-                        .build())
-                .collect(Collectors.toList()));
-
-        log.info(logMsg.get("sales.order.daily.report.complete", date, report.getTotalOrders()));
+        DailySalesReportDto report = salesRollupService.getReport(startDate, endDate);
+
+        log.info(logMsg.get("sales.order.daily.report.complete", startDate, endDate, report.getTotalOrders()));
 
         return report;
     }
@@ -664,8 +627,8 @@ public class SalesOrderService {
                 // Update stock (increase)
                 int newQuantity = stockService.updateProductStock(product, item.getQuantity(), defaultWarehouseId, true);
 
-                log.debug(logMsg.get("sales.order.stock.restored",
-                        product.getSku(), defaultWarehouseId, oldQuantity, newQuantity, item.getQuantity()));
+                logMsg.debug(log, "sales.order.stock.restored",
+                        product.getSku(), defaultWarehouseId, oldQuantity, newQuantity, item.getQuantity());
             });
         }
     }
@@ -694,7 +657,7 @@ public class SalesOrderService {
                 order.setDeliveredAt(null);
                 break;
             default:
-                log.debug(logMsg.get("sales.order.rollback.no.action", oldStatus));
+                logMsg.debug(log, "sales.order.rollback.no.action", oldStatus);
         }
     }
 
@@ -733,7 +696,7 @@ public class SalesOrderService {
      * @param order the sales order
      */
     private void reversePayment(SalesOrder order) {
-        log.debug(logMsg.get("sales.order.rollback.payment.reversed", order.getId()));
+        logMsg.debug(log, "sales.order.rollback.payment.reversed", order.getId());
     }
 
     /**
@@ -742,7 +705,7 @@ public class SalesOrderService {
      * @param order the sales order
      */
     private void releaseReservedStock(SalesOrder order) {
-        log.debug(logMsg.get("sales.order.rollback.stock.released", order.getId()));
+        logMsg.debug(log, "sales.order.rollback.stock.released", order.getId());
     }
 
     /**
@@ -751,31 +714,19 @@ public class SalesOrderService {
      * @param order the sales order
      */
     private void cancelShipment(SalesOrder order) {
-        log.debug(logMsg.get("sales.order.rollback.shipment.cancelled", order.getId()));
+        logMsg.debug(log, "sales.order.rollback.shipment.cancelled", order.getId());
     }
 
     /**
-     * Calculates total amount spent by user on all orders.
+     * Gets total amount spent by user on all orders, net of refunds.
+     * Read from the maintained customer aggregate.
      *
      * @param userId the user ID
      * @return total spent amount
      */
     @Transactional(readOnly = true)
     public BigDecimal getUserTotalSpent(Long userId) {
-        List<SalesOrder> orders = salesOrderRepository.findByUserId(userId);
-        BigDecimal totalSpent = BigDecimal.ZERO;
-
-        for (SalesOrder order : orders) {
-            List<Invoice> invoices = invoiceRepository.findBySalesOrderId(order.getId());
-            for (Invoice invoice : invoices) {
-                BigDecimal paid = cashTransactionRepository.findByInvoiceId(invoice.getId()).stream()
-                        .filter(tx -> tx.getTransactionType() == TransactionType.INCOME)
-                        .map(CashTransaction::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                totalSpent = totalSpent.add(paid);
-            }
-        }
-        return totalSpent;
+        return customerStatsService.getTotalSpent(userId);
     }
 
     /**
@@ -3,6 +3,7 @@ package ru.galtor85.household_store.service.payment;
 import ru.galtor85.household_store.entity.payment.PaymentMethod;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Payment gateway interface for different providers
@@ -20,4 +21,18 @@ public interface PaymentGateway {
      */
     PaymentResult processPayment(PaymentMethod paymentMethod, BigDecimal amount,
                                  String currency, String description);
-}
\ No newline at end of file
+
+    /**
+     * Process payment without blocking the calling thread
+     *
+     * @param paymentMethod payment method (card, wallet, etc.)
+     * @param amount payment amount
+     * @param currency payment currency
+     * @param description payment description
+     * @return future completed with the payment result
+     */
+    default CompletableFuture<PaymentResult> processPaymentAsync(PaymentMethod paymentMethod, BigDecimal amount,
+                                                                 String currency, String description) {
+        return CompletableFuture.completedFuture(processPayment(paymentMethod, amount, currency, description));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.galtor85.household_store.service.payment;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -7,12 +8,15 @@ import ru.galtor85.household_store.config.PaymentConfig;
 import ru.galtor85.household_store.entity.payment.PaymentProvider;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.payment.gateway.PaymentProviderClient;
 import ru.galtor85.household_store.service.payment.gateway.PaymentProviderConfig;
 import ru.galtor85.household_store.service.payment.gateway.UniversalPaymentGateway;
 
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static ru.galtor85.household_store.constants.PaymentConstants.*;
 
@@ -23,8 +27,9 @@ import static ru.galtor85.household_store.constants.PaymentConstants.*;
  * different payment providers. All configuration is loaded from {@link PaymentConfig}
  * which reads settings from application.properties.</p>
  *
- * <p>The factory supports dynamic registration and reloading of gateway configurations
- * at runtime, allowing for flexible payment provider management.</p>
+ * <p>Each online provider gets one {@link PaymentProviderClient} with its own connection
+ * pool, timeouts, bulkhead and circuit breaker, shared by all calls to the provider.
+ * HTTP calls and asynchronous payments run on virtual threads.</p>
  *
  * @author G@LTor85
  * @see UniversalPaymentGateway
@@ -45,6 +50,8 @@ public class PaymentGatewayFactory {
     private final MessageService messageService;
     private final LogMessageService logMsg;
     private final Map<PaymentProvider, UniversalPaymentGateway> gateways = new ConcurrentHashMap<>();
+    private final Map<PaymentProvider, PaymentProviderClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     // =========================================================================
     // PUBLIC METHODS
@@ -56,15 +63,19 @@ public class PaymentGatewayFactory {
      * @param provider the payment provider
      * @return the UniversalPaymentGateway instance for the provider
      */
-    @SuppressWarnings("unused")
     public UniversalPaymentGateway getGateway(PaymentProvider provider) {
-        if (provider == PaymentProvider.CASH_REGISTER) {
-            PaymentProviderConfig cashConfig = buildCashRegisterConfig();
-            return new UniversalPaymentGateway(cashConfig, paymentConfig, messageService,logMsg);
-        }
         return gateways.computeIfAbsent(provider, this::createGateway);
     }
 
+    /**
+     * Closes connection pools of all providers and the gateway executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(PaymentProviderClient::close);
+        executor.close();
+    }
+
     // =========================================================================
     // PRIVATE METHODS - GATEWAY CREATION
     // =========================================================================
@@ -76,12 +87,21 @@ public class PaymentGatewayFactory {
      * @return a new UniversalPaymentGateway instance
      */
     private UniversalPaymentGateway createGateway(PaymentProvider provider) {
+        if (provider == PaymentProvider.CASH_REGISTER) {
+            return new UniversalPaymentGateway(buildCashRegisterConfig(), null, executor,
+                    paymentConfig, messageService, logMsg);
+        }
+
         PaymentProviderConfig config = getConfigForProvider(provider);
 
         log.info(logMsg.get("payment.gateway.factory.creating",
                 provider, config.getPaymentUrl()));
 
-        return new UniversalPaymentGateway(config, paymentConfig, messageService, logMsg);
+        PaymentProviderClient client = new PaymentProviderClient(
+                config, paymentConfig.getClient(), executor, messageService, logMsg);
+        clients.put(provider, client);
+
+        return new UniversalPaymentGateway(config, client, executor, paymentConfig, messageService, logMsg);
     }
 
     // =========================================================================
@@ -95,7 +115,7 @@ public class PaymentGatewayFactory {
      * @return PaymentProviderConfig with all settings from properties
      */
     private PaymentProviderConfig getConfigForProvider(PaymentProvider provider) {
-        log.debug(logMsg.get("payment.gateway.factory.building.config", provider));
+        logMsg.debug(log, "payment.gateway.factory.building.config", provider);
 
         PaymentConfig.ProvidersConfig.ProviderConfig cfg = getProviderConfig(provider);
 
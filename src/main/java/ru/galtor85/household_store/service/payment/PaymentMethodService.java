@@ -174,7 +174,7 @@ public class PaymentMethodService {
      */
     @Transactional(readOnly = true)
     public PaymentMethodWithUserTypesDto getPaymentMethodWithUserTypes(Long paymentMethodId) {
-        	log.debug(logMsg.get("payment.service.get.method.with.types.start", paymentMethodId));
+        	logMsg.debug(log, "payment.service.get.method.with.types.start", paymentMethodId);
 
         // Validate payment method exists using validator
         PaymentMethod paymentMethod = validator.validatePaymentMethodExists(paymentMethodId);
@@ -191,8 +191,8 @@ public class PaymentMethodService {
         // Get sort order (use first assignment's order or default 0)
         Integer sortOrder = assignments.isEmpty() ? 0 : assignments.getFirst().getSortOrder();
 
-        	log.debug(logMsg.get("payment.service.get.method.with.types.success",
-                paymentMethodId, userTypes.size()));
+        	logMsg.debug(log, "payment.service.get.method.with.types.success",
+                paymentMethodId, userTypes.size());
 
         // Convert to DTO using converter
         return converter.toDtoWithUserTypes(paymentMethod, userTypes, sortOrder);
@@ -208,11 +208,11 @@ public class PaymentMethodService {
      */
     @Transactional(readOnly = true)
     public List<PaymentMethodWithUserTypesDto> getAllPaymentMethodsWithUserTypes() {
-        	log.debug(logMsg.get("payment.service.get.all.methods.start"));
+        	logMsg.debug(log, "payment.service.get.all.methods.start");
 
         List<PaymentMethod> methods = paymentMethodRepository.findAll();
 
-        	log.debug(logMsg.get("payment.service.get.all.methods.count", methods.size()));
+        	logMsg.debug(log, "payment.service.get.all.methods.count", methods.size());
 
         return getPaymentMethodWithUserTypesDtos(methods);
     }
@@ -242,13 +242,13 @@ public class PaymentMethodService {
      */
     @Transactional(readOnly = true)
     public List<PaymentMethodWithUserTypesDto> getPaymentMethodsByUserType(UserType userType) {
-        	log.debug(logMsg.get("payment.service.get.methods.by.type.start", userType));
+        	logMsg.debug(log, "payment.service.get.methods.by.type.start", userType);
 
         // Get payment method IDs for this user type from repository
         List<Long> methodIds = paymentMethodUserTypeRepository
                 .findActivePaymentMethodIdsByUserType(userType);
 
-        	log.debug(logMsg.get("payment.service.get.methods.by.type.ids", methodIds.size(), userType));
+        	logMsg.debug(log, "payment.service.get.methods.by.type.ids", methodIds.size(), userType);
 
         // Fetch payment methods by IDs
         List<PaymentMethod> methods = paymentMethodRepository.findAllById(methodIds);
@@ -303,7 +303,7 @@ public class PaymentMethodService {
         PaymentMethod paymentMethod = validator.validatePaymentMethodExists(methodId);
 
         if (paymentMethod.isActive()) {
-            	log.debug(logMsg.get("payment.service.activate.method.already.active", methodId));
+            	logMsg.debug(log, "payment.service.activate.method.already.active", methodId);
             return getPaymentMethodWithUserTypes(methodId);
         }
 
@@ -355,13 +355,13 @@ public class PaymentMethodService {
      */
     @Transactional(readOnly = true)
     public List<PaymentMethodForUserDto> getPaymentMethodsForUserType(UserType userType) {
-        	log.debug(logMsg.get("payment.service.get.user.methods.start", userType));
+        	logMsg.debug(log, "payment.service.get.user.methods.start", userType);
 
         // Get payment method IDs for this user type from repository
         List<Long> methodIds = paymentMethodUserTypeRepository
                 .findActivePaymentMethodIdsByUserType(userType);
 
-        	log.debug(logMsg.get("payment.service.get.user.methods.count", methodIds.size(), userType));
+        	logMsg.debug(log, "payment.service.get.user.methods.count", methodIds.size(), userType);
 
         // Fetch payment methods by IDs
         List<PaymentMethod> methods = paymentMethodRepository.findAllById(methodIds);
@@ -387,7 +387,7 @@ public class PaymentMethodService {
      */
     @Transactional(readOnly = true)
     public PaymentMethodForUserDto getPaymentMethodForUserType(Long methodId, UserType userType) {
-        	log.debug(logMsg.get("payment.service.get.user.method.start", methodId, userType));
+        	logMsg.debug(log, "payment.service.get.user.method.start", methodId, userType);
 
         // Check if payment method is available for this user type using repository
         boolean isAvailable = paymentMethodUserTypeRepository
@@ -409,7 +409,7 @@ public class PaymentMethodService {
                     messageService.get("payment.method.inactive.warn", methodId));
         }
 
-        	log.debug(logMsg.get("payment.service.get.user.method.success", methodId, userType));
+        	logMsg.debug(log, "payment.service.get.user.method.success", methodId, userType);
 
         // Convert to user-safe DTO using converter
         return converter.toUserDto(paymentMethod);
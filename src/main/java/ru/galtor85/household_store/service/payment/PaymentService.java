@@ -42,6 +42,8 @@ import ru.galtor85.household_store.service.finance.InvoiceService;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
 import ru.galtor85.household_store.service.order.SalesOrderService;
+import ru.galtor85.household_store.service.reference.PaymentMethodRef;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
 import ru.galtor85.household_store.service.reservation.ReservationService;
 import ru.galtor85.household_store.service.user.UserTypeAssignmentService;
 import ru.galtor85.household_store.validator.payment.PaymentRequestValidator;
@@ -76,6 +78,7 @@ public class PaymentService {
     // =========================================================================
 
     private final PaymentMethodRepository paymentMethodRepository;
+    private final ReferenceDataCache referenceData;
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final PaymentTransactionConverter paymentTransactionConverter;
     private final CashTransactionService cashTransactionService;
@@ -119,13 +122,13 @@ public class PaymentService {
         paymentRequestValidator.validateExactlyOnePaymentTarget(request);
         paymentRequestValidator.validateFieldCombination(request);
 
-        PaymentMethod paymentMethod = paymentMethodRepository.findById(request.getPaymentMethodId())
+        PaymentMethodRef paymentMethod = referenceData.findPaymentMethod(request.getPaymentMethodId())
                 .orElseThrow(() -> new IllegalArgumentException(
                         messageService.get("payment.method.not.found", request.getPaymentMethodId())));
 
-        if (paymentMethod.validate()) {
+        if (paymentMethod.invalid()) {
             throw new IllegalArgumentException(
-                    messageService.get("payment.method.invalid", paymentMethod.getId()));
+                    messageService.get("payment.method.invalid", paymentMethod.id()));
         }
 
         if (request.isCustomerOrderPayment()) {
@@ -162,13 +165,13 @@ public class PaymentService {
         log.info(logMsg.get("payment.customer.pay.start", salesOrderId, userId));
 
         // Validate payment method and user type
-        PaymentMethod paymentMethod = validatePaymentMethod(paymentMethodId, userId);
+        PaymentMethodRef paymentMethod = validatePaymentMethod(paymentMethodId, userId);
 
         // Get order entity for reservation
         SalesOrder order = salesOrderService.getSalesOrderEntityById(salesOrderId);
 
         // Cash payment flow - reserve only, no actual payment processing
-        if (paymentMethod.getProvider() == PaymentProvider.CASH_REGISTER) {
+        if (paymentMethod.provider() == PaymentProvider.CASH_REGISTER) {
             log.info(logMsg.get("payment.cash.reserve.start", salesOrderId));
 
             // Reserve products
@@ -205,15 +208,15 @@ public class PaymentService {
 
         // Reserve products if not already reserved
         if (order.getReservationStatus() != SalesOrder.ReservationStatus.ACTIVE) {
-            log.info(logMsg.get("payment.reserve.start", salesOrderId, paymentMethod.getProvider()));
+            log.info(logMsg.get("payment.reserve.start", salesOrderId, paymentMethod.provider()));
             order = reservationService.reserveOrder(order);
         }
 
         // Process payment through external gateway
         try {
-            PaymentGateway gateway = gatewayFactory.getGateway(paymentMethod.getProvider());
+            PaymentGateway gateway = gatewayFactory.getGateway(paymentMethod.provider());
             PaymentResult result = gateway.processPayment(
-                    paymentMethod, amount, invoiceDto.getCurrency(),
+                    loadPaymentMethod(paymentMethodId), amount, invoiceDto.getCurrency(),
                     messageService.get("payment.customer.order.description", salesOrderId)
             );
 
@@ -577,7 +580,7 @@ public class PaymentService {
     // =========================================================================
 
     private void validateManagerRole(Long userId) {
-        SecurityUser securityUser = securityUserRepository.findById(userId)
+        SecurityUser securityUser = securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> new SecurityException(messageService.get("payment.user.not.found", userId)));
         if (securityUser.getRole() != Role.ADMIN && securityUser.getRole() != Role.MANAGER) {
             throw new SecurityException(messageService.get("payment.manager.role.required.message"));
@@ -585,17 +588,17 @@ public class PaymentService {
     }
 
     private boolean isManager(Long userId) {
-        return securityUserRepository.findById(userId)
+        return securityUserRepository.findByUserId(userId)
                 .map(su -> su.getRole() == Role.ADMIN || su.getRole() == Role.MANAGER)
                 .orElse(false);
     }
 
-    private PaymentMethod validatePaymentMethod(Long paymentMethodId, Long userId) {
-        PaymentMethod paymentMethod = paymentMethodRepository.findById(paymentMethodId)
+    private PaymentMethodRef validatePaymentMethod(Long paymentMethodId, Long userId) {
+        PaymentMethodRef paymentMethod = referenceData.findPaymentMethod(paymentMethodId)
                 .orElseThrow(() -> new IllegalArgumentException(
                         messageService.get("payment.method.not.found", paymentMethodId)));
 
-        if (!paymentMethod.isActive()) {
+        if (!paymentMethod.active()) {
             throw new IllegalStateException(messageService.get("payment.method.inactive.warn", paymentMethodId));
         }
 
@@ -615,10 +618,19 @@ public class PaymentService {
         return paymentMethod;
     }
 
-    private PaymentTransaction createPaymentTransaction(PaymentMethod paymentMethod, InvoiceDto invoice,
+    /**
+     * Loads the payment method entity handed to an external gateway.
+     */
+    private PaymentMethod loadPaymentMethod(Long paymentMethodId) {
+        return paymentMethodRepository.findById(paymentMethodId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        messageService.get("payment.method.not.found", paymentMethodId)));
+    }
+
+    private PaymentTransaction createPaymentTransaction(PaymentMethodRef paymentMethod, InvoiceDto invoice,
                                                         BigDecimal amount, Long userId) {
         return PaymentTransaction.builder()
-                .paymentMethodId(paymentMethod.getId())
+                .paymentMethodId(paymentMethod.id())
                 .invoiceId(invoice.getId())
                 .orderId(invoice.getPurchaseOrderId() != null ? invoice.getPurchaseOrderId() : invoice.getSalesOrderId())
                 .orderType(invoice.getPurchaseOrderId() != null ? OrderType.PURCHASE : OrderType.SALES)
@@ -628,8 +640,8 @@ public class PaymentService {
                 .description(messageService.get("payment.transaction.description",
                         invoice.getPurchaseOrderId() != null ? "purchase" : "sales",
                         invoice.getPurchaseOrderId() != null ? invoice.getPurchaseOrderId() : invoice.getSalesOrderId()))
-                .processingFee(paymentMethod.getProcessingFee())
-                .netAmount(calculateNetAmount(amount, paymentMethod.getProcessingFee()))
+                .processingFee(paymentMethod.processingFee())
+                .netAmount(calculateNetAmount(amount, paymentMethod.processingFee()))
                 .createdAt(LocalDateTime.now())
                 .createdBy(userId)
                 .build();
@@ -758,11 +770,11 @@ public class PaymentService {
                     formatMoney(totalPaid),
                     formatMoney(invoice.getAmount())));
         } else {
-            log.debug(logMsg.get("invoice.status.unchanged",
+            logMsg.debug(log, "invoice.status.unchanged",
                     invoice.getInvoiceNumber(),
                     messageService.get("invoice.status." + invoice.getStatus().name()),
                     formatMoney(totalPaid),
-                    formatMoney(invoice.getAmount())));
+                    formatMoney(invoice.getAmount()));
         }
     }
 
@@ -0,0 +1,116 @@
+package ru.galtor85.household_store.service.payment.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+/**
+ * Consecutive-failure circuit breaker of one payment provider.
+ *
+ * <p>After {@code failureThreshold} failed calls in a row the circuit opens and
+ * calls are rejected without touching the network. When the open period ends,
+ * one trial call is let through: its success closes the circuit, its failure
+ * opens it again.</p>
+ *
+ * @author G@LTor85
+ * @see PaymentProviderClient
+ */
+@Slf4j
+public class PaymentCircuitBreaker {
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String providerName;
+    private final int failureThreshold;
+    private final long openStateNanos;
+    private final LogMessageService logMsg;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param providerName            provider name for logging
+     * @param failureThreshold        consecutive failures that open the circuit
+     * @param openStateDurationMillis time the circuit stays open
+     * @param logMsg                  log message service
+     */
+    public PaymentCircuitBreaker(String providerName,
+                                 int failureThreshold,
+                                 long openStateDurationMillis,
+                                 LogMessageService logMsg) {
+        this.providerName = providerName;
+        this.failureThreshold = failureThreshold;
+        this.openStateNanos = openStateDurationMillis * 1_000_000L;
+        this.logMsg = logMsg;
+    }
+
+    /**
+     * Checks whether a call may be made now.
+     * In the half-open state only one trial call is permitted at a time.
+     *
+     * @return true if the call is permitted
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openStateNanos) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+            log.info(logMsg.get("payment.gateway.circuit.half.open", providerName));
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInProgress) {
+                    yield false;
+                }
+                trialInProgress = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info(logMsg.get("payment.gateway.circuit.closed", providerName));
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInProgress = false;
+    }
+
+    /**
+     * Records a failed call (I/O error, timeout or server error of the provider).
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInProgress = false;
+            log.warn(logMsg.get("payment.gateway.circuit.opened",
+                    providerName, consecutiveFailures, openStateNanos / 1_000_000L));
+        }
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return circuit state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.galtor85.household_store.service.payment.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import ru.galtor85.household_store.config.PaymentConfig;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client of one payment provider.
+ *
+ * <p>Wraps a {@link RestTemplate} over its own pooled JDK {@link HttpClient} with the
+ * connect and read timeouts of the provider. Every call passes a bulkhead, which
+ * limits concurrent calls to the provider, and a {@link PaymentCircuitBreaker},
+ * which stops calling a provider that keeps failing. A slow provider therefore
+ * holds at most {@code maxConcurrentCalls} threads for at most the configured
+ * timeouts; other calls are rejected at once.</p>
+ *
+ * @author G@LTor85
+ * @see PaymentCircuitBreaker
+ * @see UniversalPaymentGateway
+ */
+@Slf4j
+public class PaymentProviderClient implements AutoCloseable {
+
+    private final String providerName;
+    private final HttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMillis;
+    private final PaymentCircuitBreaker circuitBreaker;
+    private final MessageService messageService;
+    private final LogMessageService logMsg;
+
+    /**
+     * Creates a client for a provider.
+     *
+     * @param config         provider configuration (timeouts)
+     * @param clientConfig   bulkhead and circuit breaker settings
+     * @param executor       executor of the underlying HTTP client
+     * @param messageService message service for localization
+     * @param logMsg         log message service
+     */
+    public PaymentProviderClient(PaymentProviderConfig config,
+                                 PaymentConfig.ClientConfig clientConfig,
+                                 ExecutorService executor,
+                                 MessageService messageService,
+                                 LogMessageService logMsg) {
+        this.providerName = config.getProviderName();
+        this.messageService = messageService;
+        this.logMsg = logMsg;
+
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                .executor(executor)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(config.getReadTimeout()));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.maxConcurrentCalls = clientConfig.getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWaitMillis = clientConfig.getBulkheadWaitTimeout();
+        this.circuitBreaker = new PaymentCircuitBreaker(providerName,
+                clientConfig.getFailureThreshold(), clientConfig.getOpenStateDuration(), logMsg);
+
+        logMsg.debug(log, "payment.gateway.client.created", providerName,
+                config.getConnectTimeout(), config.getReadTimeout(), maxConcurrentCalls);
+    }
+
+    /**
+     * Executes an HTTP request to the provider.
+     *
+     * <p>Client errors (4xx) are returned to the caller as exceptions but do not
+     * count as provider failures; I/O errors, timeouts and server errors do.</p>
+     *
+     * @param url           request URL
+     * @param requestEntity request headers and body
+     * @param config        provider configuration (HTTP method)
+     * @return provider response
+     * @throws IllegalStateException if the bulkhead is full or the circuit is open
+     */
+    public ResponseEntity<String> exchange(String url, HttpEntity<?> requestEntity, PaymentProviderConfig config) {
+        acquireBulkhead();
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new IllegalStateException(
+                        messageService.get("payment.gateway.circuit.open", providerName));
+            }
+            try {
+                ResponseEntity<String> response = restTemplate.exchange(
+                        url, config.getHttpMethod(), requestEntity, String.class);
+                circuitBreaker.onSuccess();
+                return response;
+            } catch (HttpClientErrorException e) {
+                circuitBreaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Gets the circuit breaker state.
+     *
+     * @return circuit state
+     */
+    public PaymentCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Closes the connection pool.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private void acquireBulkhead() {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn(logMsg.get("payment.gateway.bulkhead.rejected", providerName, maxConcurrentCalls));
+            throw new IllegalStateException(
+                    messageService.get("payment.gateway.bulkhead.full", providerName));
+        }
+    }
+}
@@ -5,7 +5,6 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 import ru.galtor85.household_store.config.PaymentConfig;
 import ru.galtor85.household_store.entity.payment.PaymentMethod;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
@@ -18,6 +17,8 @@ import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static ru.galtor85.household_store.constants.PaymentConstants.*;
 import static ru.galtor85.household_store.constants.TechnicalConstants.FALLBACK_TXN_PREFIX;
@@ -41,6 +42,8 @@ import static ru.galtor85.household_store.constants.TechnicalConstants.FALLBACK_
  *   <li>Support for payment processing, refunds, and status checking</li>
  *   <li>Transaction ID generation with configurable random length</li>
  *   <li>HTTP request building with proper authentication headers</li>
+ *   <li>Pooled HTTP client with timeouts, bulkhead and circuit breaker per provider</li>
+ *   <li>Asynchronous processing on virtual threads</li>
  * </ul>
  *
  * @author G@LTor85
@@ -56,7 +59,8 @@ public class UniversalPaymentGateway implements PaymentGateway {
     // =========================================================================
 
     private final PaymentProviderConfig config;
-    private final RestTemplate restTemplate;
+    private final PaymentProviderClient client;
+    private final Executor executor;
     private final PaymentConfig paymentConfig;
     private final MessageService messageService;
     private final LogMessageService logMsg;
@@ -69,18 +73,24 @@ public class UniversalPaymentGateway implements PaymentGateway {
      * Constructs a new UniversalPaymentGateway with the specified configuration.
      *
      * @param config         the provider-specific configuration
+     * @param client         the HTTP client of the provider (null for offline providers)
+     * @param executor       the executor for asynchronous processing
      * @param paymentConfig  the global payment configuration
      * @param messageService the message service for localization
+     * @param logMsg         the log message service
      */
     public UniversalPaymentGateway(PaymentProviderConfig config,
+                                   PaymentProviderClient client,
+                                   Executor executor,
                                    PaymentConfig paymentConfig,
                                    MessageService messageService,
                                    LogMessageService logMsg) {
         this.config = config;
+        this.client = client;
+        this.executor = executor;
         this.paymentConfig = paymentConfig;
         this.messageService = messageService;
         this.logMsg = logMsg;
-        this.restTemplate = new RestTemplate();
     }
 
     // =========================================================================
@@ -111,12 +121,7 @@ public class UniversalPaymentGateway implements PaymentGateway {
             }
 
             HttpEntity<?> requestEntity = buildPaymentRequest(paymentMethod, amount, currency, description);
-            ResponseEntity<String> response = restTemplate.exchange(
-                    config.getPaymentUrl(),
-                    config.getHttpMethod(),
-                    requestEntity,
-                    String.class
-            );
+            ResponseEntity<String> response = client.exchange(config.getPaymentUrl(), requestEntity, config);
 
             if (response.getStatusCode().is2xxSuccessful()) {
                 String providerTransactionId = extractTransactionId();
@@ -150,6 +155,17 @@ public class UniversalPaymentGateway implements PaymentGateway {
         }
     }
 
+    /**
+     * Processes payment on the gateway executor, so the calling thread is not held
+     * while the provider responds.
+     */
+    @Override
+    public CompletableFuture<PaymentResult> processPaymentAsync(PaymentMethod paymentMethod, BigDecimal amount,
+                                                                String currency, String description) {
+        return CompletableFuture.supplyAsync(
+                () -> processPayment(paymentMethod, amount, currency, description), executor);
+    }
+
     // =========================================================================
     // REQUEST BUILDERS
     // =========================================================================
@@ -159,7 +175,7 @@ public class UniversalPaymentGateway implements PaymentGateway {
         HttpHeaders headers = buildHeaders();
         Map<String, Object> body = buildPaymentBody(paymentMethod, amount, currency, description);
 
-        log.debug(logMsg.get("payment.gateway.request.built", config.getProviderName()));
+        logMsg.debug(log, "payment.gateway.request.built", config.getProviderName());
         return new HttpEntity<>(body, headers);
     }
 
@@ -173,7 +189,7 @@ public class UniversalPaymentGateway implements PaymentGateway {
 
         if (config.getApiKey() != null) {
             headers.set(HEADER_AUTHORIZATION, config.getAuthScheme() + " " + config.getApiKey());
-            log.debug(logMsg.get("payment.gateway.request.auth.added", config.getProviderName()));
+            logMsg.debug(log, "payment.gateway.request.auth.added", config.getProviderName());
         }
         if (config.getApiSecret() != null) {
             headers.set(HEADER_API_SECRET, config.getApiSecret());
@@ -231,8 +247,8 @@ public class UniversalPaymentGateway implements PaymentGateway {
         String transactionId = config.getTransactionPrefix() + "-" + System.currentTimeMillis() + "-" +
                 UUID.randomUUID().toString().substring(0, length).toUpperCase();
 
-        log.debug(logMsg.get("payment.gateway.transaction.id.generated",
-                config.getProviderName(), transactionId));
+        logMsg.debug(log, "payment.gateway.transaction.id.generated",
+                config.getProviderName(), transactionId);
 
         return transactionId;
     }
@@ -242,7 +258,7 @@ public class UniversalPaymentGateway implements PaymentGateway {
     // =========================================================================
 
     private String extractTransactionId() {
-        log.debug(logMsg.get("payment.gateway.extract.transaction.id.placeholder"));
+        logMsg.debug(log, "payment.gateway.extract.transaction.id.placeholder");
         return FALLBACK_TXN_PREFIX + System.currentTimeMillis();
     }
 
@@ -251,7 +267,7 @@ public class UniversalPaymentGateway implements PaymentGateway {
         String baseUrl = returnUrl != null ? returnUrl : "";
         String paymentUrl = baseUrl + FALLBACK_PAYMENT_URL_PATH + System.currentTimeMillis();
 
-        log.debug(logMsg.get("payment.gateway.extract.payment.url.placeholder", paymentUrl));
+        logMsg.debug(log, "payment.gateway.extract.payment.url.placeholder", paymentUrl);
         return paymentUrl;
     }
 
@@ -263,16 +279,16 @@ public class UniversalPaymentGateway implements PaymentGateway {
         if (config.getFeePercent() != null) {
             BigDecimal fee = amount.multiply(config.getFeePercent())
                     .divide(BigDecimal.valueOf(paymentConfig.getProcessing().getPercentBase()), RoundingMode.HALF_UP);
-            log.debug(logMsg.get("payment.gateway.fee.percentage.calculated",
-                    config.getProviderName(), fee, config.getFeePercent()));
+            logMsg.debug(log, "payment.gateway.fee.percentage.calculated",
+                    config.getProviderName(), fee, config.getFeePercent());
             return fee;
         }
         if (config.getFeeFixed() != null) {
-            log.debug(logMsg.get("payment.gateway.fee.fixed.calculated",
-                    config.getProviderName(), config.getFeeFixed()));
+            logMsg.debug(log, "payment.gateway.fee.fixed.calculated",
+                    config.getProviderName(), config.getFeeFixed());
             return config.getFeeFixed();
         }
-        log.debug(logMsg.get("payment.gateway.fee.none", config.getProviderName()));
+        logMsg.debug(log, "payment.gateway.fee.none", config.getProviderName());
         return BigDecimal.ZERO;
     }
 
@@ -280,8 +296,8 @@ public class UniversalPaymentGateway implements PaymentGateway {
         BigDecimal fee = calculateFee(amount);
         BigDecimal netAmount = amount.subtract(fee);
 
-        log.debug(logMsg.get("payment.gateway.net.amount.calculated",
-                config.getProviderName(), amount, fee, netAmount));
+        logMsg.debug(log, "payment.gateway.net.amount.calculated",
+                config.getProviderName(), amount, fee, netAmount);
 
         return netAmount;
     }
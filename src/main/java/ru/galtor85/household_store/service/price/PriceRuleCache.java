@@ -0,0 +1,219 @@
+package ru.galtor85.household_store.service.price;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.config.FinancialConfig;
+import ru.galtor85.household_store.entity.promotion.PriceRule;
+import ru.galtor85.household_store.entity.user.UserType;
+import ru.galtor85.household_store.processor.price.CompiledPriceRule;
+import ru.galtor85.household_store.repository.price.PriceRuleRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_PRICE_RULES;
+
+/**
+ * Compiled set of active price rules, indexed by user type.
+ *
+ * <p>Active rules are loaded with one query and compiled into immutable
+ * {@link CompiledPriceRule}s sorted by priority. The compiled rules are kept under a
+ * single key of the {@code priceRules} cache, so they expire after the configured
+ * time and rules changed on another node are picked up within that time. The rules
+ * in effect for every user type are kept in a snapshot that is swapped atomically,
+ * so pricing reads a ready list without querying, parsing or sorting.</p>
+ *
+ * <p>A snapshot is valid until the nearest start or end of a rule; after that the
+ * rules in effect are selected again from the compiled rules. Rules are reloaded
+ * on the next request after a rule or its user types change on this node; a change
+ * inside a transaction is registered again after commit, so a concurrent reload
+ * cannot keep the rules from before the change.</p>
+ *
+ * @author G@LTor85
+ * @see PriceRuleChangeListener
+ * @see PriceRuleCollectionChangeListener
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceRuleCache {
+
+    private static final long NO_BOUNDARY = Long.MAX_VALUE;
+    private static final String ACTIVE_RULES_KEY = "active";
+
+    private final PriceRuleRepository priceRuleRepository;
+    private final CacheManager cacheManager;
+    private final FinancialConfig financialConfig;
+    private final LogMessageService logMsg;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Compiled rules of one load.
+     *
+     * @param version rules version the rules were loaded at
+     * @param rules   all compiled rules by user type, sorted by priority
+     */
+    private record LoadedRules(long version, Map<UserType, List<CompiledPriceRule>> rules) {}
+
+    /**
+     * Rules in effect at a moment.
+     *
+     * @param loaded     compiled rules the snapshot was selected from
+     * @param effective  rules in effect by user type, sorted by priority
+     * @param validFrom  moment the effective rules were selected at
+     * @param validUntil nearest start or end of a rule after {@code validFrom}
+     */
+    private record Snapshot(LoadedRules loaded,
+                            Map<UserType, List<CompiledPriceRule>> effective,
+                            long validFrom,
+                            long validUntil) {
+
+        boolean isValidAt(long nowMillis) {
+            return validFrom <= nowMillis && nowMillis < validUntil;
+        }
+    }
+
+    /**
+     * Gets the price rules in effect for a user type.
+     *
+     * @param userType user type
+     * @return rules sorted by priority, lowest first
+     */
+    public List<CompiledPriceRule> getActiveRules(UserType userType) {
+        long now = System.currentTimeMillis();
+        LoadedRules loaded = cache().get(ACTIVE_RULES_KEY, LoadedRules.class);
+        if (loaded == null || loaded.version() != version.get()) {
+            loaded = reload();
+        }
+        Snapshot current = snapshot.get();
+        if (current == null || current.loaded() != loaded || !current.isValidAt(now)) {
+            Snapshot selected = select(loaded, now);
+            snapshot.compareAndSet(current, selected);
+            current = selected;
+        }
+        return current.effective().getOrDefault(userType, List.of());
+    }
+
+    /**
+     * Marks the rules changed. Inside a transaction they are marked again after commit.
+     */
+    public void invalidate() {
+        markChanged();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markChanged();
+                }
+            });
+        }
+        logMsg.debug(log, "price.rules.invalidated");
+    }
+
+    private void markChanged() {
+        version.incrementAndGet();
+        cache().evict(ACTIVE_RULES_KEY);
+    }
+
+    private synchronized LoadedRules reload() {
+        Cache cache = cache();
+        LoadedRules current = cache.get(ACTIVE_RULES_KEY, LoadedRules.class);
+        long loadVersion = version.get();
+        if (current != null && current.version() == loadVersion) {
+            return current;
+        }
+
+        Map<UserType, List<CompiledPriceRule>> rules = new EnumMap<>(UserType.class);
+        List<PriceRule> activeRules = priceRuleRepository.findAllActive();
+        int compiled = 0;
+        for (PriceRule rule : activeRules) {
+            CompiledPriceRule compiledRule = compile(rule);
+            if (compiledRule == null) {
+                continue;
+            }
+            compiled++;
+            for (UserType userType : rule.getApplicableUserTypes()) {
+                rules.computeIfAbsent(userType, key -> new ArrayList<>()).add(compiledRule);
+            }
+        }
+        rules.replaceAll((userType, list) -> list.stream()
+                .sorted(Comparator.comparingInt(CompiledPriceRule::priority))
+                .toList());
+
+        LoadedRules loaded = new LoadedRules(loadVersion, rules);
+        cache.put(ACTIVE_RULES_KEY, loaded);
+
+        logMsg.debug(log, "price.rules.compiled", compiled, rules.size());
+
+        return loaded;
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_PRICE_RULES));
+    }
+
+    private CompiledPriceRule compile(PriceRule rule) {
+        try {
+            return CompiledPriceRule.compile(rule,
+                    toMillis(rule.getStartDate(), Long.MIN_VALUE),
+                    toMillis(rule.getEndDate(), Long.MAX_VALUE),
+                    financialConfig.getDefaultDecimalPlaces());
+        } catch (RuntimeException e) {
+            log.warn(logMsg.get("price.rule.invalid", rule.getName(), rule.getDiscountType(),
+                    rule.getDiscountValue()));
+            return null;
+        }
+    }
+
+    private static Snapshot select(LoadedRules loaded, long now) {
+        Map<UserType, List<CompiledPriceRule>> effective = new EnumMap<>(UserType.class);
+        long validUntil = NO_BOUNDARY;
+        for (Map.Entry<UserType, List<CompiledPriceRule>> entry : loaded.rules().entrySet()) {
+            List<CompiledPriceRule> inEffect = entry.getValue().stream()
+                    .filter(rule -> rule.isEffectiveAt(now))
+                    .toList();
+            if (!inEffect.isEmpty()) {
+                effective.put(entry.getKey(), inEffect);
+            }
+            for (CompiledPriceRule rule : entry.getValue()) {
+                validUntil = Math.min(validUntil, nextBoundary(rule, now));
+            }
+        }
+        return new Snapshot(loaded, effective, now, validUntil);
+    }
+
+    /**
+     * Nearest moment after {@code now} at which the rule starts or stops being in effect.
+     */
+    private static long nextBoundary(CompiledPriceRule rule, long now) {
+        if (rule.startMillis() > now) {
+            return rule.startMillis();
+        }
+        if (rule.endMillis() >= now && rule.endMillis() != Long.MAX_VALUE) {
+            return rule.endMillis() + 1;
+        }
+        return NO_BOUNDARY;
+    }
+
+    private static long toMillis(LocalDateTime dateTime, long defaultValue) {
+        return dateTime != null
+                ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : defaultValue;
+    }
+}
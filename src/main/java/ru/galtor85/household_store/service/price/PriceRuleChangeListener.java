@@ -0,0 +1,31 @@
+package ru.galtor85.household_store.service.price;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.entity.promotion.PriceRule;
+
+/**
+ * JPA entity listener that makes the compiled price rules reload when a rule changes.
+ *
+ * @author G@LTor85
+ * @see PriceRuleCache
+ */
+@Component
+public class PriceRuleChangeListener {
+
+    private final ObjectProvider<PriceRuleCache> priceRuleCache;
+
+    public PriceRuleChangeListener(ObjectProvider<PriceRuleCache> priceRuleCache) {
+        this.priceRuleCache = priceRuleCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPriceRuleChanged(PriceRule rule) {
+        priceRuleCache.ifAvailable(PriceRuleCache::invalidate);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.galtor85.household_store.service.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.converter.ProductAvailabilityConverter;
+import ru.galtor85.household_store.dto.response.stock.ProductAvailabilityDto;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.repository.product.ProductRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.product.search.ProductSearchIndex;
+import ru.galtor85.household_store.service.stock.ProductAvailabilityCache;
+import ru.galtor85.household_store.util.entity.EntityBatchLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Customer catalogue search.
+ *
+ * <p>Matching and relevance ranking are done by the {@link ProductSearchIndex};
+ * the products of a result page are then loaded with one query and enriched with
+ * cached availability (see {@link ProductAvailabilityCache}).</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductRepository productRepository;
+    private final EntityBatchLoader batchLoader;
+    private final ProductAvailabilityCache availabilityCache;
+    private final ProductAvailabilityConverter converter;
+    private final LogMessageService logMsg;
+
+    /**
+     * Searches active products, most relevant first.
+     *
+     * @param query search text (name, SKU, brand, category or description words)
+     * @param page  page number
+     * @param size  page size
+     * @return page of product availability DTOs (empty for a blank query)
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductAvailabilityDto> search(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        String text = query.strip();
+
+        ProductSearchIndex.Hits hits = searchIndex.search(text, pageable.getOffset(), size);
+
+        Map<Long, Product> products = batchLoader.loadByIds(productRepository, hits.productIds(), Product::getId);
+        Map<Long, Integer> availability = availabilityCache.getAvailableForCustomer(hits.productIds());
+        List<ProductAvailabilityDto> content = hits.productIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(product -> converter.toDto(product, availability.getOrDefault(product.getId(), 0)))
+                .toList();
+
+        logMsg.debug(log, "product.search.complete", text, hits.total());
+
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    /**
+     * Suggests product names for the text typed so far.
+     *
+     * @param prefix text typed so far
+     * @param limit  maximum number of suggestions
+     * @return product names (empty for a blank prefix)
+     */
+    @Transactional(readOnly = true)
+    public List<String> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        List<String> suggestions = searchIndex.suggest(prefix.strip(), limit);
+
+        logMsg.debug(log, "product.search.autocomplete", prefix, suggestions.size());
+
+        return suggestions;
+    }
+}
@@ -0,0 +1,232 @@
+package ru.galtor85.household_store.service.product.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.repository.product.ProductRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.search.SearchTextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.SEARCH_ENGINE_MEMORY;
+import static ru.galtor85.household_store.constants.TechnicalConstants.SEARCH_ENGINE_PROPERTY;
+
+/**
+ * In-memory product search index for databases without full-text search (H2 in tests).
+ *
+ * <p>Mirrors {@link PostgresProductSearchIndex}: a product matches when it contains all
+ * query words, the query occurs in its name allowing typos (trigram word similarity)
+ * or its SKU starts with the query.
+ * Words are weighted like the {@code search_vector} column (name and SKU 1.0, brand 0.4,
+ * category 0.2, description 0.1), so ranking is close to, but not the same as,
+ * {@code ts_rank}.</p>
+ *
+ * <p>The index holds word, trigram and SKU maps of active products. It is rebuilt on the
+ * next request after a product changes.</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = SEARCH_ENGINE_PROPERTY, havingValue = SEARCH_ENGINE_MEMORY)
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    private static final double WEIGHT_NAME = 1.0;
+    private static final double WEIGHT_BRAND = 0.4;
+    private static final double WEIGHT_CATEGORY = 0.2;
+    private static final double WEIGHT_DESCRIPTION = 0.1;
+    private static final double SIMILARITY_THRESHOLD = 0.6;
+    private static final char PREFIX_RANGE_END = Character.MAX_VALUE;
+
+    private final ProductRepository productRepository;
+    private final SearchTextAnalyzer analyzer;
+    private final LogMessageService logMsg;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    private record Entry(Long id, String name, Map<String, Double> wordWeights, Set<String> nameTrigrams) {}
+
+    private record Snapshot(NavigableMap<String, List<Entry>> words,
+                            Map<String, List<Entry>> trigrams,
+                            NavigableMap<String, List<Entry>> skus) {}
+
+    private record Scored(Entry entry, double score) {}
+
+    @Override
+    public Hits search(String query, long offset, int limit) {
+        Snapshot index = snapshot();
+        List<String> queryWords = analyzer.tokens(query);
+        Set<String> queryTrigrams = analyzer.trigrams(query);
+        String sku = query.toLowerCase(Locale.ROOT);
+
+        Map<Long, Entry> candidates = new HashMap<>();
+        Set<Long> skuMatches = new HashSet<>();
+        for (List<Entry> entries : prefixRange(index.skus(), sku).values()) {
+            entries.forEach(entry -> {
+                candidates.put(entry.id(), entry);
+                skuMatches.add(entry.id());
+            });
+        }
+        for (String trigram : queryTrigrams) {
+            index.trigrams().getOrDefault(trigram, List.of()).forEach(entry -> candidates.put(entry.id(), entry));
+        }
+        if (!queryWords.isEmpty()) {
+            index.words().getOrDefault(queryWords.getFirst(), List.of())
+                    .forEach(entry -> candidates.put(entry.id(), entry));
+        }
+
+        List<Scored> hits = new ArrayList<>();
+        for (Entry entry : candidates.values()) {
+            double textRank = textRank(entry, queryWords);
+            double similarity = analyzer.wordSimilarity(queryTrigrams, entry.nameTrigrams());
+            if (textRank > 0 || similarity >= SIMILARITY_THRESHOLD || skuMatches.contains(entry.id())) {
+                hits.add(new Scored(entry, textRank + similarity));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(scored -> scored.entry().id()));
+
+        List<Long> page = hits.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(scored -> scored.entry().id())
+                .toList();
+        return new Hits(page, hits.size());
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        List<String> words = analyzer.tokens(prefix);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Snapshot index = snapshot();
+        List<String> completeWords = words.subList(0, words.size() - 1);
+        String lastWord = words.getLast();
+
+        Map<Long, Scored> matches = new HashMap<>();
+        for (Map.Entry<String, List<Entry>> word : prefixRange(index.words(), lastWord).entrySet()) {
+            for (Entry entry : word.getValue()) {
+                double rank = completeWords.isEmpty() ? 0.0 : textRank(entry, completeWords);
+                if (completeWords.isEmpty() || rank > 0) {
+                    Scored scored = new Scored(entry, rank + entry.wordWeights().get(word.getKey()));
+                    matches.merge(entry.id(), scored, (first, second) -> first.score() >= second.score() ? first : second);
+                }
+            }
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        matches.values().stream()
+                .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparing(scored -> scored.entry().name().length())
+                        .thenComparing(scored -> scored.entry().name()))
+                .forEach(scored -> names.add(scored.entry().name()));
+        return names.stream().limit(limit).toList();
+    }
+
+    /**
+     * Marks the index stale. Inside a transaction it is marked again when the transaction
+     * ends, so a rebuild running concurrently cannot keep the data from before the change
+     * and a rebuild inside a rolled back transaction cannot keep the rolled back data.
+     */
+    @Override
+    public void invalidate() {
+        stale = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    stale = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Sums the best weight of every query word; 0 if any word is missing.
+     */
+    private double textRank(Entry entry, List<String> queryWords) {
+        if (queryWords.isEmpty()) {
+            return 0.0;
+        }
+        double rank = 0.0;
+        for (String word : queryWords) {
+            Double weight = entry.wordWeights().get(word);
+            if (weight == null) {
+                return 0.0;
+            }
+            rank += weight;
+        }
+        return rank;
+    }
+
+    private Snapshot snapshot() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    stale = false;
+                    snapshot = build();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot build() {
+        NavigableMap<String, List<Entry>> words = new TreeMap<>();
+        Map<String, List<Entry>> trigrams = new HashMap<>();
+        NavigableMap<String, List<Entry>> skus = new TreeMap<>();
+
+        List<Product> products = productRepository.findAll().stream()
+                .filter(Product::isActive)
+                .toList();
+        for (Product product : products) {
+            Map<String, Double> wordWeights = new HashMap<>();
+            addWords(wordWeights, product.getDescription(), WEIGHT_DESCRIPTION);
+            addWords(wordWeights, product.getCategory(), WEIGHT_CATEGORY);
+            addWords(wordWeights, product.getBrand(), WEIGHT_BRAND);
+            addWords(wordWeights, product.getSku(), WEIGHT_NAME);
+            addWords(wordWeights, product.getName(), WEIGHT_NAME);
+
+            Entry entry = new Entry(product.getId(), product.getName(), wordWeights,
+                    analyzer.trigrams(product.getName()));
+
+            wordWeights.keySet().forEach(word -> words.computeIfAbsent(word, key -> new ArrayList<>()).add(entry));
+            entry.nameTrigrams().forEach(trigram ->
+                    trigrams.computeIfAbsent(trigram, key -> new ArrayList<>()).add(entry));
+            if (product.getSku() != null) {
+                skus.computeIfAbsent(product.getSku().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        logMsg.debug(log, "product.search.index.rebuilt", products.size(), words.size());
+
+        return new Snapshot(words, trigrams, skus);
+    }
+
+    private void addWords(Map<String, Double> wordWeights, String text, double weight) {
+        analyzer.tokens(text).forEach(word -> wordWeights.merge(word, weight, Math::max));
+    }
+
+    private static NavigableMap<String, List<Entry>> prefixRange(NavigableMap<String, List<Entry>> map,
+                                                                String prefix) {
+        return map.subMap(prefix, true, prefix + PREFIX_RANGE_END, false);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.galtor85.household_store.service.product.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.repository.product.ProductSearchRepository;
+import ru.galtor85.household_store.util.search.SearchTextAnalyzer;
+
+import java.util.List;
+import java.util.Locale;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.SEARCH_ENGINE_POSTGRES;
+import static ru.galtor85.household_store.constants.TechnicalConstants.SEARCH_ENGINE_PROPERTY;
+
+/**
+ * Product search backed by PostgreSQL {@code tsvector} and {@code pg_trgm} GIN indexes.
+ *
+ * @author G@LTor85
+ * @see ProductSearchRepository
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = SEARCH_ENGINE_PROPERTY, havingValue = SEARCH_ENGINE_POSTGRES, matchIfMissing = true)
+public class PostgresProductSearchIndex implements ProductSearchIndex {
+
+    private static final String LIKE_ANY = "%";
+
+    private final ProductSearchRepository searchRepository;
+    private final SearchTextAnalyzer analyzer;
+
+    @Override
+    public Hits search(String query, long offset, int limit) {
+        String skuPrefix = analyzer.escapeLike(query.toLowerCase(Locale.ROOT)) + LIKE_ANY;
+        long total = searchRepository.countMatches(query, skuPrefix);
+        if (total == 0 || offset >= total) {
+            return new Hits(List.of(), total);
+        }
+        return new Hits(searchRepository.searchRankedIds(query, skuPrefix, limit, offset), total);
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        String prefixQuery = analyzer.prefixTsQuery(prefix);
+        if (prefixQuery == null) {
+            return List.of();
+        }
+        return searchRepository.suggestNames(prefixQuery, limit).stream()
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.galtor85.household_store.service.product.search;
+
+import java.util.List;
+
+/**
+ * Relevance-ranked search over active products.
+ *
+ * <p>Implementations: {@link PostgresProductSearchIndex} (full-text and trigram
+ * indexes of the database) and {@link InMemoryProductSearchIndex} (for databases
+ * without them, such as H2 in tests). Selected by {@code app.search.engine}.</p>
+ *
+ * @author G@LTor85
+ */
+public interface ProductSearchIndex {
+
+    /**
+     * Search result page.
+     *
+     * @param productIds IDs of matching products, most relevant first
+     * @param total      total number of matching products
+     */
+    record Hits(List<Long> productIds, long total) {}
+
+    /**
+     * Searches products by name, SKU, brand, category and description.
+     *
+     * @param query  query as typed by the user
+     * @param offset number of hits to skip
+     * @param limit  maximum number of hits
+     * @return matching product IDs and their total count
+     */
+    Hits search(String query, long offset, int limit);
+
+    /**
+     * Suggests product names for a prefix (autocomplete).
+     *
+     * @param prefix text typed so far; the last word is matched as a prefix
+     * @param limit  maximum number of suggestions
+     * @return product names, most relevant first
+     */
+    List<String> suggest(String prefix, int limit);
+
+    /**
+     * Signals that products changed. Indexes maintained by the database ignore it.
+     */
+    default void invalidate() {
+    }
+}
@@ -0,0 +1,40 @@
+package ru.galtor85.household_store.service.reference;
+
+import ru.galtor85.household_store.entity.payment.PaymentMethod;
+import ru.galtor85.household_store.entity.payment.PaymentMethodType;
+import ru.galtor85.household_store.entity.payment.PaymentProvider;
+
+import java.math.BigDecimal;
+
+/**
+ * Cached read-only view of a payment method.
+ *
+ * @param id               payment method ID
+ * @param name             payment method name
+ * @param methodType       method type
+ * @param provider         payment provider
+ * @param active           whether the method is active
+ * @param currency         currency code
+ * @param processingFee    processing fee percent
+ * @param maskedIdentifier masked card or account identifier
+ * @param invalid          whether the identifier does not match the method type
+ *                         (see {@link PaymentMethod#validate()})
+ * @author G@LTor85
+ * @see ReferenceDataCache
+ */
+public record PaymentMethodRef(Long id,
+                               String name,
+                               PaymentMethodType methodType,
+                               PaymentProvider provider,
+                               boolean active,
+                               String currency,
+                               BigDecimal processingFee,
+                               String maskedIdentifier,
+                               boolean invalid) {
+
+    static PaymentMethodRef of(PaymentMethod method) {
+        return new PaymentMethodRef(method.getId(), method.getName(), method.getMethodType(),
+                method.getProvider(), method.isActive(), method.getCurrency(),
+                method.getProcessingFee(), method.getMaskedIdentifier(), method.validate());
+    }
+}
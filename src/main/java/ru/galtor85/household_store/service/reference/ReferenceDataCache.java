@@ -0,0 +1,241 @@
+package ru.galtor85.household_store.service.reference;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.entity.payment.PaymentMethod;
+import ru.galtor85.household_store.entity.user.User;
+import ru.galtor85.household_store.entity.warehouse.StorageCell;
+import ru.galtor85.household_store.entity.warehouse.Warehouse;
+import ru.galtor85.household_store.repository.payment.PaymentMethodRepository;
+import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
+import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.entity.EntityBatchLoader;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_PAYMENT_METHODS;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_STORAGE_CELLS;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_USERS;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_WAREHOUSES;
+
+/**
+ * Read-through cache of small, rarely changing reference data:
+ * warehouses, storage cells, users and payment methods.
+ *
+ * <p>Entries are immutable views ({@link WarehouseRef}, {@link StorageCellRef},
+ * {@link UserRef}, {@link PaymentMethodRef}), never managed entities, so they can be
+ * shared between requests. Lookups by many IDs load all missing entries with one
+ * query per type. Hit and miss counters of each cache are exported through actuator
+ * metrics ({@code cache.gets}).</p>
+ *
+ * <p>An entry is evicted when its entity is updated or removed; eviction inside a
+ * transaction is repeated after commit, so a concurrent reader cannot re-cache the
+ * state from before the change. Code that modifies these entities keeps loading
+ * them from repositories.</p>
+ *
+ * @author G@LTor85
+ * @see ReferenceDataChangeListener
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final CacheManager cacheManager;
+    private final WarehouseRepository warehouseRepository;
+    private final StorageCellRepository storageCellRepository;
+    private final UserRepository userRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final EntityBatchLoader batchLoader;
+    private final LogMessageService logMsg;
+
+    /**
+     * Finds a warehouse.
+     *
+     * @param warehouseId warehouse ID
+     * @return warehouse, empty if it does not exist
+     */
+    public Optional<WarehouseRef> findWarehouse(Long warehouseId) {
+        return Optional.ofNullable(getWarehouses(Collections.singleton(warehouseId)).get(warehouseId));
+    }
+
+    /**
+     * Gets warehouses by IDs.
+     *
+     * @param warehouseIds warehouse IDs (nulls and duplicates are ignored)
+     * @return warehouses by ID (missing IDs are absent)
+     */
+    public Map<Long, WarehouseRef> getWarehouses(Collection<Long> warehouseIds) {
+        return getAll(CACHE_WAREHOUSES, WarehouseRef.class, warehouseIds,
+                warehouseRepository, Warehouse::getId, WarehouseRef::of);
+    }
+
+    /**
+     * Finds a storage cell.
+     *
+     * @param cellId cell ID
+     * @return cell, empty if it does not exist
+     */
+    public Optional<StorageCellRef> findCell(Long cellId) {
+        return Optional.ofNullable(getCells(Collections.singleton(cellId)).get(cellId));
+    }
+
+    /**
+     * Gets storage cells by IDs.
+     *
+     * @param cellIds cell IDs (nulls and duplicates are ignored)
+     * @return cells by ID (missing IDs are absent)
+     */
+    public Map<Long, StorageCellRef> getCells(Collection<Long> cellIds) {
+        return getAll(CACHE_STORAGE_CELLS, StorageCellRef.class, cellIds,
+                storageCellRepository, StorageCell::getId, StorageCellRef::of);
+    }
+
+    /**
+     * Finds a user.
+     *
+     * @param userId user ID
+     * @return user, empty if it does not exist
+     */
+    public Optional<UserRef> findUser(Long userId) {
+        return Optional.ofNullable(getUsers(Collections.singleton(userId)).get(userId));
+    }
+
+    /**
+     * Gets users by IDs.
+     *
+     * @param userIds user IDs (nulls and duplicates are ignored)
+     * @return users by ID (missing IDs are absent)
+     */
+    public Map<Long, UserRef> getUsers(Collection<Long> userIds) {
+        return getAll(CACHE_USERS, UserRef.class, userIds,
+                userRepository, User::getId, UserRef::of);
+    }
+
+    /**
+     * Finds a payment method.
+     *
+     * @param paymentMethodId payment method ID
+     * @return payment method, empty if it does not exist
+     */
+    public Optional<PaymentMethodRef> findPaymentMethod(Long paymentMethodId) {
+        return Optional.ofNullable(getPaymentMethods(Collections.singleton(paymentMethodId)).get(paymentMethodId));
+    }
+
+    /**
+     * Gets payment methods by IDs.
+     *
+     * @param paymentMethodIds payment method IDs (nulls and duplicates are ignored)
+     * @return payment methods by ID (missing IDs are absent)
+     */
+    public Map<Long, PaymentMethodRef> getPaymentMethods(Collection<Long> paymentMethodIds) {
+        return getAll(CACHE_PAYMENT_METHODS, PaymentMethodRef.class, paymentMethodIds,
+                paymentMethodRepository, PaymentMethod::getId, PaymentMethodRef::of);
+    }
+
+    /**
+     * Evicts the cached view of a changed entity.
+     * When called inside a transaction, eviction is repeated after commit.
+     *
+     * @param entity warehouse, storage cell, user or payment method; other entities are ignored
+     */
+    public void evict(Object entity) {
+        switch (entity) {
+            case Warehouse warehouse -> evict(CACHE_WAREHOUSES, warehouse.getId());
+            case StorageCell cell -> evict(CACHE_STORAGE_CELLS, cell.getId());
+            case User user -> evict(CACHE_USERS, user.getId());
+            case PaymentMethod method -> evict(CACHE_PAYMENT_METHODS, method.getId());
+            default -> {
+            }
+        }
+    }
+
+    private <E, R> Map<Long, R> getAll(String cacheName, Class<R> type, Collection<Long> ids,
+                                       JpaRepository<E, Long> repository,
+                                       Function<E, Long> idExtractor, Function<E, R> mapper) {
+        Cache cache = cache(cacheName);
+        Map<Long, R> found = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+
+        for (Long id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            R cached = cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        logMsg.trace(log, "reference.cache.lookup", cacheName, found.size() + missing.size(), missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<Long, R> loaded = new HashMap<>();
+            batchLoader.loadByIds(repository, missing, idExtractor)
+                    .forEach((id, entity) -> loaded.put(id, mapper.apply(entity)));
+            store(cache, loaded);
+            found.putAll(loaded);
+        }
+
+        return found;
+    }
+
+    /**
+     * Caches loaded views. Inside a read-write transaction they may include its
+     * uncommitted changes, so they are cached only after it commits.
+     */
+    private void store(Cache cache, Map<Long, ?> views) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            afterCommit(() -> views.forEach(cache::putIfAbsent));
+        } else {
+            views.forEach(cache::put);
+        }
+    }
+
+    private void evict(String cacheName, Long id) {
+        if (id == null) {
+            return;
+        }
+        Runnable eviction = () -> {
+            cache(cacheName).evict(id);
+            logMsg.trace(log, "reference.cache.evicted", cacheName, id);
+        };
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(eviction);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.galtor85.household_store.service.reference;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that evicts cached reference data when a warehouse,
+ * storage cell, user or payment method is updated or removed.
+ *
+ * @author G@LTor85
+ * @see ReferenceDataCache
+ */
+@Component
+public class ReferenceDataChangeListener {
+
+    private final ObjectProvider<ReferenceDataCache> referenceDataCache;
+
+    public ReferenceDataChangeListener(ObjectProvider<ReferenceDataCache> referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onReferenceDataChanged(Object entity) {
+        referenceDataCache.ifAvailable(cache -> cache.evict(entity));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.galtor85.household_store.service.reference;
+
+import ru.galtor85.household_store.entity.warehouse.StorageCell;
+
+/**
+ * Cached read-only view of a storage cell.
+ *
+ * @param id          cell ID
+ * @param warehouseId warehouse of the cell
+ * @param code        cell code
+ * @param active      whether the cell is active
+ * @author G@LTor85
+ * @see ReferenceDataCache
+ */
+public record StorageCellRef(Long id, Long warehouseId, String code, boolean active) {
+
+    static StorageCellRef of(StorageCell cell) {
+        // getId does not initialize the lazy warehouse proxy
+        return new StorageCellRef(cell.getId(),
+                cell.getWarehouse() != null ? cell.getWarehouse().getId() : null,
+                cell.getCode(),
+                Boolean.TRUE.equals(cell.getIsActive()));
+    }
+}
@@ -0,0 +1,20 @@
+package ru.galtor85.household_store.service.reference;
+
+import ru.galtor85.household_store.entity.user.User;
+
+/**
+ * Cached read-only view of a user, as shown next to documents they created or changed.
+ *
+ * @param id        user ID
+ * @param email     email
+ * @param firstName first name
+ * @param lastName  last name
+ * @author G@LTor85
+ * @see ReferenceDataCache
+ */
+public record UserRef(Long id, String email, String firstName, String lastName) {
+
+    static UserRef of(User user) {
+        return new UserRef(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+}
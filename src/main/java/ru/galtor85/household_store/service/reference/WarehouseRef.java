@@ -0,0 +1,23 @@
+package ru.galtor85.household_store.service.reference;
+
+import ru.galtor85.household_store.entity.warehouse.Warehouse;
+
+/**
+ * Cached read-only view of a warehouse.
+ *
+ * @param id             warehouse ID
+ * @param code           warehouse code
+ * @param name           warehouse name
+ * @param active         whether the warehouse is active
+ * @param visibleForSale whether stock of the warehouse is shown to customers
+ * @author G@LTor85
+ * @see ReferenceDataCache
+ */
+public record WarehouseRef(Long id, String code, String name, boolean active, boolean visibleForSale) {
+
+    static WarehouseRef of(Warehouse warehouse) {
+        return new WarehouseRef(warehouse.getId(), warehouse.getCode(), warehouse.getName(),
+                Boolean.TRUE.equals(warehouse.getIsActive()),
+                Boolean.TRUE.equals(warehouse.getIsVisibleForSale()));
+    }
+}
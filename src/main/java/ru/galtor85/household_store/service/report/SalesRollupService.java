@@ -0,0 +1,264 @@
+package ru.galtor85.household_store.service.report;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.advice.exception.validation.InvalidDateRangeException;
+import ru.galtor85.household_store.config.FinancialConfig;
+import ru.galtor85.household_store.dto.response.report.DailySalesReportDto;
+import ru.galtor85.household_store.entity.order.OrderStatus;
+import ru.galtor85.household_store.entity.order.SalesOrder;
+import ru.galtor85.household_store.entity.order.SalesOrderItem;
+import ru.galtor85.household_store.repository.report.SalesRollupRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Service maintaining and reading sales rollups per day, hour and product.
+ *
+ * <p>Orders are bucketed by creation time. A new order is added to the rollups of
+ * its day and hour and to the product rollups of its items; a status change moves
+ * the order between status counters of its day; a change of amounts (item price)
+ * rebuilds its day. Reports over any date range read only the rollup rows of the
+ * range, never orders.</p>
+ *
+ * <p>{@link #backfill(LocalDate, LocalDate)} recalculates a date range from orders
+ * with grouped statements, e.g. after a bulk import or a manual data fix.</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private final SalesRollupRepository rollupRepository;
+    private final FinancialConfig financialConfig;
+    private final LogMessageService logMsg;
+
+    /**
+     * Status counter changes of an order.
+     */
+    private record StatusDelta(long completed, long cancelled, long pending) {
+
+        static StatusDelta of(OrderStatus status) {
+            return new StatusDelta(
+                    status == OrderStatus.COMPLETED ? 1 : 0,
+                    status == OrderStatus.CANCELLED ? 1 : 0,
+                    status == OrderStatus.PENDING ? 1 : 0);
+        }
+
+        StatusDelta minus(StatusDelta other) {
+            return new StatusDelta(completed - other.completed, cancelled - other.cancelled, pending - other.pending);
+        }
+
+        boolean isEmpty() {
+            return completed == 0 && cancelled == 0 && pending == 0;
+        }
+    }
+
+    /**
+     * Quantity and amount of one product in an order.
+     */
+    private record ProductLine(String productName, long quantity, BigDecimal amount) {
+
+        static ProductLine of(SalesOrderItem item) {
+            return new ProductLine(item.getProductName(), item.getQuantity(),
+                    item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+
+        ProductLine plus(ProductLine other) {
+            return new ProductLine(other.productName, quantity + other.quantity, amount.add(other.amount));
+        }
+    }
+
+    // =========================================================================
+    // INCREMENTAL UPDATES
+    // =========================================================================
+
+    /**
+     * Adds a new order with its items to the rollups.
+     *
+     * @param order saved order with items
+     */
+    @Transactional
+    public void recordOrderCreated(SalesOrder order) {
+        LocalDateTime createdAt = createdAt(order);
+        LocalDate date = createdAt.toLocalDate();
+        int hour = createdAt.getHour();
+        BigDecimal amount = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        StatusDelta status = StatusDelta.of(order.getStatus());
+
+        long newCustomer = rollupRepository.insertCustomerIfAbsent(date, order.getUserId());
+        upsert(() -> rollupRepository.addOrder(date, amount,
+                        status.completed(), status.cancelled(), status.pending(), newCustomer),
+                () -> rollupRepository.insertDailyIfAbsent(date));
+        upsert(() -> rollupRepository.addHourlyOrder(date, hour, amount),
+                () -> rollupRepository.insertHourlyIfAbsent(date, hour));
+
+        Map<Long, ProductLine> lines = new LinkedHashMap<>();
+        for (SalesOrderItem item : order.getItems()) {
+            lines.merge(item.getProductId(), ProductLine.of(item), ProductLine::plus);
+        }
+        lines.forEach((productId, line) -> upsert(
+                () -> rollupRepository.addProductSale(date, productId, line.productName(), line.quantity(), line.amount()),
+                () -> rollupRepository.insertProductIfAbsent(date, productId, line.productName())));
+
+        logMsg.trace(log, "sales.rollup.order.recorded", order.getId(), date, hour, lines.size());
+    }
+
+    /**
+     * Moves an order between status counters of its day.
+     *
+     * @param order     order with the new status
+     * @param oldStatus status before the change
+     */
+    @Transactional
+    public void recordStatusChange(SalesOrder order, OrderStatus oldStatus) {
+        StatusDelta delta = StatusDelta.of(order.getStatus()).minus(StatusDelta.of(oldStatus));
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        LocalDate date = createdAt(order).toLocalDate();
+        rollupRepository.changeStatus(date, delta.completed(), delta.cancelled(), delta.pending());
+
+        logMsg.trace(log, "sales.rollup.status.recorded", order.getId(), date, oldStatus, order.getStatus());
+    }
+
+    /**
+     * Applies changed amounts of an existing order by rebuilding its day.
+     * Amount changes are rare, and minimum and maximum order amounts of the
+     * day cannot be corrected incrementally.
+     *
+     * @param order order with changed amounts
+     */
+    @Transactional
+    public void recordAmountChange(SalesOrder order) {
+        LocalDate date = createdAt(order).toLocalDate();
+        backfill(date, date);
+    }
+
+    // =========================================================================
+    // REPORTS
+    // =========================================================================
+
+    /**
+     * Builds a sales report of a date range from rollups.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @return sales report
+     * @throws InvalidDateRangeException if start date is after end date
+     */
+    @Transactional(readOnly = true)
+    public DailySalesReportDto getReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        Object[] totals = rollupRepository.sumDaily(startDate, endDate).getFirst();
+
+        DailySalesReportDto report = DailySalesReportDto.builder()
+                .date(startDate)
+                .endDate(endDate)
+                .totalOrders(((Number) totals[0]).longValue())
+                .completedOrders(((Number) totals[1]).longValue())
+                .cancelledOrders(((Number) totals[2]).longValue())
+                .pendingOrders(((Number) totals[3]).longValue())
+                .totalSalesAmount((BigDecimal) totals[4])
+                .minOrderAmount((BigDecimal) totals[5])
+                .maxOrderAmount((BigDecimal) totals[6])
+                .uniqueCustomers(rollupRepository.countCustomers(startDate, endDate))
+                .build();
+
+        report.setAverageOrderValue(report.getTotalOrders() > 0
+                ? report.getTotalSalesAmount().divide(BigDecimal.valueOf(report.getTotalOrders()),
+                financialConfig.getDefaultDecimalPlaces(), RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+
+        report.setTopProducts(rollupRepository.sumProducts(startDate, endDate).stream()
+                .map(row -> DailySalesReportDto.TopProductDto.builder()
+                        .productId(((Number) row[0]).longValue())
+                        .productName((String) row[1])
+                        .quantitySold(((Number) row[2]).longValue())
+                        .totalAmount((BigDecimal) row[3])
+                        .build())
+                .toList());
+
+        report.setSalesByHour(rollupRepository.sumHourly(startDate, endDate).stream()
+                .map(row -> DailySalesReportDto.HourlySalesDto.builder()
+                        .hour(((Number) row[0]).intValue())
+                        .ordersCount(((Number) row[1]).longValue())
+                        .amount((BigDecimal) row[2])
+                        .build())
+                .toList());
+
+        return report;
+    }
+
+    // =========================================================================
+    // BACKFILL
+    // =========================================================================
+
+    /**
+     * Recalculates all rollups of a date range from orders.
+     * Replaces the rows of the range; days without orders get no rows.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @return number of days with orders
+     * @throws InvalidDateRangeException if start date is after end date
+     */
+    @Transactional
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        log.info(logMsg.get("sales.rollup.backfill.start", startDate, endDate));
+
+        rollupRepository.deleteDaily(startDate, endDate);
+        rollupRepository.deleteHourly(startDate, endDate);
+        rollupRepository.deleteProducts(startDate, endDate);
+        rollupRepository.deleteCustomers(startDate, endDate);
+
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        int days = rollupRepository.backfillDaily(from, to);
+        rollupRepository.backfillHourly(from, to);
+        rollupRepository.backfillProducts(from, to);
+        rollupRepository.backfillCustomers(from, to);
+
+        log.info(logMsg.get("sales.rollup.backfill.complete", startDate, endDate, days));
+        return days;
+    }
+
+    // =========================================================================
+    // HELPER METHODS
+    // =========================================================================
+
+    /**
+     * Runs an increment; if its row does not exist yet, creates it and runs the increment again.
+     */
+    private void upsert(IntSupplier update, Runnable insert) {
+        if (update.getAsInt() == 0) {
+            insert.run();
+            update.getAsInt();
+        }
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate.atStartOfDay(), endDate.atStartOfDay());
+        }
+    }
+
+    private static LocalDateTime createdAt(SalesOrder order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+    }
+}
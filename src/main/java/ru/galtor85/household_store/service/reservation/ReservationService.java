@@ -8,21 +8,27 @@ import ru.galtor85.household_store.entity.order.SalesOrder;
 import ru.galtor85.household_store.entity.order.SalesOrder.ReservationStatus;
 import ru.galtor85.household_store.entity.order.SalesOrderItem;
 import ru.galtor85.household_store.entity.product.Product;
-import ru.galtor85.household_store.entity.product.ProductStock;
 import ru.galtor85.household_store.repository.order.SalesOrderRepository;
 import ru.galtor85.household_store.repository.product.ProductRepository;
 import ru.galtor85.household_store.repository.product.ProductStockRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.stock.ProductAvailabilityCache;
 import ru.galtor85.household_store.service.warehouse.WarehouseSelectionService;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static ru.galtor85.household_store.constants.TechnicalConstants.DEFAULT_RESERVATION_DAYS;
 
 /**
  * Service for managing product reservation for cash payments.
  *
+ * <p>Stock is reserved with conditional UPDATE statements
+ * ({@code quantity - reserved >= requested}), so concurrent checkouts cannot
+ * oversell and do not need a lock held between the check and the write.</p>
+ *
  * @author G@LTor85
  
  */
@@ -37,6 +43,7 @@ public class ReservationService {
     private final LogMessageService logMsg;
     private final ProductStockRepository productStockRepository;
     private final WarehouseSelectionService warehouseSelectionService;
+    private final ProductAvailabilityCache availabilityCache;
 
     /**
      * Reserves products for an order.
@@ -50,56 +57,32 @@ public class ReservationService {
 
         // Check if already reserved
         if (order.getReservationStatus() == ReservationStatus.ACTIVE) {
-            log.debug(logMsg.get("reservation.already.active", order.getId()));
+            logMsg.debug(log, "reservation.already.active", order.getId());
             return order;
         }
 
         // Get default warehouse for reservation (or determine from order)
         Long warehouseId = warehouseSelectionService.selectWarehouseForReservation(order);
 
-        // Reserve products
-        for (SalesOrderItem item : order.getItems()) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            messageService.get("product.not.found", item.getProductId())));
-
-            // Get available stock at warehouse
-            ProductStock stock = productStockRepository
-                    .findByProductIdAndWarehouseId(product.getId(), warehouseId)
-                    .orElse(null);
-
-            int availableStock = stock != null ? stock.getAvailableQuantity() : 0;
-
-            // Check stock availability
-            if (availableStock < item.getQuantity()) {
-                throw new IllegalStateException(
-                        messageService.get("reservation.insufficient.stock",
-                                product.getName(), availableStock, item.getQuantity()));
-            }
-
-            // Reserve stock (increase reservedQuantity, decrease availableQuantity)
-            if (stock == null) {
-                // Create new stock record with reserved quantity
-                stock = ProductStock.builder()
-                        .productId(product.getId())
-                        .warehouseId(warehouseId)
-                        .quantity(0)
-                        .reservedQuantity(item.getQuantity())
-                        .availableQuantity(-item.getQuantity()) // Negative until stock arrives
-                        .createdAt(LocalDateTime.now())
-                        .build();
-            } else {
-                stock.setReservedQuantity(stock.getReservedQuantity() + item.getQuantity());
-                stock.setAvailableQuantity(stock.getQuantity() - stock.getReservedQuantity());
-                stock.setUpdatedAt(LocalDateTime.now());
+        // Reserve products: one conditional UPDATE per distinct product, in product ID order
+        // so that concurrent orders lock shared rows in the same sequence (no deadlocks).
+        // Any shortage throws and rolls back the reservations already made for this order.
+        Map<Long, Integer> quantities = aggregateQuantities(order);
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            int quantity = line.getValue();
+
+            int updated = productStockRepository.reserveStock(productId, warehouseId, quantity);
+            if (updated == 0) {
+                throw insufficientStock(productId, warehouseId, quantity);
             }
-            productStockRepository.save(stock);
 
-            log.debug(logMsg.get("reservation.product.reserved",
-                    product.getSku(), warehouseId, item.getQuantity(),
-                    stock.getReservedQuantity(), stock.getAvailableQuantity()));
+            logMsg.debug(log, "reservation.product.reserved", productId, warehouseId, quantity);
         }
 
+        // Bulk updates bypass entity listeners
+        availabilityCache.evictAll(quantities.keySet());
+
         // Set reservation info
         order.setReservationStatus(ReservationStatus.ACTIVE);
         order.setReservedUntil(LocalDateTime.now().plusDays(DEFAULT_RESERVATION_DAYS));
@@ -120,7 +103,7 @@ public class ReservationService {
     @Transactional
     public void releaseReservation(SalesOrder order) {
         if (order.getReservationStatus() != ReservationStatus.ACTIVE) {
-            log.debug(logMsg.get("reservation.not.active", order.getId()));
+            logMsg.debug(log, "reservation.not.active", order.getId());
             return;
         }
 
@@ -129,32 +112,25 @@ public class ReservationService {
         Long warehouseId = warehouseSelectionService.selectWarehouseForReservation(order);
 
         // Release reserved products (decrease reservedQuantity, increase availableQuantity)
-        for (SalesOrderItem item : order.getItems()) {
-            ProductStock stock = productStockRepository
-                    .findByProductIdAndWarehouseId(item.getProductId(), warehouseId)
-                    .orElse(null);
-
-            if (stock != null) {
-                int oldReserved = stock.getReservedQuantity();
-                int newReserved = oldReserved - item.getQuantity();
-
-                stock.setReservedQuantity(newReserved);
-                stock.setAvailableQuantity(stock.getQuantity() - newReserved);
-                stock.setUpdatedAt(LocalDateTime.now());
-                productStockRepository.save(stock);
-
-                log.debug(logMsg.get("reservation.product.released",
-                        item.getProductId(), warehouseId,
-                        oldReserved, newReserved, stock.getAvailableQuantity()));
+        Map<Long, Integer> quantities = aggregateQuantities(order);
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            int updated = productStockRepository.releaseReservedStock(line.getKey(), warehouseId, line.getValue());
+
+            if (updated > 0) {
+                logMsg.debug(log, "reservation.product.released",
+                        line.getKey(), warehouseId, line.getValue());
             }
         }
 
+        availabilityCache.evictAll(quantities.keySet());
+
         // Update reservation status
         order.setReservationStatus(ReservationStatus.EXPIRED);
         salesOrderRepository.save(order);
 
         log.info(logMsg.get("reservation.release.complete", order.getId()));
     }
+
     /**
      * Completes reservation (when order is paid).
      *
@@ -163,7 +139,7 @@ public class ReservationService {
     @Transactional
     public void completeReservation(SalesOrder order) {
         if (order.getReservationStatus() != ReservationStatus.ACTIVE) {
-            log.debug(logMsg.get("reservation.not.active", order.getId()));
+            logMsg.debug(log, "reservation.not.active", order.getId());
             return;
         }
 
@@ -174,4 +150,41 @@ public class ReservationService {
 
         log.info(logMsg.get("reservation.complete.status.done", order.getId()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Sums item quantities per product, ordered by product ID.
+     *
+     * @param order the sales order
+     * @return quantity per product ID
+     */
+    private Map<Long, Integer> aggregateQuantities(SalesOrder order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (SalesOrderItem item : order.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Builds insufficient stock error for a product that could not be reserved.
+     * Product and stock are read only on this failure path.
+     *
+     * @param productId product ID
+     * @param warehouseId warehouse ID
+     * @param requested requested quantity
+     * @return exception to throw
+     */
+    private IllegalStateException insufficientStock(Long productId, Long warehouseId, int requested) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        messageService.get("product.not.found", productId)));
+
+        int availableStock = productStockRepository.findByProductIdAndWarehouseId(productId, warehouseId)
+                .map(stock -> stock.getQuantity() - (stock.getReservedQuantity() != null ? stock.getReservedQuantity() : 0))
+                .orElse(0);
+
+        return new IllegalStateException(
+                messageService.get("reservation.insufficient.stock",
+                        product.getName(), availableStock, requested));
+    }
+}
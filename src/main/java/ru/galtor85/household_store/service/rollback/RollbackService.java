@@ -80,7 +80,7 @@ public class RollbackService {
         Page<RollbackApproval> approvals = approvalRepository
                 .findByApprovalStatus(ApprovalStatus.PENDING, pageable);
 
-        log.debug(logMsg.get("rollback.pending.fetched", approvals.getTotalElements()));
+        logMsg.debug(log, "rollback.pending.fetched", approvals.getTotalElements());
 
         return approvals.map(approvalMapper::toDto);
     }
@@ -0,0 +1,126 @@
+package ru.galtor85.household_store.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.repository.product.ProductStockRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_PRODUCT_AVAILABILITY;
+
+/**
+ * Read-through cache of customer-visible product availability.
+ *
+ * <p>Availability is the sum of unreserved stock in warehouses visible for sale.
+ * Missing products of a request are loaded together with one grouped query, so
+ * a catalogue page costs at most one availability query.</p>
+ *
+ * <p>Entries are evicted when stock of a product changes. Eviction inside a
+ * transaction is repeated after commit, so a concurrent reader cannot re-cache
+ * the value from before the change.</p>
+ *
+ * @author G@LTor85
+ * @see ProductStockChangeListener
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAvailabilityCache {
+
+    private static final int IDX_PRODUCT_ID = 0;
+    private static final int IDX_AVAILABLE = 1;
+
+    private final CacheManager cacheManager;
+    private final ProductStockRepository productStockRepository;
+    private final LogMessageService logMsg;
+
+    /**
+     * Gets customer-visible availability for products.
+     *
+     * @param productIds product IDs
+     * @return available quantity by product ID (0 for products without stock)
+     */
+    public Map<Long, Integer> getAvailableForCustomer(Collection<Long> productIds) {
+        Cache cache = cache();
+        Map<Long, Integer> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long productId : productIds) {
+            Integer cached = cache.get(productId, Integer.class);
+            if (cached != null) {
+                result.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, Integer> loaded = new HashMap<>();
+            for (Object[] row : productStockRepository.getAvailableStockForCustomerByProductIds(missing)) {
+                loaded.put((Long) row[IDX_PRODUCT_ID], ((Number) row[IDX_AVAILABLE]).intValue());
+            }
+            for (Long productId : missing) {
+                Integer available = loaded.getOrDefault(productId, 0);
+                cache.put(productId, available);
+                result.put(productId, available);
+            }
+        }
+
+        logMsg.debug(log, "product.availability.cache.lookup", productIds.size(), missing.size());
+
+        return result;
+    }
+
+    /**
+     * Evicts availability of a product.
+     *
+     * @param productId product ID
+     */
+    public void evict(Long productId) {
+        evictAll(List.of(productId));
+    }
+
+    /**
+     * Evicts availability of several products.
+     * When called inside a transaction, eviction is repeated after commit.
+     *
+     * @param productIds product IDs
+     */
+    public void evictAll(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(productIds);
+        doEvict(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(ids);
+                }
+            });
+        }
+    }
+
+    private void doEvict(List<Long> productIds) {
+        Cache cache = cache();
+        productIds.forEach(cache::evict);
+        logMsg.trace(log, "product.availability.cache.evicted", productIds.size());
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_PRODUCT_AVAILABILITY));
+    }
+}
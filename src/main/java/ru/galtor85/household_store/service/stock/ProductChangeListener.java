@@ -0,0 +1,45 @@
+package ru.galtor85.household_store.service.stock;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.service.product.search.ProductSearchIndex;
+
+/**
+ * JPA entity listener that evicts warehouse summaries and invalidates the product
+ * search index when a product changes.
+ *
+ * <p>Summaries contain stock value and names of top products, both taken from
+ * the product, so any warehouse holding it may be affected.</p>
+ *
+ * @author G@LTor85
+ * @see WarehouseSummaryCache
+ * @see ProductSearchIndex
+ */
+@Component
+public class ProductChangeListener {
+
+    private final ObjectProvider<WarehouseSummaryCache> summaryCache;
+    private final ObjectProvider<ProductSearchIndex> searchIndex;
+
+    public ProductChangeListener(ObjectProvider<WarehouseSummaryCache> summaryCache,
+                                 ObjectProvider<ProductSearchIndex> searchIndex) {
+        this.summaryCache = summaryCache;
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    public void onProductCreated(Product product) {
+        searchIndex.ifAvailable(ProductSearchIndex::invalidate);
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onProductChanged(Product product) {
+        summaryCache.ifAvailable(WarehouseSummaryCache::evictAll);
+        searchIndex.ifAvailable(ProductSearchIndex::invalidate);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.galtor85.household_store.service.stock;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.entity.product.ProductStock;
+
+/**
+ * JPA entity listener that evicts cached availability and the warehouse summary
+ * when a stock record changes.
+ *
+ * <p>Covers stock changed through entities (receiving, write-off, manual edits).
+ * Bulk JPQL updates bypass entity listeners, so their callers evict explicitly.</p>
+ *
+ * @author G@LTor85
+ * @see ProductAvailabilityCache
+ * @see WarehouseSummaryCache
+ */
+@Component
+public class ProductStockChangeListener {
+
+    private final ObjectProvider<ProductAvailabilityCache> availabilityCache;
+    private final ObjectProvider<WarehouseSummaryCache> summaryCache;
+
+    public ProductStockChangeListener(ObjectProvider<ProductAvailabilityCache> availabilityCache,
+                                      ObjectProvider<WarehouseSummaryCache> summaryCache) {
+        this.availabilityCache = availabilityCache;
+        this.summaryCache = summaryCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onStockChanged(ProductStock stock) {
+        availabilityCache.ifAvailable(cache -> cache.evict(stock.getProductId()));
+        summaryCache.ifAvailable(cache -> cache.evict(stock.getWarehouseId()));
+    }
+}
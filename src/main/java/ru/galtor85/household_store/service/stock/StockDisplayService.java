@@ -2,7 +2,6 @@ package ru.galtor85.household_store.service.stock;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,14 +26,14 @@ import ru.galtor85.household_store.validator.stock.StockDisplayValidator;
 import ru.galtor85.household_store.validator.warehouse.WarehouseValidator;
 
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service for displaying product stock information to customers and managers.
  *
  * <p>This service provides methods to get product availability with caching
- * and localized status messages. Supports both customer view (visible warehouses only)
+ * (see {@link ProductAvailabilityCache}) and localized status messages. Supports both customer view (visible warehouses only)
  * and manager view (all warehouses with optional visibility filter).</p>
  *
  * @author G@LTor85
@@ -52,7 +51,7 @@ public class StockDisplayService {
     private final WarehouseRepository warehouseRepository;
     private final WarehouseMapper warehouseMapper;
     private final ProductStockRepository productStockRepository;
-    private final CacheManager cacheManager;
+    private final ProductAvailabilityCache availabilityCache;
     private final WarehouseValidator warehouseValidator;
     private final ProductRepository productRepository;
 
@@ -73,7 +72,7 @@ public class StockDisplayService {
      */
     public Page<ProductAvailabilityDto> getAllProductsWithAvailability(String category, int page, int size,
                                                                        String sortBy, String sortDir) {
-        log.debug(logMsg.get("stock.display.service.products.start", page, size, category));
+        logMsg.debug(log, "stock.display.service.products.start", page, size, category);
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -87,12 +86,13 @@ public class StockDisplayService {
             products = productRepository.findByActiveTrue(pageable);
         }
 
-        Page<ProductAvailabilityDto> result = products.map(product -> {
-            Integer availableStock = processor.calculateAvailableStockForCustomer(product);
-            return converter.toDto(product, availableStock);
-        });
+        Map<Long, Integer> availability = availabilityCache.getAvailableForCustomer(
+                products.map(Product::getId).getContent());
 
-        log.debug(logMsg.get("stock.display.service.products.complete", result.getTotalElements()));
+        Page<ProductAvailabilityDto> result = products.map(product ->
+                converter.toDto(product, availability.getOrDefault(product.getId(), 0)));
+
+        logMsg.debug(log, "stock.display.service.products.complete", result.getTotalElements());
 
         return result;
     }
@@ -109,7 +109,7 @@ public class StockDisplayService {
      * @return product availability DTO with warehouse details
      */
     public ProductAvailabilityWithWarehousesDto getProductAvailabilityForManager(Long productId, boolean includeInvisible) {
-        log.debug(logMsg.get("stock.display.service.manager.start", productId, includeInvisible));
+        logMsg.debug(log, "stock.display.service.manager.start", productId, includeInvisible);
 
         Product product = validator.validateProductExists(productId);
         Integer availableStock = processor.calculateAvailableStock(product);
@@ -123,7 +123,7 @@ public class StockDisplayService {
                 .warehouses(warehouseDetails)
                 .build();
 
-        log.debug(logMsg.get("stock.display.service.manager.complete", productId, warehouseDetails.size()));
+        logMsg.debug(log, "stock.display.service.manager.complete", productId, warehouseDetails.size());
 
         return result;
     }
@@ -135,11 +135,11 @@ public class StockDisplayService {
      * @return list of warehouse DTOs
      */
     public List<WarehouseDto> getWarehousesForSale(boolean includeInvisible) {
-        log.debug(logMsg.get("stock.display.service.warehouses.start", includeInvisible));
+        logMsg.debug(log, "stock.display.service.warehouses.start", includeInvisible);
 
         List<Warehouse> warehouses = warehouseRepository.findWarehousesForSale(includeInvisible);
 
-        log.debug(logMsg.get("stock.display.service.warehouses.complete", warehouses.size()));
+        logMsg.debug(log, "stock.display.service.warehouses.complete", warehouses.size());
 
         return warehouses.stream()
                 .map(warehouseMapper::toDto)
@@ -181,9 +181,7 @@ public class StockDisplayService {
      */
     private void clearCacheForWarehouse(Long warehouseId) {
         List<ProductStock> stocks = productStockRepository.findByWarehouseId(warehouseId);
-        for (ProductStock stock : stocks) {
-            Objects.requireNonNull(cacheManager.getCache("productAvailability")).evict(stock.getProductId());
-        }
-        log.debug(logMsg.get("stock.display.service.cache.cleared", warehouseId, stocks.size()));
+        availabilityCache.evictAll(stocks.stream().map(ProductStock::getProductId).toList());
+        logMsg.debug(log, "stock.display.service.cache.cleared", warehouseId, stocks.size());
     }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package ru.galtor85.household_store.service.stock;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.galtor85.household_store.advice.exception.product.ProductNotFoundException;
@@ -17,6 +24,7 @@ import ru.galtor85.household_store.dto.request.stock.StockMovementFilterRequest;
 import ru.galtor85.household_store.dto.request.stock.StockTransferRequest;
 import ru.galtor85.household_store.dto.response.product.ProductStockDistributionDto;
 import ru.galtor85.household_store.dto.response.product.ProductStockDto;
+import ru.galtor85.household_store.dto.response.stock.StockMovementCursorPageDto;
 import ru.galtor85.household_store.dto.response.stock.StockMovementDto;
 import ru.galtor85.household_store.dto.response.stock.StockMovementSummaryDto;
 import ru.galtor85.household_store.dto.response.stock.StockTransferResponseDto;
@@ -29,20 +37,29 @@ import ru.galtor85.household_store.processor.product.ProductStockProcessor;
 import ru.galtor85.household_store.processor.stock.StockMovementProcessor;
 import ru.galtor85.household_store.processor.stock.StockTransferProcessor;
 import ru.galtor85.household_store.processor.warehouse.WarehouseStockProcessor;
-import ru.galtor85.household_store.processor.warehouse.WarehouseSummaryProcessor;
 import ru.galtor85.household_store.repository.product.ProductRepository;
 import ru.galtor85.household_store.repository.product.ProductStockRepository;
 import ru.galtor85.household_store.repository.stock.StockMovementRepository;
+import ru.galtor85.household_store.repository.stock.StockMovementSpecifications;
 import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.util.export.ExportFormat;
+import ru.galtor85.household_store.util.export.StreamingExportWriter;
 import ru.galtor85.household_store.util.stock.StockDtoEnricher;
 import ru.galtor85.household_store.util.stock.StockMovementEnricher;
 import ru.galtor85.household_store.validator.stock.StockTransferValidator;
 import ru.galtor85.household_store.validator.stock.StockValidator;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_BATCH_SIZE;
+import static ru.galtor85.household_store.constants.TechnicalConstants.EXPORT_FETCH_SIZE;
 
 /**
  * Service for managing product stock and inventory operations
@@ -62,7 +79,8 @@ public class StockService {
     private final StockValidator validator;
     private final WarehouseStockProcessor warehouseStockProcessor;
     private final ProductStockProcessor productStockProcessor;
-    private final WarehouseSummaryProcessor summaryProcessor;
+    private final WarehouseSummaryCache summaryCache;
+    private final ReferenceDataCache referenceData;
     private final StockMovementProcessor movementProcessor;
     private final StockDtoEnricher dtoEnricher;
     private final BusinessConfig businessConfig;
@@ -71,6 +89,8 @@ public class StockService {
     private final LogMessageService logMsg;
     private final StockMovementRepository stockMovementRepository;
     private final StockMovementEnricher movementEnricher;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
 
     // =========================================================================
@@ -156,11 +176,12 @@ public class StockService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId));
 
-        Warehouse warehouse = warehouseRepository.findById(warehouseId)
-                .orElseThrow(() -> new WarehouseNotFoundException(warehouseId));
+        if (referenceData.findWarehouse(warehouseId).isEmpty()) {
+            throw new WarehouseNotFoundException(warehouseId);
+        }
 
         return dtoEnricher.enrichStockDto(
-                productStockProcessor.getProductStockAtWarehouse(product, warehouse)
+                productStockProcessor.getProductStockAtWarehouse(product, warehouseId)
         );
     }
 
@@ -175,10 +196,7 @@ public class StockService {
      */
     @Transactional(readOnly = true)
     public List<WarehouseStockSummaryDto> getAllWarehousesSummary() {
-        List<Warehouse> warehouses = warehouseRepository.findAll();
-        return warehouses.stream()
-                .map(warehouse -> getWarehouseSummary(warehouse.getId()))
-                .collect(Collectors.toList());
+        return summaryCache.getSummaries(warehouseRepository.findAll());
     }
 
     /**
@@ -189,9 +207,19 @@ public class StockService {
      */
     @Transactional(readOnly = true)
     public WarehouseStockSummaryDto getWarehouseSummary(Long warehouseId) {
-        validator.validateWarehouseExists(warehouseId);
-        var summary = warehouseStockProcessor.getWarehouseSummary(warehouseId);
-        return summaryProcessor.buildSummary(summary.warehouse(), summary.stocks());
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new WarehouseNotFoundException(warehouseId));
+        return summaryCache.getSummary(warehouse);
+    }
+
+    /**
+     * Rebuilds stock summaries of all warehouses, discarding cached ones
+     *
+     * @return rebuilt warehouse stock summary DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseStockSummaryDto> rebuildWarehouseSummaries() {
+        return summaryCache.rebuild(warehouseRepository.findAll());
     }
 
     // =========================================================================
@@ -209,10 +237,9 @@ public class StockService {
         validator.validateWarehouseExists(warehouseId);
         int threshold = businessConfig.getStock().getLowStockThreshold();
 
-        return warehouseStockProcessor.getLowStockItems(warehouseId).stream()
+        return dtoEnricher.enrichStockDtos(warehouseStockProcessor.getLowStockItems(warehouseId).stream()
                 .filter(item -> item.getQuantity() < threshold)
-                .map(dtoEnricher::enrichStockDto)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     /**
@@ -228,8 +255,8 @@ public class StockService {
     public Page<ProductStockDto> searchStockOnWarehouse(Long warehouseId, String searchTerm,
                                                         int page, int size) {
         validator.validateWarehouseExists(warehouseId);
-        return warehouseStockProcessor.searchStockOnWarehouse(warehouseId, searchTerm, page, size)
-                .map(dtoEnricher::enrichStockDto);
+        return dtoEnricher.enrichStockPage(
+                warehouseStockProcessor.searchStockOnWarehouse(warehouseId, searchTerm, page, size));
     }
 
     /**
@@ -350,24 +377,98 @@ public class StockService {
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        Page<StockMovement> movements = stockMovementRepository.filter(
-                filter.getProductId(),
-                filter.getWarehouseId(),
-                filter.getCellId(),
-                filter.getMovementType(),
-                filter.getReferenceType(),
-                filter.getReferenceId(),
-                filter.getBatchNumber(),
-                filter.getStartDate(),
-                filter.getEndDate(),
-                pageable
-        );
+        Pageable pageable = PageRequest.of(page, size, sort.and(Sort.by(StockMovement.Fields.id)));
+
+        Page<StockMovement> movements = stockMovementRepository.findAll(
+                StockMovementSpecifications.matching(filter), pageable);
+
+        logMsg.debug(log, "stock.service.filter.movements.complete", movements.getTotalElements());
+
+        return movementEnricher.enrichMovementPage(movements);
+    }
+
+    /**
+     * Filters stock movements with keyset pagination, newest first.
+     * Continues after the cursor {@code (afterCreatedAt, afterId)} when it is set;
+     * no total count is calculated.
+     *
+     * @param filter filter request with optional cursor
+     * @return keyset page of stock movement DTOs
+     * @throws IllegalArgumentException if only one of the cursor fields is set
+     */
+    @Transactional(readOnly = true)
+    public StockMovementCursorPageDto filterMovementsKeyset(StockMovementFilterRequest filter) {
+        log.info(logMsg.get("stock.service.filter.movements.start", filter));
+
+        validator.validateKeysetPaging(filter.getPage(), filter.getSortBy(), filter.getSortDir());
+        validator.validateMovementCursor(filter.getAfterCreatedAt(), filter.getAfterId());
+        int size = filter.getSize() != null ? filter.getSize() : 20;
+
+        Specification<StockMovement> specification = StockMovementSpecifications.matching(filter);
+        if (filter.getAfterCreatedAt() != null) {
+            specification = specification.and(
+                    StockMovementSpecifications.before(filter.getAfterCreatedAt(), filter.getAfterId()));
+        }
+
+        Sort sort = Sort.by(StockMovement.Fields.createdAt).descending()
+                .and(Sort.by(StockMovement.Fields.id).descending());
+        // One extra row tells whether a next page exists
+        List<StockMovement> rows = stockMovementRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<StockMovement> pageRows = hasNext ? rows.subList(0, size) : rows;
+        StockMovement last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
 
-        log.debug(logMsg.get("stock.service.filter.movements.complete", movements.getTotalElements()));
+        logMsg.debug(log, "stock.service.filter.movements.complete", pageRows.size());
+
+        return StockMovementCursorPageDto.builder()
+                .content(movementEnricher.enrichMovementDtos(pageRows))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCreatedAt(hasNext ? last.getCreatedAt() : null)
+                .nextId(hasNext ? last.getId() : null)
+                .build();
+    }
+
+    /**
+     * Streams stock movements matching a filter to an output stream, oldest first.
+     * Paging and cursor fields of the filter are ignored.
+     *
+     * <p>Rows are read through a forward-only cursor, enriched and written in batches;
+     * the persistence context is cleared after every batch, so memory use does not
+     * depend on the number of movements.</p>
+     *
+     * @param filter       filter request
+     * @param format       output format
+     * @param outputStream target stream
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportMovements(StockMovementFilterRequest filter,
+                                ExportFormat format,
+                                OutputStream outputStream) throws IOException {
+        log.info(logMsg.get("stock.service.export.movements.start", filter, format));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StockMovement> query = cb.createQuery(StockMovement.class);
+        Root<StockMovement> root = query.from(StockMovement.class);
+        query.where(StockMovementSpecifications.matching(filter).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get(StockMovement.Fields.createdAt)),
+                        cb.asc(root.get(StockMovement.Fields.id)));
+
+        StreamingExportWriter<StockMovementDto> writer = new StreamingExportWriter<>(
+                outputStream, format, objectMapper, StockMovementEnricher.EXPORT_COLUMNS);
+
+        try (Stream<StockMovement> movements = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            writer.writeAll(movements, EXPORT_BATCH_SIZE,
+                    movementEnricher::enrichMovementDtos, entityManager::clear);
+        }
 
-        return movements.map(movementEnricher::enrichMovementDto);
+        log.info(logMsg.get("stock.service.export.movements.complete", writer.getRowCount(), format));
     }
 
     // =========================================================================
@@ -395,9 +496,9 @@ public class StockService {
             stock = ProductStock.builder()
                     .productId(product.getId())
                     .warehouseId(warehouseId)
-                    .quantity(quantity)
+                    .quantity(0)
                     .reservedQuantity(0)
-                    .availableQuantity(quantity)
+                    .availableQuantity(0)
                     .createdAt(LocalDateTime.now())
                     .build();
         }
@@ -0,0 +1,30 @@
+package ru.galtor85.household_store.service.stock;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.entity.warehouse.Warehouse;
+
+/**
+ * JPA entity listener that evicts the warehouse summary when a warehouse changes
+ * (name and capacity are part of the summary).
+ *
+ * @author G@LTor85
+ * @see WarehouseSummaryCache
+ */
+@Component
+public class WarehouseChangeListener {
+
+    private final ObjectProvider<WarehouseSummaryCache> summaryCache;
+
+    public WarehouseChangeListener(ObjectProvider<WarehouseSummaryCache> summaryCache) {
+        this.summaryCache = summaryCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onWarehouseChanged(Warehouse warehouse) {
+        summaryCache.ifAvailable(cache -> cache.evict(warehouse.getId()));
+    }
+}
@@ -0,0 +1,152 @@
+package ru.galtor85.household_store.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.galtor85.household_store.dto.response.warehouse.WarehouseStockSummaryDto;
+import ru.galtor85.household_store.entity.warehouse.Warehouse;
+import ru.galtor85.household_store.processor.warehouse.WarehouseSummaryProcessor;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_WAREHOUSE_SUMMARIES;
+
+/**
+ * Read-through cache of warehouse stock summaries.
+ *
+ * <p>Summaries missing from the cache are built together: totals of all of them
+ * come from one grouped query, so the dashboard of all warehouses does not load
+ * every stock record.</p>
+ *
+ * <p>A summary is evicted when its warehouse or stock of its warehouse changes;
+ * changes of a product evict all summaries. Eviction inside a transaction is
+ * repeated after commit, so a concurrent reader cannot re-cache the summary from
+ * before the change.</p>
+ *
+ * @author G@LTor85
+ * @see ProductStockChangeListener
+ * @see ProductChangeListener
+ * @see WarehouseChangeListener
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarehouseSummaryCache {
+
+    private final CacheManager cacheManager;
+    private final WarehouseSummaryProcessor summaryProcessor;
+    private final LogMessageService logMsg;
+
+    /**
+     * Gets stock summary of a warehouse.
+     *
+     * @param warehouse warehouse
+     * @return warehouse stock summary
+     */
+    public WarehouseStockSummaryDto getSummary(Warehouse warehouse) {
+        return getSummaries(List.of(warehouse)).get(0);
+    }
+
+    /**
+     * Gets stock summaries of warehouses.
+     *
+     * @param warehouses warehouses
+     * @return summaries in the order of the given warehouses
+     */
+    public List<WarehouseStockSummaryDto> getSummaries(List<Warehouse> warehouses) {
+        Cache cache = cache();
+        Map<Long, WarehouseStockSummaryDto> found = new HashMap<>();
+        List<Warehouse> missing = new ArrayList<>();
+
+        for (Warehouse warehouse : warehouses) {
+            WarehouseStockSummaryDto cached = cache.get(warehouse.getId(), WarehouseStockSummaryDto.class);
+            if (cached != null) {
+                found.put(warehouse.getId(), cached);
+            } else {
+                missing.add(warehouse);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, WarehouseStockSummaryDto> built = summaryProcessor.buildSummaries(missing);
+            built.forEach(cache::put);
+            found.putAll(built);
+        }
+
+        logMsg.debug(log, "warehouse.summary.cache.lookup", warehouses.size(), missing.size());
+
+        return warehouses.stream()
+                .map(warehouse -> found.get(warehouse.getId()))
+                .toList();
+    }
+
+    /**
+     * Rebuilds summaries of warehouses, replacing cached ones.
+     *
+     * @param warehouses warehouses
+     * @return rebuilt summaries in the order of the given warehouses
+     */
+    public List<WarehouseStockSummaryDto> rebuild(List<Warehouse> warehouses) {
+        Cache cache = cache();
+        cache.clear();
+        Map<Long, WarehouseStockSummaryDto> built = summaryProcessor.buildSummaries(warehouses);
+        built.forEach(cache::put);
+
+        log.info(logMsg.get("warehouse.summary.rebuild.complete", built.size()));
+
+        return List.copyOf(built.values());
+    }
+
+    /**
+     * Evicts the summary of a warehouse.
+     * When called inside a transaction, eviction is repeated after commit.
+     *
+     * @param warehouseId warehouse ID
+     */
+    public void evict(Long warehouseId) {
+        if (warehouseId == null) {
+            return;
+        }
+        runNowAndAfterCommit(() -> {
+            cache().evict(warehouseId);
+            logMsg.trace(log, "warehouse.summary.cache.evicted", warehouseId);
+        });
+    }
+
+    /**
+     * Evicts summaries of all warehouses.
+     * When called inside a transaction, eviction is repeated after commit.
+     */
+    public void evictAll() {
+        runNowAndAfterCommit(() -> {
+            cache().clear();
+            logMsg.trace(log, "warehouse.summary.cache.cleared");
+        });
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_WAREHOUSE_SUMMARIES));
+    }
+}
@@ -51,7 +51,7 @@ public class SystemService {
                     uptime.toMinutesPart(),
                     uptime.toSecondsPart());
 
-            log.debug(logMsg.get("system-service.log.system.uptime", uptimeString));
+            logMsg.debug(log, "system-service.log.system.uptime", uptimeString);
             return uptimeString;
         } catch (Exception e) {
             log.error(logMsg.get("system-service.log.system.uptime.error", e.getMessage()), e);
@@ -68,7 +68,7 @@ public class SystemService {
     public String checkDatabase() {
         try (Connection connection = dataSource.getConnection()) {
             if (connection.isValid(CONNECTION_VALIDITY_TIMEOUT)) {
-                log.debug(logMsg.get("system-service.log.system.database.connected"));
+                logMsg.debug(log, "system-service.log.system.database.connected");
                 return messageService.get("system-service.system.database.connected");
             } else {
                 log.warn(logMsg.get("system-service.log.system.database.invalid"));
@@ -93,7 +93,7 @@ public class SystemService {
      */
     public String checkDiskSpace() {
         try {
-            log.debug(logMsg.get("system-service.log.system.disk.ok"));
+            logMsg.debug(log, "system-service.log.system.disk.ok");
             return messageService.get("system-service.system.disk.ok");
         } catch (Exception e) {
             log.error(logMsg.get("system-service.log.system.disk.error", e.getMessage()), e);
@@ -110,7 +110,7 @@ public class SystemService {
     public String getSpringVersion() {
         try {
             String version = buildProperties.getVersion();
-            log.debug(logMsg.get("system-service.log.system.spring.version", version));
+            logMsg.debug(log, "system-service.log.system.spring.version", version);
             return version;
         } catch (Exception e) {
             log.error(logMsg.get("system-service.log.system.spring.version.error", e.getMessage()), e);
@@ -131,7 +131,7 @@ public class SystemService {
                     ? String.join(", ", activeProfiles)
                     : DEFAULT_ENVIRONMENT;
 
-            log.debug(logMsg.get("system-service.log.system.environment", env));
+            logMsg.debug(log, "system-service.log.system.environment", env);
             return env;
         } catch (Exception e) {
             log.error(logMsg.get("system-service.log.system.environment.error", e.getMessage()), e);
@@ -148,7 +148,7 @@ public class SystemService {
     public String getServerInfo() {
         try {
             String serverInfo = ManagementFactory.getRuntimeMXBean().getName();
-            log.debug(logMsg.get("system-service.log.system.server.info", serverInfo));
+            logMsg.debug(log, "system-service.log.system.server.info", serverInfo);
             return serverInfo;
         } catch (Exception e) {
             log.error(logMsg.get("system-service.log.system.server.info.error", e.getMessage()), e);
@@ -0,0 +1,134 @@
+package ru.galtor85.household_store.service.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.config.FinancialConfig;
+import ru.galtor85.household_store.dto.response.user.CustomerStatsDto;
+import ru.galtor85.household_store.entity.finance.Invoice;
+import ru.galtor85.household_store.entity.user.CustomerStats;
+import ru.galtor85.household_store.repository.finance.InvoiceRepository;
+import ru.galtor85.household_store.repository.user.CustomerStatsRepository;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Service maintaining per-customer spend and order aggregates.
+ *
+ * <p>Orders and sales invoice payments update the aggregate of their customer with
+ * one atomic UPDATE in the transaction that records them; the aggregate row is
+ * created on first use. {@link #rebuild()} recalculates all aggregates from orders
+ * and invoice paid amounts in SQL.</p>
+ *
+ * @author G@LTor85
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerStatsService {
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final FinancialConfig financialConfig;
+    private final LogMessageService logMsg;
+
+    /**
+     * Counts a newly placed order of a customer.
+     *
+     * @param userId    customer user ID
+     * @param orderedAt order creation time
+     */
+    @Transactional
+    public void recordOrder(Long userId, LocalDateTime orderedAt) {
+        LocalDateTime time = orderedAt != null ? orderedAt : LocalDateTime.now();
+        if (customerStatsRepository.recordOrder(userId, time) == 0) {
+            customerStatsRepository.insertIfAbsent(userId);
+            customerStatsRepository.recordOrder(userId, time);
+        }
+        logMsg.trace(log, "customer.stats.order.recorded", userId);
+    }
+
+    /**
+     * Applies a change of the paid amount of a sales invoice to its customer.
+     * Must be called after the change was written to the invoice row, which is
+     * locked by that update until commit, so the read paid amount is exact.
+     *
+     * @param invoice sales invoice
+     * @param delta   signed change of the paid amount (negative for refunds)
+     */
+    @Transactional
+    public void recordPayment(Invoice invoice, BigDecimal delta) {
+        if (!invoice.isSalesOrder() || invoice.isPurchaseOrder() || delta.signum() == 0) {
+            return;
+        }
+
+        BigDecimal paidAfter = invoiceRepository.findPaidAmountById(invoice.getId());
+        BigDecimal paidBefore = paidAfter.subtract(delta);
+        long purchaseDelta = (paidAfter.signum() > 0 ? 1 : 0) - (paidBefore.signum() > 0 ? 1 : 0);
+
+        Long salesOrderId = invoice.getSalesOrderId();
+        if (customerStatsRepository.addSpent(salesOrderId, delta, purchaseDelta) == 0) {
+            customerStatsRepository.insertIfAbsentForOrder(salesOrderId);
+            customerStatsRepository.addSpent(salesOrderId, delta, purchaseDelta);
+        }
+        logMsg.trace(log, "customer.stats.payment.recorded", salesOrderId, delta, purchaseDelta);
+    }
+
+    /**
+     * Gets the lifetime spend of a customer, net of refunds.
+     *
+     * @param userId customer user ID
+     * @return total spent (zero if the customer has no orders)
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSpent(Long userId) {
+        return customerStatsRepository.findCurrentByUserId(userId)
+                .map(CustomerStats::getTotalSpent)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Gets spend and order statistics of a customer.
+     *
+     * @param userId customer user ID
+     * @return statistics (zeros if the customer has no orders)
+     */
+    @Transactional(readOnly = true)
+    public CustomerStatsDto getStats(Long userId) {
+        CustomerStats stats = customerStatsRepository.findCurrentByUserId(userId)
+                .orElseGet(() -> CustomerStats.builder().userId(userId).build());
+
+        BigDecimal averageBasket = stats.getPurchaseCount() > 0
+                ? stats.getTotalSpent().divide(BigDecimal.valueOf(stats.getPurchaseCount()),
+                        financialConfig.getDefaultDecimalPlaces(), RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return CustomerStatsDto.builder()
+                .userId(userId)
+                .totalSpent(stats.getTotalSpent())
+                .orderCount(stats.getOrderCount())
+                .purchaseCount(stats.getPurchaseCount())
+                .averageBasket(averageBasket)
+                .lastOrderAt(stats.getLastOrderAt())
+                .build();
+    }
+
+    /**
+     * Recalculates all customer aggregates from orders and invoice paid amounts.
+     * Invoice paid amounts should be reconciled with cash transactions first.
+     *
+     * @return number of recalculated aggregates
+     */
+    @Transactional
+    public int rebuild() {
+        log.info(logMsg.get("customer.stats.rebuild.start"));
+        int created = customerStatsRepository.insertMissing();
+        int rebuilt = customerStatsRepository.rebuildAll();
+        log.info(logMsg.get("customer.stats.rebuild.complete", rebuilt, created));
+        return rebuilt;
+    }
+}
@@ -4,14 +4,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.dto.response.user.UserActivityStatistics;
 import ru.galtor85.household_store.dto.response.user.UserStatistics;
 import ru.galtor85.household_store.entity.user.User;
 import ru.galtor85.household_store.processor.user.UserSearchProcessor;
 import ru.galtor85.household_store.processor.user.UserStatisticsProcessor;
 import ru.galtor85.household_store.validator.auth.UserSearchValidator;
+import ru.galtor85.household_store.util.date.StatisticsGranularity;
 import ru.galtor85.household_store.validator.common.SortFieldValidator;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for searching users and retrieving user statistics.
@@ -67,6 +72,16 @@ public class UserSearchService {
         return validator.validateUserExists(userId);
     }
 
+    /**
+     * Gets users by IDs in a single query.
+     *
+     * @param userIds user IDs
+     * @return users by ID (missing IDs are absent)
+     */
+    public Map<Long, User> getUsersByIds(Collection<Long> userIds) {
+        return searchProcessor.getUsersByIds(userIds);
+    }
+
     /**
      * Gets user statistics.
      *
@@ -76,4 +91,19 @@ public class UserSearchService {
     public UserStatistics getUserStatistics() {
         return statisticsProcessor.calculateStatistics();
     }
+
+    /**
+     * Gets registrations and active customers of a date range per time bucket.
+     *
+     * @param startDate   first day (inclusive)
+     * @param endDate     last day (inclusive)
+     * @param granularity bucket length
+     * @return user activity statistics DTO
+     */
+    @Transactional(readOnly = true)
+    public UserActivityStatistics getUserActivityStatistics(LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            StatisticsGranularity granularity) {
+        return statisticsProcessor.calculateActivity(startDate, endDate, granularity);
+    }
 }
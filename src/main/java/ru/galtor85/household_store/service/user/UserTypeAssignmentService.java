@@ -44,7 +44,7 @@ public class UserTypeAssignmentService {
     @Transactional
     public void assignUserType(Long userId, UserType userType, String assignedBy,
                                String reason, LocalDateTime validFrom, LocalDateTime validTo) {
-        log.debug(logMsg.get("user-type.log.assignment.start", userId, userType, assignedBy));
+        logMsg.debug(log, "user-type.log.assignment.start", userId, userType, assignedBy);
 
         validator.validateDateRange(validFrom, validTo);
 
@@ -46,16 +46,16 @@ public class WarehouseSelectionService {
         // Try to find warehouse with all products
         Long warehouseWithAll = findWarehouseWithAllProducts(order);
         if (warehouseWithAll != null) {
-            log.debug(logMsg.get("warehouse.selection.all.products",
-                    warehouseWithAll, order.getId()));
+            logMsg.debug(log, "warehouse.selection.all.products",
+                    warehouseWithAll, order.getId());
             return warehouseWithAll;
         }
 
         // Check preferred warehouses from product settings
         Long preferredWarehouse = findPreferredWarehouse(order);
         if (preferredWarehouse != null) {
-            log.debug(logMsg.get("warehouse.selection.preferred",
-                    preferredWarehouse, order.getId()));
+            logMsg.debug(log, "warehouse.selection.preferred",
+                    preferredWarehouse, order.getId());
             return preferredWarehouse;
         }
 
@@ -75,8 +75,8 @@ public class WarehouseSelectionService {
 
         // Use product's preferred warehouse if set
         if (product.getWarehouseId() != null) {
-            log.debug(logMsg.get("warehouse.selection.product.preferred",
-                    product.getWarehouseId(), productId));
+            logMsg.debug(log, "warehouse.selection.product.preferred",
+                    product.getWarehouseId(), productId);
             return product.getWarehouseId();
         }
 
@@ -84,8 +84,8 @@ public class WarehouseSelectionService {
         List<Warehouse> warehousesWithProduct = stockService.findWarehousesWithProduct(productId);
         if (!warehousesWithProduct.isEmpty()) {
             Long warehouseId = warehousesWithProduct.getFirst().getId();
-            log.debug(logMsg.get("warehouse.selection.existing.product",
-                    warehouseId, productId));
+            logMsg.debug(log, "warehouse.selection.existing.product",
+                    warehouseId, productId);
             return warehouseId;
         }
 
@@ -108,8 +108,8 @@ public class WarehouseSelectionService {
         for (Warehouse warehouse : warehouses) {
             WarehouseStockDetailDto stock = getStockDetail(productId, warehouse.getId());
             if (stock.getAvailableQuantity() >= requiredQuantity) {
-                log.debug(logMsg.get("warehouse.selection.sufficient",
-                        warehouse.getId(), productId, stock.getAvailableQuantity(), requiredQuantity));
+                logMsg.debug(log, "warehouse.selection.sufficient",
+                        warehouse.getId(), productId, stock.getAvailableQuantity(), requiredQuantity);
                 return warehouse.getId();
             }
         }
@@ -128,7 +128,7 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public WarehouseDto getWarehouseById(Long warehouseId) {
-        log.debug(logMsg.get("warehouse.service.get.by.id", warehouseId));
+        logMsg.debug(log, "warehouse.service.get.by.id", warehouseId);
         Warehouse warehouse = warehouseValidator.validateWarehouseExists(warehouseId);
         return warehouseMapper.toDto(warehouse);
     }
@@ -161,7 +161,7 @@ public class WarehouseService {
             }
         }
 
-        log.debug(logMsg.get("warehouse.log.fetched", warehouses.getTotalElements()));
+        logMsg.debug(log, "warehouse.log.fetched", warehouses.getTotalElements());
         return warehouses.map(warehouseMapper::toDto);
     }
 
@@ -354,13 +354,13 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public List<StorageCellDto> getAvailableCells(Long warehouseId, CellType cellType) {
-        log.debug(logMsg.get("warehouse.service.get.available.cells", warehouseId, cellType));
+        logMsg.debug(log, "warehouse.service.get.available.cells", warehouseId, cellType);
 
         List<StorageCell> cells = storageCellRepository
                 .findAvailableCellsByType(warehouseId, cellType);
 
-        log.debug(logMsg.get("cell.log.available.fetched",
-                cells.size(), warehouseId, cellType));
+        logMsg.debug(log, "cell.log.available.fetched",
+                cells.size(), warehouseId, cellType);
 
         return cells.stream()
                 .map(cellMapper::toDto)
@@ -375,7 +375,7 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public StorageCellDto getCellById(Long cellId) {
-        log.debug(logMsg.get("warehouse.service.get.cell.by.id", cellId));
+        logMsg.debug(log, "warehouse.service.get.cell.by.id", cellId);
         StorageCell cell = cellProcessor.findCellById(cellId);
         return cellMapper.toDto(cell);
     }
@@ -388,13 +388,13 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public List<StorageCellDto> getWarehouseCells(Long warehouseId) {
-        log.debug(logMsg.get("warehouse.service.get.warehouse.cells", warehouseId));
+        logMsg.debug(log, "warehouse.service.get.warehouse.cells", warehouseId);
 
         warehouseValidator.validateWarehouseExists(warehouseId);
 
         List<StorageCell> cells = storageCellRepository.findByWarehouseId(warehouseId);
 
-        log.debug(logMsg.get("warehouse.service.get.warehouse.cells.count", cells.size(), warehouseId));
+        logMsg.debug(log, "warehouse.service.get.warehouse.cells.count", cells.size(), warehouseId);
 
         return cells.stream()
                 .map(cellMapper::toDto)
@@ -486,7 +486,7 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public List<StockMovementDto> getCellMovements(Long cellId) {
-        log.debug(logMsg.get("warehouse.service.get.cell.movements", cellId));
+        logMsg.debug(log, "warehouse.service.get.cell.movements", cellId);
         return movementProcessor.getCellMovements(cellId);
     }
 }
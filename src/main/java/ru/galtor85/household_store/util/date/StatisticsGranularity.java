@@ -0,0 +1,56 @@
+package ru.galtor85.household_store.util.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Length of the time buckets of statistics.
+ *
+ * @author G@LTor85
+ */
+public enum StatisticsGranularity {
+
+    /**
+     * Calendar days
+     */
+    DAY,
+
+    /**
+     * ISO weeks starting on Monday
+     */
+    WEEK,
+
+    /**
+     * Calendar months
+     */
+    MONTH;
+
+    /**
+     * Gets the first day of the bucket containing a date.
+     *
+     * @param date any date
+     * @return first day of its bucket
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Gets the first day of the next bucket.
+     *
+     * @param bucketStart first day of a bucket
+     * @return first day of the following bucket
+     */
+    public LocalDate nextBucketStart(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package ru.galtor85.household_store.util.entity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utility for resolving referenced entities of a whole page in one query per type.
+ *
+ * <p>Used by DTO enrichers: collect the distinct IDs of a page, load them with
+ * {@code findAllById}, then assemble DTOs from the resulting maps.</p>
+ *
+ * @author G@LTor85
+ */
+@Component
+public class EntityBatchLoader {
+
+    /**
+     * Loads entities by IDs in a single query.
+     *
+     * @param repository  repository of the entity
+     * @param ids         IDs to load (nulls and duplicates are ignored)
+     * @param idExtractor entity ID getter
+     * @param <T>         entity type
+     * @return entities by ID (missing IDs are absent)
+     */
+    public <T> Map<Long, T> loadByIds(JpaRepository<T, Long> repository,
+                                      Collection<Long> ids,
+                                      Function<T, Long> idExtractor) {
+        Set<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return repository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(idExtractor, Function.identity()));
+    }
+
+    /**
+     * Collects IDs referenced by a list of rows.
+     *
+     * @param rows        rows
+     * @param idExtractor referenced ID getter (may return null)
+     * @param <R>         row type
+     * @return distinct non-null IDs
+     */
+    public <R> Set<Long> collectIds(Collection<R> rows, Function<R, Long> idExtractor) {
+        return rows.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
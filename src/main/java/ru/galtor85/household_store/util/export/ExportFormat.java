@@ -0,0 +1,40 @@
+package ru.galtor85.household_store.util.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CONTENT_TYPE_CSV;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CONTENT_TYPE_NDJSON;
+
+/**
+ * Output format of streaming exports.
+ *
+ * @author G@LTor85
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV(CONTENT_TYPE_CSV, "csv"),
+
+    /**
+     * Newline-delimited JSON, one object per line
+     */
+    NDJSON(CONTENT_TYPE_NDJSON, "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    /**
+     * Builds attachment file name for this format.
+     *
+     * @param baseName file name without extension
+     * @return file name with extension
+     */
+    public String fileName(String baseName) {
+        return baseName + "." + fileExtension;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.galtor85.household_store.util.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+import static ru.galtor85.household_store.constants.TechnicalConstants.CONTENT_TYPE_GZIP;
+import static ru.galtor85.household_store.constants.TechnicalConstants.GZIP_FILE_EXTENSION;
+
+/**
+ * Builds file download responses for streaming exports.
+ *
+ * @author G@LTor85
+ */
+public final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Wraps an export body into an attachment response.
+     *
+     * <p>With {@code gzip} the body is compressed on the fly and sent as
+     * {@code <baseName>.<ext>.gz} with content type {@code application/gzip};
+     * only the deflater window is held in memory.</p>
+     *
+     * @param baseName file name without extension
+     * @param format   export format
+     * @param gzip     whether to compress the body
+     * @param body     writes the export to the response stream
+     * @return attachment response
+     */
+    public static ResponseEntity<StreamingResponseBody> attachment(String baseName,
+                                                                   ExportFormat format,
+                                                                   boolean gzip,
+                                                                   StreamingResponseBody body) {
+        String fileName = format.fileName(baseName);
+        String contentType = format.getContentType();
+        StreamingResponseBody responseBody = body;
+
+        if (gzip) {
+            fileName = fileName + "." + GZIP_FILE_EXTENSION;
+            contentType = CONTENT_TYPE_GZIP;
+            responseBody = outputStream -> {
+                // Closing writes the gzip trailer and releases the deflater, not the servlet stream
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(StreamUtils.nonClosing(outputStream))) {
+                    body.writeTo(gzipStream);
+                }
+            };
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .body(responseBody);
+    }
+}
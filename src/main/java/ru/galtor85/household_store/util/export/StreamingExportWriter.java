@@ -0,0 +1,173 @@
+package ru.galtor85.household_store.util.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes export rows one by one to an output stream as CSV or NDJSON.
+ *
+ * <p>Nothing is accumulated in memory: each row is serialized and written to a
+ * buffered writer, so callers can stream rows straight from a database cursor.
+ * CSV columns are defined by an ordered map of header to value extractor;
+ * NDJSON rows are serialized with the application {@link ObjectMapper}.</p>
+ *
+ * @param <T> row type
+ * @author G@LTor85
+ */
+public class StreamingExportWriter<T> implements Flushable {
+
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Function<T, Object>> columns;
+    private boolean headerWritten;
+    private long rowCount;
+
+    /**
+     * Creates a writer.
+     *
+     * @param outputStream target stream (not closed by this writer)
+     * @param format       output format
+     * @param objectMapper mapper for NDJSON rows
+     * @param columns      ordered CSV columns: header to value extractor
+     */
+    public StreamingExportWriter(OutputStream outputStream,
+                                 ExportFormat format,
+                                 ObjectMapper objectMapper,
+                                 Map<String, Function<T, Object>> columns) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    /**
+     * Writes a single row (and the CSV header before the first row).
+     *
+     * @param row row to write
+     * @throws IOException if writing fails
+     */
+    public void write(T row) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            writeHeaderIfNeeded();
+            writeCsvLine(columns.values().stream().map(extractor -> extractor.apply(row)).iterator());
+        }
+        writer.write(LINE_SEPARATOR);
+        rowCount++;
+    }
+
+    /**
+     * Writes all rows of a source stream, converting them in batches.
+     *
+     * <p>Each batch is converted with one call, so the converter can load related
+     * data with one query per batch. Converted rows are written and flushed, then
+     * {@code afterBatch} runs (typically to clear the persistence context, so
+     * processed entities can be collected). The CSV header is written even for an
+     * empty source.</p>
+     *
+     * @param source     source rows, consumed but not closed
+     * @param batchSize  source rows per batch
+     * @param converter  converts a batch of source rows to export rows
+     * @param afterBatch action run after every written batch
+     * @param <E>        source row type
+     * @throws IOException if writing fails
+     */
+    public <E> void writeAll(Stream<E> source,
+                             int batchSize,
+                             Function<List<E>, List<T>> converter,
+                             Runnable afterBatch) throws IOException {
+        writeHeaderIfNeeded();
+        List<E> batch = new ArrayList<>(batchSize);
+        Iterator<E> iterator = source.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                for (T row : converter.apply(batch)) {
+                    write(row);
+                }
+                flush();
+                batch.clear();
+                afterBatch.run();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes the CSV header even if no rows follow.
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeHeaderIfNeeded() throws IOException {
+        if (format != ExportFormat.CSV || headerWritten) {
+            return;
+        }
+        writeCsvLine(columns.keySet().stream().map(header -> (Object) header).iterator());
+        writer.write(LINE_SEPARATOR);
+        headerWritten = true;
+    }
+
+    /**
+     * Flushes buffered rows to the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Returns number of rows written.
+     *
+     * @return row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void writeCsvLine(Iterator<Object> values) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(CSV_SEPARATOR);
+            }
+            writer.write(escapeCsv(values.next()));
+            first = false;
+        }
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean needsQuoting = text.indexOf(CSV_SEPARATOR) >= 0
+                || text.indexOf(CSV_QUOTE) >= 0
+                || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            return text;
+        }
+        return CSV_QUOTE + text.replace("\"", "\"\"") + CSV_QUOTE;
+    }
+}
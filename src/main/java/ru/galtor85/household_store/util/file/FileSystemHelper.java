@@ -45,7 +45,7 @@ public class FileSystemHelper {
         try {
             if (!Files.exists(productUploadPath)) {
                 Files.createDirectories(productUploadPath);
-                log.debug(logMsg.get("file.storage.directory.created", productUploadPath.toString()));
+                logMsg.debug(log, "file.storage.directory.created", productUploadPath.toString());
             }
             return productUploadPath;
         } catch (IOException e) {
@@ -0,0 +1,26 @@
+package ru.galtor85.household_store.util.generator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Document types numbered from database sequences.
+ *
+ * <p>Each type has its own sequence in {@code household_schema} and a default
+ * number prefix; prefixes can be overridden in configuration.</p>
+ *
+ * @author G@LTor85
+ * @see SequenceBlockAllocator
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DocumentType {
+
+    SALES_ORDER("SO-", "sales_order_number_seq"),
+    PURCHASE_ORDER("PO-", "purchase_order_number_seq"),
+    INVOICE("INV-", "invoice_number_seq"),
+    WRITE_OFF("WO-", "write_off_number_seq");
+
+    private final String defaultPrefix;
+    private final String sequenceName;
+}
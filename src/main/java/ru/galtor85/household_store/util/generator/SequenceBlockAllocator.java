@@ -0,0 +1,124 @@
+package ru.galtor85.household_store.util.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.galtor85.household_store.config.DocumentNumberConfig;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates document numbers from database sequences in blocks.
+ *
+ * <p>Each sequence is incremented by the block size, so a single {@code nextval}
+ * reserves a whole block of values. Values are then handed out from memory with an
+ * atomic counter; only the thread that exhausts a block goes to the database.</p>
+ *
+ * <p>The block size is the {@code INCREMENT BY} of the sequence, read from the
+ * database once per type. A larger configured size would make blocks of different
+ * nodes overlap, so a configured size that differs from the sequence is only logged.</p>
+ *
+ * <p>Numbers are unique across nodes and monotonic within a node. Values of a block
+ * not used before shutdown are skipped, so sequences may have gaps.</p>
+ *
+ * @author G@LTor85
+ * @see DocumentNumberConfig
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceBlockAllocator {
+
+    private static final String SCHEMA = "household_schema";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentNumberConfig config;
+    private final LogMessageService logMsg;
+    private final MessageService messageService;
+
+    private final Map<DocumentType, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+    private final Map<DocumentType, Integer> increments = new ConcurrentHashMap<>();
+
+    /**
+     * Returns next value for a document type.
+     *
+     * @param type document type
+     * @return next sequence value
+     */
+    public long next(DocumentType type) {
+        AtomicReference<Block> current = blocks.computeIfAbsent(type, t -> new AtomicReference<>(Block.EMPTY));
+        while (true) {
+            Block block = current.get();
+            long value = block.next().getAndIncrement();
+            if (value <= block.last()) {
+                return value;
+            }
+            synchronized (current) {
+                if (current.get() == block) {
+                    current.set(reserveBlock(type));
+                }
+            }
+        }
+    }
+
+    private Block reserveBlock(DocumentType type) {
+        String sequence = SCHEMA + "." + type.getSequenceName();
+
+        if (config.isInitializeSequences()) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH 1 INCREMENT BY " + config.getBlockSize());
+        }
+        int blockSize = increments.computeIfAbsent(type, this::readIncrement);
+
+        Long first = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        if (first == null) {
+            throw new IllegalStateException(messageService.get("number.generator.sequence.empty", sequence));
+        }
+        long last = first + blockSize - 1;
+
+        logMsg.debug(log, "number.generator.block.reserved", type, first, last);
+        return new Block(new AtomicLong(first), last);
+    }
+
+    /**
+     * Reads the increment of the sequence of a document type.
+     *
+     * @throws IllegalStateException if the sequence does not exist or does not increase
+     */
+    private int readIncrement(DocumentType type) {
+        String sequence = SCHEMA + "." + type.getSequenceName();
+        List<String> values = jdbcTemplate.queryForList(
+                "SELECT increment FROM information_schema.sequences" +
+                        " WHERE LOWER(sequence_schema) = ? AND LOWER(sequence_name) = ?",
+                String.class, SCHEMA, type.getSequenceName());
+        if (values.isEmpty()) {
+            throw new IllegalStateException(messageService.get("number.generator.sequence.missing", sequence));
+        }
+
+        int increment = Integer.parseInt(values.getFirst().trim());
+        if (increment < 1) {
+            throw new IllegalStateException(messageService.get("number.generator.sequence.increment.invalid",
+                    sequence, increment));
+        }
+        int configured = config.getBlockSize();
+        if (configured != increment) {
+            log.warn(logMsg.get("number.generator.block.size.mismatch", type, configured, sequence, increment));
+        }
+        return increment;
+    }
+
+    /**
+     * Reserved range of sequence values; {@code next} may run past {@code last}.
+     */
+    private record Block(AtomicLong next, long last) {
+
+        private static final Block EMPTY = new Block(new AtomicLong(1), 0);
+    }
+}
@@ -32,7 +32,7 @@ public class MediaMetadataParser {
             return null;
         }
         try {
-            log.debug(logMsg.get("product.media.service.parse.metadata", metadataJson));
+            logMsg.debug(log, "product.media.service.parse.metadata", metadataJson);
             return objectMapper.readValue(metadataJson, new TypeReference<>() {});
         } catch (Exception e) {
             log.warn(logMsg.get("product.media.service.parse.metadata.error",
@@ -0,0 +1,113 @@
+package ru.galtor85.household_store.util.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text analysis shared by product search indexes.
+ *
+ * <p>Tokens are lower-cased runs of letters and digits, like words of the PostgreSQL
+ * {@code simple} text search configuration. Trigrams follow {@code pg_trgm}: every word
+ * is padded with two spaces in front and one behind.</p>
+ *
+ * @author G@LTor85
+ */
+@Component
+public class SearchTextAnalyzer {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String TRIGRAM_PREFIX = "  ";
+    private static final String TRIGRAM_SUFFIX = " ";
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final String TS_QUERY_AND = " & ";
+    private static final String TS_QUERY_PREFIX = ":*";
+
+    /**
+     * Splits text into lower-cased tokens.
+     *
+     * @param text text (maybe null)
+     * @return tokens in order of appearance
+     */
+    public List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Builds a PostgreSQL prefix tsquery from text: all tokens must match,
+     * the last one as a prefix (e.g. "drill bo" → "drill &amp; bo:*").
+     *
+     * @param text text typed by the user
+     * @return tsquery, or null if the text has no tokens
+     */
+    public String prefixTsQuery(String text) {
+        List<String> tokens = tokens(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        return String.join(TS_QUERY_AND, tokens) + TS_QUERY_PREFIX;
+    }
+
+    /**
+     * Escapes LIKE wildcards so that text is matched literally (escape character is backslash).
+     *
+     * @param text text
+     * @return escaped text
+     */
+    public String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Collects {@code pg_trgm} trigrams of text.
+     *
+     * @param text text
+     * @return distinct trigrams
+     */
+    public Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String token : tokens(text)) {
+            String padded = TRIGRAM_PREFIX + token + TRIGRAM_SUFFIX;
+            for (int i = 0; i + TRIGRAM_LENGTH <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + TRIGRAM_LENGTH));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Calculates how well the query occurs in a text, like {@code pg_trgm word_similarity}:
+     * the share of query trigrams found in the text. Unlike plain similarity, extra words
+     * of the text do not lower the result, so "dril" is similar to "Hammer Drill".
+     *
+     * @param query trigrams of the query
+     * @param text  trigrams of the text
+     * @return similarity from 0 (nothing shared) to 1 (all query trigrams present)
+     */
+    public double wordSimilarity(Set<String> query, Set<String> text) {
+        if (query.isEmpty()) {
+            return 0.0;
+        }
+        int shared = 0;
+        for (String trigram : query) {
+            if (text.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / query.size();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.galtor85.household_store.util.security;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over pre-computed hash digests.
+ *
+ * <p>Answers "definitely absent" or "possibly present". Bit positions are derived
+ * from the first 16 bytes of a digest with double hashing, so callers pass an
+ * already uniform hash (e.g. SHA-256) instead of the raw value.</p>
+ *
+ * <p>Entries cannot be removed; the owner rebuilds the filter when its content shrinks.</p>
+ *
+ * @author G@LTor85
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final int MIN_DIGEST_LENGTH = 16;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * Creates a filter sized for the expected number of entries.
+     *
+     * @param expectedInsertions expected number of entries
+     * @param falsePositiveRate  acceptable false positive probability (0..1)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bitCount = Math.max(Long.SIZE, m);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+        this.bits = new AtomicLongArray((int) ((bitCount + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    /**
+     * Adds a digest to the filter.
+     *
+     * @param digest hash digest of at least 16 bytes
+     */
+    public void put(byte[] digest) {
+        long h1 = firstHash(digest);
+        long h2 = secondHash(digest);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks if a digest may have been added.
+     *
+     * @param digest hash digest of at least 16 bytes
+     * @return false if definitely absent, true if possibly present
+     */
+    public boolean mightContain(byte[] digest) {
+        long h1 = firstHash(digest);
+        long h2 = secondHash(digest);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long firstHash(byte[] digest) {
+        checkDigest(digest);
+        return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+    }
+
+    private long secondHash(byte[] digest) {
+        return ByteBuffer.wrap(digest, Long.BYTES, Long.BYTES).getLong() | 1L;
+    }
+
+    private void checkDigest(byte[] digest) {
+        if (digest.length < MIN_DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Digest must be at least " + MIN_DIGEST_LENGTH + " bytes");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.galtor85.household_store.util.security;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility component for hashing JWT tokens.
+ *
+ * <p>In-memory token structures (verified principal cache, blacklist) are keyed
+ * by a SHA-256 digest instead of the raw token, so full tokens are not retained
+ * on the heap and keys have a fixed size.</p>
+ *
+ * @author G@LTor85
+ */
+@Component
+public class TokenHasher {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Computes SHA-256 digest of a token.
+     *
+     * @param token raw token
+     * @return 32-byte digest
+     */
+    public byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Converts a digest to its hex representation.
+     *
+     * @param digest token digest
+     * @return lowercase hex string
+     */
+    public String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Computes hex-encoded SHA-256 hash of a token.
+     *
+     * @param token raw token
+     * @return lowercase hex string
+     */
+    public String hash(String token) {
+        return toHex(digest(token));
+    }
+}
@@ -1,26 +1,73 @@
 package ru.galtor85.household_store.util.stock;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.dto.response.product.ProductStockDto;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.product.ProductStock;
-import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.repository.product.ProductRepository;
-import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
+import ru.galtor85.household_store.util.entity.EntityBatchLoader;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enricher for product stock DTOs.
+ * Products of a page are loaded with one query; warehouses come from the reference data cache.
+ */
 @Component
 @RequiredArgsConstructor
 public class StockDtoEnricher {
 
     private final ProductRepository productRepository;
-    private final WarehouseRepository warehouseRepository;
+    private final ReferenceDataCache referenceData;
     private final MessageService messageService;
+    private final EntityBatchLoader batchLoader;
 
     public ProductStockDto enrichStockDto(ProductStock stock) {
-        Product product = productRepository.findById(stock.getProductId()).orElse(null);
-        Warehouse warehouse = warehouseRepository.findById(stock.getWarehouseId()).orElse(null);
+        return enrichStockDtos(List.of(stock)).get(0);
+    }
+
+    /**
+     * Enriches a page of stock records.
+     *
+     * @param stocks page of stock entities
+     * @return page of enriched stock DTOs
+     */
+    public Page<ProductStockDto> enrichStockPage(Page<ProductStock> stocks) {
+        return new PageImpl<>(enrichStockDtos(stocks.getContent()),
+                stocks.getPageable(), stocks.getTotalElements());
+    }
+
+    /**
+     * Enriches stock records, loading products with one query.
+     *
+     * @param stocks stock entities
+     * @return enriched stock DTOs in the same order
+     */
+    public List<ProductStockDto> enrichStockDtos(List<ProductStock> stocks) {
+        if (stocks.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = batchLoader.loadByIds(productRepository,
+                batchLoader.collectIds(stocks, ProductStock::getProductId), Product::getId);
+        Map<Long, WarehouseRef> warehouses = referenceData.getWarehouses(
+                batchLoader.collectIds(stocks, ProductStock::getWarehouseId));
+
+        return stocks.stream()
+                .map(stock -> buildDto(stock,
+                        products.get(stock.getProductId()),
+                        warehouses.get(stock.getWarehouseId())))
+                .toList();
+    }
+
+    private ProductStockDto buildDto(ProductStock stock, Product product, WarehouseRef warehouse) {
 
         int reserved = stock.getReservedQuantity() != null ? stock.getReservedQuantity() : 0;
         int available = stock.getQuantity() - reserved;
@@ -39,7 +86,7 @@ public class StockDtoEnricher {
                 .productSku(product != null ? product.getSku() :
                         messageService.get("stock.product.unknown.sku"))
                 .warehouseId(stock.getWarehouseId())
-                .warehouseName(warehouse != null ? warehouse.getName() :
+                .warehouseName(warehouse != null ? warehouse.name() :
                         messageService.get("stock.warehouse.unknown"))
                 .quantity(stock.getQuantity())
                 .reservedQuantity(stock.getReservedQuantity())
@@ -1,50 +1,116 @@
 package ru.galtor85.household_store.util.stock;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 import ru.galtor85.household_store.builder.stock.StockMovementDtoBuilder;
 import ru.galtor85.household_store.dto.response.stock.StockMovementDto;
 import ru.galtor85.household_store.entity.product.Product;
 import ru.galtor85.household_store.entity.stock.StockMovement;
-import ru.galtor85.household_store.entity.user.User;
-import ru.galtor85.household_store.entity.warehouse.StorageCell;
-import ru.galtor85.household_store.entity.warehouse.Warehouse;
 import ru.galtor85.household_store.repository.product.ProductRepository;
-import ru.galtor85.household_store.repository.user.UserRepository;
-import ru.galtor85.household_store.repository.warehouse.StorageCellRepository;
-import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.reference.ReferenceDataCache;
+import ru.galtor85.household_store.service.reference.StorageCellRef;
+import ru.galtor85.household_store.service.reference.UserRef;
+import ru.galtor85.household_store.service.reference.WarehouseRef;
+import ru.galtor85.household_store.util.entity.EntityBatchLoader;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Enricher for stock movement DTOs.
+ *
+ * <p>Works on whole pages: referenced products, cells, warehouses and users are
+ * collected first and loaded with one query per type, so enriching a page costs
+ * a constant number of queries regardless of its size. Cells, warehouses and users
+ * come from the reference data cache and usually cost no query at all.</p>
  */
 @Component
 @RequiredArgsConstructor
 public class StockMovementEnricher {
 
+    /**
+     * Columns of CSV export, in output order
+     */
+    public static final Map<String, Function<StockMovementDto, Object>> EXPORT_COLUMNS = exportColumns();
+
     private final ProductRepository productRepository;
-    private final StorageCellRepository storageCellRepository;
-    private final WarehouseRepository warehouseRepository;
-    private final UserRepository userRepository;
+    private final ReferenceDataCache referenceData;
     private final StockMovementDtoBuilder movementDtoBuilder;
     private final MessageService messageService;
+    private final EntityBatchLoader batchLoader;
 
     /**
-     * Enriches stock movement with related entity data.
+     * Enriches a single stock movement with related entity data.
      *
      * @param movement stock movement entity
      * @return enriched stock movement DTO
      */
     public StockMovementDto enrichMovementDto(StockMovement movement) {
-        Product product = productRepository.findById(movement.getProductId()).orElse(null);
+        return enrichMovementDtos(List.of(movement)).get(0);
+    }
+
+    /**
+     * Enriches a page of stock movements.
+     *
+     * @param movements page of stock movement entities
+     * @return page of enriched stock movement DTOs
+     */
+    public Page<StockMovementDto> enrichMovementPage(Page<StockMovement> movements) {
+        return new PageImpl<>(enrichMovementDtos(movements.getContent()),
+                movements.getPageable(), movements.getTotalElements());
+    }
+
+    /**
+     * Enriches stock movements with related entity data, loading each
+     * referenced entity type with a single query.
+     *
+     * @param movements stock movement entities
+     * @return enriched stock movement DTOs in the same order
+     */
+    public List<StockMovementDto> enrichMovementDtos(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = batchLoader.loadByIds(productRepository,
+                batchLoader.collectIds(movements, StockMovement::getProductId), Product::getId);
+
+        Set<Long> cellIds = new HashSet<>(batchLoader.collectIds(movements, StockMovement::getFromCellId));
+        cellIds.addAll(batchLoader.collectIds(movements, StockMovement::getToCellId));
+        Map<Long, StorageCellRef> cells = referenceData.getCells(cellIds);
+
+        // Cell warehouses are resolved together with movement warehouses
+        Set<Long> warehouseIds = new HashSet<>(batchLoader.collectIds(movements, StockMovement::getWarehouseId));
+        warehouseIds.addAll(batchLoader.collectIds(cells.values(), StorageCellRef::warehouseId));
+        Map<Long, WarehouseRef> warehouses = referenceData.getWarehouses(warehouseIds);
+
+        Map<Long, UserRef> users = referenceData.getUsers(
+                batchLoader.collectIds(movements, StockMovement::getPerformedBy));
+
+        References references = new References(products, cells, warehouses, users);
+        return movements.stream()
+                .map(movement -> buildDto(movement, references))
+                .toList();
+    }
+
+    private StockMovementDto buildDto(StockMovement movement, References references) {
+        Product product = references.products().get(movement.getProductId());
 
         String fromCellCode = null;
         String fromWarehouseName = null;
         if (movement.getFromCellId() != null) {
-            StorageCell cell = storageCellRepository.findById(movement.getFromCellId()).orElse(null);
+            StorageCellRef cell = references.cells().get(movement.getFromCellId());
             if (cell != null) {
-                fromCellCode = cell.getCode();
-                fromWarehouseName = cell.getWarehouse().getName();
+                fromCellCode = cell.code();
+                fromWarehouseName = cellWarehouseName(cell, references);
             } else {
                 fromWarehouseName = messageService.get("stock.cell.unknown");
             }
@@ -53,10 +119,10 @@ public class StockMovementEnricher {
         String toCellCode = null;
         String toWarehouseName = null;
         if (movement.getToCellId() != null) {
-            StorageCell cell = storageCellRepository.findById(movement.getToCellId()).orElse(null);
+            StorageCellRef cell = references.cells().get(movement.getToCellId());
             if (cell != null) {
-                toCellCode = cell.getCode();
-                toWarehouseName = cell.getWarehouse().getName();
+                toCellCode = cell.code();
+                toWarehouseName = cellWarehouseName(cell, references);
             } else {
                 toWarehouseName = messageService.get("stock.cell.unknown");
             }
@@ -64,15 +130,15 @@ public class StockMovementEnricher {
 
         String warehouseName = null;
         if (movement.getWarehouseId() != null) {
-            Warehouse warehouse = warehouseRepository.findById(movement.getWarehouseId()).orElse(null);
-            warehouseName = warehouse != null ? warehouse.getName() :
+            WarehouseRef warehouse = references.warehouses().get(movement.getWarehouseId());
+            warehouseName = warehouse != null ? warehouse.name() :
                     messageService.get("stock.warehouse.unknown");
         }
 
         String performedByName = null;
         if (movement.getPerformedBy() != null) {
-            User user = userRepository.findById(movement.getPerformedBy()).orElse(null);
-            performedByName = user != null ? user.getEmail() :
+            UserRef user = references.users().get(movement.getPerformedBy());
+            performedByName = user != null ? user.email() :
                     messageService.get("stock.user.unknown");
         }
 
@@ -105,4 +171,39 @@ public class StockMovementEnricher {
                 movement.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+
+    private String cellWarehouseName(StorageCellRef cell, References references) {
+        WarehouseRef warehouse = references.warehouses().get(cell.warehouseId());
+        return warehouse != null ? warehouse.name() : messageService.get("stock.warehouse.unknown");
+    }
+
+    /**
+     * Entities referenced by a page of movements, by ID
+     */
+    private record References(Map<Long, Product> products,
+                              Map<Long, StorageCellRef> cells,
+                              Map<Long, WarehouseRef> warehouses,
+                              Map<Long, UserRef> users) {
+    }
+
+    private static Map<String, Function<StockMovementDto, Object>> exportColumns() {
+        Map<String, Function<StockMovementDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", StockMovementDto::getId);
+        columns.put("createdAt", StockMovementDto::getCreatedAt);
+        columns.put("movementType", StockMovementDto::getMovementType);
+        columns.put("productId", StockMovementDto::getProductId);
+        columns.put("productSku", StockMovementDto::getProductSku);
+        columns.put("productName", StockMovementDto::getProductName);
+        columns.put("quantity", StockMovementDto::getQuantity);
+        columns.put("warehouseName", StockMovementDto::getWarehouseName);
+        columns.put("fromCellCode", StockMovementDto::getFromCellCode);
+        columns.put("toCellCode", StockMovementDto::getToCellCode);
+        columns.put("referenceType", StockMovementDto::getReferenceType);
+        columns.put("referenceId", StockMovementDto::getReferenceId);
+        columns.put("documentNumber", StockMovementDto::getDocumentNumber);
+        columns.put("batchNumber", StockMovementDto::getBatchNumber);
+        columns.put("performedByName", StockMovementDto::getPerformedByName);
+        columns.put("notes", StockMovementDto::getNotes);
+        return Collections.unmodifiableMap(columns);
+    }
+}
@@ -35,7 +35,7 @@ public class RoleValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateAdminSecurityUser(Long adminId, String adminEmail) {
-        return securityUserRepository.findById(adminId)
+        return securityUserRepository.findByUserId(adminId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-role-service.log.admin.security.not.found", adminEmail));
                     return new UserNotFoundException(adminId.toString());
@@ -50,7 +50,7 @@ public class RoleValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateTargetSecurityUser(Long userId) {
-        return securityUserRepository.findById(userId)
+        return securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-role-service.log.target.security.not.found", userId));
                     return new UserNotFoundException(userId.toString());
@@ -48,7 +48,7 @@ public class UserDeleteValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateSecurityUserExists(Long userId) {
-        return securityUserRepository.findById(userId)
+        return securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-deleted-service.log.target.security.not.found", userId));
                     return new UserNotFoundException(userId.toString());
@@ -64,7 +64,7 @@ public class UserDeleteValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateAdminSecurityUserExists(Long adminId, String adminEmail) {
-        return securityUserRepository.findById(adminId)
+        return securityUserRepository.findByUserId(adminId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-deleted-service.log.admin.security.not.found", adminEmail));
                     return new UserNotFoundException(adminId.toString());
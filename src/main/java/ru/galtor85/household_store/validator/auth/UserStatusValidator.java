@@ -34,7 +34,7 @@ public class UserStatusValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateAdminSecurityUser(Long adminId, String adminEmail) {
-        return securityUserRepository.findById(adminId)
+        return securityUserRepository.findByUserId(adminId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-status-service.log.admin.security.not.found",
                             emailMasker.maskEmail(adminEmail)));
@@ -50,7 +50,7 @@ public class UserStatusValidator {
      * @throws UserNotFoundException if not found
      */
     public SecurityUser validateTargetSecurityUser(Long userId) {
-        return securityUserRepository.findById(userId)
+        return securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-status-service.log.user.not.found.id", userId));
                     return new UserNotFoundException(userId.toString());
@@ -136,7 +136,7 @@ public class UserValidator {
      * @throws UserNotFoundException if no security user found for the given ID
      */
     public SecurityUser validateSecurityUserExists(Long userId) {
-        return securityUserRepository.findById(userId)
+        return securityUserRepository.findByUserId(userId)
                 .orElseThrow(() -> {
                     log.error(logMsg.get("user-service.log.security.user.not.found", userId));
                     return new UserNotFoundException(userId.toString());
@@ -59,16 +59,11 @@ public class CartValidator {
     /**
      * Validates that adding items to cart does not exceed the maximum allowed items.
      *
-     * @param cart            the current cart
+     * @param itemsCount      current items count of the cart
      * @param additionalItems number of items to be added
      * @throws IllegalArgumentException if cart would exceed maximum items limit
      */
-    public void validateCartMaxItems(Cart cart, int additionalItems) {
-        if (cart == null) {
-            return;
-        }
-
-        int currentItems = cart.getItemsCount() != null ? cart.getItemsCount() : 0;
+    public void validateCartMaxItems(int itemsCount, int additionalItems) {
         Integer maxItems = businessConfig.getCart().getMaxItems();
 
         // If maxItems is not configured, skip validation
@@ -76,7 +71,7 @@ public class CartValidator {
             return;
         }
 
-        if (currentItems + additionalItems > maxItems) {
+        if (itemsCount + additionalItems > maxItems) {
             log.warn(logMsg.get("cart.validation.max.items.exceeded", maxItems));
             throw new IllegalArgumentException(
                     messageService.get("cart.validation.max.items.exceeded", maxItems)
@@ -87,11 +82,11 @@ public class CartValidator {
     /**
      * Validates that adding one new item to cart does not exceed the maximum allowed items.
      *
-     * @param cart the current cart
+     * @param itemsCount current items count of the cart
      * @throws IllegalArgumentException if cart would exceed maximum items limit
      */
-    public void validateCartMaxItems(Cart cart) {
-        validateCartMaxItems(cart, businessConfig.getCart().getDefaultIncrementValue());
+    public void validateCartMaxItems(int itemsCount) {
+        validateCartMaxItems(itemsCount, businessConfig.getCart().getDefaultIncrementValue());
     }
 
     /**
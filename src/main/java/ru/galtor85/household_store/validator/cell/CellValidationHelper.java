@@ -52,7 +52,7 @@ public class CellValidationHelper {
                     cell.getId(), cell.getCurrentProductId()));
             throw new CellAlreadyOccupiedException(cell.getId(), cell.getCurrentProductId());
         }
-        log.debug(logMsg.get("cell.validation.same.product.log", cell.getId(), product.getId()));
+        logMsg.debug(log, "cell.validation.same.product.log", cell.getId(), product.getId());
     }
 
     /**
@@ -8,6 +8,9 @@ import ru.galtor85.household_store.advice.exception.warehouse.WarehouseNotFoundE
 import ru.galtor85.household_store.repository.product.ProductRepository;
 import ru.galtor85.household_store.repository.warehouse.WarehouseRepository;
 import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+
+import java.time.LocalDateTime;
 
 /**
  * Validator for stock operations.
@@ -20,6 +23,7 @@ public class StockValidator {
     private final WarehouseRepository warehouseRepository;
     private final ProductRepository productRepository;
     private final LogMessageService logMsg;
+    private final MessageService messageService;
 
     /**
      * Validates warehouse exists.
@@ -46,4 +50,38 @@ public class StockValidator {
             throw new ProductNotFoundException(productId);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Validates that a keyset cursor is either complete or absent.
+     *
+     * @param afterCreatedAt creation time of the last movement of the previous page
+     * @param afterId        ID of the last movement of the previous page
+     * @throws IllegalArgumentException if only one of the two is set
+     */
+    public void validateMovementCursor(LocalDateTime afterCreatedAt, Long afterId) {
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            log.warn(logMsg.get("stock.movement.cursor.incomplete", afterCreatedAt, afterId));
+            throw new IllegalArgumentException(
+                    messageService.get("stock.movement.cursor.incomplete", afterCreatedAt, afterId)
+            );
+        }
+    }
+
+    /**
+     * Validates that a keyset request does not use offset paging or custom sorting,
+     * which keyset pagination does not support.
+     *
+     * @param page    page number
+     * @param sortBy  sort field
+     * @param sortDir sort direction
+     * @throws IllegalArgumentException if any of them is set
+     */
+    public void validateKeysetPaging(Integer page, String sortBy, String sortDir) {
+        if (page != null || sortBy != null || sortDir != null) {
+            log.warn(logMsg.get("stock.movement.keyset.paging.unsupported", page, sortBy, sortDir));
+            throw new IllegalArgumentException(
+                    messageService.get("stock.movement.keyset.paging.unsupported", page, sortBy, sortDir)
+            );
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.galtor85.household_store.test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.repository.security.PrincipalInvalidationRepository;
+import ru.galtor85.household_store.security.AuthenticatedPrincipalCache;
+import ru.galtor85.household_store.security.JwtClaims;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.util.security.TokenHasher;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verified principal cache: invalidation by user on this node and on other nodes.
+ * Runs without a test transaction, so recorded invalidations commit like in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Authenticated Principal Cache Tests")
+class AuthenticatedPrincipalCacheTest {
+
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private PrincipalInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private TokenHasher tokenHasher;
+
+    @Autowired
+    private LogMessageService logMsg;
+
+    @Test
+    @DisplayName("Invalidating a user evicts only that user's tokens")
+    void testInvalidateUserEvictsOnlyItsTokens() {
+        long userId = uniqueUserId();
+        long otherUserId = userId + 1;
+        principalCache.put("token-a-" + userId, claims(userId), userDetails("a"));
+        principalCache.put("token-b-" + userId, claims(userId), userDetails("a"));
+        principalCache.put("token-c-" + otherUserId, claims(otherUserId), userDetails("c"));
+
+        principalCache.invalidateUser(userId);
+
+        assertThat(principalCache.get("token-a-" + userId)).isNull();
+        assertThat(principalCache.get("token-b-" + userId)).isNull();
+        assertThat(principalCache.get("token-c-" + otherUserId)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("User invalidated on one node is evicted on another node by the sync")
+    void testInvalidationReachesOtherNode() {
+        long userId = uniqueUserId();
+        AuthenticatedPrincipalCache otherNode = new AuthenticatedPrincipalCache(
+                invalidationRepository, logMsg, tokenHasher, new SimpleMeterRegistry(), 100);
+        otherNode.put("token-" + userId, claims(userId), userDetails("remote"));
+        LocalDateTime lastSync = LocalDateTime.now().minusSeconds(1);
+
+        principalCache.invalidateUser(userId);
+        assertThat(otherNode.get("token-" + userId)).isNotNull();
+
+        assertThat(otherNode.syncInvalidations(lastSync)).isGreaterThanOrEqualTo(1);
+        assertThat(otherNode.get("token-" + userId)).isNull();
+
+        // A repeated invalidation moves the time of the existing record
+        LocalDateTime firstInvalidation = invalidationRepository.findById(userId).orElseThrow().getInvalidatedAt();
+        principalCache.invalidateUser(userId);
+        assertThat(invalidationRepository.findById(userId).orElseThrow().getInvalidatedAt())
+                .isAfterOrEqualTo(firstInvalidation);
+    }
+
+    private static long uniqueUserId() {
+        return System.nanoTime();
+    }
+
+    private static JwtClaims claims(long userId) {
+        return new JwtClaims("user-" + userId, userId, "USER", "access",
+                Instant.now().plus(1, ChronoUnit.HOURS));
+    }
+
+    private static UserDetails userDetails(String username) {
+        return new User(username, "", List.of());
+    }
+}
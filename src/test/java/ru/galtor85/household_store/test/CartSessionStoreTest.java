@@ -0,0 +1,294 @@
+package ru.galtor85.household_store.test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.galtor85.household_store.advice.exception.cart.CartNotFoundException;
+import ru.galtor85.household_store.config.BusinessConfig;
+import ru.galtor85.household_store.dto.request.cart.AddToCartRequest;
+import ru.galtor85.household_store.dto.response.cart.CartDto;
+import ru.galtor85.household_store.entity.cart.CartStatus;
+import ru.galtor85.household_store.mapper.cart.CartMapper;
+import ru.galtor85.household_store.processor.cart.CartPersistenceProcessor;
+import ru.galtor85.household_store.processor.cart.CartProcessor;
+import ru.galtor85.household_store.repository.cart.CartRepository;
+import ru.galtor85.household_store.service.cart.CartService;
+import ru.galtor85.household_store.service.cart.CartSession;
+import ru.galtor85.household_store.service.cart.CartSessionStore;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.validator.cart.CartValidator;
+import ru.galtor85.household_store.validator.stock.StockAvailabilityValidator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Write-behind cart store: what reaches the database and when, and what a restarted
+ * node recovers from it. Runs without a test transaction, so every service call commits
+ * like in production.
+ */
+@Slf4j
+@DisplayName("Cart Session Store Test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartSessionStoreTest extends BaseSalesChainTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartSessionStore cartSessionStore;
+
+    @Autowired
+    private CartPersistenceProcessor cartPersistenceProcessor;
+
+    @Autowired
+    private BusinessConfig businessConfig;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LogMessageService logMsg;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartMapper cartMapper;
+
+    @Autowired
+    private CartValidator cartValidator;
+
+    @Autowired
+    private CartProcessor cartProcessor;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private StockAvailabilityValidator availabilityValidator;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = createTestData();
+    }
+
+    @Test
+    @DisplayName("Repeated mutations are written once by the background flush")
+    void testMutationsAreWrittenBehind() {
+        for (int i = 0; i < 5; i++) {
+            cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+        }
+
+        CartDto cart = cartService.getActiveCart(testData.userId());
+        assertThat(cart.getItemsCount()).isEqualTo(5);
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(500));
+        assertThat(countItemRows(cart.getId())).isZero();
+
+        cartSessionStore.flushPending();
+
+        assertPersisted(cart.getId(), 5, BigDecimal.valueOf(500));
+    }
+
+    @Test
+    @DisplayName("Restarted node recovers the cart as of the last flush")
+    void testRecoveryAfterCrash() {
+        cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 2));
+        cartSessionStore.flushPending();
+        CartDto beforeCrash = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 3));
+        assertThat(beforeCrash.getItemsCount()).isEqualTo(5);
+
+        // Crash: the running store is abandoned without flushing, a new node starts empty
+        CartSessionStore restarted = newStore();
+
+        Map<String, Object> recovered = restarted.withCart(testData.userId(), session -> Map.of(
+                "cartId", session.getCartId(),
+                "itemsCount", session.getItemsCount(),
+                "totalAmount", session.getTotalAmount()));
+        assertThat(recovered.get("cartId")).isEqualTo(beforeCrash.getId());
+        assertThat(recovered.get("itemsCount")).isEqualTo(2);
+        assertThat((BigDecimal) recovered.get("totalAmount")).isEqualByComparingTo(BigDecimal.valueOf(200));
+        assertPersisted(beforeCrash.getId(), 2, BigDecimal.valueOf(200));
+    }
+
+    @Test
+    @DisplayName("Changes of a rolled back flush stay pending")
+    void testRolledBackFlushKeepsChanges() {
+        CartDto cart = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 4));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cartSessionStore.flush(testData.userId());
+            assertThat(countItemRows(cart.getId())).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+        assertThat(countItemRows(cart.getId())).isZero();
+
+        cartSessionStore.flushPending();
+
+        assertPersisted(cart.getId(), 4, BigDecimal.valueOf(400));
+    }
+
+    @Test
+    @DisplayName("Checkout writes the cart durably and releases it from the store")
+    void testCheckoutFlushesCart() {
+        cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 2));
+        cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+
+        CartDto checkedOut = cartService.checkoutCart(testData.userId());
+
+        assertThat(checkedOut.getStatus()).isEqualTo(CartStatus.CHECKOUT);
+        assertThat(checkedOut.getItems()).hasSize(1);
+        assertPersisted(checkedOut.getId(), 3, BigDecimal.valueOf(300));
+        assertThatThrownBy(() -> cartService.getActiveCart(testData.userId()))
+                .isInstanceOf(CartNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Cart completed elsewhere is not checked out and is dropped from the store")
+    void testCheckoutOfCartCompletedElsewhere() {
+        CartDto cart = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 2));
+        cartSessionStore.flushPending();
+
+        // Another node completes the cart; this node still holds it in memory without pending changes
+        jdbcTemplate.update("UPDATE household_schema.carts SET status = ? WHERE id = ?",
+                CartStatus.COMPLETED.name(), cart.getId());
+
+        assertThatThrownBy(() -> cartService.checkoutCart(testData.userId()))
+                .isInstanceOf(CartNotFoundException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM household_schema.carts WHERE id = ?",
+                String.class, cart.getId())).isEqualTo(CartStatus.COMPLETED.name());
+
+        CartDto next = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+        assertThat(next.getId()).isNotEqualTo(cart.getId());
+        assertThat(next.getItemsCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Two nodes writing the same cart: the first write wins, the other node reloads")
+    void testConcurrentWritesFromTwoNodes() {
+        CartDto cart = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+        cartSessionStore.flushPending();
+
+        CartSessionStore otherStore = newStore();
+        CartService otherNode = newCartService(otherStore);
+        assertThat(otherNode.getActiveCart(testData.userId()).getId()).isEqualTo(cart.getId());
+
+        cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 2));
+        otherNode.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 4));
+
+        otherStore.flushPending();
+        cartSessionStore.flushPending();
+
+        // The change of this node is not written over the other node's cart
+        assertPersisted(cart.getId(), 5, BigDecimal.valueOf(500));
+        assertThat(cartService.getActiveCart(testData.userId()).getItemsCount()).isEqualTo(5);
+
+        // The other node goes on from the version it wrote
+        otherNode.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+        otherStore.flushPending();
+        assertPersisted(cart.getId(), 6, BigDecimal.valueOf(600));
+    }
+
+    @Test
+    @DisplayName("Checkout after another node wrote the cart checks out the written cart")
+    void testCheckoutAfterWriteFromOtherNode() {
+        CartDto cart = cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 1));
+        cartSessionStore.flushPending();
+
+        CartSessionStore otherStore = newStore();
+        CartService otherNode = newCartService(otherStore);
+        otherNode.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 2));
+        otherStore.flushPending();
+
+        cartService.addToCart(testData.userId(), new AddToCartRequest(testData.productId(), 5));
+        CartDto checkedOut = cartService.checkoutCart(testData.userId());
+
+        assertThat(checkedOut.getId()).isEqualTo(cart.getId());
+        assertThat(checkedOut.getItemsCount()).isEqualTo(3);
+        assertPersisted(cart.getId(), 3, BigDecimal.valueOf(300));
+    }
+
+    @Test
+    @DisplayName("Concurrent first requests of a user load and create one cart")
+    void testConcurrentAcquireCreatesOneCart() throws Exception {
+        CartSessionStore store = newStore();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<Long>> cartIds = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                cartIds.add(executor.submit(() -> {
+                    start.await();
+                    return store.withCartOrCreate(testData.userId(), CartSession::getCartId);
+                }));
+            }
+            start.countDown();
+
+            Set<Long> distinct = new HashSet<>();
+            for (Future<Long> cartId : cartIds) {
+                distinct.add(cartId.get(10, TimeUnit.SECONDS));
+            }
+            assertThat(distinct).hasSize(1);
+        }
+
+        Integer activeCarts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM household_schema.carts WHERE user_id = ? AND status = ?",
+                Integer.class, testData.userId(), CartStatus.ACTIVE.name());
+        assertThat(activeCarts).isEqualTo(1);
+    }
+
+    private CartSessionStore newStore() {
+        return new CartSessionStore(cartPersistenceProcessor, businessConfig, transactionManager,
+                new SimpleMeterRegistry(), logMsg);
+    }
+
+    private CartService newCartService(CartSessionStore store) {
+        return new CartService(cartRepository, productRepository, store, cartMapper, cartValidator,
+                cartProcessor, messageService, businessConfig, logMsg, availabilityValidator);
+    }
+
+    private int countItemRows(Long cartId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM household_schema.cart_items WHERE cart_id = ?", Integer.class, cartId);
+        return count != null ? count : 0;
+    }
+
+    private void assertPersisted(Long cartId, int itemsCount, BigDecimal totalAmount) {
+        Map<String, Object> cart = jdbcTemplate.queryForMap(
+                "SELECT items_count, total_amount FROM household_schema.carts WHERE id = ?", cartId);
+        Integer itemQuantity = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM household_schema.cart_items WHERE cart_id = ?",
+                Integer.class, cartId);
+
+        assertThat(((Number) cart.get("items_count")).intValue()).isEqualTo(itemsCount);
+        assertThat((BigDecimal) cart.get("total_amount")).isEqualByComparingTo(totalAmount);
+        assertThat(itemQuantity).isEqualTo(itemsCount);
+    }
+}
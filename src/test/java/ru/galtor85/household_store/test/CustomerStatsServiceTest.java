@@ -0,0 +1,207 @@
+package ru.galtor85.household_store.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.dto.request.finance.CashTransactionRequest;
+import ru.galtor85.household_store.dto.response.finance.CashTransactionDto;
+import ru.galtor85.household_store.dto.response.user.CustomerStatsDto;
+import ru.galtor85.household_store.entity.finance.CashRegister;
+import ru.galtor85.household_store.entity.finance.Invoice;
+import ru.galtor85.household_store.entity.finance.InvoiceStatus;
+import ru.galtor85.household_store.entity.finance.PaymentMethod;
+import ru.galtor85.household_store.entity.finance.TransactionType;
+import ru.galtor85.household_store.entity.order.OrderStatus;
+import ru.galtor85.household_store.entity.order.SalesOrder;
+import ru.galtor85.household_store.entity.user.User;
+import ru.galtor85.household_store.repository.cash.CashRegisterRepository;
+import ru.galtor85.household_store.repository.finance.InvoiceRepository;
+import ru.galtor85.household_store.repository.order.SalesOrderRepository;
+import ru.galtor85.household_store.repository.user.CustomerStatsRepository;
+import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.service.cash.CashTransactionService;
+import ru.galtor85.household_store.service.order.SalesOrderService;
+import ru.galtor85.household_store.service.user.CustomerStatsService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Customer spend and order aggregates: incremental updates from orders, payments
+ * and refunds, and their agreement with a full rebuild.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Customer Stats Service Tests")
+class CustomerStatsServiceTest {
+
+    @Autowired
+    private CustomerStatsService customerStatsService;
+
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Autowired
+    private CashTransactionService cashTransactionService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private CashRegister cashRegister;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        cashRegister = cashRegisterRepository.save(CashRegister.builder()
+                .registerNumber("STATS-" + System.nanoTime())
+                .name("Stats Cash Register")
+                .isActive(true)
+                .openingBalance(BigDecimal.valueOf(10000))
+                .openedAt(LocalDateTime.now())
+                .build());
+
+        userId = userRepository.save(User.builder()
+                .email("stats-" + System.nanoTime() + "@example.com")
+                .firstName("Stats")
+                .lastName("User")
+                .creator("test")
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("Full refund nets out the spend and the paid purchase")
+    void testPaymentThenRefund() {
+        Invoice invoice = createInvoice(BigDecimal.valueOf(1000));
+
+        CashTransactionDto payment = pay(invoice, BigDecimal.valueOf(1000));
+        assertStats(BigDecimal.valueOf(1000), 1);
+
+        cashTransactionService.cancelTransaction(payment.getId(), "Full refund", 1L);
+        assertStats(BigDecimal.ZERO, 0);
+    }
+
+    @Test
+    @DisplayName("Two payments of one invoice count as one purchase")
+    void testTwoPaymentsOnOneInvoice() {
+        Invoice invoice = createInvoice(BigDecimal.valueOf(1000));
+
+        pay(invoice, BigDecimal.valueOf(300));
+        pay(invoice, BigDecimal.valueOf(200));
+
+        assertStats(BigDecimal.valueOf(500), 1);
+    }
+
+    @Test
+    @DisplayName("First payment of a customer without an aggregate creates it")
+    void testFirstUseCreatesAggregate() {
+        Invoice invoice = createInvoice(BigDecimal.valueOf(400));
+        assertThat(customerStatsRepository.findCurrentByUserId(userId)).isEmpty();
+
+        pay(invoice, BigDecimal.valueOf(400));
+
+        assertStats(BigDecimal.valueOf(400), 1);
+    }
+
+    @Test
+    @DisplayName("Rebuild gives the same values as the incremental updates")
+    void testRebuildMatchesIncrementalValues() {
+        Invoice refunded = createInvoice(BigDecimal.valueOf(1000));
+        Invoice paid = createInvoice(BigDecimal.valueOf(600));
+        Invoice unpaid = createInvoice(BigDecimal.valueOf(250));
+        Invoice cancelled = createInvoice(BigDecimal.valueOf(80));
+        for (Invoice invoice : new Invoice[]{refunded, paid, unpaid, cancelled}) {
+            SalesOrder order = salesOrderRepository.findById(invoice.getSalesOrderId()).orElseThrow();
+            customerStatsService.recordOrder(userId, order.getCreatedAt());
+        }
+
+        CashTransactionDto payment = pay(refunded, BigDecimal.valueOf(1000));
+        cashTransactionService.createPartialRefund(payment.getId(), BigDecimal.valueOf(150), "Partial", 1L);
+        pay(paid, BigDecimal.valueOf(600));
+        CashTransactionDto cancelledPayment = pay(cancelled, BigDecimal.valueOf(80));
+        cashTransactionService.cancelTransaction(cancelledPayment.getId(), "Full refund", 1L);
+
+        CustomerStatsDto incremental = customerStatsService.getStats(userId);
+
+        customerStatsService.rebuild();
+        CustomerStatsDto rebuilt = customerStatsService.getStats(userId);
+
+        assertThat(incremental.getTotalSpent()).isEqualByComparingTo(BigDecimal.valueOf(1450));
+        assertThat(incremental.getPurchaseCount()).isEqualTo(2);
+        assertThat(incremental.getOrderCount()).isEqualTo(4);
+        assertThat(rebuilt.getTotalSpent()).isEqualByComparingTo(incremental.getTotalSpent());
+        assertThat(rebuilt.getPurchaseCount()).isEqualTo(incremental.getPurchaseCount());
+        assertThat(rebuilt.getOrderCount()).isEqualTo(incremental.getOrderCount());
+        assertThat(rebuilt.getAverageBasket()).isEqualByComparingTo(incremental.getAverageBasket());
+        assertThat(rebuilt.getLastOrderAt()).isEqualTo(incremental.getLastOrderAt());
+    }
+
+    @Test
+    @DisplayName("Total spent used for customer discounts is net of refunds")
+    void testTotalSpentIsNetOfRefunds() {
+        Invoice invoice = createInvoice(BigDecimal.valueOf(1000));
+        CashTransactionDto payment = pay(invoice, BigDecimal.valueOf(1000));
+
+        cashTransactionService.createPartialRefund(payment.getId(), BigDecimal.valueOf(300), "Partial", 1L);
+
+        assertThat(salesOrderService.getUserTotalSpent(userId)).isEqualByComparingTo(BigDecimal.valueOf(700));
+        assertThat(customerStatsService.getStats(userId).getPurchaseCount()).isEqualTo(1);
+    }
+
+    private Invoice createInvoice(BigDecimal amount) {
+        SalesOrder order = salesOrderRepository.save(SalesOrder.builder()
+                .orderNumber("STATS-SO-" + System.nanoTime())
+                .userId(userId)
+                .status(OrderStatus.PENDING)
+                .totalAmount(amount)
+                .subtotal(amount)
+                .createdBy(1L)
+                .build());
+
+        return invoiceRepository.save(Invoice.builder()
+                .invoiceNumber("STATS-INV-" + System.nanoTime())
+                .salesOrderId(order.getId())
+                .amount(amount)
+                .currency("RUB")
+                .status(InvoiceStatus.PENDING)
+                .paymentMethod(PaymentMethod.CARD)
+                .issueDate(LocalDateTime.now())
+                .createdBy(1L)
+                .build());
+    }
+
+    private CashTransactionDto pay(Invoice invoice, BigDecimal amount) {
+        return cashTransactionService.createTransaction(CashTransactionRequest.builder()
+                .cashRegisterId(cashRegister.getId())
+                .transactionType(TransactionType.INCOME)
+                .amount(amount)
+                .invoiceId(invoice.getId())
+                .currency("RUB")
+                .paymentMethod(PaymentMethod.CARD)
+                .build(), 1L);
+    }
+
+    private void assertStats(BigDecimal totalSpent, long purchaseCount) {
+        CustomerStatsDto stats = customerStatsService.getStats(userId);
+        assertThat(stats.getTotalSpent()).isEqualByComparingTo(totalSpent);
+        assertThat(stats.getPurchaseCount()).isEqualTo(purchaseCount);
+    }
+}
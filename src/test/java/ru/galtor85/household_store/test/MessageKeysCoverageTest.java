@@ -48,8 +48,10 @@ class MessageKeysCoverageTest {
     };
 
     private static final Set<String> MESSAGE_SERVICE_METHODS = Set.of(
-            "get", "getRequired", "getWithDefault", "exists", "getLn"
+            "get", "getRequired", "getWithDefault", "exists", "getLn", "debug", "trace"
     );
+    // Lazy logging methods take the logger as the first argument: logMsg.debug(log, "key", args)
+    private static final Set<String> LAZY_LOG_METHODS = Set.of("debug", "trace");
     private static final String MESSAGE_SERVICE_METHODS_PATTERN = String.join("|", MESSAGE_SERVICE_METHODS);
 
     private static final Set<String> VALIDATION_ANNOTATIONS = Set.of(
@@ -81,7 +83,7 @@ class MessageKeysCoverageTest {
 
     static {
         STATIC_KEY_PATTERN = Pattern.compile(
-                "(?:messageService|logMsg)\\s*\\.\\s*(" + MESSAGE_SERVICE_METHODS_PATTERN + ")\\s*\\(\\s*\"([^\"]+)\""
+                "(?:messageService|logMsg)\\s*\\.\\s*(" + MESSAGE_SERVICE_METHODS_PATTERN + ")\\s*\\(\\s*(?:log\\s*,\\s*)?\"([^\"]+)\""
         );
         VALIDATION_ANNOTATION_PATTERN = Pattern.compile(
                 "@(" + VALIDATION_ANNOTATIONS_PATTERN + ")\\s*\\([^)]*message\\s*=\\s*\"\\{([^}]+)}\""
@@ -456,15 +458,18 @@ class MessageKeysCoverageTest {
         @Override
         public void visit(MethodCallExpr call, Void arg) {
             super.visit(call, arg);
-            if (!call.getNameAsString().equals("get")) return;
+            String methodName = call.getNameAsString();
+            boolean lazyLog = LAZY_LOG_METHODS.contains(methodName);
+            if (!methodName.equals("get") && !lazyLog) return;
 
             String scope = call.getScope().map(Object::toString).orElse("");
             if (!scope.contains("logMsg") && !scope.contains("messageService")) return;
 
-            if (call.getArguments().isEmpty() || !call.getArgument(0).isStringLiteralExpr()) return;
+            int keyIndex = lazyLog ? 1 : 0;
+            if (call.getArguments().size() <= keyIndex || !call.getArgument(keyIndex).isStringLiteralExpr()) return;
 
-            String key = call.getArgument(0).asStringLiteralExpr().getValue();
-            int argCount = call.getArguments().size() - 1;
+            String key = call.getArgument(keyIndex).asStringLiteralExpr().getValue();
+            int argCount = call.getArguments().size() - keyIndex - 1;
             int line = call.getBegin().map(p -> p.line).orElse(-1);
 
             callRegistry.computeIfAbsent(key, k -> new ArrayList<>())
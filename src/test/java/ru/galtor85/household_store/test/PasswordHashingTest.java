@@ -0,0 +1,185 @@
+package ru.galtor85.household_store.test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.advice.GlobalExceptionHandler;
+import ru.galtor85.household_store.advice.exception.auth.PasswordHashingBusyException;
+import ru.galtor85.household_store.config.PasswordHashingConfig;
+import ru.galtor85.household_store.entity.user.Role;
+import ru.galtor85.household_store.entity.user.User;
+import ru.galtor85.household_store.repository.auth.SecurityUserRepository;
+import ru.galtor85.household_store.repository.user.UserRepository;
+import ru.galtor85.household_store.security.SecurityUser;
+import ru.galtor85.household_store.security.password.BoundedPasswordEncoder;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Password hashing: load shedding of the bounded hashing executor and rehashing
+ * of outdated hashes on login. Runs without a test transaction, so the rehash
+ * commits like in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Password Hashing Tests")
+class PasswordHashingTest {
+
+    private static final String PASSWORD = "Secret123!";
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SecurityUserRepository securityUserRepository;
+
+    @Autowired
+    private PasswordHashingConfig passwordHashingConfig;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Autowired
+    private LogMessageService logMsg;
+
+    @Test
+    @DisplayName("Saturated hashing executor rejects at once with 429 and Retry-After")
+    void testSaturatedExecutorReturns429() throws Exception {
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setThreads(1);
+        config.setQueueCapacity(1);
+        config.setMaxWait(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingPasswordEncoder(release), config, meterRegistry, logMsg);
+
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            awaitQueued(meterRegistry);
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOfSatisfying(PasswordHashingBusyException.class, e -> {
+                        ResponseEntity<?> response = globalExceptionHandler.handlePasswordHashingBusy(e);
+                        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    });
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Hash of a lower cost is replaced with the configured cost on login")
+    void testLowerCostHashIsUpgraded() {
+        String oldHash = BCRYPT_PREFIX + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        SecurityUser securityUser = createUser(oldHash);
+
+        login(securityUser);
+
+        String newHash = loadHash(securityUser);
+        assertThat(newHash).isNotEqualTo(oldHash)
+                .startsWith(BCRYPT_PREFIX + "$2a$" + passwordHashingConfig.getStrength() + "$");
+        login(securityUser);
+    }
+
+    @Test
+    @DisplayName("Hash of a higher cost is kept on login")
+    void testHigherCostHashIsKept() {
+        String hash = BCRYPT_PREFIX + new BCryptPasswordEncoder(passwordHashingConfig.getStrength() + 1)
+                .encode(PASSWORD);
+        SecurityUser securityUser = createUser(hash);
+
+        login(securityUser);
+
+        assertThat(loadHash(securityUser)).isEqualTo(hash);
+    }
+
+    private SecurityUser createUser(String passwordHash) {
+        User user = userRepository.save(User.builder()
+                .email("hash-" + System.nanoTime() + "@example.com")
+                .firstName("Hash")
+                .lastName("Test")
+                .creator("test")
+                .build());
+        return securityUserRepository.save(SecurityUser.builder()
+                .userId(user.getId())
+                .password(passwordHash)
+                .role(Role.USER)
+                .active(true)
+                .build());
+    }
+
+    private void login(SecurityUser securityUser) {
+        String email = userRepository.findById(securityUser.getUserId()).orElseThrow().getEmail();
+        assertThat(authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(email, PASSWORD)).isAuthenticated()).isTrue();
+    }
+
+    private String loadHash(SecurityUser securityUser) {
+        return securityUserRepository.findById(securityUser.getId()).orElseThrow().getPassword();
+    }
+
+    private static void awaitQueued(MeterRegistry meterRegistry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Encoder whose hashing takes until released, like BCrypt under load.
+     */
+    private record BlockingPasswordEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package ru.galtor85.household_store.test;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.galtor85.household_store.config.PaymentConfig;
+import ru.galtor85.household_store.entity.payment.PaymentMethod;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+import ru.galtor85.household_store.service.i18n.MessageService;
+import ru.galtor85.household_store.service.payment.PaymentResult;
+import ru.galtor85.household_store.service.payment.gateway.PaymentCircuitBreaker;
+import ru.galtor85.household_store.service.payment.gateway.PaymentProviderClient;
+import ru.galtor85.household_store.service.payment.gateway.PaymentProviderConfig;
+import ru.galtor85.household_store.service.payment.gateway.UniversalPaymentGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payment provider client against a local stub HTTP server:
+ * timeouts, bulkhead, circuit breaker and asynchronous payments.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Payment Provider Client Tests")
+class PaymentProviderClientTest {
+
+    private static final int DEFAULT_TIMEOUT = 10_000;
+    private static final int READ_TIMEOUT = 300;
+    private static final int BULKHEAD_SETTLE_TIME = 150;
+    private static final int SLOW_RESPONSE_DELAY = 1000;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final int OPEN_STATE_DURATION = 300;
+    private static final int MAX_CONCURRENT_CALLS = 2;
+
+    @Autowired
+    private PaymentConfig paymentConfig;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private LogMessageService logMsg;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int responseDelay;
+    private volatile int responseStatus;
+    private volatile CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        responseDelay = 0;
+        responseStatus = 200;
+        release = null;
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/pay", exchange -> {
+            requests.incrementAndGet();
+            try {
+                CountDownLatch latch = release;
+                if (latch != null) {
+                    latch.await(SLOW_RESPONSE_DELAY, TimeUnit.MILLISECONDS);
+                }
+                Thread.sleep(responseDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Successful call through pooled client")
+    void shouldProcessPaymentThroughStub() {
+        try (PaymentProviderClient client = client()) {
+            PaymentResult result = gateway(client).processPayment(paymentMethod(), BigDecimal.valueOf(100), "RUB", "test");
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(requests.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Asynchronous payment returns before the provider responds")
+    void shouldProcessPaymentAsynchronously() throws Exception {
+        release = new CountDownLatch(1);
+
+        try (PaymentProviderClient client = client()) {
+            CompletableFuture<PaymentResult> future = gateway(client)
+                    .processPaymentAsync(paymentMethod(), BigDecimal.valueOf(100), "RUB", "test");
+
+            assertThat(future).isNotDone();
+            release.countDown();
+
+            PaymentResult result = future.get(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(requests.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Slow provider fails by read timeout")
+    void shouldFailOnReadTimeout() {
+        responseDelay = SLOW_RESPONSE_DELAY;
+
+        try (PaymentProviderClient client = client(READ_TIMEOUT)) {
+            long start = System.nanoTime();
+            PaymentResult result = gateway(client, READ_TIMEOUT)
+                    .processPayment(paymentMethod(), BigDecimal.valueOf(100), "RUB", "test");
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(elapsedMillis).isLessThan(SLOW_RESPONSE_DELAY);
+        }
+    }
+
+    @Test
+    @DisplayName("Circuit opens after consecutive server errors and closes after a successful trial")
+    void shouldOpenAndCloseCircuit() throws InterruptedException {
+        responseStatus = 503;
+
+        try (PaymentProviderClient client = client()) {
+            UniversalPaymentGateway gateway = gateway(client);
+            for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+                gateway.processPayment(paymentMethod(), BigDecimal.TEN, "RUB", "test");
+            }
+            assertThat(client.getCircuitState()).isEqualTo(PaymentCircuitBreaker.State.OPEN);
+
+            PaymentResult rejected = gateway.processPayment(paymentMethod(), BigDecimal.TEN, "RUB", "test");
+            assertThat(rejected.isSuccess()).isFalse();
+            assertThat(requests.get()).isEqualTo(FAILURE_THRESHOLD);
+
+            Thread.sleep(OPEN_STATE_DURATION + 50);
+            responseStatus = 200;
+
+            PaymentResult trial = gateway.processPayment(paymentMethod(), BigDecimal.TEN, "RUB", "test");
+            assertThat(trial.isSuccess()).isTrue();
+            assertThat(client.getCircuitState()).isEqualTo(PaymentCircuitBreaker.State.CLOSED);
+        }
+    }
+
+    @Test
+    @DisplayName("Bulkhead rejects calls above the concurrency limit without reaching the provider")
+    void shouldRejectCallsAboveBulkheadLimit() throws InterruptedException {
+        release = new CountDownLatch(1);
+
+        try (PaymentProviderClient client = client()) {
+            UniversalPaymentGateway gateway = gateway(client);
+            List<CompletableFuture<PaymentResult>> futures = IntStream.range(0, MAX_CONCURRENT_CALLS + 3)
+                    .mapToObj(i -> gateway.processPaymentAsync(paymentMethod(), BigDecimal.TEN, "RUB", "test"))
+                    .toList();
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BULKHEAD_SETTLE_TIME);
+            while (futures.stream().filter(CompletableFuture::isDone).count() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            long rejected = futures.stream()
+                    .filter(future -> future.isDone() && !future.join().isSuccess())
+                    .count();
+            release.countDown();
+            long succeeded = futures.stream()
+                    .filter(future -> future.join().isSuccess())
+                    .count();
+
+            assertThat(rejected).isEqualTo(3);
+            assertThat(succeeded).isEqualTo(MAX_CONCURRENT_CALLS);
+            assertThat(requests.get()).isEqualTo(MAX_CONCURRENT_CALLS);
+        }
+    }
+
+    private PaymentProviderClient client() {
+        return client(DEFAULT_TIMEOUT);
+    }
+
+    private PaymentProviderClient client(int readTimeout) {
+        PaymentConfig.ClientConfig clientConfig = new PaymentConfig.ClientConfig();
+        clientConfig.setMaxConcurrentCalls(MAX_CONCURRENT_CALLS);
+        clientConfig.setBulkheadWaitTimeout(10);
+        clientConfig.setFailureThreshold(FAILURE_THRESHOLD);
+        clientConfig.setOpenStateDuration(OPEN_STATE_DURATION);
+        return new PaymentProviderClient(providerConfig(readTimeout), clientConfig, executor, messageService, logMsg);
+    }
+
+    private UniversalPaymentGateway gateway(PaymentProviderClient client) {
+        return gateway(client, DEFAULT_TIMEOUT);
+    }
+
+    private UniversalPaymentGateway gateway(PaymentProviderClient client, int readTimeout) {
+        return new UniversalPaymentGateway(providerConfig(readTimeout), client, executor,
+                paymentConfig, messageService, logMsg);
+    }
+
+    /**
+     * Provider settings; connect timeout is always generous, so a cold client under
+     * suite load does not fail before the request is sent.
+     */
+    private PaymentProviderConfig providerConfig(int readTimeout) {
+        return PaymentProviderConfig.builder()
+                .providerName("STUB")
+                .providerCode("stub")
+                .paymentUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/pay")
+                .transactionPrefix("STUB")
+                .connectTimeout(DEFAULT_TIMEOUT)
+                .readTimeout(readTimeout)
+                .build();
+    }
+
+    private PaymentMethod paymentMethod() {
+        PaymentMethod method = new PaymentMethod();
+        method.setId(1L);
+        return method;
+    }
+}
@@ -0,0 +1,122 @@
+package ru.galtor85.household_store.test;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.galtor85.household_store.entity.product.DiscountType;
+import ru.galtor85.household_store.entity.promotion.PriceRule;
+import ru.galtor85.household_store.entity.user.UserType;
+import ru.galtor85.household_store.processor.price.CompiledPriceRule;
+import ru.galtor85.household_store.repository.price.PriceRuleRepository;
+import ru.galtor85.household_store.service.price.PriceRuleCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.galtor85.household_store.constants.TechnicalConstants.CACHE_PRICE_RULES;
+
+/**
+ * Compiled price rules: reload after local changes, expiry of rules changed elsewhere.
+ * Runs without a test transaction, so rule changes commit like in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Price Rule Cache Tests")
+class PriceRuleCacheTest {
+
+    @Autowired
+    private PriceRuleCache priceRuleCache;
+
+    @Autowired
+    private PriceRuleRepository priceRuleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PriceRule rule;
+
+    @BeforeEach
+    void setUp() {
+        rule = priceRuleRepository.save(PriceRule.builder()
+                .name("Cache Test Rule " + System.nanoTime())
+                .discountType(DiscountType.PERCENTAGE)
+                .discountValue(BigDecimal.valueOf(5))
+                .priority(1)
+                .applicableUserTypes(new HashSet<>(Set.of(UserType.RETAIL)))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceRuleRepository.deleteById(rule.getId());
+    }
+
+    @Test
+    @DisplayName("Compiled rules expire after the configured time")
+    void testRulesExpireAfterWrite() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CACHE_PRICE_RULES);
+
+        assertThat(cache).isNotNull();
+        assertThat(cache.getNativeCache().policy().expireAfterWrite())
+                .map(Policy.FixedExpiration::getExpiresAfter)
+                .contains(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Changing only the user types of a rule reloads the rules")
+    void testUserTypeChangeReloadsRules() {
+        assertThat(ruleNames(UserType.RETAIL)).contains(rule.getName());
+        assertThat(ruleNames(UserType.WHOLESALE)).doesNotContain(rule.getName());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            PriceRule loaded = priceRuleRepository.findById(rule.getId()).orElseThrow();
+            loaded.getApplicableUserTypes().add(UserType.WHOLESALE);
+        });
+
+        assertThat(ruleNames(UserType.WHOLESALE)).contains(rule.getName());
+    }
+
+    @Test
+    @DisplayName("Rule changed by another node is picked up when the cached rules expire")
+    void testRemoteChangeIsPickedUpAfterExpiry() {
+        assertThat(ruleNames(UserType.RETAIL)).contains(rule.getName());
+
+        // Another node deactivates the rule; no listener runs on this node
+        jdbcTemplate.update("UPDATE household_schema.price_rules SET is_active = false WHERE id = ?", rule.getId());
+        assertThat(ruleNames(UserType.RETAIL)).contains(rule.getName());
+
+        // Expiry of the cache entry
+        cacheManager.getCache(CACHE_PRICE_RULES).clear();
+
+        assertThat(ruleNames(UserType.RETAIL)).doesNotContain(rule.getName());
+    }
+
+    private List<String> ruleNames(UserType userType) {
+        return priceRuleCache.getActiveRules(userType).stream()
+                .map(CompiledPriceRule::name)
+                .toList();
+    }
+}
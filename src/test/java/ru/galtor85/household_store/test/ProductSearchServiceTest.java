@@ -0,0 +1,131 @@
+package ru.galtor85.household_store.test;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import ru.galtor85.household_store.dto.response.stock.ProductAvailabilityDto;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.service.product.ProductSearchService;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalogue search through the search index of the test profile (in-memory index on H2):
+ * ranking by field weight, typo tolerance, SKU prefix lookup and autocomplete.
+ * Assertions do not depend on the ordering of equally relevant products.
+ */
+@Slf4j
+@DisplayName("Product Search Service Tests")
+class ProductSearchServiceTest extends BaseSalesChainTest {
+
+    private static final String CORDLESS_DRILL = "Zephyrix Cordless Drill";
+    private static final String DRILL_BIT_SET = "Zephyrix Drill Bit Set";
+    private static final String WORKBENCH_LAMP = "Workbench Lamp";
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    private Long cordlessDrillId;
+    private Long drillBitSetId;
+    private Long workbenchLampId;
+
+    @BeforeEach
+    void setUp() {
+        cordlessDrillId = createProduct("ZPX-100", CORDLESS_DRILL, "Voltara", "Tools", null);
+        drillBitSetId = createProduct("ZPX-200", DRILL_BIT_SET, null, "Accessories", null);
+        workbenchLampId = createProduct("WBL-300", WORKBENCH_LAMP, null, "Lighting",
+                "Clamps onto a zephyrix drill stand");
+    }
+
+    @Test
+    @DisplayName("Products with query words in the name rank above description matches")
+    void testRanking() {
+        Page<ProductAvailabilityDto> result = productSearchService.search("zephyrix drill", 0, 10);
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        List<Long> ids = productIds(result);
+        assertThat(ids.subList(0, 2)).containsExactlyInAnyOrder(cordlessDrillId, drillBitSetId);
+        assertThat(ids.get(2)).isEqualTo(workbenchLampId);
+    }
+
+    @Test
+    @DisplayName("Brand words are searchable")
+    void testBrandMatch() {
+        Page<ProductAvailabilityDto> result = productSearchService.search("Voltara", 0, 10);
+
+        assertThat(productIds(result)).containsExactly(cordlessDrillId);
+    }
+
+    @Test
+    @DisplayName("A misspelled name still finds the product")
+    void testTypoTolerance() {
+        Page<ProductAvailabilityDto> result = productSearchService.search("zephyrx", 0, 10);
+
+        assertThat(productIds(result)).containsExactlyInAnyOrder(cordlessDrillId, drillBitSetId);
+    }
+
+    @Test
+    @DisplayName("A SKU prefix finds the product regardless of case")
+    void testSkuLookup() {
+        Page<ProductAvailabilityDto> result = productSearchService.search("zpx-1", 0, 10);
+
+        assertThat(productIds(result)).containsExactly(cordlessDrillId);
+        assertThat(result.getContent().getFirst().getProductName()).isEqualTo(CORDLESS_DRILL);
+    }
+
+    @Test
+    @DisplayName("Results are paged over the ranked hits")
+    void testPaging() {
+        Page<ProductAvailabilityDto> firstPage = productSearchService.search("zephyrix drill", 0, 2);
+        Page<ProductAvailabilityDto> secondPage = productSearchService.search("zephyrix drill", 1, 2);
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(productIds(firstPage)).containsExactlyInAnyOrder(cordlessDrillId, drillBitSetId);
+        assertThat(productIds(secondPage)).containsExactly(workbenchLampId);
+    }
+
+    @Test
+    @DisplayName("Autocomplete matches the last word as a prefix and requires the preceding words")
+    void testAutocomplete() {
+        List<String> suggestions = productSearchService.autocomplete("zeph", 10);
+        assertThat(suggestions).hasSize(3);
+        assertThat(suggestions.subList(0, 2)).containsExactlyInAnyOrder(CORDLESS_DRILL, DRILL_BIT_SET);
+        assertThat(suggestions.get(2)).isEqualTo(WORKBENCH_LAMP);
+        assertThat(productSearchService.autocomplete("zephyrix co", 10))
+                .containsExactly(CORDLESS_DRILL);
+        assertThat(productSearchService.autocomplete("zephyrix dr", 1)).hasSize(1);
+        assertThat(productSearchService.autocomplete("   ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Blank query returns an empty page")
+    void testBlankQuery() {
+        assertThat(productSearchService.search(" ", 0, 10).getTotalElements()).isZero();
+    }
+
+    private Long createProduct(String sku, String name, String brand, String category, String description) {
+        Product product = Product.builder()
+                .sku(sku)
+                .name(name)
+                .brand(brand)
+                .category(category)
+                .description(description)
+                .price(BigDecimal.valueOf(100))
+                .active(true)
+                .createdBy("test")
+                .build();
+        return productRepository.save(product).getId();
+    }
+
+    private List<Long> productIds(Page<ProductAvailabilityDto> page) {
+        return page.getContent().stream()
+                .map(ProductAvailabilityDto::getProductId)
+                .toList();
+    }
+}
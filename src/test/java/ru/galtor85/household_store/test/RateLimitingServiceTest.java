@@ -0,0 +1,137 @@
+package ru.galtor85.household_store.test;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import ru.galtor85.household_store.config.RateLimitingConfig;
+import ru.galtor85.household_store.security.RateLimitingFilter;
+import ru.galtor85.household_store.security.RateLimitingService;
+import ru.galtor85.household_store.security.ratelimit.LocalRateLimitBackend;
+import ru.galtor85.household_store.security.ratelimit.RateLimitBackend;
+import ru.galtor85.household_store.service.i18n.LogMessageService;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rate limiting: rejection of exhausted clients, bounded local buckets and the
+ * behaviour when the bucket storage fails.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Rate Limiting Service Tests")
+class RateLimitingServiceTest {
+
+    private static final String LOGIN_PATH = "/app/auth/login";
+    private static final String REGISTER_PATH = "/app/auth/register";
+
+    @Autowired
+    private LogMessageService logMsg;
+
+    @Test
+    @DisplayName("Exhausted client gets 429 with Retry-After, other clients pass")
+    void testExhaustedClientIsRejected() throws Exception {
+        RateLimitingConfig config = config(2);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitingService service = new RateLimitingService(
+                config, new LocalRateLimitBackend(config, meterRegistry), meterRegistry, logMsg);
+        RateLimitingFilter filter = new RateLimitingFilter(config, service);
+
+        assertThat(login(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(login(filter, "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse rejected = login(filter, "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1L, 60L);
+
+        assertThat(login(filter, "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get("rate.limit.throttled").tag("policy", "login").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Local buckets stay within the configured maximum")
+    void testLocalBucketsAreBounded() {
+        RateLimitingConfig config = config(2);
+        config.getLocal().setMaximumBuckets(10L);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitingService service = new RateLimitingService(
+                config, new LocalRateLimitBackend(config, meterRegistry), meterRegistry, logMsg);
+        RateLimitingService.Policy policy = service.findPolicy(LOGIN_PATH);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(service.tryConsume(policy, "10.1." + (i / 256) + "." + (i % 256)).allowed()).isTrue();
+        }
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "rateLimitBuckets").gauge().value())
+                .isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Backend failure rejects requests unless the policy fails open")
+    void testBackendFailure() throws Exception {
+        RateLimitingConfig config = config(2);
+        RateLimitingConfig.PolicyConfig register = new RateLimitingConfig.PolicyConfig();
+        register.setPath(REGISTER_PATH);
+        register.setFailOpen(true);
+        config.getPolicies().put("register", register);
+
+        RateLimitingService service = new RateLimitingService(
+                config, new FailingBackend(), new SimpleMeterRegistry(), logMsg);
+        RateLimitingFilter filter = new RateLimitingFilter(config, service);
+
+        MockHttpServletResponse rejected = login(filter, "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+        RateLimitingService.Decision allowed = service.tryConsume(service.findPolicy(REGISTER_PATH), "10.0.0.1");
+        assertThat(allowed.allowed()).isTrue();
+    }
+
+    private static RateLimitingConfig config(int loginCapacity) {
+        RateLimitingConfig config = new RateLimitingConfig();
+        RateLimitingConfig.PolicyConfig login = new RateLimitingConfig.PolicyConfig();
+        login.setPath(LOGIN_PATH);
+        login.setCapacity(loginCapacity);
+        login.setPeriod(Duration.ofMinutes(1));
+        config.getPolicies().put("login", login);
+        return config;
+    }
+
+    private static MockHttpServletResponse login(RateLimitingFilter filter, String clientIp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN_PATH);
+        request.setRequestURI(LOGIN_PATH);
+        request.setRemoteAddr(clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Bucket storage that is unavailable, like a database that cannot be reached.
+     */
+    private static class FailingBackend implements RateLimitBackend {
+
+        @Override
+        public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+            throw new IllegalStateException("Connection is not available");
+        }
+
+        @Override
+        public String getName() {
+            return "failing";
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package ru.galtor85.household_store.test;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.galtor85.household_store.dto.common.SalesOrderItemCreateDto;
+import ru.galtor85.household_store.dto.request.order.SalesOrderCreateRequest;
+import ru.galtor85.household_store.entity.order.SalesOrder;
+import ru.galtor85.household_store.entity.order.SalesOrder.ReservationStatus;
+import ru.galtor85.household_store.entity.order.SalesOrderType;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.entity.product.ProductStock;
+import ru.galtor85.household_store.repository.order.SalesOrderRepository;
+import ru.galtor85.household_store.service.order.SalesOrderService;
+import ru.galtor85.household_store.service.reservation.ReservationService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stock reservation with conditional updates: competing orders for the last units,
+ * release, and orders of several products. Runs without a test transaction, so every
+ * reservation commits like in production.
+ */
+@Slf4j
+@DisplayName("Reservation Service Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationServiceTest extends BaseSalesChainTest {
+
+    private static final int TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = createTestData();
+    }
+
+    @Test
+    @DisplayName("Concurrent orders for the last units: one is reserved, the other fails")
+    void testConcurrentReservationOfLastUnits() throws Exception {
+        Long first = createOrder(Map.entry(testData.productId(), 60));
+        Long second = createOrder(Map.entry(testData.productId(), 60));
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<SalesOrder>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (Long orderId : List.of(first, second)) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return reserve(orderId);
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            int failed = 0;
+            for (Future<SalesOrder> result : results) {
+                try {
+                    assertThat(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getReservationStatus())
+                            .isEqualTo(ReservationStatus.ACTIVE);
+                    reserved++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                    failed++;
+                }
+            }
+            assertThat(reserved).isEqualTo(1);
+            assertThat(failed).isEqualTo(1);
+        }
+
+        ProductStock stock = loadStock(testData.productId());
+        assertThat(stock.getReservedQuantity()).isEqualTo(60);
+        assertThat(stock.getAvailableQuantity()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Release returns reserved units and is not repeated")
+    void testReleaseReservation() {
+        Long orderId = createOrder(Map.entry(testData.productId(), 30));
+        reserve(orderId);
+        assertThat(loadStock(testData.productId()).getReservedQuantity()).isEqualTo(30);
+
+        release(orderId);
+        release(orderId);
+
+        ProductStock stock = loadStock(testData.productId());
+        assertThat(stock.getReservedQuantity()).isZero();
+        assertThat(stock.getAvailableQuantity()).isEqualTo(100);
+        assertThat(salesOrderRepository.findById(orderId).orElseThrow().getReservationStatus())
+                .isEqualTo(ReservationStatus.EXPIRED);
+
+        // Released units can be reserved by another order
+        Long next = createOrder(Map.entry(testData.productId(), 100));
+        assertThat(reserve(next).getReservationStatus()).isEqualTo(ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Lines of one product are reserved together; a shortage rolls back the whole order")
+    void testMultiProductReservationIsAllOrNothing() {
+        Long secondProductId = createProduct(10);
+        Long orderId = createOrder(
+                Map.entry(secondProductId, 5),
+                Map.entry(testData.productId(), 20),
+                Map.entry(secondProductId, 4));
+
+        reserve(orderId);
+
+        assertThat(loadStock(testData.productId()).getReservedQuantity()).isEqualTo(20);
+        assertThat(loadStock(secondProductId).getReservedQuantity()).isEqualTo(9);
+
+        // The first product (lower ID) is reserved first, then the second one is short
+        Long shortOrderId = createOrder(
+                Map.entry(secondProductId, 2),
+                Map.entry(testData.productId(), 10));
+        assertThatThrownBy(() -> reserve(shortOrderId)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(loadStock(testData.productId()).getReservedQuantity()).isEqualTo(20);
+        assertThat(loadStock(secondProductId).getReservedQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Orders listing shared products in opposite order both reserve without deadlock")
+    void testOppositeOrdersReserveInProductOrder() throws Exception {
+        Long secondProductId = createProduct(100);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            orderIds.add(i % 2 == 0
+                    ? createOrder(Map.entry(testData.productId(), 10), Map.entry(secondProductId, 10))
+                    : createOrder(Map.entry(secondProductId, 10), Map.entry(testData.productId(), 10)));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(orderIds.size())) {
+            List<Future<SalesOrder>> results = new ArrayList<>();
+            for (Long orderId : orderIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return reserve(orderId);
+                }));
+            }
+            start.countDown();
+
+            for (Future<SalesOrder> result : results) {
+                assertThat(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getReservationStatus())
+                        .isEqualTo(ReservationStatus.ACTIVE);
+            }
+        }
+
+        assertThat(loadStock(testData.productId()).getReservedQuantity()).isEqualTo(40);
+        assertThat(loadStock(secondProductId).getReservedQuantity()).isEqualTo(40);
+    }
+
+    @SafeVarargs
+    private Long createOrder(Map.Entry<Long, Integer>... lines) {
+        List<SalesOrderItemCreateDto> items = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : lines) {
+            items.add(SalesOrderItemCreateDto.builder()
+                    .productId(line.getKey())
+                    .quantity(line.getValue())
+                    .build());
+        }
+        SalesOrderCreateRequest request = SalesOrderCreateRequest.builder()
+                .userId(testData.userId())
+                .items(items)
+                .orderType(SalesOrderType.RETAIL)
+                .shippingAddress("123 Test St, Moscow")
+                .billingAddress("123 Test St, Moscow")
+                .paymentMethod("CASH")
+                .build();
+        return salesOrderService.createSalesOrder(request, testData.userId()).getId();
+    }
+
+    private Long createProduct(int quantity) {
+        Product product = productRepository.save(Product.builder()
+                .sku("PROD-RES-" + System.nanoTime())
+                .name("Reservation Product")
+                .price(BigDecimal.valueOf(50))
+                .active(true)
+                .createdBy("test")
+                .build());
+        productStockRepository.save(ProductStock.builder()
+                .productId(product.getId())
+                .warehouseId(testData.warehouseId())
+                .quantity(quantity)
+                .availableQuantity(quantity)
+                .build());
+        return product.getId();
+    }
+
+    private SalesOrder reserve(Long orderId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                reservationService.reserveOrder(salesOrderRepository.findById(orderId).orElseThrow()));
+    }
+
+    private void release(Long orderId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                reservationService.releaseReservation(salesOrderRepository.findById(orderId).orElseThrow()));
+    }
+
+    private ProductStock loadStock(Long productId) {
+        return productStockRepository.findByProductIdAndWarehouseId(productId, testData.warehouseId())
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.galtor85.household_store.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.galtor85.household_store.dto.common.SalesOrderItemCreateDto;
+import ru.galtor85.household_store.dto.request.order.SalesOrderCreateRequest;
+import ru.galtor85.household_store.dto.response.order.SalesOrderDto;
+import ru.galtor85.household_store.dto.response.report.DailySalesReportDto;
+import ru.galtor85.household_store.entity.order.SalesOrderType;
+import ru.galtor85.household_store.entity.user.User;
+import ru.galtor85.household_store.service.order.SalesOrderService;
+import ru.galtor85.household_store.service.report.SalesRollupService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sales rollups maintained incrementally by order changes compared with a backfill
+ * of the same days from orders.
+ */
+@DisplayName("Sales Rollup Service Tests")
+class SalesRollupServiceTest extends BaseSalesChainTest {
+
+    private static final Long MANAGER_ID = 1L;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = createTestData();
+    }
+
+    @Test
+    @DisplayName("Report of incremental rollups equals the report after a backfill")
+    void testIncrementalRollupsMatchBackfill() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(1);
+        // Start from rollups consistent with the orders of other tests
+        salesRollupService.backfill(start, today);
+
+        Long otherUserId = userRepository.save(User.builder()
+                .email("rollup-" + System.nanoTime() + "@example.com")
+                .firstName("Rollup")
+                .lastName("Customer")
+                .creator("test")
+                .build()).getId();
+
+        SalesOrderDto cancelled = createOrder(testData.userId(), 2);
+        SalesOrderDto rolledBack = createOrder(testData.userId(), 3);
+        SalesOrderDto repriced = createOrder(otherUserId, 4);
+        SalesOrderDto paid = createOrder(otherUserId, 1);
+
+        // Repricing rebuilds the whole day, so it goes before the incremental status changes
+        salesOrderService.updateOrderItemPrice(repriced.getId(), repriced.getItems().getFirst().getId(),
+                BigDecimal.valueOf(75), "Price correction", MANAGER_ID);
+        salesOrderService.cancelOrder(cancelled.getId(), "Customer request", MANAGER_ID);
+        salesOrderService.updateOrderStatus(rolledBack.getId(), "PAID", null, null, MANAGER_ID);
+        salesOrderService.rollbackOrderStatus(rolledBack.getId(), "Payment not received", MANAGER_ID);
+        salesOrderService.updateOrderStatus(paid.getId(), "PAID", null, null, MANAGER_ID);
+
+        DailySalesReportDto incremental = salesOrderService.getSalesReport(start, today);
+        assertThat(incremental.getCancelledOrders()).isPositive();
+
+        salesRollupService.backfill(start, today);
+        DailySalesReportDto backfilled = salesOrderService.getSalesReport(start, today);
+
+        assertThat(incremental)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .ignoringCollectionOrder()
+                .isEqualTo(backfilled);
+    }
+
+    private SalesOrderDto createOrder(Long userId, int quantity) {
+        SalesOrderCreateRequest request = SalesOrderCreateRequest.builder()
+                .userId(userId)
+                .items(List.of(SalesOrderItemCreateDto.builder()
+                        .productId(testData.productId())
+                        .quantity(quantity)
+                        .build()))
+                .orderType(SalesOrderType.RETAIL)
+                .shippingAddress("123 Test St, Moscow")
+                .billingAddress("123 Test St, Moscow")
+                .paymentMethod("CASH")
+                .build();
+        return salesOrderService.createSalesOrder(request, userId);
+    }
+}
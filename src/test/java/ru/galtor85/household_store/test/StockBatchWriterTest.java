@@ -0,0 +1,136 @@
+package ru.galtor85.household_store.test;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.galtor85.household_store.advice.exception.stock.InsufficientStockException;
+import ru.galtor85.household_store.entity.product.Product;
+import ru.galtor85.household_store.entity.product.ProductStock;
+import ru.galtor85.household_store.entity.warehouse.Warehouse;
+import ru.galtor85.household_store.processor.stock.StockBatchWriter;
+import ru.galtor85.household_store.processor.stock.StockWriteBatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stock batch writes racing with stock changes committed by other transactions
+ * while the batch is open. Runs without a test transaction, so every step commits
+ * like in production.
+ */
+@Slf4j
+@DisplayName("Stock Batch Writer Test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockBatchWriterTest extends BaseSalesChainTest {
+
+    @Autowired
+    private StockBatchWriter stockBatchWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = createTestData();
+    }
+
+    @Test
+    @DisplayName("Reservation committed during an open batch is kept by its flush")
+    void testReservationDuringOpenBatchIsKept() {
+        documentTransaction().executeWithoutResult(status -> {
+            StockWriteBatch batch = stockBatchWriter.open(
+                    List.of(testData.productId()), List.of(testData.warehouseId()));
+            Product product = batch.getProduct(testData.productId());
+
+            int reserved = otherTransaction().execute(s -> productStockRepository.reserveStock(
+                    testData.productId(), testData.warehouseId(), 30));
+            assertThat(reserved).isEqualTo(1);
+
+            assertThat(batch.increaseStock(product, testData.warehouseId(), 50)).isEqualTo(150);
+            stockBatchWriter.flush(batch);
+        });
+
+        ProductStock stock = loadStock();
+        assertThat(stock.getQuantity()).isEqualTo(150);
+        assertThat(stock.getReservedQuantity()).isEqualTo(30);
+        assertThat(stock.getAvailableQuantity()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("Decrease is rejected on flush when concurrent changes left too little stock")
+    void testDecreaseAfterConcurrentDecreaseIsRejected() {
+        assertThatThrownBy(() -> documentTransaction().executeWithoutResult(status -> {
+            StockWriteBatch batch = stockBatchWriter.open(
+                    List.of(testData.productId()), List.of(testData.warehouseId()));
+            Product product = batch.getProduct(testData.productId());
+
+            int decreased = otherTransaction().execute(s -> productStockRepository.decreaseStock(
+                    testData.productId(), testData.warehouseId(), 80));
+            assertThat(decreased).isEqualTo(1);
+
+            // The batch still sees 100 units, the database has 20
+            assertThat(batch.decreaseStock(product, testData.warehouseId(), 50)).isEqualTo(50);
+            stockBatchWriter.flush(batch);
+        })).isInstanceOf(InsufficientStockException.class);
+
+        assertThat(loadStock().getQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Stock record created by the batch is inserted with the batch quantity")
+    void testNewStockRecordIsInserted() {
+        Long otherWarehouseId = warehouseRepository.save(Warehouse.builder()
+                .code("WH-BATCH-" + System.currentTimeMillis())
+                .name("Batch Warehouse")
+                .address("Test Address")
+                .barcode("BATCH-BARCODE-" + System.currentTimeMillis())
+                .isActive(true)
+                .isVisibleForSale(true)
+                .totalCapacity(1000)
+                .usedCapacity(0)
+                .build()).getId();
+
+        documentTransaction().executeWithoutResult(status -> {
+            StockWriteBatch batch = stockBatchWriter.open(
+                    List.of(testData.productId()), List.of(otherWarehouseId));
+            Product product = batch.getProduct(testData.productId());
+
+            batch.increaseStock(product, otherWarehouseId, 10);
+            assertThat(batch.decreaseStock(product, otherWarehouseId, 4)).isEqualTo(6);
+            stockBatchWriter.flush(batch);
+        });
+
+        ProductStock stock = productStockRepository
+                .findByProductIdAndWarehouseId(testData.productId(), otherWarehouseId)
+                .orElseThrow();
+        assertThat(stock.getQuantity()).isEqualTo(6);
+        assertThat(stock.getAvailableQuantity()).isEqualTo(6);
+    }
+
+    private ProductStock loadStock() {
+        return productStockRepository
+                .findByProductIdAndWarehouseId(testData.productId(), testData.warehouseId())
+                .orElseThrow();
+    }
+
+    private TransactionTemplate documentTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private TransactionTemplate otherTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
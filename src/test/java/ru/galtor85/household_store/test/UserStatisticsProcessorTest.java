@@ -0,0 +1,97 @@
+package ru.galtor85.household_store.test;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.galtor85.household_store.dto.response.user.UserActivityStatistics;
+import ru.galtor85.household_store.processor.user.UserStatisticsProcessor;
+import ru.galtor85.household_store.util.date.StatisticsGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Active customers per bucket: distinct per ISO week or calendar month,
+ * with the first and last bucket clipped to the requested range.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("User Statistics Processor Tests")
+class UserStatisticsProcessorTest {
+
+    @Autowired
+    private UserStatisticsProcessor userStatisticsProcessor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 2031-03-02 and 2031-03-09 are Sundays, 2031-03-03 and 2031-03-10 are Mondays
+        addCustomerDay(901L, "2031-03-02");
+        addCustomerDay(901L, "2031-03-03");
+        addCustomerDay(901L, "2031-03-04");
+        addCustomerDay(902L, "2031-03-03");
+        addCustomerDay(902L, "2031-03-09");
+        addCustomerDay(903L, "2031-03-10");
+        addCustomerDay(903L, "2031-04-01");
+    }
+
+    @Test
+    @DisplayName("Weekly buckets run Monday to Sunday and count every customer once")
+    void testWeeklyActiveCustomers() {
+        UserActivityStatistics stats = userStatisticsProcessor.calculateActivity(
+                LocalDate.parse("2031-03-01"), LocalDate.parse("2031-04-05"), StatisticsGranularity.WEEK);
+
+        assertThat(bucketStarts(stats)).containsExactly(
+                LocalDate.parse("2031-03-01"), LocalDate.parse("2031-03-03"), LocalDate.parse("2031-03-10"),
+                LocalDate.parse("2031-03-17"), LocalDate.parse("2031-03-24"), LocalDate.parse("2031-03-31"));
+        assertThat(activeCustomers(stats)).containsExactly(1L, 2L, 1L, 0L, 0L, 1L);
+        assertThat(stats.getBuckets().getLast().getEndDate()).isEqualTo(LocalDate.parse("2031-04-05"));
+        assertThat(stats.getActiveCustomers()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Monthly buckets count only the days inside the requested range")
+    void testMonthlyActiveCustomers() {
+        UserActivityStatistics stats = userStatisticsProcessor.calculateActivity(
+                LocalDate.parse("2031-03-05"), LocalDate.parse("2031-04-05"), StatisticsGranularity.MONTH);
+
+        assertThat(bucketStarts(stats)).containsExactly(LocalDate.parse("2031-03-05"), LocalDate.parse("2031-04-01"));
+        assertThat(activeCustomers(stats)).containsExactly(2L, 1L);
+        assertThat(stats.getActiveCustomers()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Daily buckets count the customers of each day")
+    void testDailyActiveCustomers() {
+        UserActivityStatistics stats = userStatisticsProcessor.calculateActivity(
+                LocalDate.parse("2031-03-02"), LocalDate.parse("2031-03-04"), StatisticsGranularity.DAY);
+
+        assertThat(activeCustomers(stats)).containsExactly(1L, 2L, 1L);
+        assertThat(stats.getActiveCustomers()).isEqualTo(2);
+    }
+
+    private void addCustomerDay(Long userId, String date) {
+        jdbcTemplate.update("INSERT INTO household_schema.sales_daily_customers (sales_date, user_id) VALUES (?, ?)",
+                LocalDate.parse(date), userId);
+    }
+
+    private List<LocalDate> bucketStarts(UserActivityStatistics stats) {
+        return stats.getBuckets().stream().map(UserActivityStatistics.Bucket::getStartDate).toList();
+    }
+
+    private List<Long> activeCustomers(UserActivityStatistics stats) {
+        return stats.getBuckets().stream().map(UserActivityStatistics.Bucket::getActiveCustomers).toList();
+    }
+}